@@ -19,6 +19,16 @@ public class QueryException extends Exception {
    /** Serial version ID. */
    private static final long serialVersionUID = -6296575115257420714L;
 
+   /**
+    * Constructs a new query exception with the given message.
+    *
+    * @param message
+    *           exception message
+    */
+   public QueryException(final String message) {
+      super(message);
+   }
+
    /**
     * Constructs a new query exception with the given message and cause.
     *
@@ -10,18 +10,28 @@
 package niagarino.benchmark;
 
 import java.io.IOException;
+import java.util.NoSuchElementException;
 
+import niagarino.io.ColumnarFileConverter;
+import niagarino.io.ColumnarFileIterator;
+import niagarino.io.ColumnarFormat;
 import niagarino.operator.FileIterator;
+import niagarino.operator.TupleIterator;
 import niagarino.stream.Attribute;
+import niagarino.stream.ControlTuple;
+import niagarino.stream.DataTuple;
 import niagarino.stream.Schema;
 
 /**
- * Strategy for reading in the source data (position reports and requests, or "cardatapoints.out").
+ * Strategy for reading in the source data (position reports and requests, or "cardatapoints.out"). If the
+ * file named by the system property {@code CARDATA} is a columnar stream file, it is loaded without parsing,
+ * otherwise it is read as a gz-compressed CSV file. Use {@link #convert(String, String)} to convert the
+ * source data once.
  *
  * @author Florian 'Sammy' Junghanns &lt;florian.junghanns@uni-konstanz.de&gt;
  * @version 1.0
  */
-public class CardataFileIterator extends FileIterator {
+public class CardataFileIterator implements TupleIterator {
 
    /** The schema of the input data. */
    private static final Schema SCHEMA = new Schema(1,
@@ -42,6 +52,9 @@ public class CardataFileIterator extends FileIterator {
          new Attribute("day", Integer.class)
          );
 
+   /** The iterator over the source data. */
+   private final TupleIterator iterator;
+
    /**
     * Constructs a new FileIterator for the {@code cardatapoints.out} file.
     *
@@ -49,6 +62,52 @@ public class CardataFileIterator extends FileIterator {
     *            if an error occurs while accessing the file
     */
    public CardataFileIterator() throws IOException {
-      super(SCHEMA, System.getProperty("CARDATA").toString(), ",", false, true);
+      final String file = System.getProperty("CARDATA").toString();
+      if (file.endsWith(ColumnarFormat.EXTENSION)) {
+         this.iterator = new ColumnarFileIterator(SCHEMA, file);
+      } else {
+         this.iterator = new FileIterator(SCHEMA, file, ",", false, true);
+      }
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   public boolean hasNext() {
+      return this.iterator.hasNext();
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   public DataTuple next() throws NoSuchElementException {
+      return this.iterator.next();
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   public ControlTuple[] nextControls() {
+      return this.iterator.nextControls();
+   }
+
+   /**
+    * Converts the given gz-compressed source data file into a columnar stream file, which should be named
+    * with the extension {@value ColumnarFormat#EXTENSION}.
+    *
+    * @param source
+    *           path to the gz-compressed source data file
+    * @param target
+    *           path to the columnar stream file
+    * @return number of converted tuples
+    * @throws IOException
+    *            if an error occurs while accessing the files
+    */
+   public static long convert(final String source, final String target) throws IOException {
+      final TupleIterator iterator = new FileIterator(SCHEMA, source, ",", false, true);
+      return ColumnarFileConverter.convert(SCHEMA, iterator, target);
    }
 }
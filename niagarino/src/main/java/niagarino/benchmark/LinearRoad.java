@@ -10,6 +10,7 @@
 package niagarino.benchmark;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.List;
 
@@ -21,8 +22,9 @@ import niagarino.operator.function.DerivationFunction;
 import niagarino.operator.predicate.Predicate;
 import niagarino.plan.XMLReader;
 import niagarino.runtime.PhysicalQueryPlan;
-import niagarino.storage.MapStorage.MapStorageFactory;
 import niagarino.storage.SegmentedStorage;
+import niagarino.storage.SpillingMapStorageFactory;
+import niagarino.storage.ValueCodec;
 import niagarino.stream.Attribute;
 import niagarino.stream.DataTuple;
 import niagarino.stream.ElementMetadata;
@@ -57,9 +59,9 @@ public class LinearRoad {
    public LinearRoad(final String planPath) throws IOException,
          InterruptedException, QueryException {
       new SegmentedStorage<SegmentData>(LinearRoadUtil.STORAGE_SEGMENTDATA_CARS,
-            new MapStorageFactory<SegmentData>(30000), 20);
+            SpillingMapStorageFactory.getConfiguredFactory(30000, new SegmentDataCodec()), 20);
       new SegmentedStorage<SegmentData>(LinearRoadUtil.STORAGE_SEGMENTDATA,
-            new MapStorageFactory<SegmentData>(30000), 20);
+            SpillingMapStorageFactory.getConfiguredFactory(30000, new SegmentDataCodec()), 20);
 
       final XMLReader reader = new XMLReader(planPath);
       PhysicalQueryPlan plan = null;
@@ -170,6 +172,40 @@ public class LinearRoad {
       }
    }
 
+   /**
+    * Encodes segment information with a fixed width of thirteen bytes.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   public static class SegmentDataCodec implements ValueCodec<SegmentData> {
+
+      @Override
+      public int getWidth() {
+         return 1 + 3 * Integer.BYTES;
+      }
+
+      @Override
+      public void encode(final SegmentData value, final ByteBuffer buffer, final int offset) {
+         buffer.put(offset, (byte) (value.hasAccident() ? 1 : 0));
+         buffer.putInt(offset + 1, value.getCars());
+         buffer.putInt(offset + 1 + Integer.BYTES, value.getLAV());
+         buffer.putInt(offset + 1 + 2 * Integer.BYTES, value.getToll());
+      }
+
+      @Override
+      public SegmentData decode(final ByteBuffer buffer, final int offset) {
+         final SegmentData value = new SegmentData();
+         if (buffer.get(offset) != 0) {
+            value.setAccident();
+         }
+         value.setCars(buffer.getInt(offset + 1));
+         value.setLAV(buffer.getInt(offset + 1 + Integer.BYTES));
+         value.setToll(buffer.getInt(offset + 1 + 2 * Integer.BYTES));
+         return value;
+      }
+   }
+
    /**
     * Detects segment changes between two position reports.
     *
@@ -0,0 +1,85 @@
+/*
+ * @(#)ColumnarFileConverter.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.io;
+
+import java.io.IOException;
+
+import niagarino.operator.FileIterator;
+import niagarino.operator.TupleIterator;
+import niagarino.stream.Schema;
+
+/**
+ * Converts text inputs, i.e., plain or gz-compressed CSV files, and arbitrary tuple iterators into the
+ * binary columnar stream file format described by {@link ColumnarFormat}. Converting an input once avoids
+ * parsing it again every time it is replayed.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public final class ColumnarFileConverter {
+
+   /** File name extension of gz-compressed files. */
+   private static final String GZIP_EXTENSION = ".gz";
+
+   /**
+    * Hidden constructor.
+    */
+   private ColumnarFileConverter() {
+      // prevent instantiation
+   }
+
+   /**
+    * Converts the given CSV file into a columnar stream file. Files whose name ends in {@code .gz} are
+    * decompressed.
+    *
+    * @param schema
+    *           the schema of the tuples within the file
+    * @param source
+    *           path to the CSV file
+    * @param separator
+    *           the field separator used within the file
+    * @param hasHeader
+    *           whether the file has a header line
+    * @param target
+    *           path to the columnar stream file
+    * @return number of converted tuples
+    * @throws IOException
+    *            if the CSV file cannot be read or the columnar stream file cannot be written
+    */
+   public static long convert(final Schema schema, final String source, final String separator,
+         final boolean hasHeader, final String target) throws IOException {
+      final TupleIterator iterator = new FileIterator(schema, source, separator, hasHeader,
+            source.endsWith(GZIP_EXTENSION));
+      return ColumnarFileConverter.convert(schema, iterator, target);
+   }
+
+   /**
+    * Writes all remaining tuples of the given iterator to a columnar stream file.
+    *
+    * @param schema
+    *           the schema of the tuples of the iterator
+    * @param source
+    *           tuple iterator
+    * @param target
+    *           path to the columnar stream file
+    * @return number of converted tuples
+    * @throws IOException
+    *            if the columnar stream file cannot be written
+    */
+   public static long convert(final Schema schema, final TupleIterator source, final String target)
+         throws IOException {
+      try (ColumnarFileWriter writer = new ColumnarFileWriter(schema, target)) {
+         while (source.hasNext()) {
+            writer.write(source.next());
+         }
+         return writer.getTupleCount();
+      }
+   }
+}
@@ -0,0 +1,630 @@
+/*
+ * @(#)ColumnarFileIterator.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import niagarino.operator.TupleIterator;
+import niagarino.stream.Attribute;
+import niagarino.stream.ColumnType;
+import niagarino.stream.ControlTuple;
+import niagarino.stream.DataTuple;
+import niagarino.stream.PrimitiveValueList;
+import niagarino.stream.Schema;
+
+/**
+ * Iterates over the tuples of a file in the binary columnar stream file format described by
+ * {@link ColumnarFormat}. Blocks are read with a single positional read each and decoded column by column,
+ * so that loading a file is bounded by I/O rather than by parsing.
+ * <p>
+ * If the progressing attribute is numeric, the iterator can be restricted to a range of progressing values.
+ * Blocks whose smallest and largest progressing values lie outside the range are skipped without being read,
+ * and tuples of the remaining blocks are filtered individually. Tuples without a progressing value are not
+ * returned if a range is set.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ColumnarFileIterator implements TupleIterator, Closeable {
+
+   /** Empty {@link ControlTuple} array. */
+   private static final ControlTuple[] EMPTY_CONTROL = new ControlTuple[0];
+
+   /** The logger for this class. */
+   private static final Logger LOG = LogManager.getLogger(ColumnarFileIterator.class);
+
+   /** Size in bytes of an entry of the block index. */
+   private static final int INDEX_ENTRY_SIZE = 3 * Long.BYTES + 2 * Integer.BYTES + 1;
+
+   /** Path to the file. */
+   private final Path path;
+   /** Schema of the tuples in the file. */
+   private final Schema schema;
+   /** File offsets of the blocks. */
+   private final long[] blockOffsets;
+   /** Lengths in bytes of the blocks. */
+   private final int[] blockLengths;
+   /** Numbers of tuples in the blocks. */
+   private final int[] blockRows;
+   /** Flags that indicate which blocks contain progressing values. */
+   private final boolean[] blockRanged;
+   /** Smallest progressing values of the blocks, doubles as their raw long bits. */
+   private final long[] blockMins;
+   /** Largest progressing values of the blocks, doubles as their raw long bits. */
+   private final long[] blockMaxs;
+   /** Decoded primitive values of the current block for each attribute, doubles as their raw long bits. */
+   private final long[][] primitives;
+   /** Decoded object values of the current block for string and other attributes. */
+   private final Object[][] objects;
+   /** Flags that indicate which values of the current block are <code>null</code>. */
+   private final boolean[][] nulls;
+   /** File channel, or {@code null} if the file is closed. */
+   private FileChannel channel;
+   /** Buffer that receives the bytes of the current block. */
+   private ByteBuffer buffer;
+   /** Index of the next block to read. */
+   private int nextBlock;
+   /** Number of tuples in the current block. */
+   private int rows;
+   /** Index of the next tuple in the current block. */
+   private int row;
+   /** Indicates whether the tuples are restricted to a range of progressing values. */
+   private boolean ranged;
+   /** Smallest progressing value of the range for integer and long attributes. */
+   private long fromLong;
+   /** Largest progressing value of the range for integer and long attributes. */
+   private long toLong;
+   /** Smallest progressing value of the range for double attributes. */
+   private double fromDouble;
+   /** Largest progressing value of the range for double attributes. */
+   private double toDouble;
+   /** Values of the next tuple to emit. */
+   private PrimitiveValueList nextValues;
+
+   /**
+    * Constructs a new iterator over all tuples of the given file, which uses the schema stored in the file.
+    *
+    * @param file
+    *           path to the file
+    * @throws IOException
+    *            if the file cannot be opened or is not a columnar stream file
+    */
+   public ColumnarFileIterator(final String file) throws IOException {
+      this(null, file);
+   }
+
+   /**
+    * Constructs a new iterator over all tuples of the given file, which uses the given schema. The schema
+    * has to match the schema stored in the file in the types of all attributes and in the position of the
+    * progressing attribute.
+    *
+    * @param schema
+    *           the schema of the tuples within the file, or {@code null} to use the stored schema
+    * @param file
+    *           path to the file
+    * @throws IOException
+    *            if the file cannot be opened, is not a columnar stream file, or does not match the schema
+    */
+   public ColumnarFileIterator(final Schema schema, final String file) throws IOException {
+      this.path = Paths.get(file);
+      this.channel = FileChannel.open(this.path, StandardOpenOption.READ);
+      try {
+         // the trailer points to the block index, which points to the end of the header
+         final long size = this.channel.size();
+         if (size < ColumnarFormat.TRAILER_SIZE) {
+            throw new IOException("File '" + file + "' is not a columnar stream file.");
+         }
+         final long trailerOffset = size - ColumnarFormat.TRAILER_SIZE;
+         final ByteBuffer trailer = this.read(trailerOffset, ColumnarFormat.TRAILER_SIZE);
+         final long indexOffset = trailer.getLong();
+         if (trailer.getInt() != ColumnarFormat.MAGIC) {
+            throw new IOException("File '" + file + "' is not a columnar stream file.");
+         }
+         final ByteBuffer index = this.read(indexOffset, (int) (trailerOffset - indexOffset));
+         final int blockCount = index.getInt();
+         if (index.remaining() != blockCount * INDEX_ENTRY_SIZE) {
+            throw new IOException("File '" + file + "' has a corrupt block index.");
+         }
+         this.blockOffsets = new long[blockCount];
+         this.blockLengths = new int[blockCount];
+         this.blockRows = new int[blockCount];
+         this.blockRanged = new boolean[blockCount];
+         this.blockMins = new long[blockCount];
+         this.blockMaxs = new long[blockCount];
+         int maxRows = 0;
+         for (int block = 0; block < blockCount; block++) {
+            this.blockOffsets[block] = index.getLong();
+            this.blockLengths[block] = index.getInt();
+            this.blockRows[block] = index.getInt();
+            this.blockRanged[block] = index.get() != 0;
+            this.blockMins[block] = index.getLong();
+            this.blockMaxs[block] = index.getLong();
+            maxRows = Math.max(maxRows, this.blockRows[block]);
+         }
+         final long headerSize = blockCount > 0 ? this.blockOffsets[0] : indexOffset;
+         final Schema stored = this.readHeader(this.read(0, (int) headerSize));
+         this.schema = schema == null ? stored : schema;
+         ColumnarFileIterator.checkSchema(stored, this.schema);
+         final int attributes = this.schema.getSize();
+         this.primitives = new long[attributes][maxRows];
+         this.objects = new Object[attributes][];
+         this.nulls = new boolean[attributes][maxRows];
+         for (int i = 0; i < attributes; i++) {
+            final ColumnType type = this.schema.getColumnType(i);
+            if (type == ColumnType.STRING || type == ColumnType.OBJECT) {
+               this.objects[i] = new Object[maxRows];
+            }
+         }
+      } catch (final IOException | RuntimeException e) {
+         this.channel.close();
+         throw e;
+      }
+      this.ranged = false;
+      this.reset();
+   }
+
+   /**
+    * Constructs a new iterator over the tuples of the given file whose integer, long, or date progressing
+    * value lies within the given range.
+    *
+    * @param schema
+    *           the schema of the tuples within the file, or {@code null} to use the stored schema
+    * @param file
+    *           path to the file
+    * @param from
+    *           smallest progressing value, inclusive
+    * @param to
+    *           largest progressing value, inclusive
+    * @throws IOException
+    *            if the file cannot be opened, is not a columnar stream file, or does not match the schema
+    */
+   public ColumnarFileIterator(final Schema schema, final String file, final long from, final long to)
+         throws IOException {
+      this(schema, file);
+      this.seek(from, to);
+   }
+
+   /**
+    * Returns the schema of the tuples returned by this iterator.
+    *
+    * @return schema definition
+    */
+   public Schema getSchema() {
+      return this.schema;
+   }
+
+   /**
+    * Returns the total number of tuples in the file, regardless of the range of progressing values.
+    *
+    * @return number of tuples
+    */
+   public long getTupleCount() {
+      long count = 0;
+      for (final int blockRow : this.blockRows) {
+         count += blockRow;
+      }
+      return count;
+   }
+
+   /**
+    * Restarts this iterator at the first tuple of the file whose progressing value lies within the given
+    * range. Dates are given as milliseconds since the epoch.
+    *
+    * @param from
+    *           smallest progressing value, inclusive
+    * @param to
+    *           largest progressing value, inclusive
+    */
+   public void seek(final long from, final long to) {
+      this.checkRanged();
+      this.ranged = true;
+      this.fromLong = from;
+      this.toLong = to;
+      this.fromDouble = from;
+      this.toDouble = to;
+      this.reset();
+   }
+
+   /**
+    * Restarts this iterator at the first tuple of the file whose progressing value lies within the given
+    * range.
+    *
+    * @param from
+    *           smallest progressing value, inclusive
+    * @param to
+    *           largest progressing value, inclusive
+    */
+   public void seek(final double from, final double to) {
+      this.checkRanged();
+      this.ranged = true;
+      this.fromLong = (long) Math.ceil(from);
+      this.toLong = (long) Math.floor(to);
+      this.fromDouble = from;
+      this.toDouble = to;
+      this.reset();
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   public boolean hasNext() {
+      return this.nextValues != null;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   public DataTuple next() throws NoSuchElementException {
+      if (this.nextValues == null) {
+         throw new NoSuchElementException();
+      }
+      final DataTuple tuple = new DataTuple(this.schema, this.nextValues);
+      this.retrieveNextTuple();
+      return tuple;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   public ControlTuple[] nextControls() {
+      return EMPTY_CONTROL;
+   }
+
+   @Override
+   public void close() throws IOException {
+      this.nextValues = null;
+      if (this.channel != null) {
+         this.channel.close();
+         this.channel = null;
+      }
+   }
+
+   /**
+    * Restarts this iterator at the first block and retrieves the first tuple, reopening the file if it has
+    * been closed.
+    */
+   private void reset() {
+      this.nextBlock = 0;
+      this.rows = 0;
+      this.row = 0;
+      try {
+         if (this.channel == null) {
+            this.channel = FileChannel.open(this.path, StandardOpenOption.READ);
+         }
+      } catch (final IOException e) {
+         LOG.error("Could not reopen file '" + this.path + "'.", e);
+         this.nextValues = null;
+         return;
+      }
+      this.retrieveNextTuple();
+   }
+
+   /**
+    * Retrieves the values of the next tuple within the range for the next call of
+    * {@link ColumnarFileIterator#next()}. The file is closed once all blocks have been read.
+    */
+   private void retrieveNextTuple() {
+      try {
+         while (true) {
+            while (this.row < this.rows) {
+               final int current = this.row++;
+               if (this.isInRange(current)) {
+                  this.nextValues = this.getValues(current);
+                  return;
+               }
+            }
+            while (this.nextBlock < this.blockRows.length && !this.overlaps(this.nextBlock)) {
+               this.nextBlock++;
+            }
+            if (this.nextBlock == this.blockRows.length) {
+               this.close();
+               return;
+            }
+            this.readBlock(this.nextBlock++);
+         }
+      } catch (final IOException e) {
+         LOG.error("Could not read the next block from file '" + this.path + "', closing file.", e);
+         this.nextValues = null;
+      }
+   }
+
+   /**
+    * Checks whether the tuples can be restricted to a range of progressing values.
+    */
+   private void checkRanged() {
+      final ColumnType type = this.schema.getColumnType(this.schema.getProgressingAttribute());
+      if (type != ColumnType.INT && type != ColumnType.LONG && type != ColumnType.DOUBLE) {
+         throw new IllegalArgumentException("Seeking requires a numeric progressing attribute.");
+      }
+   }
+
+   /**
+    * Checks whether the given block may contain tuples within the range.
+    *
+    * @param block
+    *           block index
+    * @return <code>true</code> if the block has to be read, <code>false</code> otherwise
+    */
+   private boolean overlaps(final int block) {
+      if (!this.ranged) {
+         return true;
+      } else if (!this.blockRanged[block]) {
+         return false;
+      } else if (this.schema.getColumnType(this.schema.getProgressingAttribute()) == ColumnType.DOUBLE) {
+         return Double.longBitsToDouble(this.blockMaxs[block]) >= this.fromDouble
+               && Double.longBitsToDouble(this.blockMins[block]) <= this.toDouble;
+      }
+      return this.blockMaxs[block] >= this.fromLong && this.blockMins[block] <= this.toLong;
+   }
+
+   /**
+    * Checks whether the progressing value of the given tuple of the current block lies within the range.
+    *
+    * @param current
+    *           tuple index
+    * @return <code>true</code> if the tuple is returned, <code>false</code> otherwise
+    */
+   private boolean isInRange(final int current) {
+      if (!this.ranged) {
+         return true;
+      }
+      final int progressing = this.schema.getProgressingAttribute();
+      if (this.nulls[progressing][current]) {
+         return false;
+      }
+      final long value = this.primitives[progressing][current];
+      if (this.schema.getColumnType(progressing) == ColumnType.DOUBLE) {
+         final double number = Double.longBitsToDouble(value);
+         return number >= this.fromDouble && number <= this.toDouble;
+      }
+      return value >= this.fromLong && value <= this.toLong;
+   }
+
+   /**
+    * Returns the values of the given tuple of the current block.
+    *
+    * @param current
+    *           tuple index
+    * @return tuple values
+    */
+   private PrimitiveValueList getValues(final int current) {
+      final PrimitiveValueList values = new PrimitiveValueList(this.schema);
+      for (int i = 0; i < this.primitives.length; i++) {
+         if (this.nulls[i][current]) {
+            continue;
+         }
+         switch (this.schema.getColumnType(i)) {
+            case INT:
+            case LONG:
+               values.setLong(i, this.primitives[i][current]);
+               break;
+            case DOUBLE:
+               values.setDouble(i, Double.longBitsToDouble(this.primitives[i][current]));
+               break;
+            default:
+               values.set(i, this.objects[i][current]);
+         }
+      }
+      return values;
+   }
+
+   /**
+    * Reads and decodes the given block.
+    *
+    * @param block
+    *           block index
+    * @throws IOException
+    *            if the block cannot be read
+    */
+   private void readBlock(final int block) throws IOException {
+      final ByteBuffer in = this.read(this.blockOffsets[block], this.blockLengths[block]);
+      final int count = this.blockRows[block];
+      for (int i = 0; i < this.primitives.length; i++) {
+         final boolean[] isNull = this.nulls[i];
+         if (in.get() != 0) {
+            for (int current = 0; current < count; current++) {
+               isNull[current] = (in.get(in.position() + (current >>> 3)) & 1 << (current & 7)) != 0;
+            }
+            in.position(in.position() + (count + Byte.SIZE - 1) / Byte.SIZE);
+         } else {
+            for (int current = 0; current < count; current++) {
+               isNull[current] = false;
+            }
+         }
+         switch (this.schema.getColumnType(i)) {
+            case INT:
+            case LONG:
+               ColumnarFormat.readPacked(in, this.primitives[i], count);
+               break;
+            case DOUBLE:
+               this.readDoubles(in, i, count);
+               break;
+            case STRING:
+               this.readStrings(in, i, count);
+               break;
+            default:
+               this.readObjects(in, i, count);
+         }
+      }
+      this.rows = count;
+      this.row = 0;
+   }
+
+   /**
+    * Decodes the values of the given double or float attribute of the current block.
+    *
+    * @param in
+    *           block buffer
+    * @param attribute
+    *           attribute position
+    * @param count
+    *           number of tuples in the block
+    */
+   private void readDoubles(final ByteBuffer in, final int attribute, final int count) {
+      final long[] values = this.primitives[attribute];
+      if (in.get() == ColumnarFormat.RAW) {
+         for (int current = 0; current < count; current++) {
+            values[current] = in.getLong();
+         }
+      } else {
+         ColumnarFormat.readPacked(in, values, count);
+         for (int current = 0; current < count; current++) {
+            values[current] = Double.doubleToRawLongBits(values[current]);
+         }
+      }
+   }
+
+   /**
+    * Decodes the values of the given string attribute of the current block.
+    *
+    * @param in
+    *           block buffer
+    * @param attribute
+    *           attribute position
+    * @param count
+    *           number of tuples in the block
+    */
+   private void readStrings(final ByteBuffer in, final int attribute, final int count) {
+      final String[] dictionary = new String[in.getInt()];
+      for (int code = 0; code < dictionary.length; code++) {
+         dictionary[code] = ColumnarFormat.readString(in);
+      }
+      final long[] codes = this.primitives[attribute];
+      ColumnarFormat.readPacked(in, codes, count);
+      final Object[] values = this.objects[attribute];
+      final boolean[] isNull = this.nulls[attribute];
+      for (int current = 0; current < count; current++) {
+         values[current] = isNull[current] ? null : dictionary[(int) codes[current]];
+      }
+   }
+
+   /**
+    * Deserializes the values of the given attribute of the current block that is neither numeric nor a
+    * string attribute.
+    *
+    * @param in
+    *           block buffer
+    * @param attribute
+    *           attribute position
+    * @param count
+    *           number of tuples in the block
+    * @throws IOException
+    *            if the values cannot be deserialized
+    */
+   private void readObjects(final ByteBuffer in, final int attribute, final int count) throws IOException {
+      final int length = in.getInt();
+      final Object[] values = this.objects[attribute];
+      final boolean[] isNull = this.nulls[attribute];
+      try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(in.array(),
+            in.arrayOffset() + in.position(), length))) {
+         for (int current = 0; current < count; current++) {
+            values[current] = isNull[current] ? null : objects.readObject();
+         }
+      } catch (final ClassNotFoundException e) {
+         throw new IOException("Could not deserialize values of attribute " + attribute + ".", e);
+      }
+      in.position(in.position() + length);
+   }
+
+   /**
+    * Reads the header of the file and returns the stored schema.
+    *
+    * @param in
+    *           header buffer
+    * @return stored schema
+    * @throws IOException
+    *            if the header is invalid
+    */
+   private Schema readHeader(final ByteBuffer in) throws IOException {
+      if (in.getInt() != ColumnarFormat.MAGIC) {
+         throw new IOException("File '" + this.path + "' is not a columnar stream file.");
+      }
+      final int version = in.getInt();
+      if (version != ColumnarFormat.VERSION) {
+         throw new IOException("File '" + this.path + "' has unsupported version " + version + ".");
+      }
+      final int progressing = in.getInt();
+      final Attribute[] attributes = new Attribute[in.getInt()];
+      for (int i = 0; i < attributes.length; i++) {
+         final String name = ColumnarFormat.readString(in);
+         final String type = ColumnarFormat.readString(in);
+         try {
+            attributes[i] = new Attribute(name, Class.forName(type));
+         } catch (final ClassNotFoundException e) {
+            throw new IOException("Unknown type of attribute '" + name + "': " + type, e);
+         }
+      }
+      return new Schema(progressing, attributes);
+   }
+
+   /**
+    * Checks whether the given schema matches the schema stored in the file.
+    *
+    * @param stored
+    *           stored schema
+    * @param schema
+    *           given schema
+    * @throws IOException
+    *            if the schemas do not match
+    */
+   private static void checkSchema(final Schema stored, final Schema schema) throws IOException {
+      boolean match = stored.getSize() == schema.getSize()
+            && stored.getProgressingAttribute() == schema.getProgressingAttribute();
+      for (int i = 0; i < stored.getSize() && match; i++) {
+         match = stored.getAttribute(i).getType().equals(schema.getAttribute(i).getType());
+      }
+      if (!match) {
+         throw new IOException("Schema " + schema + " does not match stored schema " + stored + ".");
+      }
+   }
+
+   /**
+    * Reads the given number of bytes at the given file offset into the buffer, which is reused across
+    * reads.
+    *
+    * @param position
+    *           file offset
+    * @param length
+    *           number of bytes
+    * @return buffer positioned at the first byte
+    * @throws IOException
+    *            if the bytes cannot be read
+    */
+   private ByteBuffer read(final long position, final int length) throws IOException {
+      if (this.buffer == null || this.buffer.capacity() < length) {
+         this.buffer = ByteBuffer.allocate(length);
+      }
+      this.buffer.clear();
+      this.buffer.limit(length);
+      while (this.buffer.hasRemaining()) {
+         if (this.channel.read(this.buffer, position + this.buffer.position()) < 0) {
+            throw new EOFException("Unexpected end of file '" + this.path + "'.");
+         }
+      }
+      this.buffer.flip();
+      return this.buffer;
+   }
+}
@@ -0,0 +1,456 @@
+/*
+ * @(#)ColumnarFileWriter.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import niagarino.stream.Attribute;
+import niagarino.stream.ColumnType;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+
+/**
+ * Writes tuples to a file in the binary columnar stream file format described by {@link ColumnarFormat}.
+ * Tuples are buffered column by column until a block is full, which is then encoded and appended to the
+ * file. The block index is written when the writer is closed.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ColumnarFileWriter implements Closeable {
+
+   /** Schema of the written tuples. */
+   private final Schema schema;
+   /** Maximum number of tuples in a block. */
+   private final int blockSize;
+   /** Output stream of the file. */
+   private final DataOutputStream out;
+   /** Buffer that receives the encoding of the current block. */
+   private final ByteArrayOutputStream blockBytes;
+   /** Output stream that encodes the current block. */
+   private final DataOutputStream blockOut;
+   /** Buffer that receives the entries of the block index. */
+   private final ByteArrayOutputStream indexBytes;
+   /** Output stream that encodes the entries of the block index. */
+   private final DataOutputStream indexOut;
+   /** Primitive values of the current block for each attribute, doubles as their raw long bits. */
+   private final long[][] primitives;
+   /** Object values of the current block for string and other attributes. */
+   private final Object[][] objects;
+   /** Flags that indicate which values of the current block are <code>null</code>. */
+   private final boolean[][] nulls;
+   /** Flags that indicate which attributes are boolean attributes. */
+   private final boolean[] booleans;
+   /** Scratch array for packed values. */
+   private final long[] scratch;
+   /** Number of tuples in the current block. */
+   private int count;
+   /** Number of blocks that have been written. */
+   private int blockCount;
+   /** Number of tuples that have been written. */
+   private long tupleCount;
+   /** File offset of the next block. */
+   private long offset;
+   /** Indicates whether this writer has been closed. */
+   private boolean closed;
+
+   /**
+    * Creates a new writer for tuples of the given schema that writes to the given file with the default
+    * block size.
+    *
+    * @param schema
+    *           schema of the written tuples
+    * @param file
+    *           path to the file
+    * @throws IOException
+    *            if the file cannot be created
+    */
+   public ColumnarFileWriter(final Schema schema, final String file) throws IOException {
+      this(schema, file, ColumnarFormat.DEFAULT_BLOCK_SIZE);
+   }
+
+   /**
+    * Creates a new writer for tuples of the given schema that writes to the given file.
+    *
+    * @param schema
+    *           schema of the written tuples
+    * @param file
+    *           path to the file
+    * @param blockSize
+    *           maximum number of tuples in a block
+    * @throws IOException
+    *            if the file cannot be created
+    */
+   public ColumnarFileWriter(final Schema schema, final String file, final int blockSize)
+         throws IOException {
+      if (blockSize < 1) {
+         throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+      }
+      this.schema = schema;
+      this.blockSize = blockSize;
+      this.blockBytes = new ByteArrayOutputStream();
+      this.blockOut = new DataOutputStream(this.blockBytes);
+      this.indexBytes = new ByteArrayOutputStream();
+      this.indexOut = new DataOutputStream(this.indexBytes);
+      final int size = schema.getSize();
+      this.primitives = new long[size][blockSize];
+      this.objects = new Object[size][];
+      this.nulls = new boolean[size][blockSize];
+      this.booleans = new boolean[size];
+      for (int i = 0; i < size; i++) {
+         final ColumnType type = schema.getColumnType(i);
+         if (type == ColumnType.STRING || type == ColumnType.OBJECT) {
+            this.objects[i] = new Object[blockSize];
+         }
+         this.booleans[i] = Boolean.class.equals(schema.getAttribute(i).getType());
+      }
+      this.scratch = new long[blockSize];
+      this.count = 0;
+      this.blockCount = 0;
+      this.tupleCount = 0;
+      this.closed = false;
+      this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+      this.writeHeader();
+   }
+
+   /**
+    * Appends the given tuple to the file.
+    *
+    * @param tuple
+    *           data tuple of the schema of this writer
+    * @throws IOException
+    *            if the tuple cannot be written
+    */
+   public void write(final DataTuple tuple) throws IOException {
+      if (this.closed) {
+         throw new IOException("Writer has been closed.");
+      }
+      final int row = this.count;
+      for (int i = 0; i < this.primitives.length; i++) {
+         final boolean isNull = tuple.isNull(i);
+         this.nulls[i][row] = isNull;
+         if (isNull) {
+            if (this.objects[i] != null) {
+               this.objects[i][row] = null;
+            }
+            continue;
+         }
+         switch (this.schema.getColumnType(i)) {
+            case INT:
+            case LONG:
+               if (this.booleans[i]) {
+                  this.primitives[i][row] = ((Boolean) tuple.getAttributeValue(i)).booleanValue() ? 1 : 0;
+               } else {
+                  this.primitives[i][row] = tuple.getLong(i);
+               }
+               break;
+            case DOUBLE:
+               this.primitives[i][row] = Double.doubleToRawLongBits(tuple.getDouble(i));
+               break;
+            default:
+               this.objects[i][row] = tuple.getAttributeValue(i);
+         }
+      }
+      this.count++;
+      this.tupleCount++;
+      if (this.count == this.blockSize) {
+         this.writeBlock();
+      }
+   }
+
+   /**
+    * Returns the number of tuples that have been written.
+    *
+    * @return number of tuples
+    */
+   public long getTupleCount() {
+      return this.tupleCount;
+   }
+
+   /**
+    * Writes the last block, the block index, and the trailer, and closes the file. Closing a writer that
+    * has already been closed has no effect.
+    *
+    * @throws IOException
+    *            if the file cannot be written
+    */
+   @Override
+   public void close() throws IOException {
+      if (this.closed) {
+         return;
+      }
+      this.closed = true;
+      try {
+         if (this.count > 0) {
+            this.writeBlock();
+         }
+         this.out.writeInt(this.blockCount);
+         this.indexBytes.writeTo(this.out);
+         this.out.writeLong(this.offset);
+         this.out.writeInt(ColumnarFormat.MAGIC);
+      } finally {
+         this.out.close();
+      }
+   }
+
+   /**
+    * Writes the header of the file.
+    *
+    * @throws IOException
+    *            if the header cannot be written
+    */
+   private void writeHeader() throws IOException {
+      this.blockOut.writeInt(ColumnarFormat.MAGIC);
+      this.blockOut.writeInt(ColumnarFormat.VERSION);
+      this.blockOut.writeInt(this.schema.getProgressingAttribute());
+      this.blockOut.writeInt(this.schema.getSize());
+      for (final Attribute attribute : this.schema.getAttributes()) {
+         ColumnarFormat.writeString(this.blockOut, attribute.getName());
+         ColumnarFormat.writeString(this.blockOut, attribute.getType().getName());
+      }
+      this.blockBytes.writeTo(this.out);
+      this.offset = this.blockBytes.size();
+      this.blockBytes.reset();
+   }
+
+   /**
+    * Encodes the current block, appends it to the file, and adds its entry to the block index.
+    *
+    * @throws IOException
+    *            if the block cannot be written
+    */
+   private void writeBlock() throws IOException {
+      final int progressing = this.schema.getProgressingAttribute();
+      boolean ranged = false;
+      long min = 0;
+      long max = 0;
+      for (int i = 0; i < this.primitives.length; i++) {
+         this.writeNulls(i);
+         switch (this.schema.getColumnType(i)) {
+            case INT:
+            case LONG:
+               this.writeLongs(i);
+               break;
+            case DOUBLE:
+               this.writeDoubles(i);
+               break;
+            case STRING:
+               this.writeStrings(i);
+               break;
+            default:
+               this.writeObjects(i);
+         }
+      }
+      // the range of the progressing attribute is stored for numeric attributes only
+      final ColumnType type = this.schema.getColumnType(progressing);
+      final long[] values = this.primitives[progressing];
+      final boolean[] isNull = this.nulls[progressing];
+      for (int row = 0; row < this.count; row++) {
+         if (isNull[row]) {
+            continue;
+         }
+         if (type == ColumnType.INT || type == ColumnType.LONG) {
+            min = ranged ? Math.min(min, values[row]) : values[row];
+            max = ranged ? Math.max(max, values[row]) : values[row];
+            ranged = true;
+         } else if (type == ColumnType.DOUBLE) {
+            final double value = Double.longBitsToDouble(values[row]);
+            if (!ranged || value < Double.longBitsToDouble(min)) {
+               min = values[row];
+            }
+            if (!ranged || value > Double.longBitsToDouble(max)) {
+               max = values[row];
+            }
+            ranged = true;
+         }
+      }
+      this.indexOut.writeLong(this.offset);
+      this.indexOut.writeInt(this.blockBytes.size());
+      this.indexOut.writeInt(this.count);
+      this.indexOut.writeBoolean(ranged);
+      this.indexOut.writeLong(min);
+      this.indexOut.writeLong(max);
+      this.blockBytes.writeTo(this.out);
+      this.offset += this.blockBytes.size();
+      this.blockBytes.reset();
+      this.blockCount++;
+      this.count = 0;
+   }
+
+   /**
+    * Writes the flag that indicates whether the given attribute has <code>null</code> values in the current
+    * block, followed by a bitmap of these values if so.
+    *
+    * @param attribute
+    *           attribute position
+    * @throws IOException
+    *            if the values cannot be written
+    */
+   private void writeNulls(final int attribute) throws IOException {
+      final boolean[] isNull = this.nulls[attribute];
+      boolean any = false;
+      for (int row = 0; row < this.count && !any; row++) {
+         any = isNull[row];
+      }
+      this.blockOut.writeBoolean(any);
+      if (any) {
+         for (int row = 0; row < this.count; row += Byte.SIZE) {
+            int bits = 0;
+            for (int bit = 0; bit < Byte.SIZE && row + bit < this.count; bit++) {
+               if (isNull[row + bit]) {
+                  bits |= 1 << bit;
+               }
+            }
+            this.blockOut.writeByte(bits);
+         }
+      }
+   }
+
+   /**
+    * Writes the values of the given integer, boolean, long, or date attribute in the current block.
+    *
+    * @param attribute
+    *           attribute position
+    * @throws IOException
+    *            if the values cannot be written
+    */
+   private void writeLongs(final int attribute) throws IOException {
+      final long[] values = this.primitives[attribute];
+      final boolean[] isNull = this.nulls[attribute];
+      long min = Long.MAX_VALUE;
+      long max = Long.MIN_VALUE;
+      for (int row = 0; row < this.count; row++) {
+         if (!isNull[row]) {
+            min = Math.min(min, values[row]);
+            max = Math.max(max, values[row]);
+         }
+      }
+      if (min > max) {
+         min = 0;
+         max = 0;
+      }
+      for (int row = 0; row < this.count; row++) {
+         this.scratch[row] = isNull[row] ? min : values[row];
+      }
+      ColumnarFormat.writePacked(this.blockOut, this.scratch, this.count, min, max);
+   }
+
+   /**
+    * Writes the values of the given double or float attribute in the current block. If all values are
+    * integral, they are packed like long values.
+    *
+    * @param attribute
+    *           attribute position
+    * @throws IOException
+    *            if the values cannot be written
+    */
+   private void writeDoubles(final int attribute) throws IOException {
+      final long[] values = this.primitives[attribute];
+      final boolean[] isNull = this.nulls[attribute];
+      boolean integral = true;
+      long min = Long.MAX_VALUE;
+      long max = Long.MIN_VALUE;
+      for (int row = 0; row < this.count && integral; row++) {
+         if (!isNull[row]) {
+            final long value = (long) Double.longBitsToDouble(values[row]);
+            // rejects fractions, infinities, NaN, negative zero, and values beyond the long range
+            integral = Double.doubleToRawLongBits(value) == values[row];
+            this.scratch[row] = value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+         }
+      }
+      if (!integral) {
+         this.blockOut.writeByte(ColumnarFormat.RAW);
+         for (int row = 0; row < this.count; row++) {
+            this.blockOut.writeLong(values[row]);
+         }
+         return;
+      }
+      if (min > max) {
+         min = 0;
+         max = 0;
+      }
+      for (int row = 0; row < this.count; row++) {
+         if (isNull[row]) {
+            this.scratch[row] = min;
+         }
+      }
+      this.blockOut.writeByte(ColumnarFormat.PACKED);
+      ColumnarFormat.writePacked(this.blockOut, this.scratch, this.count, min, max);
+   }
+
+   /**
+    * Writes the values of the given string attribute in the current block as a dictionary of the distinct
+    * values followed by the packed codes of all values.
+    *
+    * @param attribute
+    *           attribute position
+    * @throws IOException
+    *            if the values cannot be written
+    */
+   private void writeStrings(final int attribute) throws IOException {
+      final Object[] values = this.objects[attribute];
+      final boolean[] isNull = this.nulls[attribute];
+      final Map<String, Integer> codes = new HashMap<>();
+      final String[] dictionary = new String[this.count];
+      for (int row = 0; row < this.count; row++) {
+         if (isNull[row]) {
+            this.scratch[row] = 0;
+            continue;
+         }
+         final String value = values[row].toString();
+         Integer code = codes.get(value);
+         if (code == null) {
+            code = codes.size();
+            codes.put(value, code);
+            dictionary[code] = value;
+         }
+         this.scratch[row] = code;
+      }
+      this.blockOut.writeInt(codes.size());
+      for (int code = 0; code < codes.size(); code++) {
+         ColumnarFormat.writeString(this.blockOut, dictionary[code]);
+      }
+      ColumnarFormat.writePacked(this.blockOut, this.scratch, this.count, 0, Math.max(0, codes.size() - 1));
+   }
+
+   /**
+    * Writes the values of the given attribute that is neither numeric nor a string attribute in the current
+    * block by serializing all values that are not <code>null</code>.
+    *
+    * @param attribute
+    *           attribute position
+    * @throws IOException
+    *            if the values cannot be serialized
+    */
+   private void writeObjects(final int attribute) throws IOException {
+      final Object[] values = this.objects[attribute];
+      final boolean[] isNull = this.nulls[attribute];
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+         for (int row = 0; row < this.count; row++) {
+            if (!isNull[row]) {
+               objects.writeObject(values[row]);
+            }
+         }
+      }
+      this.blockOut.writeInt(bytes.size());
+      bytes.writeTo(this.blockOut);
+   }
+}
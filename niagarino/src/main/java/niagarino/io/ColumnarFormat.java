@@ -0,0 +1,206 @@
+/*
+ * @(#)ColumnarFormat.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.io;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and encoding primitives of the binary columnar stream file format, which is written by
+ * {@link ColumnarFileWriter} and read by {@link ColumnarFileIterator}. All numbers are stored in big-endian
+ * byte order. A file consists of the following parts.
+ * <ul>
+ * <li>A header with the magic number, the format version, the position of the progressing attribute, and the
+ * name and type class name of every attribute.</li>
+ * <li>A sequence of blocks, each of which stores up to a fixed number of tuples column by column. Every
+ * column starts with a flag that indicates whether a bitmap of <code>null</code> values follows. Integer,
+ * boolean, long, and date values are packed as offsets from the smallest value of the block with the
+ * smallest byte width that fits all offsets. Double and float values are packed in the same way if they are
+ * all integral, and stored as their raw bits otherwise. String values are stored as a block dictionary and
+ * packed codes. All other values are serialized.</li>
+ * <li>A block index with the file offset, the length, the number of tuples, and the smallest and largest
+ * value of the progressing attribute of every block.</li>
+ * <li>A trailer with the file offset of the block index and the magic number.</li>
+ * </ul>
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public final class ColumnarFormat {
+
+   /** File name extension of columnar stream files. */
+   public static final String EXTENSION = ".ncol";
+
+   /** Default number of tuples in a block. */
+   public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+   /** Magic number at the beginning and at the end of a file, which reads "NCOL" in ASCII. */
+   static final int MAGIC = 0x4E434F4C;
+
+   /** Version of the file format. */
+   static final int VERSION = 1;
+
+   /** Size of the trailer in bytes. */
+   static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+
+   /** Encoding of a double column whose values are packed as integers. */
+   static final byte PACKED = 0;
+
+   /** Encoding of a double column whose values are stored as raw bits. */
+   static final byte RAW = 1;
+
+   /** Character set of string values. */
+   static final Charset CHARSET = StandardCharsets.UTF_8;
+
+   /**
+    * Hidden constructor.
+    */
+   private ColumnarFormat() {
+      // prevent instantiation
+   }
+
+   /**
+    * Returns the smallest byte width that fits the offsets of all given values from the given smallest
+    * value.
+    *
+    * @param min
+    *           smallest value
+    * @param max
+    *           largest value
+    * @return byte width, i.e., 0, 1, 2, 4, or 8
+    */
+   static int width(final long min, final long max) {
+      final long range = max - min;
+      if (range == 0) {
+         return 0;
+      } else if (range < 0 || range >= 1L << Integer.SIZE) {
+         // offsets wrap around in two's complement, which is reversed by adding the base when decoding
+         return Long.BYTES;
+      } else if (range >= 1 << Short.SIZE) {
+         return Integer.BYTES;
+      } else if (range >= 1 << Byte.SIZE) {
+         return Short.BYTES;
+      }
+      return Byte.BYTES;
+   }
+
+   /**
+    * Writes the given values packed as offsets from their smallest value.
+    *
+    * @param out
+    *           output stream
+    * @param values
+    *           values, where <code>null</code> values have to be set to any other value of the array
+    * @param count
+    *           number of values
+    * @param min
+    *           smallest value
+    * @param max
+    *           largest value
+    * @throws IOException
+    *            if the values cannot be written
+    */
+   static void writePacked(final DataOutputStream out, final long[] values, final int count, final long min,
+         final long max) throws IOException {
+      final int width = ColumnarFormat.width(min, max);
+      out.writeByte(width);
+      out.writeLong(min);
+      for (int i = 0; i < count && width > 0; i++) {
+         final long offset = values[i] - min;
+         switch (width) {
+            case Byte.BYTES:
+               out.writeByte((int) offset);
+               break;
+            case Short.BYTES:
+               out.writeShort((int) offset);
+               break;
+            case Integer.BYTES:
+               out.writeInt((int) offset);
+               break;
+            default:
+               out.writeLong(offset);
+         }
+      }
+   }
+
+   /**
+    * Reads values that have been written by {@link #writePacked(DataOutputStream, long[], int, long, long)}.
+    *
+    * @param in
+    *           input buffer
+    * @param values
+    *           array that receives the values
+    * @param count
+    *           number of values
+    */
+   static void readPacked(final ByteBuffer in, final long[] values, final int count) {
+      final int width = in.get();
+      final long base = in.getLong();
+      switch (width) {
+         case 0:
+            for (int i = 0; i < count; i++) {
+               values[i] = base;
+            }
+            break;
+         case Byte.BYTES:
+            for (int i = 0; i < count; i++) {
+               values[i] = base + (in.get() & 0xFF);
+            }
+            break;
+         case Short.BYTES:
+            for (int i = 0; i < count; i++) {
+               values[i] = base + (in.getShort() & 0xFFFF);
+            }
+            break;
+         case Integer.BYTES:
+            for (int i = 0; i < count; i++) {
+               values[i] = base + (in.getInt() & 0xFFFFFFFFL);
+            }
+            break;
+         default:
+            for (int i = 0; i < count; i++) {
+               values[i] = base + in.getLong();
+            }
+      }
+   }
+
+   /**
+    * Writes the given string as its length in bytes followed by its UTF-8 encoding.
+    *
+    * @param out
+    *           output stream
+    * @param value
+    *           string value
+    * @throws IOException
+    *            if the string cannot be written
+    */
+   static void writeString(final DataOutputStream out, final String value) throws IOException {
+      final byte[] bytes = value.getBytes(CHARSET);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+   }
+
+   /**
+    * Reads a string that has been written by {@link #writeString(DataOutputStream, String)}.
+    *
+    * @param in
+    *           input buffer
+    * @return string value
+    */
+   static String readString(final ByteBuffer in) {
+      final int length = in.getInt();
+      final String value = new String(in.array(), in.arrayOffset() + in.position(), length, CHARSET);
+      in.position(in.position() + length);
+      return value;
+   }
+}
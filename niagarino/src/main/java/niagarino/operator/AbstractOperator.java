@@ -19,14 +19,19 @@ import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import niagarino.runtime.OperatorSignal;
+import niagarino.runtime.SchedulingMode;
+import niagarino.stream.ColumnarPage;
 import niagarino.stream.ControlTuple;
 import niagarino.stream.ControlTuple.Type;
 import niagarino.stream.DataTuple;
-import niagarino.stream.Page;
+import niagarino.stream.PageElement;
+import niagarino.stream.PageFormat;
 import niagarino.stream.Schema;
 import niagarino.stream.Stream;
 import niagarino.stream.Stream.Flow;
 import niagarino.stream.StreamElement;
+import niagarino.stream.StringDictionary;
 import niagarino.stream.TupleElement;
 import niagarino.util.PropertiesReader;
 
@@ -36,7 +41,7 @@ import niagarino.util.PropertiesReader;
  * @author Michael Grossniklaus &lt;michagro@cecs.pdx.edu&gt;
  * @version 1.0
  */
-public abstract class AbstractOperator implements Operator, Runnable {
+public abstract class AbstractOperator implements CooperativeOperator {
 
    /** Logger for this class. */
    private static final Logger LOG = LogManager.getLogger(AbstractOperator.class);
@@ -55,8 +60,12 @@ public abstract class AbstractOperator implements Operator, Runnable {
    private final Map<Socket, boolean[]> eos;
    /** Current sleep duration in milliseconds used in exponential back-off. */
    private long sleep;
+   /** Strategy used to wait for stream elements when this operator is idle. */
+   private final SchedulingMode schedulingMode;
+   /** Signal that is raised whenever a stream element is pushed onto a stream read by this operator. */
+   private final OperatorSignal signal;
    /** Indicates whether this operator is currently running. */
-   private boolean running;
+   private volatile boolean running;
    /** Indicates whether this operator is a sink of the query plan. */
    private boolean sink;
    /** Indicates whether this operator uses paging. */
@@ -64,9 +73,19 @@ public abstract class AbstractOperator implements Operator, Runnable {
    /** Statistics collected during execution of this operator. */
    private final OperatorEventListenerList listeners;
    /** List of Pages for every stream. */
-   private final ArrayList<Page> pages;
+   private final List<PageElement> pages;
    /** Number of Tuples in One Page. */
    private final int pageSize;
+   /** Format of the pages produced by this operator. */
+   private final PageFormat pageFormat;
+   /** Dictionary shared by all columnar pages produced by this operator. */
+   private final StringDictionary dictionary;
+   /** Operators that are fused into this operator and run by its thread, in the order of their chain. */
+   private final List<AbstractOperator> fused;
+   /** Fused operator that directly consumes the output of this operator, or {@code null}. */
+   private AbstractOperator successor;
+   /** Fused operator that directly produces the input of this operator, or {@code null}. */
+   private AbstractOperator predecessor;
 
    /**
     * Constructs a new abstract operator with the given input schemas, ignoring input and output arity.
@@ -100,6 +119,8 @@ public abstract class AbstractOperator implements Operator, Runnable {
       this.sink = false;
       this.running = false;
       this.sleep = AbstractOperator.BACK_OFF;
+      this.schedulingMode = SchedulingMode.getConfiguredMode();
+      this.signal = new OperatorSignal();
       this.streams = new HashMap<Socket, List<Stream>>();
       this.streams.put(Socket.INPUT, new ArrayList<Stream>());
       this.streams.put(Socket.OUTPUT, new ArrayList<Stream>());
@@ -107,9 +128,14 @@ public abstract class AbstractOperator implements Operator, Runnable {
       this.paging = Boolean.parseBoolean(PropertiesReader.getPropertiesReader().getProperties()
             .getProperty(PropertiesReader.PAGING_ENABLED));
       this.listeners = new OperatorEventListenerList();
-      this.pages = new ArrayList<Page>();
+      this.pages = new ArrayList<PageElement>();
       this.pageSize = Integer.parseInt(PropertiesReader.getPropertiesReader().getProperties()
             .getProperty(PropertiesReader.PAGING_PAGESIZE));
+      this.pageFormat = PageFormat.getConfiguredFormat();
+      this.dictionary = new StringDictionary();
+      this.fused = new ArrayList<AbstractOperator>();
+      this.successor = null;
+      this.predecessor = null;
    }
 
    @Override
@@ -132,6 +158,7 @@ public abstract class AbstractOperator implements Operator, Runnable {
       final List<Stream> inputStreams = this.streams.get(Socket.INPUT);
       if (!this.running) {
          inputStreams.add(stream);
+         stream.setSignal(Socket.INPUT.read(), this.signal);
       } else {
          throw new UnsupportedOperationException("Operator is running and cannot be changed.");
       }
@@ -142,6 +169,7 @@ public abstract class AbstractOperator implements Operator, Runnable {
       final List<Stream> outputStreams = this.streams.get(Socket.OUTPUT);
       if (!this.running) {
          outputStreams.add(stream);
+         stream.setSignal(Socket.OUTPUT.read(), this.signal);
       } else {
          throw new UnsupportedOperationException("Operator is running and cannot be changed.");
       }
@@ -164,18 +192,88 @@ public abstract class AbstractOperator implements Operator, Runnable {
    @Override
    public void stop() {
       this.running = false;
-      // Clear all streams this AbstractOperator reads from to prevent blocking other operators.
-      for (final Stream stream : this.streams.get(Socket.INPUT)) {
-         stream.clearStream(Socket.INPUT.read());
-      }
-      for (final Stream stream : this.streams.get(Socket.OUTPUT)) {
-         stream.clearStream(Socket.OUTPUT.read());
-      }
+      // the operator thread clears the streams it reads from in close(), as only the consumer of a stream
+      // buffer may remove stream elements from it
+      // wake up the operator thread in case it is waiting for stream elements
+      this.signal.signal();
    }
 
    @Override
    public boolean isRunning() {
-      return this.running;
+      boolean running = this.running;
+      for (final AbstractOperator operator : this.fused) {
+         running = running || operator.running;
+      }
+      return running;
+   }
+
+   /**
+    * Checks whether this operator is cheap enough to be fused into the operator that produces its input,
+    * i.e., to be run by the thread of that operator and called directly instead of reading from a stream.
+    * Only operators with a single input stream are fused. This default implementation returns
+    * {@code false}.
+    *
+    * @return {@code true} if this operator can be fused, {@code false} otherwise
+    */
+   protected boolean isFusible() {
+      return false;
+   }
+
+   /**
+    * Checks whether the consumer of this operator may be fused into it. Operators that observe their output
+    * streams, e.g., to measure back-pressure, need a stream that actually buffers their output, which a fused
+    * consumer bypasses. This default implementation returns {@code true}.
+    *
+    * @return {@code true} if the consumer of this operator can be fused, {@code false} otherwise
+    */
+   protected boolean hasFusibleOutput() {
+      return true;
+   }
+
+   /**
+    * Fuses the given consumer into the given producer, which is either this operator or an operator that has
+    * already been fused into this operator. Afterwards, the producer calls the consumer directly and this
+    * operator runs the consumer. Producer and consumer must be connected by a single stream, which is the
+    * only output stream of the producer and the only input stream of the consumer.
+    *
+    * @param producer
+    *           operator that produces the input of the consumer
+    * @param consumer
+    *           operator that is fused
+    */
+   void fuse(final AbstractOperator producer, final AbstractOperator consumer) {
+      if (this.running) {
+         throw new UnsupportedOperationException("Operator is running and cannot be changed.");
+      }
+      producer.successor = consumer;
+      consumer.predecessor = producer;
+      this.fused.add(consumer);
+      // elements pushed onto the remaining streams of the consumer wake up the thread of this operator
+      for (final Socket socket : Socket.values()) {
+         for (final Stream stream : consumer.streams.get(socket)) {
+            stream.setSignal(socket.read(), this.signal);
+         }
+      }
+   }
+
+   /**
+    * Checks whether this operator has been fused into another operator and is run by its thread.
+    *
+    * @return {@code true} if this operator has been fused, {@code false} otherwise
+    */
+   public boolean isFused() {
+      return this.predecessor != null;
+   }
+
+   /**
+    * Returns the streams at the given socket of this operator.
+    *
+    * @param socket
+    *           input or output socket
+    * @return unmodifiable list of streams
+    */
+   List<Stream> getStreams(final Socket socket) {
+      return Collections.unmodifiableList(this.streams.get(socket));
    }
 
    /**
@@ -190,34 +288,116 @@ public abstract class AbstractOperator implements Operator, Runnable {
 
    @Override
    public synchronized void run() {
+      this.open();
+      // a dedicated operator thread executes the entire operator in one work quantum
+      this.listeners.fireOnQuantumStart(this);
+      do {
+         final boolean found = this.processRound();
+         if (!found && this.isRunning()) {
+            this.idle();
+         } else {
+            this.sleep = BACK_OFF;
+         }
+      } while (this.isRunning());
+      this.listeners.fireOnQuantumEnd(this);
+      this.close();
+   }
+
+   @Override
+   public void open() {
       this.running = true;
       this.startActions();
-      do {
-         final boolean found = this.processStreams();
+      for (final AbstractOperator operator : this.fused) {
+         operator.open();
+      }
+   }
+
+   @Override
+   public boolean runQuantum(final int rounds) {
+      this.listeners.fireOnQuantumStart(this);
+      boolean found = false;
+      for (int i = 0; i < rounds && this.isRunning(); i++) {
+         found = this.processRound();
          if (!found) {
-            // exponential back-off
-            try {
+            break;
+         }
+      }
+      this.listeners.fireOnQuantumEnd(this);
+      return found;
+   }
+
+   @Override
+   public void close() {
+      // this operator no longer reads from its streams, make sure nobody blocks on them
+      for (final Stream stream : this.streams.get(Socket.INPUT)) {
+         stream.close(Socket.INPUT.read());
+      }
+      for (final Stream stream : this.streams.get(Socket.OUTPUT)) {
+         stream.close(Socket.OUTPUT.read());
+      }
+      this.listeners.fireOnShutdown(this);
+      this.shutDown();
+      for (final AbstractOperator operator : this.fused) {
+         operator.close();
+      }
+   }
+
+   @Override
+   public OperatorSignal getSignal() {
+      return this.signal;
+   }
+
+   /**
+    * Reads from all streams once, processes any stream element it encounters, and stops this operator once
+    * all of its streams have ended. Afterwards, the same is done for all operators that are fused into this
+    * operator and are still running.
+    *
+    * @return {@code true} if a stream element was read and processed, {@code false} otherwise
+    */
+   private boolean processRound() {
+      boolean found = this.processStreams();
+      if (this.isEoS(Socket.OUTPUT)) {
+         this.running = false;
+      } else if (this.sink && this.isEoS(Socket.INPUT)) {
+         this.handleEoS(Socket.OUTPUT, 0, new ControlTuple(Type.EOS));
+         this.running = false;
+      }
+      for (final AbstractOperator operator : this.fused) {
+         if (operator.running) {
+            found = operator.processRound() || found;
+         }
+      }
+      return found;
+   }
+
+   /**
+    * Waits for new stream elements according to the scheduling mode of this operator. In back-off mode, the
+    * operator thread sleeps with exponential back-off. In signal mode, the operator thread is parked until
+    * a stream element is pushed onto one of the streams of this operator.
+    */
+   private void idle() {
+      final long start = System.nanoTime();
+      try {
+         switch (this.schedulingMode) {
+            case SIGNAL:
+               if (this.running) {
+                  this.signal.await();
+               }
+               break;
+            case BACKOFF:
+            default:
+               // exponential back-off
                Thread.sleep(this.sleep);
                // record total sleep time
                if (this.sleep < MAX_BACK_OFF) {
                   this.sleep *= 2;
                }
-            } catch (final InterruptedException e) {
-               throw new OperatorException(this, e);
-            }
-            // record the scheduling miss in the statistics
-         } else {
-            this.sleep = BACK_OFF;
-         }
-         if (this.isEoS(Socket.OUTPUT)) {
-            this.running = false;
-         } else if (this.sink && this.isEoS(Socket.INPUT)) {
-            this.handleEoS(Socket.OUTPUT, 0, new ControlTuple(Type.EOS));
-            this.running = false;
          }
-      } while (this.running);
-      this.listeners.fireOnShutdown(this);
-      this.shutDown();
+      } catch (final InterruptedException e) {
+         throw new OperatorException(this, e);
+      }
+      // record the scheduling miss in the statistics
+      this.listeners.fireOnIdle(this, System.nanoTime() - start);
    }
 
    /**
@@ -232,42 +412,101 @@ public abstract class AbstractOperator implements Operator, Runnable {
       final Socket socket = Socket.getPushSocket(flow);
       final List<Stream> streams = this.streams.get(socket);
       // forward stream element to all streams
-      StreamElement out = element;
+      final int last = streams.size() - 1;
       for (int i = 0; i < streams.size(); i++) {
-         // check if element needs to be cloned
-         if (i > 0 && element instanceof TupleElement) {
+         // all but the last stream receive a copy that shares values and metadata with the element, which is
+         // only published to the last stream after all copies have been taken
+         StreamElement out = element;
+         if (i < last && element instanceof TupleElement) {
             try {
-               out = ((TupleElement) element).clone();
+               out = ((TupleElement) element).share();
             } catch (final CloneNotSupportedException e) {
                throw new OperatorException(this, e);
             }
          }
-         final Stream stream = streams.get(i);
-         if (element instanceof DataTuple) {
-            final DataTuple tuple = (DataTuple) out;
-            // handle tuple stream elements
-            if (this.paging) {
-               // make sure there are enough output pages
-               if (this.pages.size() <= i) {
-                  this.pages.add(new Page(this.pageSize));
-               }
-               final Page page = this.pages.get(i);
-               page.put(tuple);
-               if (page.isFull()) {
-                  stream.pushElement(socket.write(), page);
-                  this.pages.set(i, new Page(this.pageSize));
-               }
-            } else {
-               stream.pushElement(socket.write(), out);
+         this.pushElement(socket, i, element, out);
+      }
+   }
+
+   /**
+    * Pushes the given stream element onto the stream with the given index at the given socket.
+    *
+    * @param socket
+    *           socket the element is pushed from
+    * @param index
+    *           index of the stream at the socket
+    * @param element
+    *           original stream element
+    * @param out
+    *           stream element that is published, i.e., the element itself or a shared copy of it
+    */
+   private void pushElement(final Socket socket, final int index, final StreamElement element,
+         final StreamElement out) {
+      final Stream stream = this.streams.get(socket).get(index);
+      if (element instanceof DataTuple) {
+         final DataTuple tuple = (DataTuple) out;
+         // listeners see the tuple before it is published to the consuming operator
+         this.listeners.fireOnOutputTuple(this, tuple);
+         // handle tuple stream elements
+         if (this.paging) {
+            // make sure there are enough output pages
+            while (this.pages.size() <= index) {
+               this.pages.add(null);
+            }
+            PageElement page = this.pages.get(index);
+            if (page instanceof ColumnarPage && !((ColumnarPage) page).isCompatible(tuple.getSchema())) {
+               // a columnar page only holds tuples of one schema
+               this.push(stream, socket.write(), page);
+               page = null;
             }
-            this.listeners.fireOnOutputTuple(this, tuple);
-         } else if (element instanceof ControlTuple) {
-            // handle control stream elements
-            if (this.paging) {
-               // flush pages before forwarding control stream element
-               this.flushPages();
+            if (page == null) {
+               page = this.pageFormat.createPage(tuple.getSchema(), this.pageSize, this.dictionary);
+               this.pages.set(index, page);
             }
-            stream.pushElement(socket.write(), out);
+            page.put(tuple);
+            if (page.isFull()) {
+               this.push(stream, socket.write(), page);
+               this.pages.set(index, null);
+            }
+         } else {
+            this.push(stream, socket.write(), out);
+         }
+      } else if (element instanceof ControlTuple) {
+         // handle control stream elements
+         if (this.paging) {
+            // flush pages before forwarding control stream element
+            this.flushPages();
+         }
+         this.push(stream, socket.write(), out);
+      }
+   }
+
+   /**
+    * Pushes the given stream element onto the given stream with the given flow direction and reports the time
+    * this operator was blocked because the stream was full. If the consumer of the stream is fused with this
+    * operator, the stream element is passed to it directly.
+    *
+    * @param stream
+    *           stream
+    * @param flow
+    *           stream flow direction
+    * @param element
+    *           stream element
+    */
+   private void push(final Stream stream, final Flow flow, final StreamElement element) {
+      final AbstractOperator consumer;
+      if (Flow.FORWARD.equals(flow)) {
+         consumer = this.successor;
+      } else {
+         consumer = this.predecessor;
+      }
+      if (consumer != null) {
+         // a fused operator is called directly instead of reading the element from the stream
+         consumer.processElement(Socket.getPullSocket(flow), 0, element);
+      } else {
+         final long blocked = stream.pushElement(flow, element);
+         if (blocked > 0) {
+            this.listeners.fireOnBlocked(this, blocked);
          }
       }
    }
@@ -280,10 +519,10 @@ public abstract class AbstractOperator implements Operator, Runnable {
       int i = 0;
       if (!this.pages.isEmpty()) {
          for (final Stream stream : streams) {
-            final Page page = this.pages.get(i);
-            if (!page.isEmpty()) {
-               stream.pushElement(Socket.OUTPUT.write(), page);
-               this.pages.set(i, new Page(this.pageSize));
+            final PageElement page = this.pages.get(i);
+            if (page != null && !page.isEmpty()) {
+               this.push(stream, Socket.OUTPUT.write(), page);
+               this.pages.set(i, null);
             }
             i++;
          }
@@ -385,13 +624,73 @@ public abstract class AbstractOperator implements Operator, Runnable {
                   // do nothing
             }
          }
-      } else if (element instanceof Page) {
-         final Page p = (Page) element;
-         final DataTuple[] tuples = p.getTuples();
-         for (final DataTuple tuple : tuples) {
-            if (Socket.INPUT.equals(socket) && tuple != null) {
-               this.processTuple(input, tuple);
-               this.listeners.fireOnInputTuple(this, tuple);
+      } else if (element instanceof PageElement) {
+         if (Socket.INPUT.equals(socket)) {
+            final PageElement page = (PageElement) element;
+            if (this.isBatchProcessing()) {
+               this.processBatch(input, page);
+            } else {
+               for (final DataTuple tuple : page.getTuples()) {
+                  if (tuple != null) {
+                     this.processTuple(input, tuple);
+                  }
+               }
+            }
+            this.listeners.fireOnInputBatch(this, page);
+         }
+      }
+   }
+
+   /**
+    * Checks whether this operator processes pages as a whole. Operators that opt into batch processing
+    * override this method together with {@link #processBatch(int, PageElement)}.
+    *
+    * @return {@code true} if pages are passed to {@link #processBatch(int, PageElement)}, {@code false} if
+    *         their tuples are passed to {@link #processTuple(int, DataTuple)} one by one
+    */
+   protected boolean isBatchProcessing() {
+      return false;
+   }
+
+   /**
+    * Processes all tuples of the given page from the given input. Batch-aware operators typically check
+    * whether the page is a {@link ColumnarPage} and work on its columns directly. This default
+    * implementation processes the tuples one by one.
+    *
+    * @param input
+    *           input number
+    * @param page
+    *           page of data tuples
+    */
+   protected void processBatch(final int input, final PageElement page) {
+      for (final DataTuple tuple : page.getTuples()) {
+         if (tuple != null) {
+            this.processTuple(input, tuple);
+         }
+      }
+   }
+
+   /**
+    * Pushes all tuples of the given page forward. If this operator has exactly one output stream and uses
+    * paging, the page is pushed as a whole after flushing the current output page. Otherwise, the tuples are
+    * pushed one by one.
+    *
+    * @param page
+    *           page of data tuples
+    */
+   protected void pushBatch(final PageElement page) {
+      final List<Stream> streams = this.streams.get(Socket.OUTPUT);
+      if (this.paging && streams.size() == 1) {
+         if (!page.isEmpty()) {
+            // preserve the order of tuples that have already been pushed
+            this.flushPages();
+            this.listeners.fireOnOutputBatch(this, page);
+            this.push(streams.get(0), Socket.OUTPUT.write(), page);
+         }
+      } else {
+         for (final DataTuple tuple : page.getTuples()) {
+            if (tuple != null) {
+               this.pushTuple(tuple);
             }
          }
       }
@@ -407,6 +706,31 @@ public abstract class AbstractOperator implements Operator, Runnable {
       this.pushElement(Flow.FORWARD, tuple);
    }
 
+   /**
+    * Pushes the given data tuple forward on the output stream with the given index only. Operators that
+    * distribute their input over several downstream operators use this method instead of
+    * {@link #pushTuple(DataTuple)}, which pushes the tuple on all output streams.
+    *
+    * @param output
+    *           output number
+    * @param tuple
+    *           data tuple
+    */
+   protected void pushTuple(final int output, final DataTuple tuple) {
+      this.pushElement(Socket.OUTPUT, output, tuple, tuple);
+   }
+
+   /**
+    * Reports to the operator event listeners that this operator deliberately dropped the given number of
+    * input tuples, e.g., to shed load.
+    *
+    * @param count
+    *           number of dropped tuples
+    */
+   protected void reportDroppedTuples(final long count) {
+      this.listeners.fireOnDroppedTuples(this, count);
+   }
+
    /**
     * Processes the given data tuple from the given input. This default implementation simply pushes the data
     * tuple forward.
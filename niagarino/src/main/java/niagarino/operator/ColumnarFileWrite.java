@@ -0,0 +1,125 @@
+/*
+ * @(#)ColumnarFileWrite.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import niagarino.io.ColumnarFileWriter;
+import niagarino.plan.Parameter;
+import niagarino.plan.PlanOperatorByParametersFactory;
+import niagarino.stream.ControlTuple;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+
+/**
+ * An operator that writes the tuples on a stream to a file in the binary columnar stream file format, which
+ * can be read back with {@link niagarino.io.ColumnarFileIterator}. The file is completed as soon as the
+ * input stream ends. Tuples are pushed forward unchanged, so that the operator can also be placed in the
+ * middle of a plan.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ColumnarFileWrite extends AbstractOperator {
+
+   /** Writer of the columnar stream file. */
+   private final ColumnarFileWriter writer;
+
+   /**
+    * Constructs a new operator that writes tuples of the given schema to the given file.
+    *
+    * @param operatorId
+    *           id of operator
+    * @param inputSchema
+    *           schema of input tuples
+    * @param file
+    *           path to the columnar stream file
+    * @throws IOException
+    *            if the file cannot be created
+    */
+   public ColumnarFileWrite(final String operatorId, final Schema inputSchema, final String file)
+         throws IOException {
+      super(operatorId, Arrays.asList(inputSchema));
+      this.writer = new ColumnarFileWriter(inputSchema, file);
+   }
+
+   /**
+    * Constructs a new operator that writes tuples of the given schema to the given file.
+    *
+    * @param inputSchema
+    *           schema of input tuples
+    * @param file
+    *           path to the columnar stream file
+    * @throws IOException
+    *            if the file cannot be created
+    */
+   public ColumnarFileWrite(final Schema inputSchema, final String file) throws IOException {
+      this(ColumnarFileWrite.class.getSimpleName(), inputSchema, file);
+   }
+
+   @Override
+   public Schema getOutputSchema() {
+      return this.getInputSchemas().get(0);
+   }
+
+   @Override
+   protected void processTuple(final int input, final DataTuple tuple) {
+      try {
+         this.writer.write(tuple);
+      } catch (final IOException e) {
+         throw new OperatorException(this, e);
+      }
+      this.pushTuple(tuple);
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   protected void handleEoS(final Socket socket, final int input, final ControlTuple message) {
+      if (Socket.INPUT.equals(socket)) {
+         this.closeWriter();
+      }
+      super.handleEoS(socket, input, message);
+   }
+
+   @Override
+   protected void shutDown() {
+      this.closeWriter();
+      super.shutDown();
+   }
+
+   /**
+    * Completes and closes the columnar stream file.
+    */
+   private void closeWriter() {
+      try {
+         this.writer.close();
+      } catch (final IOException e) {
+         throw new OperatorException(this, e);
+      }
+   }
+
+   /**
+    * Factory for new instances of the ColumnarFileWrite operator.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   public static class Factory implements PlanOperatorByParametersFactory {
+
+      @Override
+      public ColumnarFileWrite getOperatorByParameters(final String operatorId, final Schema inputSchema,
+            final Parameter parameters) throws Exception {
+         return new ColumnarFileWrite(operatorId, inputSchema, parameters.get("file").getString());
+      }
+   }
+}
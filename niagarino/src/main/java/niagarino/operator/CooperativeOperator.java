@@ -0,0 +1,55 @@
+/*
+ * @(#)CooperativeOperator.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import niagarino.runtime.OperatorSignal;
+
+/**
+ * Interface describing a stream operator that can be executed cooperatively in work quanta, rather than by a
+ * dedicated thread. An executor first opens the operator, then repeatedly runs work quanta until the
+ * operator is no longer running, and finally closes the operator. Between two work quanta, the operator can
+ * be executed by a different thread.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public interface CooperativeOperator extends Operator {
+
+   /**
+    * Prepares this operator for execution. This method has to be called once, after all streams have been
+    * added and before the first work quantum is run.
+    */
+   void open();
+
+   /**
+    * Runs one work quantum of this operator, which reads and processes stream elements for at most the given
+    * number of rounds over all streams of this operator. The work quantum ends early if a round does not
+    * find any stream element.
+    *
+    * @param rounds
+    *           maximum number of rounds
+    * @return {@code true} if the last round processed a stream element and more work is likely to be
+    *         available, {@code false} otherwise
+    */
+   boolean runQuantum(int rounds);
+
+   /**
+    * Releases this operator after it has stopped running.
+    */
+   void close();
+
+   /**
+    * Returns the signal that is raised whenever a stream element is pushed onto one of the streams of this
+    * operator.
+    *
+    * @return operator signal
+    */
+   OperatorSignal getSignal();
+}
@@ -0,0 +1,907 @@
+/*
+ * @(#)CsvReader.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+import niagarino.stream.PrimitiveValueList;
+import niagarino.stream.Schema;
+
+/**
+ * Reads the lines of a delimiter-separated text file directly into the values of data tuples. Files on the
+ * file system are memory-mapped region by region, all other inputs, e.g., compressed files or resources in
+ * archives, are read through a direct byte buffer. Lines are tokenized in place and integers, decimals,
+ * booleans, and dates are parsed straight from the bytes of the field, so that no string is created per line
+ * or per field. Only string attributes and values that are not in a canonical form, e.g., numbers in
+ * scientific notation with many digits, are decoded into strings and parsed by
+ * {@link PrimitiveValueList#parse(int, String)}, which also defines the semantics of this reader.
+ * <p>
+ * Lines are terminated by a line feed, a carriage return, or a carriage return followed by a line feed. The
+ * separator is interpreted in the same way as by {@link String#split(String)}, however, only separators
+ * without regular expression meta characters are matched in place.
+ * <p>
+ * A memory-mapped file can also be read in byte ranges by several readers concurrently. A reader of a byte
+ * range reads all lines that start within its range, hence the byte ranges of a file do not need to be
+ * aligned with line boundaries.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class CsvReader implements Closeable {
+
+   /**
+    * Parsers of attribute values.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private enum Parser {
+      /** Parses long attributes. */
+      LONG,
+
+      /** Parses integer attributes. */
+      INT,
+
+      /** Parses double attributes. */
+      DOUBLE,
+
+      /** Parses float attributes. */
+      FLOAT,
+
+      /** Parses boolean attributes. */
+      BOOLEAN,
+
+      /** Parses date attributes. */
+      DATE,
+
+      /** Decodes string attributes. */
+      STRING,
+
+      /** Decodes the value and converts it using the type system. */
+      OTHER;
+
+      /**
+       * Returns the parser for attributes of the given type.
+       *
+       * @param type
+       *           attribute type
+       * @return parser
+       */
+      static Parser forType(final Class< ? > type) {
+         if (Long.class.equals(type)) {
+            return LONG;
+         } else if (Integer.class.equals(type)) {
+            return INT;
+         } else if (Double.class.equals(type)) {
+            return DOUBLE;
+         } else if (Float.class.equals(type)) {
+            return FLOAT;
+         } else if (Boolean.class.equals(type)) {
+            return BOOLEAN;
+         } else if (Date.class.equals(type)) {
+            return DATE;
+         } else if (String.class.equals(type)) {
+            return STRING;
+         }
+         return OTHER;
+      }
+   }
+
+   /** Default size of the regions of memory-mapped files. */
+   private static final int REGION_SIZE = 1 << 26;
+   /** Initial size of the buffer of stream input. */
+   private static final int BUFFER_SIZE = 1 << 16;
+   /** Characters that have to be escaped to be matched literally by a regular expression. */
+   private static final String META_CHARACTERS = ".$|()[{^?*+\\";
+   /** Maximum number of decimal digits that always fit into a long. */
+   private static final int MAX_DIGITS = 18;
+   /** Largest mantissa that can be represented exactly by a double. */
+   private static final long MAX_DOUBLE_MANTISSA = 1L << 53;
+   /** Largest mantissa that can be represented exactly by a float. */
+   private static final long MAX_FLOAT_MANTISSA = 1L << 24;
+   /** Powers of ten that can be represented exactly by a double. */
+   private static final double[] POWERS_OF_TEN = new double[23];
+   /** Powers of ten that can be represented exactly by a float. */
+   private static final float[] FLOAT_POWERS_OF_TEN = new float[11];
+
+   static {
+      double power = 1;
+      for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+         POWERS_OF_TEN[i] = power;
+         if (i < FLOAT_POWERS_OF_TEN.length) {
+            FLOAT_POWERS_OF_TEN[i] = (float) power;
+         }
+         power *= 10;
+      }
+   }
+
+   /** Schema of the tuples that are read. */
+   private final Schema schema;
+   /** Parser of every attribute of the schema. */
+   private final Parser[] parsers;
+   /** Bytes of the separator, or {@code null} if the separator is a regular expression. */
+   private final byte[] separator;
+   /** Separator as a regular expression. */
+   private final String regex;
+   /** Character set used to decode strings. */
+   private final Charset charset;
+   /** Channel of a memory-mapped file, or {@code null} if the input is a stream. */
+   private final FileChannel channel;
+   /** Size of the memory-mapped file. */
+   private final long fileSize;
+   /** Channel of the input stream, or {@code null} if the input is a memory-mapped file. */
+   private final ReadableByteChannel in;
+   /** Minimum size of the memory-mapped regions. */
+   private final int regionSize;
+   /** File offset after which no more lines are started, i.e., the end of the byte range that is read. */
+   private final long rangeEnd;
+   /** Currently mapped region of the file or the buffer that stream input is read into. */
+   private ByteBuffer buffer;
+   /** File offset of the first byte of the buffer. */
+   private long offset;
+   /** Index of the first unread byte in the buffer. */
+   private int position;
+   /** Index after the last valid byte in the buffer. */
+   private int limit;
+   /** Indicates whether the input has been read completely. */
+   private boolean eof;
+   /** Indicates whether the last line ended with a carriage return that can be followed by a line feed. */
+   private boolean skipLineFeed;
+   /** Scratch array used to decode strings. */
+   private byte[] scratch;
+   /** Calendar used to compute dates in the default time zone. */
+   private final Calendar localCalendar;
+   /** Calendar used to compute dates with an explicit time zone offset. */
+   private final Calendar utcCalendar;
+
+   /**
+    * Constructs a new reader for the file with the given name, which is first looked up on the class path
+    * and then on the file system. Files are memory-mapped unless they are contained in an archive on the
+    * class path.
+    *
+    * @param schema
+    *           schema of the tuples in the file
+    * @param name
+    *           file name
+    * @param separator
+    *           field separator
+    * @throws IOException
+    *            if the file cannot be found or opened
+    */
+   public CsvReader(final Schema schema, final String name, final String separator) throws IOException {
+      this(schema, name, separator, REGION_SIZE);
+   }
+
+   /**
+    * Constructs a new reader for the lines of the file with the given name that start within the given byte
+    * range. The file is looked up as by {@link #CsvReader(Schema, String, String)} and has to be located on
+    * the file system.
+    *
+    * @param schema
+    *           schema of the tuples in the file
+    * @param name
+    *           file name
+    * @param separator
+    *           field separator
+    * @param start
+    *           file offset of the first byte of the range
+    * @param end
+    *           file offset after the last byte of the range
+    * @throws IOException
+    *            if the file cannot be found, opened, or mapped
+    */
+   public CsvReader(final Schema schema, final String name, final String separator, final long start,
+         final long end) throws IOException {
+      this(schema, name, separator, start, end, REGION_SIZE);
+   }
+
+   /**
+    * Constructs a new reader that reads from the given input stream, which can be compressed.
+    *
+    * @param schema
+    *           schema of the tuples in the stream
+    * @param in
+    *           input stream
+    * @param separator
+    *           field separator
+    */
+   public CsvReader(final Schema schema, final InputStream in, final String separator) {
+      this(schema, in, separator, BUFFER_SIZE);
+   }
+
+   /**
+    * Constructs a new reader for the file with the given name and maps it in regions of the given size.
+    *
+    * @param schema
+    *           schema of the tuples in the file
+    * @param name
+    *           file name
+    * @param separator
+    *           field separator
+    * @param regionSize
+    *           minimum size of the mapped regions, or of the buffer if the file is read as a stream
+    * @throws IOException
+    *            if the file cannot be found or opened
+    */
+   CsvReader(final Schema schema, final String name, final String separator, final int regionSize)
+         throws IOException {
+      this(schema, name, separator, 0, Long.MAX_VALUE, regionSize);
+   }
+
+   /**
+    * Constructs a new reader for the lines of the file with the given name that start within the given byte
+    * range and maps the file in regions of the given size.
+    *
+    * @param schema
+    *           schema of the tuples in the file
+    * @param name
+    *           file name
+    * @param separator
+    *           field separator
+    * @param start
+    *           file offset of the first byte of the range
+    * @param end
+    *           file offset after the last byte of the range
+    * @param regionSize
+    *           minimum size of the mapped regions, or of the buffer if the file is read as a stream
+    * @throws IOException
+    *            if the file cannot be found, opened, or mapped
+    */
+   CsvReader(final Schema schema, final String name, final String separator, final long start,
+         final long end, final int regionSize) throws IOException {
+      final Path path = CsvReader.resolve(name);
+      if (path == null && (start > 0 || end < Long.MAX_VALUE)) {
+         throw new IOException("Cannot read a byte range of file '" + name + "', which is in an archive.");
+      }
+      this.schema = schema;
+      this.parsers = new Parser[schema.getSize()];
+      for (int i = 0; i < this.parsers.length; i++) {
+         this.parsers[i] = Parser.forType(schema.getAttribute(i).getType());
+      }
+      this.charset = Charset.defaultCharset();
+      this.regex = separator;
+      this.separator = CsvReader.toLiteral(separator, this.charset);
+      this.regionSize = regionSize;
+      if (path == null) {
+         this.channel = null;
+         this.fileSize = 0;
+         this.in = Channels.newChannel(ClassLoader.getSystemResourceAsStream(name));
+         this.buffer = ByteBuffer.allocateDirect(Math.min(regionSize, BUFFER_SIZE));
+      } else {
+         this.channel = FileChannel.open(path, StandardOpenOption.READ);
+         this.fileSize = this.channel.size();
+         this.in = null;
+         this.buffer = null;
+      }
+      this.rangeEnd = end;
+      this.offset = Math.max(0, start - 1);
+      this.position = 0;
+      this.limit = 0;
+      this.eof = false;
+      this.skipLineFeed = false;
+      this.scratch = new byte[64];
+      this.localCalendar = Calendar.getInstance();
+      this.utcCalendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+      if (start > 0) {
+         // skip the rest of the line that contains the byte before the range, which is read by the reader of
+         // the previous range, unless that byte terminates the line
+         final int lineEnd = this.findLineEnd();
+         if (lineEnd >= 0) {
+            this.consumeLine(lineEnd);
+         }
+      }
+   }
+
+   /**
+    * Constructs a new reader that reads from the given input stream using a buffer of the given initial size.
+    *
+    * @param schema
+    *           schema of the tuples in the stream
+    * @param in
+    *           input stream
+    * @param separator
+    *           field separator
+    * @param bufferSize
+    *           initial size of the buffer
+    */
+   CsvReader(final Schema schema, final InputStream in, final String separator, final int bufferSize) {
+      this.schema = schema;
+      this.parsers = new Parser[schema.getSize()];
+      for (int i = 0; i < this.parsers.length; i++) {
+         this.parsers[i] = Parser.forType(schema.getAttribute(i).getType());
+      }
+      this.charset = Charset.defaultCharset();
+      this.regex = separator;
+      this.separator = CsvReader.toLiteral(separator, this.charset);
+      this.regionSize = bufferSize;
+      this.rangeEnd = Long.MAX_VALUE;
+      this.channel = null;
+      this.fileSize = 0;
+      this.in = Channels.newChannel(in);
+      this.buffer = ByteBuffer.allocateDirect(bufferSize);
+      this.offset = 0;
+      this.position = 0;
+      this.limit = 0;
+      this.eof = false;
+      this.skipLineFeed = false;
+      this.scratch = new byte[64];
+      this.localCalendar = Calendar.getInstance();
+      this.utcCalendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+   }
+
+   /**
+    * Resolves the given file name, which is first looked up on the class path and then on the file system.
+    *
+    * @param name
+    *           file name
+    * @return path of the file, or {@code null} if the file is contained in an archive on the class path
+    * @throws IOException
+    *            if the location of the file cannot be resolved
+    */
+   static Path resolve(final String name) throws IOException {
+      final URL url = ClassLoader.getSystemResource(name);
+      try {
+         if (url == null) {
+            return Paths.get(name);
+         } else if ("file".equals(url.getProtocol())) {
+            return Paths.get(url.toURI());
+         }
+         return null;
+      } catch (final URISyntaxException e) {
+         throw new IOException("Could not resolve file '" + name + "'.", e);
+      }
+   }
+
+   /**
+    * Returns the bytes of the given separator if it is matched literally by {@link String#split(String)}.
+    *
+    * @param separator
+    *           field separator
+    * @param charset
+    *           character set of the input
+    * @return separator bytes or {@code null} if the separator is a regular expression
+    */
+   private static byte[] toLiteral(final String separator, final Charset charset) {
+      if (separator.length() == 1 && META_CHARACTERS.indexOf(separator.charAt(0)) < 0) {
+         return separator.getBytes(charset);
+      } else if (separator.length() == 2 && separator.charAt(0) == '\\'
+            && !Character.isLetterOrDigit(separator.charAt(1))) {
+         return separator.substring(1).getBytes(charset);
+      }
+      return null;
+   }
+
+   /**
+    * Skips the next line, e.g., a header line with the attribute names.
+    *
+    * @return {@code true} if a line was skipped, {@code false} if the end of the input has been reached
+    * @throws IOException
+    *            if reading from the input fails
+    */
+   public boolean skipLine() throws IOException {
+      final int end = this.findLineEnd();
+      if (end < 0 || this.offset + this.position >= this.rangeEnd) {
+         return false;
+      }
+      this.consumeLine(end);
+      return true;
+   }
+
+   /**
+    * Reads the next line and returns its fields as the values of a tuple of the schema of this reader. Fields
+    * that are missing in the line are {@code null}, additional fields are ignored.
+    *
+    * @return tuple values, or {@code null} if the end of the input has been reached
+    * @throws IOException
+    *            if reading from the input fails
+    */
+   public PrimitiveValueList readValues() throws IOException {
+      final int end = this.findLineEnd();
+      if (end < 0 || this.offset + this.position >= this.rangeEnd) {
+         return null;
+      }
+      final PrimitiveValueList values = new PrimitiveValueList(this.schema);
+      if (this.separator == null) {
+         final String[] strings = this.decode(this.position, end).split(this.regex);
+         for (int i = 0; i < Math.min(strings.length, this.parsers.length); i++) {
+            values.parse(i, strings[i]);
+         }
+      } else {
+         this.parseLine(values, this.position, end);
+      }
+      this.consumeLine(end);
+      return values;
+   }
+
+   @Override
+   public void close() throws IOException {
+      if (this.channel != null) {
+         this.channel.close();
+      } else {
+         this.in.close();
+      }
+      this.buffer = null;
+   }
+
+   /**
+    * Finds the end of the next line, reading more input if necessary.
+    *
+    * @return index of the line terminator in the buffer, the limit of the buffer if the last line of the
+    *         input is not terminated, or {@code -1} if there are no more lines
+    * @throws IOException
+    *            if reading from the input fails
+    */
+   private int findLineEnd() throws IOException {
+      if (this.skipLineFeed) {
+         if (this.position == this.limit) {
+            this.fill();
+         }
+         if (this.position < this.limit && this.buffer.get(this.position) == '\n') {
+            this.position++;
+         }
+         this.skipLineFeed = false;
+      }
+      int i = this.position;
+      while (true) {
+         for (; i < this.limit; i++) {
+            final byte b = this.buffer.get(i);
+            if (b == '\n' || b == '\r') {
+               return i;
+            }
+         }
+         final int scanned = i - this.position;
+         if (!this.fill()) {
+            return this.position < this.limit ? this.limit : -1;
+         }
+         i = this.position + scanned;
+      }
+   }
+
+   /**
+    * Advances the position past the line that ends at the given index.
+    *
+    * @param end
+    *           index of the line terminator or limit of the buffer
+    */
+   private void consumeLine(final int end) {
+      if (end < this.limit) {
+         this.skipLineFeed = this.buffer.get(end) == '\r';
+         this.position = end + 1;
+      } else {
+         this.position = end;
+      }
+   }
+
+   /**
+    * Makes more input available in the buffer while retaining all unread bytes. The position of the unread
+    * bytes in the buffer may change.
+    *
+    * @return {@code true} if more input is available, {@code false} if the end of the input has been reached
+    * @throws IOException
+    *            if reading from the input fails
+    */
+   private boolean fill() throws IOException {
+      if (this.eof) {
+         return false;
+      }
+      final int kept = this.limit - this.position;
+      if (this.channel != null) {
+         final long start = this.offset + this.position;
+         if (start + kept >= this.fileSize) {
+            this.eof = true;
+            return false;
+         }
+         final long length = Math.min(this.fileSize - start, Math.max(this.regionSize, 2L * kept));
+         if (length > Integer.MAX_VALUE) {
+            throw new IOException("Line at offset " + start + " exceeds the maximum mapped region size.");
+         }
+         this.buffer = this.channel.map(MapMode.READ_ONLY, start, length);
+         this.offset = start;
+         this.position = 0;
+         this.limit = (int) length;
+         return true;
+      }
+      this.buffer.limit(this.limit).position(this.position);
+      if (kept == this.buffer.capacity()) {
+         // the current line does not fit into the buffer
+         final ByteBuffer larger = ByteBuffer.allocateDirect(this.buffer.capacity() * 2);
+         larger.put(this.buffer);
+         this.buffer = larger;
+      } else {
+         this.buffer.compact();
+      }
+      this.position = 0;
+      this.limit = kept;
+      int read = 0;
+      while (read == 0) {
+         read = this.in.read(this.buffer);
+      }
+      if (read < 0) {
+         this.eof = true;
+         return false;
+      }
+      this.limit += read;
+      return true;
+   }
+
+   /**
+    * Splits the line between the given indexes into fields and parses them into the given tuple values.
+    *
+    * @param values
+    *           tuple values
+    * @param start
+    *           index of the first byte of the line
+    * @param end
+    *           index after the last byte of the line
+    */
+   private void parseLine(final PrimitiveValueList values, final int start, final int end) {
+      final byte first = this.separator[0];
+      final int length = this.separator.length;
+      int field = 0;
+      int fieldStart = start;
+      int i = start;
+      while (field < this.parsers.length) {
+         if (i == end) {
+            this.parseField(values, field, fieldStart, end);
+            break;
+         }
+         if (this.buffer.get(i) == first && this.matchesSeparator(i, end)) {
+            this.parseField(values, field, fieldStart, i);
+            field++;
+            i += length;
+            fieldStart = i;
+         } else {
+            i++;
+         }
+      }
+   }
+
+   /**
+    * Checks whether the separator occurs at the given index.
+    *
+    * @param index
+    *           index in the buffer
+    * @param end
+    *           index after the last byte of the line
+    * @return {@code true} if the separator occurs at the given index, {@code false} otherwise
+    */
+   private boolean matchesSeparator(final int index, final int end) {
+      if (index + this.separator.length > end) {
+         return false;
+      }
+      for (int i = 1; i < this.separator.length; i++) {
+         if (this.buffer.get(index + i) != this.separator[i]) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Parses the field between the given indexes into the given attribute of the tuple values.
+    *
+    * @param values
+    *           tuple values
+    * @param position
+    *           attribute position
+    * @param start
+    *           index of the first byte of the field
+    * @param end
+    *           index after the last byte of the field
+    */
+   private void parseField(final PrimitiveValueList values, final int position, final int start,
+         final int end) {
+      final int length = end - start;
+      if (length == 0 || length == 2 && this.buffer.get(start) == 'N' && this.buffer.get(start + 1) == 'A') {
+         values.set(position, null);
+         return;
+      }
+      final boolean parsed;
+      switch (this.parsers[position]) {
+         case LONG:
+            parsed = this.parseLong(values, position, start, end, false);
+            break;
+         case INT:
+            parsed = this.parseLong(values, position, start, end, true);
+            break;
+         case DOUBLE:
+            parsed = this.parseDecimal(values, position, start, end, false);
+            break;
+         case FLOAT:
+            parsed = this.parseDecimal(values, position, start, end, true);
+            break;
+         case BOOLEAN:
+            values.set(position, Boolean.valueOf(this.isTrue(start, end)));
+            parsed = true;
+            break;
+         case DATE:
+            parsed = this.parseDate(values, position, start, end);
+            break;
+         case STRING:
+            values.set(position, this.decode(start, end));
+            parsed = true;
+            break;
+         default:
+            parsed = false;
+      }
+      if (!parsed) {
+         values.parse(position, this.decode(start, end));
+      }
+   }
+
+   /**
+    * Parses a field that consists of an optional sign and at most {@link #MAX_DIGITS} decimal digits.
+    *
+    * @param values
+    *           tuple values
+    * @param position
+    *           attribute position
+    * @param start
+    *           index of the first byte of the field
+    * @param end
+    *           index after the last byte of the field
+    * @param integer
+    *           {@code true} if the attribute is an integer attribute, {@code false} if it is a long attribute
+    * @return {@code true} if the field has been parsed, {@code false} if it is not in canonical form
+    */
+   private boolean parseLong(final PrimitiveValueList values, final int position, final int start,
+         final int end, final boolean integer) {
+      int i = start;
+      final byte sign = this.buffer.get(i);
+      if (sign == '-' || sign == '+') {
+         i++;
+      }
+      if (i == end || end - i > MAX_DIGITS) {
+         return false;
+      }
+      long value = 0;
+      for (; i < end; i++) {
+         final int digit = this.buffer.get(i) - '0';
+         if (digit < 0 || digit > 9) {
+            return false;
+         }
+         value = value * 10 + digit;
+      }
+      if (sign == '-') {
+         value = -value;
+      }
+      if (integer && (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)) {
+         // out of range values are not numbers, like in Integer#parseInt
+         values.set(position, null);
+      } else {
+         values.setLong(position, value);
+      }
+      return true;
+   }
+
+   /**
+    * Parses a decimal field of the form {@code [sign] digits [. digits] [e [sign] digits]} whose value can be
+    * computed exactly by a single floating-point operation, which yields the correctly rounded result.
+    *
+    * @param values
+    *           tuple values
+    * @param position
+    *           attribute position
+    * @param start
+    *           index of the first byte of the field
+    * @param end
+    *           index after the last byte of the field
+    * @param single
+    *           {@code true} if the attribute is a float attribute, {@code false} if it is a double attribute
+    * @return {@code true} if the field has been parsed, {@code false} if it is not in canonical form
+    */
+   private boolean parseDecimal(final PrimitiveValueList values, final int position, final int start,
+         final int end, final boolean single) {
+      int i = start;
+      final byte sign = this.buffer.get(i);
+      if (sign == '-' || sign == '+') {
+         i++;
+      }
+      long mantissa = 0;
+      int digits = 0;
+      int scale = 0;
+      boolean fraction = false;
+      for (; i < end; i++) {
+         final byte b = this.buffer.get(i);
+         if (b >= '0' && b <= '9') {
+            digits++;
+            if (digits > MAX_DIGITS) {
+               return false;
+            }
+            mantissa = mantissa * 10 + b - '0';
+            if (fraction) {
+               scale--;
+            }
+         } else if (b == '.' && !fraction) {
+            fraction = true;
+         } else {
+            break;
+         }
+      }
+      if (digits == 0) {
+         return false;
+      }
+      if (i < end) {
+         final byte e = this.buffer.get(i);
+         i++;
+         if (e != 'e' && e != 'E' || i == end) {
+            return false;
+         }
+         final byte exponentSign = this.buffer.get(i);
+         if (exponentSign == '-' || exponentSign == '+') {
+            i++;
+         }
+         if (i == end || end - i > 3) {
+            return false;
+         }
+         int exponent = 0;
+         for (; i < end; i++) {
+            final int digit = this.buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+               return false;
+            }
+            exponent = exponent * 10 + digit;
+         }
+         scale += exponentSign == '-' ? -exponent : exponent;
+      }
+      final double value;
+      if (mantissa == 0) {
+         value = 0.0;
+      } else if (single) {
+         if (mantissa > MAX_FLOAT_MANTISSA || Math.abs(scale) >= FLOAT_POWERS_OF_TEN.length) {
+            return false;
+         }
+         if (scale < 0) {
+            value = (float) mantissa / FLOAT_POWERS_OF_TEN[-scale];
+         } else {
+            value = (float) mantissa * FLOAT_POWERS_OF_TEN[scale];
+         }
+      } else {
+         if (mantissa > MAX_DOUBLE_MANTISSA || Math.abs(scale) >= POWERS_OF_TEN.length) {
+            return false;
+         }
+         if (scale < 0) {
+            value = mantissa / POWERS_OF_TEN[-scale];
+         } else {
+            value = mantissa * POWERS_OF_TEN[scale];
+         }
+      }
+      values.setDouble(position, sign == '-' ? -value : value);
+      return true;
+   }
+
+   /**
+    * Checks whether the field between the given indexes is equal to {@code true}, ignoring case.
+    *
+    * @param start
+    *           index of the first byte of the field
+    * @param end
+    *           index after the last byte of the field
+    * @return {@code true} if the field is equal to {@code true}, {@code false} otherwise
+    */
+   private boolean isTrue(final int start, final int end) {
+      final String expected = "true";
+      if (end - start != expected.length()) {
+         return false;
+      }
+      for (int i = 0; i < expected.length(); i++) {
+         if (Character.toLowerCase((char) this.buffer.get(start + i)) != expected.charAt(i)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Parses a date field of the form {@code yyyy-MM-dd HH:mm:ss}, optionally followed by a time zone offset
+    * in hours and optionally enclosed in double quotes.
+    *
+    * @param values
+    *           tuple values
+    * @param position
+    *           attribute position
+    * @param start
+    *           index of the first byte of the field
+    * @param end
+    *           index after the last byte of the field
+    * @return {@code true} if the field has been parsed, {@code false} if it has a different format
+    */
+   private boolean parseDate(final PrimitiveValueList values, final int position, final int start,
+         final int end) {
+      final int from = this.buffer.get(start) == '"' ? start + 1 : start;
+      final int to = end > from && this.buffer.get(end - 1) == '"' ? end - 1 : end;
+      final int length = to - from;
+      final boolean zoned = length == 22
+            && (this.buffer.get(from + 19) == '-' || this.buffer.get(from + 19) == '+');
+      if (length != 19 && !zoned || this.buffer.get(from + 4) != '-' || this.buffer.get(from + 7) != '-'
+            || this.buffer.get(from + 10) != ' ' || this.buffer.get(from + 13) != ':'
+            || this.buffer.get(from + 16) != ':') {
+         return false;
+      }
+      final int year = this.parseDigits(from, 4);
+      final int month = this.parseDigits(from + 5, 2);
+      final int day = this.parseDigits(from + 8, 2);
+      final int hour = this.parseDigits(from + 11, 2);
+      final int minute = this.parseDigits(from + 14, 2);
+      final int second = this.parseDigits(from + 17, 2);
+      final int zoneOffset = zoned ? this.parseDigits(from + 20, 2) : 0;
+      if (year < 0 || month < 1 || month > 12 || day < 1 || hour < 0 || minute < 0 || second < 0
+            || zoneOffset < 0) {
+         return false;
+      }
+      final Calendar calendar = zoned ? this.utcCalendar : this.localCalendar;
+      calendar.clear();
+      calendar.set(year, month - 1, day, hour, minute, second);
+      long time = calendar.getTimeInMillis();
+      if (zoned) {
+         final long offset = zoneOffset * 3600000L;
+         time += this.buffer.get(from + 19) == '-' ? offset : -offset;
+      }
+      values.setLong(position, time);
+      return true;
+   }
+
+   /**
+    * Parses the given number of decimal digits starting at the given index.
+    *
+    * @param start
+    *           index of the first digit
+    * @param count
+    *           number of digits
+    * @return parsed value or {@code -1} if the bytes are not all digits
+    */
+   private int parseDigits(final int start, final int count) {
+      int value = 0;
+      for (int i = start; i < start + count; i++) {
+         final int digit = this.buffer.get(i) - '0';
+         if (digit < 0 || digit > 9) {
+            return -1;
+         }
+         value = value * 10 + digit;
+      }
+      return value;
+   }
+
+   /**
+    * Decodes the bytes between the given indexes into a string.
+    *
+    * @param start
+    *           index of the first byte
+    * @param end
+    *           index after the last byte
+    * @return decoded string
+    */
+   private String decode(final int start, final int end) {
+      final int length = end - start;
+      if (this.scratch.length < length) {
+         this.scratch = new byte[Math.max(length, this.scratch.length * 2)];
+      }
+      for (int i = 0; i < length; i++) {
+         this.scratch[i] = this.buffer.get(start + i);
+      }
+      return new String(this.scratch, 0, length, this.charset);
+   }
+}
@@ -14,11 +14,14 @@ import java.util.Arrays;
 import java.util.List;
 
 import niagarino.operator.function.DerivationFunction;
+import niagarino.operator.function.ExpressionFunction;
 import niagarino.plan.Parameter;
 import niagarino.plan.PlanOperatorByParametersFactory;
 import niagarino.stream.Attribute;
+import niagarino.stream.ColumnarPage;
 import niagarino.stream.DataTuple;
 import niagarino.stream.ElementMetadata;
+import niagarino.stream.PageElement;
 import niagarino.stream.Schema;
 
 /**
@@ -75,11 +78,40 @@ public class Derive extends AbstractOperator {
       this.pushTuple(new DataTuple(this.getOutputSchema(), values, metadata));
    }
 
+   @Override
+   protected boolean isBatchProcessing() {
+      return true;
+   }
+
+   @Override
+   protected void processBatch(final int input, final PageElement page) {
+      if (page instanceof ColumnarPage) {
+         // the derived attributes are added as new columns, the input columns are shared
+         final ColumnarPage result = ((ColumnarPage) page).extend(this.getOutputSchema());
+         final int width = this.getInputSchemas().get(0).getSize();
+         for (int row = 0; row < result.size(); row++) {
+            final ElementMetadata metadata = result.getElementMetadata(row);
+            for (int i = 0; i < this.functions.length; i++) {
+               final Object value = this.functions[i].derive(result.getRow(row, width + i), metadata);
+               result.setValue(width + i, row, value);
+            }
+         }
+         this.pushBatch(result);
+      } else {
+         super.processBatch(input, page);
+      }
+   }
+
    @Override
    public Schema getOutputSchema() {
       return this.outputSchema;
    }
 
+   @Override
+   protected boolean isFusible() {
+      return true;
+   }
+
    /**
     * Initializes and extends the schema to reflect the additional tuple attributes introduced by the
     * derivation functions.
@@ -114,6 +146,15 @@ public class Derive extends AbstractOperator {
       public Derive getOperatorByParameters(final String operatorId, final Schema inputSchema,
             final Parameter parameters) throws InstantiationException, IllegalAccessException,
             ClassNotFoundException {
+         final Parameter expressions = parameters.get("expression");
+         if (expressions != null) {
+            final List<DerivationFunction> functions = new ArrayList<>();
+            for (final Parameter expression : expressions.getList()) {
+               functions.add(new ExpressionFunction(expression.get("name").getString(), expression
+                     .getString()));
+            }
+            return new Derive(operatorId, inputSchema, functions.toArray(new DerivationFunction[0]));
+         }
          final String derivationFunctionName = parameters.get("object").get("class").getString();
          final DerivationFunction function = (DerivationFunction) Class.forName(derivationFunctionName)
                .newInstance();
@@ -0,0 +1,197 @@
+/*
+ * @(#)DynamicMultiplex.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import niagarino.stream.ControlTuple;
+import niagarino.stream.ControlTuple.Type;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+import niagarino.stream.Stream;
+import niagarino.stream.Stream.Flow;
+import niagarino.stream.StreamElement;
+import niagarino.stream.TupleElement;
+
+/**
+ * Multiplex operator that replicates one input stream onto a set of output streams that can be attached and
+ * detached while the operator is running. The operator is the sink of its plan, an attached stream is read
+ * by an operator of another plan, which receives all stream elements from the moment it was attached. A
+ * detached stream is ended with an EoS message, so that the plan reading from it terminates. Once the last
+ * stream is detached, the operator ends and pushes an EoS message back to its input, which stops the
+ * operators that produce it. After the input stream has ended, no further streams can be attached.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class DynamicMultiplex extends AbstractOperator {
+
+   /** Lock guarding the attached and detached streams, as the operator thread holds the operator monitor. */
+   private final Object lock;
+   /** Streams onto which the input stream is currently replicated. */
+   private final List<Stream> attached;
+   /** Streams that have been detached, but have not yet been ended by the operator thread. */
+   private final List<Stream> detached;
+   /** Indicates whether no further streams can be attached. */
+   private boolean closed;
+   /** Indicates whether the last stream has been detached, but the input has not yet been ended. */
+   private boolean abandoned;
+
+   /**
+    * Constructs a new dynamic multiplex operator with the given input schema that has no attached streams.
+    *
+    * @param operatorId
+    *           name of operator
+    * @param inputSchema
+    *           input schema
+    */
+   public DynamicMultiplex(final String operatorId, final Schema inputSchema) {
+      super(operatorId, Arrays.asList(inputSchema));
+      this.lock = new Object();
+      this.attached = new CopyOnWriteArrayList<>();
+      this.detached = new ArrayList<>();
+      this.closed = false;
+      this.abandoned = false;
+   }
+
+   @Override
+   public Schema getOutputSchema() {
+      return this.getInputSchemas().get(0);
+   }
+
+   /**
+    * Attaches the given stream onto which the input stream is replicated from now on. As this operator may
+    * already be running, the consumer of the stream has to be registered with it beforehand.
+    *
+    * @param stream
+    *           stream to attach
+    * @return {@code true} if the stream has been attached, {@code false} if the input stream has ended or the
+    *         last stream has been detached
+    */
+   public boolean attach(final Stream stream) {
+      synchronized (this.lock) {
+         if (this.closed) {
+            return false;
+         }
+         this.attached.add(stream);
+         return true;
+      }
+   }
+
+   /**
+    * Detaches the given stream, which is ended by the operator thread. Detaching the last stream ends this
+    * operator.
+    *
+    * @param stream
+    *           attached stream
+    */
+   public void detach(final Stream stream) {
+      synchronized (this.lock) {
+         if (this.closed || !this.attached.remove(stream)) {
+            return;
+         }
+         this.detached.add(stream);
+         if (this.attached.isEmpty()) {
+            this.closed = true;
+            this.abandoned = true;
+         }
+      }
+      // wake up the operator thread in case it is waiting for stream elements
+      this.getSignal().signal();
+   }
+
+   /**
+    * Checks whether no further streams can be attached to this operator.
+    *
+    * @return {@code true} if the input stream has ended or the last stream has been detached, {@code false}
+    *         otherwise
+    */
+   public boolean isClosed() {
+      synchronized (this.lock) {
+         return this.closed;
+      }
+   }
+
+   @Override
+   protected void processTuple(final int input, final DataTuple tuple) {
+      this.replicate(tuple);
+   }
+
+   @Override
+   protected void processForwardControl(final int input, final ControlTuple message) {
+      this.replicate(message);
+   }
+
+   @Override
+   protected boolean processStreams() {
+      final Stream[] streams;
+      final boolean abandoned;
+      synchronized (this.lock) {
+         streams = this.detached.toArray(new Stream[this.detached.size()]);
+         this.detached.clear();
+         abandoned = this.abandoned;
+         this.abandoned = false;
+      }
+      for (final Stream stream : streams) {
+         stream.pushElement(Flow.FORWARD, new ControlTuple(Type.EOS));
+      }
+      if (abandoned) {
+         // nobody reads the input stream anymore, the operators producing it can stop
+         this.handleEoS(Socket.OUTPUT, 0, new ControlTuple(Type.EOS));
+         return true;
+      }
+      return super.processStreams() || streams.length > 0;
+   }
+
+   @Override
+   protected void handleEoS(final Socket socket, final int input, final ControlTuple message) {
+      if (Socket.INPUT.equals(socket)) {
+         final List<Stream> streams;
+         synchronized (this.lock) {
+            this.closed = true;
+            this.abandoned = false;
+            streams = new ArrayList<>(this.attached);
+            streams.addAll(this.detached);
+            this.attached.clear();
+            this.detached.clear();
+         }
+         for (final Stream stream : streams) {
+            stream.pushElement(Flow.FORWARD, new ControlTuple(Type.EOS));
+         }
+      }
+      super.handleEoS(socket, input, message);
+   }
+
+   /**
+    * Pushes the given stream element onto all attached streams.
+    *
+    * @param element
+    *           stream element
+    */
+   private void replicate(final StreamElement element) {
+      // streams that are attached concurrently receive the next element
+      final Object[] streams = this.attached.toArray();
+      for (int i = 0; i < streams.length; i++) {
+         // all but the last stream receive a copy that shares values and metadata with the element
+         StreamElement out = element;
+         if (i < streams.length - 1 && element instanceof TupleElement) {
+            try {
+               out = ((TupleElement) element).share();
+            } catch (final CloneNotSupportedException e) {
+               throw new OperatorException(this, e);
+            }
+         }
+         ((Stream) streams[i]).pushElement(Flow.FORWARD, out);
+      }
+   }
+}
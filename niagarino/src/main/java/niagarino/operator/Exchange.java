@@ -0,0 +1,138 @@
+/*
+ * @(#)Exchange.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import niagarino.stream.ColumnType;
+import niagarino.stream.ControlTuple;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+import niagarino.stream.Stream.Flow;
+
+/**
+ * Exchange operator that partitions its input stream over all of its output streams, which typically lead to
+ * replicas of the same downstream operator. Tuples with equal values of the partitioning attributes are
+ * always pushed on the same output stream, so that each replica sees all tuples of the groups it is
+ * responsible for. If no partitioning attributes are given, tuples are distributed round-robin, which is
+ * only correct for downstream operators that do not keep state across tuples. Control tuples are pushed on
+ * all output streams, so that every replica receives all punctuations and the end of the stream. The
+ * outputs of the replicas are combined again by {@link ExchangeMerge}.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class Exchange extends AbstractOperator {
+
+   /** Multiplier of the hash function, i.e., the golden ratio as a 64-bit fraction. */
+   private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+   /** Positions of partitioning attributes. */
+   private final int[] partitionAttributes;
+   /** Flags whether the partitioning attributes are stored as longs. */
+   private final boolean[] longAttributes;
+   /** Output stream that receives the next tuple if tuples are distributed round-robin. */
+   private int next;
+
+   /**
+    * Constructs a new exchange operator with the given input schema that partitions tuples on the given
+    * attributes.
+    *
+    * @param operatorId
+    *           id of operator
+    * @param inputSchema
+    *           input schema
+    * @param partitionAttributes
+    *           partitioning attributes, or none to distribute tuples round-robin
+    */
+   public Exchange(final String operatorId, final Schema inputSchema, final int... partitionAttributes) {
+      super(operatorId, Arrays.asList(inputSchema));
+      this.partitionAttributes = partitionAttributes;
+      this.longAttributes = new boolean[partitionAttributes.length];
+      for (int i = 0; i < partitionAttributes.length; i++) {
+         this.longAttributes[i] = ColumnType.LONG.equals(inputSchema.getColumnType(partitionAttributes[i]));
+      }
+      this.next = 0;
+   }
+
+   /**
+    * Constructs a new exchange operator with the given input schema that partitions tuples on the given
+    * attributes.
+    *
+    * @param inputSchema
+    *           input schema
+    * @param partitionAttributes
+    *           partitioning attributes, or none to distribute tuples round-robin
+    */
+   public Exchange(final Schema inputSchema, final int... partitionAttributes) {
+      this(Exchange.class.getSimpleName(), inputSchema, partitionAttributes);
+   }
+
+   @Override
+   public Schema getOutputSchema() {
+      return this.getInputSchemas().get(0);
+   }
+
+   @Override
+   protected void processTuple(final int input, final DataTuple tuple) {
+      final int outputs = this.getOutputArity();
+      if (outputs > 1) {
+         this.pushTuple(this.partition(tuple, outputs), tuple);
+      } else {
+         this.pushTuple(tuple);
+      }
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * All replicas relay control messages that travel backward, so only the copy that arrives on the first
+    * output stream is pushed on.
+    */
+   @Override
+   protected void processBackwardControl(final int input, final ControlTuple message) {
+      if (input == 0) {
+         this.pushControl(Flow.BACKWARD, message);
+      }
+   }
+
+   /**
+    * Returns the output stream of the given tuple.
+    *
+    * @param tuple
+    *           data tuple
+    * @param outputs
+    *           number of output streams
+    * @return output number
+    */
+   private int partition(final DataTuple tuple, final int outputs) {
+      if (this.partitionAttributes.length == 0) {
+         final int output = this.next;
+         this.next = (output + 1) % outputs;
+         return output;
+      }
+      long hash = 0;
+      for (int i = 0; i < this.partitionAttributes.length; i++) {
+         final int position = this.partitionAttributes[i];
+         final long component;
+         if (tuple.isNull(position)) {
+            component = 0;
+         } else if (this.longAttributes[i]) {
+            component = tuple.getLong(position);
+         } else {
+            component = Objects.hashCode(tuple.getAttributeValue(position));
+         }
+         hash = (hash + component) * MULTIPLIER;
+      }
+      // the high bits are the best mixed ones
+      return (int) ((hash >>> 32) % outputs);
+   }
+}
@@ -0,0 +1,253 @@
+/*
+ * @(#)ExchangeMerge.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import niagarino.stream.ControlTuple;
+import niagarino.stream.DataTuple;
+import niagarino.stream.PunctuationControl;
+import niagarino.stream.Schema;
+import niagarino.stream.Stream.Flow;
+import niagarino.stream.StreamElement;
+import niagarino.stream.WatermarkControl;
+
+/**
+ * Merges the output streams of the replicas behind an {@link Exchange} operator back into one stream that is
+ * ordered by the progressing attribute. All inputs have the same schema and are ordered themselves. Since the
+ * exchange operator pushes every control tuple to all replicas, each replica relays it as well. The merge
+ * aligns these copies: a control tuple is only pushed on once the heads of all inputs that have not ended
+ * are control tuples, and then only a single copy is pushed. As a consequence, the tuples that the replicas
+ * emit in response to a punctuation are all pushed before the punctuation itself. Two control tuples are
+ * copies if they have the same type and value. Replicas may also emit control tuples of their own or in a
+ * different order, therefore a pushed control tuple whose copy is not at the head of another input is kept
+ * pending for that input and its copy is discarded once it arrives.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ExchangeMerge extends AbstractOperator {
+
+   /** Bit vector to keep track of which inputs have received an EoS message. */
+   private final boolean[] inputEoS;
+   /** Buffer of data and control tuples for each operator input. */
+   private final List<Queue<StreamElement>> buffers;
+   /** Control tuples that have been pushed, but whose copies have not yet arrived, for each input. */
+   private final List<List<ControlTuple>> pending;
+
+   /**
+    * Constructs a new exchange merge operator with the given input schema that has the given number of input
+    * streams.
+    *
+    * @param operatorId
+    *           id of operator
+    * @param inputSchema
+    *           schema of all input streams
+    * @param arity
+    *           number of input streams
+    */
+   public ExchangeMerge(final String operatorId, final Schema inputSchema, final int arity) {
+      super(operatorId, Collections.nCopies(arity, inputSchema));
+      this.inputEoS = new boolean[arity];
+      this.buffers = new ArrayList<Queue<StreamElement>>();
+      this.pending = new ArrayList<List<ControlTuple>>();
+      for (int i = 0; i < arity; i++) {
+         this.buffers.add(new LinkedList<StreamElement>());
+         this.pending.add(new LinkedList<ControlTuple>());
+      }
+   }
+
+   /**
+    * Constructs a new exchange merge operator with the given input schema that has the given number of input
+    * streams.
+    *
+    * @param inputSchema
+    *           schema of all input streams
+    * @param arity
+    *           number of input streams
+    */
+   public ExchangeMerge(final Schema inputSchema, final int arity) {
+      this(ExchangeMerge.class.getSimpleName(), inputSchema, arity);
+   }
+
+   @Override
+   public Schema getOutputSchema() {
+      return this.getInputSchemas().get(0);
+   }
+
+   @Override
+   protected void processTuple(final int input, final DataTuple tuple) {
+      this.buffers.get(input).add(tuple);
+      this.flush();
+   }
+
+   @Override
+   protected void processForwardControl(final int input, final ControlTuple message) {
+      this.buffers.get(input).add(message);
+      this.flush();
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   protected void handleEoS(final Socket socket, final int input, final ControlTuple message) {
+      if (Socket.INPUT.equals(socket)) {
+         this.inputEoS[input] = true;
+         this.pending.get(input).clear();
+         this.flush();
+      }
+      super.handleEoS(socket, input, message);
+   }
+
+   /**
+    * Pushes all buffered stream elements whose position in the output stream is known.
+    */
+   private void flush() {
+      boolean pushed = true;
+      while (pushed) {
+         pushed = this.pushNext();
+      }
+   }
+
+   /**
+    * Pushes the next buffered stream element, if its position in the output stream is known. This is the
+    * case if every input that has not ended has a buffered element. Data tuples are pushed in the order of
+    * their progressing values before any control tuple.
+    *
+    * @return <code>true</code> if a stream element was pushed, <code>false</code> otherwise
+    */
+   private boolean pushNext() {
+      int tupleInput = -1;
+      int controlInput = -1;
+      for (int i = 0; i < this.buffers.size(); i++) {
+         this.discardPending(i);
+         final StreamElement head = this.buffers.get(i).peek();
+         if (head == null) {
+            if (!this.inputEoS[i]) {
+               // the next element of this input is still unknown
+               return false;
+            }
+         } else if (head instanceof DataTuple) {
+            if (tupleInput < 0 || this.precedes((DataTuple) head, i, tupleInput)) {
+               tupleInput = i;
+            }
+         } else if (controlInput < 0) {
+            controlInput = i;
+         }
+      }
+      if (tupleInput >= 0) {
+         this.pushTuple((DataTuple) this.buffers.get(tupleInput).poll());
+         return true;
+      } else if (controlInput >= 0) {
+         this.pushAlignedControl(controlInput);
+         return true;
+      }
+      return false;
+   }
+
+   /**
+    * Pushes the control tuple at the head of the given input forward and discards its copies at the heads of
+    * all other inputs, which have been relayed by the other replicas. For inputs that have not ended and
+    * whose head is not a copy, the control tuple is kept pending.
+    *
+    * @param input
+    *           input number
+    */
+   private void pushAlignedControl(final int input) {
+      final ControlTuple message = (ControlTuple) this.buffers.get(input).poll();
+      for (int i = 0; i < this.buffers.size(); i++) {
+         if (i != input) {
+            final StreamElement head = this.buffers.get(i).peek();
+            if (head instanceof ControlTuple && ExchangeMerge.isCopy(message, (ControlTuple) head)) {
+               this.buffers.get(i).poll();
+            } else if (!this.inputEoS[i]) {
+               this.pending.get(i).add(message);
+            }
+         }
+      }
+      this.pushControl(Flow.FORWARD, message);
+   }
+
+   /**
+    * Discards the control tuples at the head of the given input that are copies of pending control tuples,
+    * which have already been pushed. As every replica relays control tuples in order, the pending control
+    * tuples that precede a copy are never relayed by this input and are discarded as well.
+    *
+    * @param input
+    *           input number
+    */
+   private void discardPending(final int input) {
+      final Queue<StreamElement> buffer = this.buffers.get(input);
+      final List<ControlTuple> controls = this.pending.get(input);
+      while (!controls.isEmpty() && buffer.peek() instanceof ControlTuple) {
+         final ControlTuple head = (ControlTuple) buffer.peek();
+         int index = 0;
+         while (index < controls.size() && !ExchangeMerge.isCopy(controls.get(index), head)) {
+            index++;
+         }
+         if (index == controls.size()) {
+            return;
+         }
+         buffer.poll();
+         controls.subList(0, index + 1).clear();
+      }
+   }
+
+   /**
+    * Checks whether the given control tuples are copies of each other, i.e., whether they have the same type
+    * and value.
+    *
+    * @param message
+    *           control tuple
+    * @param other
+    *           other control tuple
+    * @return <code>true</code> if the control tuples are copies, <code>false</code> otherwise
+    */
+   private static boolean isCopy(final ControlTuple message, final ControlTuple other) {
+      if (!message.getType().equals(other.getType()) || message.getClass() != other.getClass()) {
+         return false;
+      }
+      if (message instanceof PunctuationControl) {
+         final PunctuationControl punctuation = (PunctuationControl) message;
+         final PunctuationControl otherPunctuation = (PunctuationControl) other;
+         return punctuation.getPunctuationType().equals(otherPunctuation.getPunctuationType())
+               && punctuation.getSegmentId() == otherPunctuation.getSegmentId()
+               && punctuation.getSegmentStart() == otherPunctuation.getSegmentStart()
+               && punctuation.getSegmentEnd() == otherPunctuation.getSegmentEnd();
+      } else if (message instanceof WatermarkControl) {
+         return ((WatermarkControl) message).getValue() == ((WatermarkControl) other).getValue();
+      }
+      return true;
+   }
+
+   /**
+    * Checks whether the given tuple precedes the tuple at the head of the other given input.
+    *
+    * @param tuple
+    *           data tuple
+    * @param input
+    *           input of the data tuple
+    * @param other
+    *           other input
+    * @return <code>true</code> if the tuple has to be pushed first, <code>false</code> otherwise
+    */
+   private boolean precedes(final DataTuple tuple, final int input, final int other) {
+      final DataTuple head = (DataTuple) this.buffers.get(other).peek();
+      final int progressingAttribute = tuple.getSchema().getProgressingAttribute();
+      final double value = tuple.getDouble(progressingAttribute);
+      final double otherValue = head.getDouble(head.getSchema().getProgressingAttribute());
+      return value < otherValue || value == otherValue && input < other;
+   }
+}
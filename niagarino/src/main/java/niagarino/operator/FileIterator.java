@@ -9,27 +9,23 @@
  */
 package niagarino.operator;
 
-import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.zip.GZIPInputStream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import niagarino.stream.Attribute;
 import niagarino.stream.ControlTuple;
 import niagarino.stream.DataTuple;
+import niagarino.stream.PrimitiveValueList;
 import niagarino.stream.Schema;
-import niagarino.util.TypeSystem;
 
 /**
- * Iterates over the content of a given file line by line.
+ * Iterates over the content of a given file line by line. Uncompressed files are memory-mapped and parsed in
+ * place by a {@link CsvReader}.
  *
  * @author Florian 'Sammy' Junghanns &lt;florian.junghanns@uni-konstanz.de&gt;
  * @version 1.0
@@ -49,13 +45,10 @@ public class FileIterator implements TupleIterator {
    private final String filename;
 
    /** The reader for the file to read from. */
-   private final BufferedReader fileStream;
+   private final CsvReader reader;
 
-   /** Field separator. */
-   private final String separator;
-
-   /** Next line to emit. */
-   private String nextLine;
+   /** Values of the next tuple to emit. */
+   private PrimitiveValueList nextValues;
 
    /**
     * Constructs a new {@link FileIterator} for the given file. It is assumed to use "," as separator and to
@@ -111,20 +104,20 @@ public class FileIterator implements TupleIterator {
          throws IOException {
       this.schema = schema;
       this.filename = file;
-      // Try both, system resource and normal file path
-      InputStream in = ClassLoader.getSystemResourceAsStream(file);
-      if (in == null) {
-         in = new FileInputStream(file);
-      }
       if (compressed) {
+         // Try both, system resource and normal file path
+         InputStream in = ClassLoader.getSystemResourceAsStream(file);
+         if (in == null) {
+            in = new FileInputStream(file);
+         }
          // TODO: Mask exceptions, set reasonable buffer size if necessary, externalize to abstract layer
-         in = new GZIPInputStream(in);
+         this.reader = new CsvReader(schema, new GZIPInputStream(in), separator);
+      } else {
+         this.reader = new CsvReader(schema, file, separator);
       }
-      this.fileStream = new BufferedReader(new InputStreamReader(in));
-      this.separator = separator;
-      this.nextLine = null;
+      this.nextValues = null;
       if (hasHeader) {
-         this.retrieveNextLine();
+         this.reader.skipLine();
       }
       this.retrieveNextLine();
    }
@@ -134,7 +127,7 @@ public class FileIterator implements TupleIterator {
     */
    @Override
    public boolean hasNext() {
-      return this.nextLine != null;
+      return this.nextValues != null;
    }
 
    /**
@@ -142,32 +135,28 @@ public class FileIterator implements TupleIterator {
     */
    @Override
    public DataTuple next() throws NoSuchElementException {
-      // Extract values from line
-      final String[] strings = this.nextLine.split(this.separator);
-      final List<Object> values = new ArrayList<Object>();
-      for (int i = 0; i < this.schema.getSize(); i++) {
-         if (i < strings.length) {
-            final Attribute attribute = this.schema.getAttribute(i);
-            values.add(TypeSystem.convertValue(attribute.getType(), strings[i]));
-         } else {
-            values.add(null);
-         }
+      if (this.nextValues == null) {
+         throw new NoSuchElementException();
       }
-      final DataTuple tuple = new DataTuple(this.schema, values);
+      final DataTuple tuple = new DataTuple(this.schema, this.nextValues);
       // Prepare the next line
       this.retrieveNextLine();
       return tuple;
    }
 
    /**
-    * Retrieves the next line from the file and stores it for the next call of {@link FileIterator#next()}.
+    * Retrieves the next line from the file and stores its values for the next call of
+    * {@link FileIterator#next()}. The file is closed once all lines have been read.
     */
    private void retrieveNextLine() {
       try {
-         this.nextLine = this.fileStream.readLine();
+         this.nextValues = this.reader.readValues();
+         if (this.nextValues == null) {
+            this.reader.close();
+         }
       } catch (final IOException e) {
          LOG.error("Could not read the next line from file '" + this.filename + "', closing file.", e);
-         this.nextLine = null;
+         this.nextValues = null;
       }
    }
 
@@ -0,0 +1,517 @@
+/*
+ * @(#)HashJoin.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import niagarino.stream.Attribute;
+import niagarino.stream.ColumnType;
+import niagarino.stream.ControlTuple;
+import niagarino.stream.DataTuple;
+import niagarino.stream.ElementMetadata;
+import niagarino.stream.PunctuationControl;
+import niagarino.stream.Schema;
+import niagarino.stream.Stream.Flow;
+import niagarino.stream.WatermarkControl;
+
+/**
+ * Windowed equi-join of two segmented streams. Two tuples join if their join attributes are equal and they
+ * belong to a common segment. Both inputs have to be segmented by equal windows.<br />
+ * <br />
+ * The operator is a symmetric hash join: each input keeps one hash index per open segment, every arriving
+ * tuple probes the indexes of the other input for its segments and is then inserted into the indexes of its
+ * own input. If both join attributes are integers, the indexes are keyed by primitive values. A pair of
+ * tuples that shares several segments is emitted once and belongs to all of them. Once the
+ * {@code WINDOW} punctuation of a segment arrives on one input, no more tuples of that input can probe the
+ * segment, so the index of the other input is dropped. The punctuation is forwarded once the segment has
+ * been closed on both inputs. {@code INTERVAL} punctuations and watermarks are forwarded up to the smaller
+ * value of both inputs. An input that has ended counts as having closed every segment and interval.<br />
+ * <br />
+ * The output schema consists of all attributes of the first input, followed by all attributes of the second
+ * input except its progressing attribute. The progressing attribute of the output is the one of the first
+ * input.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class HashJoin extends AbstractOperator {
+
+   /** Output schema of this operator. */
+   private final Schema outputSchema;
+   /** Positions of the join attributes of both inputs. */
+   private final int[] joinAttributes;
+   /** Flag that indicates whether the indexes are keyed by primitive values. */
+   private final boolean primitive;
+   /** Indexes of the open segments of both inputs. */
+   private final List<Map<Long, Index>> indexes;
+   /** Punctuations of the segments that have been closed on one input, but not yet on the other. */
+   private final List<Map<Long, ControlTuple>> closed;
+   /** Last watermark value of both inputs. */
+   private final long[] watermarks;
+   /** Last {@code INTERVAL} punctuation of both inputs, or <code>null</code> if there is none yet. */
+   private final PunctuationControl[] intervals;
+   /** End of the last {@code INTERVAL} punctuation of both inputs. */
+   private final long[] intervalEnds;
+   /** Flags that indicate whether the inputs have ended. */
+   private final boolean[] ended;
+
+   /**
+    * Constructs a new join operator that joins tuples of the given input schemas on the given attributes.
+    *
+    * @param operatorId
+    *           id of operator
+    * @param leftSchema
+    *           schema of the first input
+    * @param rightSchema
+    *           schema of the second input
+    * @param leftAttribute
+    *           position of the join attribute of the first input
+    * @param rightAttribute
+    *           position of the join attribute of the second input
+    */
+   public HashJoin(final String operatorId, final Schema leftSchema, final Schema rightSchema,
+         final int leftAttribute, final int rightAttribute) {
+      super(operatorId, Arrays.asList(leftSchema, rightSchema));
+      this.outputSchema = this.initSchema();
+      this.joinAttributes = new int[] { leftAttribute, rightAttribute };
+      this.primitive = HashJoin.isIntegral(leftSchema.getColumnType(leftAttribute))
+            && HashJoin.isIntegral(rightSchema.getColumnType(rightAttribute));
+      this.indexes = Arrays.asList(new HashMap<>(), new HashMap<>());
+      this.closed = Arrays.asList(new HashMap<>(), new HashMap<>());
+      this.watermarks = new long[] { Long.MIN_VALUE, Long.MIN_VALUE };
+      this.intervals = new PunctuationControl[2];
+      this.intervalEnds = new long[] { Long.MIN_VALUE, Long.MIN_VALUE };
+      this.ended = new boolean[2];
+   }
+
+   /**
+    * Initializes the output schema of this operator.
+    *
+    * @return output schema
+    */
+   private Schema initSchema() {
+      final Schema leftSchema = this.getInputSchemas().get(0);
+      final Schema rightSchema = this.getInputSchemas().get(1);
+      final List<Attribute> attributes = new ArrayList<Attribute>(leftSchema.getAttributes());
+      for (int i = 0; i < rightSchema.getSize(); i++) {
+         if (i != rightSchema.getProgressingAttribute()) {
+            attributes.add(rightSchema.getAttribute(i));
+         }
+      }
+      return new Schema(leftSchema.getProgressingAttribute(), attributes.toArray(new Attribute[0]));
+   }
+
+   /**
+    * Checks whether values of the given column type are integers.
+    *
+    * @param type
+    *           column type
+    * @return <code>true</code> if the values are integers, <code>false</code> otherwise
+    */
+   private static boolean isIntegral(final ColumnType type) {
+      return ColumnType.INT.equals(type) || ColumnType.LONG.equals(type);
+   }
+
+   @Override
+   public Schema getOutputSchema() {
+      return this.outputSchema;
+   }
+
+   @Override
+   protected void processTuple(final int input, final DataTuple tuple) {
+      final int position = this.joinAttributes[input];
+      if (tuple.isNull(position)) {
+         return;
+      }
+      final int other = 1 - input;
+      final List<Long> segmentIds = tuple.getElementMetadata().getSegmentIds();
+      for (int i = 0; i < segmentIds.size(); i++) {
+         final Long segmentId = segmentIds.get(i);
+         final Index index = this.indexes.get(other).get(segmentId);
+         if (index != null) {
+            final List<Long> previous = segmentIds.subList(0, i);
+            final List<Long> candidates = segmentIds.subList(i, segmentIds.size());
+            index.probe(tuple, position);
+            for (DataTuple match = index.nextMatch(); match != null; match = index.nextMatch()) {
+               final List<Long> matchIds = match.getElementMetadata().getSegmentIds();
+               // pairs that share several segments are only emitted for the first of them
+               if (!HashJoin.containsAny(matchIds, previous)) {
+                  if (input == 0) {
+                     this.pushTuple(this.join(tuple, match, tuple, candidates));
+                  } else {
+                     this.pushTuple(this.join(match, tuple, tuple, candidates));
+                  }
+               }
+            }
+         }
+         // tuples of segments that are closed on the other input are never probed
+         if (!this.ended[other] && !this.closed.get(other).containsKey(segmentId)) {
+            Index own = this.indexes.get(input).get(segmentId);
+            if (own == null) {
+               own = this.primitive ? new LongIndex() : new ObjectIndex();
+               this.indexes.get(input).put(segmentId, own);
+            }
+            own.add(tuple, position);
+         }
+      }
+   }
+
+   /**
+    * Checks whether the first list contains any element of the second list.
+    *
+    * @param list
+    *           list of segment numbers
+    * @param candidates
+    *           candidate segment numbers
+    * @return <code>true</code> if one of the candidates is contained in the list, <code>false</code>
+    *         otherwise
+    */
+   private static boolean containsAny(final List<Long> list, final List<Long> candidates) {
+      for (final Long candidate : candidates) {
+         if (list.contains(candidate)) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * Creates the result tuple of the given pair of tuples, which belongs to the segments that both tuples
+    * share among the given candidate segments. The result carries the later source time of both tuples and
+    * the priority of the tuple that arrived later, as it could not have been produced any earlier.
+    *
+    * @param left
+    *           tuple of the first input
+    * @param right
+    *           tuple of the second input
+    * @param later
+    *           tuple of the pair that arrived later and probed the other one
+    * @param candidates
+    *           segment numbers of one of the tuples
+    * @return joined tuple
+    */
+   private DataTuple join(final DataTuple left, final DataTuple right, final DataTuple later,
+         final List<Long> candidates) {
+      final List<Object> values = new ArrayList<Object>(this.outputSchema.getSize());
+      values.addAll(left.getValues());
+      final int progressingAttribute = right.getSchema().getProgressingAttribute();
+      for (int i = 0; i < right.getSchema().getSize(); i++) {
+         if (i != progressingAttribute) {
+            values.add(right.getAttributeValue(i));
+         }
+      }
+      final ElementMetadata leftMetadata = left.getElementMetadata();
+      final ElementMetadata rightMetadata = right.getElementMetadata();
+      final ElementMetadata metadata = new ElementMetadata();
+      metadata.setSourceTime(Math.max(leftMetadata.getSourceTime(), rightMetadata.getSourceTime()));
+      metadata.setElementPriority(later.getElementMetadata().getElementPriority());
+      final List<Long> leftIds = leftMetadata.getSegmentIds();
+      final List<Long> rightIds = rightMetadata.getSegmentIds();
+      for (final Long segmentId : candidates) {
+         if (leftIds.contains(segmentId) && rightIds.contains(segmentId)) {
+            metadata.addSegmentId(segmentId);
+         }
+      }
+      return new DataTuple(this.outputSchema, values, metadata);
+   }
+
+   @Override
+   protected void processForwardControl(final int input, final ControlTuple message) {
+      switch (message.getType()) {
+         case PUNCTUATION:
+            final PunctuationControl pctrl = (PunctuationControl) message;
+            if (PunctuationControl.Type.WINDOW.equals(pctrl.getPunctuationType())) {
+               final Long segmentId = Long.valueOf(pctrl.getSegmentId());
+               final int other = 1 - input;
+               // no more tuples of this input will probe the index of the other input
+               this.indexes.get(other).remove(segmentId);
+               if (this.closed.get(other).remove(segmentId) != null || this.ended[other]) {
+                  this.pushControl(Flow.FORWARD, message);
+               } else {
+                  this.closed.get(input).put(segmentId, message);
+               }
+            } else if (PunctuationControl.Type.INTERVAL.equals(pctrl.getPunctuationType())) {
+               final long previous = Math.min(this.intervalEnds[0], this.intervalEnds[1]);
+               if (pctrl.getSegmentEnd() > this.intervalEnds[input]) {
+                  this.intervals[input] = pctrl;
+                  this.intervalEnds[input] = pctrl.getSegmentEnd();
+               }
+               this.pushInterval(previous);
+            } else {
+               this.pushControl(Flow.FORWARD, message);
+            }
+            break;
+         case WATERMARK:
+            final long previous = Math.min(this.watermarks[0], this.watermarks[1]);
+            final long watermark = ((WatermarkControl) message).getValue();
+            this.watermarks[input] = Math.max(this.watermarks[input], watermark);
+            this.pushWatermark(previous);
+            break;
+         default:
+            this.pushControl(Flow.FORWARD, message);
+      }
+   }
+
+   /**
+    * Forwards an {@code INTERVAL} punctuation for the range that has been punctuated on both inputs since
+    * the given end.
+    *
+    * @param previous
+    *           end of the range that has already been punctuated on both inputs
+    */
+   private void pushInterval(final long previous) {
+      final long current = Math.min(this.intervalEnds[0], this.intervalEnds[1]);
+      if (current > previous && current < Long.MAX_VALUE) {
+         // the punctuation of the input that lags behind ends at the common end
+         final PunctuationControl base = this.intervalEnds[0] == current ? this.intervals[0]
+               : this.intervals[1];
+         final long start = previous == Long.MIN_VALUE ? base.getSegmentStart() : previous + 1;
+         this.pushControl(Flow.FORWARD, new PunctuationControl(PunctuationControl.Type.INTERVAL,
+               base.getStartValue(), base.getStepSize(), base.getSegmentId(), start, current - start + 1));
+      }
+   }
+
+   /**
+    * Forwards a watermark if the smaller watermark of both inputs has advanced beyond the given value, as the
+    * output is complete up to that watermark.
+    *
+    * @param previous
+    *           smaller watermark of both inputs that has already been forwarded
+    */
+   private void pushWatermark(final long previous) {
+      final long current = Math.min(this.watermarks[0], this.watermarks[1]);
+      if (current > previous && current < Long.MAX_VALUE) {
+         this.pushControl(Flow.FORWARD, new WatermarkControl(current));
+      }
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   protected void handleEoS(final Socket socket, final int input, final ControlTuple message) {
+      if (Socket.INPUT.equals(socket) && !this.ended[input]) {
+         final int other = 1 - input;
+         this.ended[input] = true;
+         // no more tuples of this input will probe the indexes of the other input
+         this.indexes.get(other).clear();
+         // segments and intervals that are closed on the other input are now closed on both
+         for (final ControlTuple punctuation : this.closed.get(other).values()) {
+            this.pushControl(Flow.FORWARD, punctuation);
+         }
+         this.closed.get(other).clear();
+         final long previousInterval = Math.min(this.intervalEnds[0], this.intervalEnds[1]);
+         this.intervalEnds[input] = Long.MAX_VALUE;
+         this.pushInterval(previousInterval);
+         final long previousWatermark = Math.min(this.watermarks[0], this.watermarks[1]);
+         this.watermarks[input] = Long.MAX_VALUE;
+         this.pushWatermark(previousWatermark);
+      }
+      super.handleEoS(socket, input, message);
+   }
+
+   /**
+    * Hash index of the tuples of one input that belong to one segment. Matches are returned through a cursor
+    * that is reused by every probe, so that probing does not allocate.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private abstract static class Index {
+
+      /**
+       * Adds the given tuple to this index.
+       *
+       * @param tuple
+       *           data tuple
+       * @param position
+       *           position of the join attribute of the tuple
+       */
+      protected abstract void add(DataTuple tuple, int position);
+
+      /**
+       * Positions the cursor of this index before the tuples whose join attribute is equal to the one of the
+       * given tuple.
+       *
+       * @param tuple
+       *           data tuple of the other input
+       * @param position
+       *           position of the join attribute of the given tuple
+       */
+      protected abstract void probe(DataTuple tuple, int position);
+
+      /**
+       * Returns the next tuple that matches the last probe in the order in which the tuples were added.
+       *
+       * @return matching tuple, or <code>null</code> if there are no more matches
+       */
+      protected abstract DataTuple nextMatch();
+   }
+
+   /**
+    * Hash index for arbitrary join attributes.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static final class ObjectIndex extends Index {
+
+      /** Tuples by join attribute. */
+      private final Map<Object, List<DataTuple>> tuples;
+      /** Tuples that match the last probe, or <code>null</code> if there are none. */
+      private List<DataTuple> matches;
+      /** Position of the next match. */
+      private int cursor;
+
+      /**
+       * Creates a new empty index.
+       */
+      private ObjectIndex() {
+         this.tuples = new HashMap<>();
+      }
+
+      @Override
+      protected void add(final DataTuple tuple, final int position) {
+         this.tuples.computeIfAbsent(tuple.getAttributeValue(position), key -> new ArrayList<>()).add(tuple);
+      }
+
+      @Override
+      protected void probe(final DataTuple tuple, final int position) {
+         this.matches = this.tuples.get(tuple.getAttributeValue(position));
+         this.cursor = 0;
+      }
+
+      @Override
+      protected DataTuple nextMatch() {
+         if (this.matches == null || this.cursor == this.matches.size()) {
+            return null;
+         }
+         return this.matches.get(this.cursor++);
+      }
+   }
+
+   /**
+    * Hash index for integer join attributes. Keys are kept in an open-addressing table of primitive values,
+    * tuples with equal keys are chained through an array of successor positions in the order in which they
+    * were added.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static final class LongIndex extends Index {
+
+      /** Keys of the table. */
+      private long[] keys;
+      /** Position of the first added tuple of each key plus one, zero for empty slots. */
+      private int[] heads;
+      /** Position of the most recently added tuple of each key plus one. */
+      private int[] tails;
+      /** Tuples in the order in which they were added. */
+      private DataTuple[] tuples;
+      /** Position of the next added tuple with the same key plus one, zero for the last one. */
+      private int[] next;
+      /** Position of the next match plus one, zero if there are no more matches. */
+      private int cursor;
+      /** Number of distinct keys. */
+      private int keyCount;
+      /** Number of tuples. */
+      private int size;
+
+      /**
+       * Creates a new empty index.
+       */
+      private LongIndex() {
+         this.keys = new long[16];
+         this.heads = new int[16];
+         this.tails = new int[16];
+         this.tuples = new DataTuple[16];
+         this.next = new int[16];
+      }
+
+      @Override
+      protected void add(final DataTuple tuple, final int position) {
+         if (this.size == this.tuples.length) {
+            this.tuples = Arrays.copyOf(this.tuples, this.size * 2);
+            this.next = Arrays.copyOf(this.next, this.size * 2);
+         }
+         if (this.keyCount * 2 >= this.keys.length) {
+            this.rehash();
+         }
+         final int slot = this.find(tuple.getLong(position));
+         this.tuples[this.size] = tuple;
+         this.next[this.size] = 0;
+         this.size++;
+         if (this.heads[slot] == 0) {
+            this.keys[slot] = tuple.getLong(position);
+            this.heads[slot] = this.size;
+            this.keyCount++;
+         } else {
+            this.next[this.tails[slot] - 1] = this.size;
+         }
+         this.tails[slot] = this.size;
+      }
+
+      @Override
+      protected void probe(final DataTuple tuple, final int position) {
+         this.cursor = this.heads[this.find(tuple.getLong(position))];
+      }
+
+      @Override
+      protected DataTuple nextMatch() {
+         if (this.cursor == 0) {
+            return null;
+         }
+         final DataTuple match = this.tuples[this.cursor - 1];
+         this.cursor = this.next[this.cursor - 1];
+         return match;
+      }
+
+      /**
+       * Returns the slot of the given key, or the empty slot at which it would be inserted.
+       *
+       * @param key
+       *           join attribute value
+       * @return slot in the table
+       */
+      private int find(final long key) {
+         final int mask = this.keys.length - 1;
+         final long hash = key * 0x9E3779B97F4A7C15L;
+         int slot = (int) (hash ^ hash >>> 32) & mask;
+         while (this.heads[slot] != 0 && this.keys[slot] != key) {
+            slot = slot + 1 & mask;
+         }
+         return slot;
+      }
+
+      /**
+       * Doubles the size of the table.
+       */
+      private void rehash() {
+         final long[] oldKeys = this.keys;
+         final int[] oldHeads = this.heads;
+         final int[] oldTails = this.tails;
+         this.keys = new long[oldKeys.length * 2];
+         this.heads = new int[oldKeys.length * 2];
+         this.tails = new int[oldKeys.length * 2];
+         for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHeads[i] != 0) {
+               final int slot = this.find(oldKeys[i]);
+               this.keys[slot] = oldKeys[i];
+               this.heads[slot] = oldHeads[i];
+               this.tails[slot] = oldTails[i];
+            }
+         }
+      }
+   }
+}
@@ -9,22 +9,27 @@
  */
 package niagarino.operator;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Date;
-import java.util.PriorityQueue;
+import java.util.List;
 
 import niagarino.plan.Parameter;
 import niagarino.plan.PlanOperatorByParametersFactory;
 import niagarino.stream.ControlTuple;
 import niagarino.stream.DataTuple;
+import niagarino.stream.PunctuationControl;
 import niagarino.stream.Schema;
+import niagarino.stream.Stream.Flow;
 
 /**
- * Sorts incoming tuples that are k-sorted. When a punctuation comes in, all tuples with a value lower than
- * the punctuation will be sorted and emitted in correct order.<br />
- * <br />
- * TODO This implementation is not very efficient. PriorityQueue has insert and remove runtime O(log n).
+ * Sorts incoming tuples that are k-sorted. Tuples are buffered in a calendar queue, i.e., a ring of buckets
+ * that each hold the tuples of a fixed range of progressing values. Inserting a tuple takes constant time.
+ * Once the largest progressing value seen so far exceeds the end of a bucket by more than the slack, no
+ * tuple of that bucket can arrive anymore. The bucket is then sorted with the comparator and emitted. Once
+ * the released range covers at least the slack, an {@code INTERVAL} punctuation for it is sent downstream,
+ * so that narrow buckets do not flood the plan with control tuples. Tuples that arrive later than the slack
+ * allows are dropped.
  *
  * @author Johann Bornholdt &lt;johann.bornholdt@uni-konstanz.de&gt;
  * @author Florian 'Sammy' Junghanns &lt;florian.junghanns@uni-konstanz.de&gt;
@@ -32,23 +37,43 @@ import niagarino.stream.Schema;
  */
 public class KSorter extends AbstractOperator {
 
+   /** Number of buckets used to cover the slack, if no bucket width is given. */
+   private static final long DEFAULT_BUCKETS = 1024;
+
    /** Comparator for tuples. */
    private final Comparator<DataTuple> comparator;
 
-   /** Buffer for previous tuples. */
-   private final PriorityQueue<DataTuple> buffer;
+   /** Ring of buckets for previous tuples, indexed by bucket number modulo the number of buckets. */
+   private final List<DataTuple>[] buckets;
+
+   /** Range of progressing values covered by one bucket. */
+   private final long width;
 
    /** Maximum slack. */
-   private long slack;
+   private final long slack;
+
+   /** Number of the first bucket that has not been released. */
+   private long low;
 
-   /** Minimum of queue. */
-   private long min;
+   /** Number of the first bucket that has not been punctuated. */
+   private long punctuated;
 
-   /** Maximum of queue. */
+   /** Number of buffered tuples. */
+   private int size;
+
+   /** Maximum progressing value seen so far. */
    private long max;
 
+   /** Whether a tuple has been seen, i.e., the first bucket number is set. */
+   private boolean started;
+
+   /** Whether a tuple has been emitted, before which released ranges are not punctuated. */
+   private boolean emitted;
+
    /**
-    * Constructs a new KSorter with the given comparator determining the sort order.
+    * Constructs a new KSorter with the given comparator determining the sort order. Every bucket covers a
+    * range of progressing values of the size of the slack divided by {@value #DEFAULT_BUCKETS}, but at
+    * least one.
     *
     * @param operatorId
     *           id of operator
@@ -61,12 +86,42 @@ public class KSorter extends AbstractOperator {
     */
    public KSorter(final String operatorId, final Schema inputSchema, final Comparator<DataTuple> comparator,
          final long slack) {
+      this(operatorId, inputSchema, comparator, slack, Math.max(1, slack / DEFAULT_BUCKETS));
+   }
+
+   /**
+    * Constructs a new KSorter with the given comparator determining the sort order and the given bucket
+    * width. Tuples are released once the whole range of their bucket is outside of the slack, hence wider
+    * buckets hold tuples longer, but need fewer buckets.
+    *
+    * @param operatorId
+    *           id of operator
+    * @param inputSchema
+    *           input schema
+    * @param comparator
+    *           comparator for sorting tuples
+    * @param slack
+    *           how much slack the operator shall use to account for disorder
+    * @param width
+    *           range of progressing values covered by one bucket
+    */
+   @SuppressWarnings("unchecked")
+   public KSorter(final String operatorId, final Schema inputSchema, final Comparator<DataTuple> comparator,
+         final long slack, final long width) {
       super(operatorId, Arrays.asList(inputSchema));
+      if (slack < 0 || width < 1) {
+         throw new IllegalArgumentException("Slack must not be negative and bucket width must be positive.");
+      }
       this.comparator = comparator;
-      this.buffer = new PriorityQueue<>(this.comparator);
       this.slack = slack;
-      this.min = Long.MAX_VALUE;
+      this.width = width;
+      // the live buckets span from the release boundary to the maximum, i.e., at most slack / width + 2
+      this.buckets = (List<DataTuple>[]) new List<?>[Integer.highestOneBit((int) Math.min(slack / width + 2,
+            1 << 30) - 1) << 1];
+      this.size = 0;
       this.max = Long.MIN_VALUE;
+      this.started = false;
+      this.emitted = false;
    }
 
    /**
@@ -74,58 +129,92 @@ public class KSorter extends AbstractOperator {
     */
    @Override
    protected void processTuple(final int input, final DataTuple tuple) {
-      final long value = this.getValue(tuple);
+      final long value = tuple.getProgressingLong();
 
-      if (this.max - value > this.slack && this.max > value) {
+      if (this.max > value && this.max - value > this.slack) {
          // Log.warn("Dropped tuple because it arrived too late: " + tuple);
-         // System.out.println("Dropped tuple " + tuple.getProgressingValue() + ", current min ["
-         // + this.buffer.peek().getProgressingValue() + "], current max [" + new Date(this.max) + "]");
          return;
       }
 
-      this.buffer.add(tuple);
-      if (value < this.min) {
-         this.min = value;
+      if (!this.started) {
+         // tuples that are at most the slack smaller than the first one are accepted
+         this.low = Math.floorDiv(value - this.slack, this.width);
+         this.punctuated = this.low;
+         this.started = true;
       }
       if (value > this.max) {
          this.max = value;
+         // buckets whose last value is smaller than the boundary are complete
+         this.release(Math.floorDiv(this.max - this.slack, this.width));
+      }
+      final int slot = (int) (Math.floorDiv(value, this.width) & (this.buckets.length - 1));
+      if (this.buckets[slot] == null) {
+         this.buckets[slot] = new ArrayList<>();
       }
+      this.buckets[slot].add(tuple);
+      this.size++;
+   }
 
-      while (this.max - this.min > this.slack) {
-         final DataTuple out = this.buffer.poll();
-         this.pushTuple(out);
-         this.min = this.getValue(this.buffer.peek());
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   protected void handleEoS(final Socket socket, final int input, final ControlTuple message) {
+      if (Socket.INPUT.equals(socket)) {
+         while (this.size > 0) {
+            this.emit(this.low++);
+         }
       }
+      super.handleEoS(socket, input, message);
    }
 
    /**
-    * Converts the progressing value of the given tuple to long.
+    * Emits all buckets up to, but not including, the given bucket and punctuates the released range once it
+    * covers at least the slack. No punctuation is sent before the first tuple has been emitted, as downstream
+    * windows derive their start from the first tuple they see.
     *
-    * @param tuple
-    *           the tuple
-    * @return the long value
+    * @param limit
+    *           number of the first bucket that is not released
     */
-   private long getValue(final DataTuple tuple) {
-      final Object value = tuple.getProgressingValue();
-      if (value instanceof Number) {
-         return ((Number) value).longValue();
-      } else if (value instanceof Date) {
-         return ((Date) value).getTime();
+   private void release(final long limit) {
+      if (limit <= this.low) {
+         return;
+      }
+      while (this.low < limit && this.size > 0) {
+         this.emit(this.low++);
+      }
+      this.low = limit;
+      if (!this.emitted) {
+         this.punctuated = limit;
+         return;
+      }
+      final long range = (limit - this.punctuated) * this.width;
+      if (range >= Math.max(this.slack, this.width)) {
+         this.pushControl(Flow.FORWARD, new PunctuationControl(PunctuationControl.Type.INTERVAL, 0,
+               this.width, limit - 1, this.punctuated * this.width, range));
+         this.punctuated = limit;
       }
-      throw new IllegalArgumentException("Could not convert " + value.getClass() + " to Long.");
    }
 
    /**
-    * {@inheritDoc}
+    * Sorts and emits the tuples of the given bucket.
+    *
+    * @param bucket
+    *           bucket number
     */
-   @Override
-   protected void handleEoS(final Socket socket, final int input, final ControlTuple message) {
-      if (Socket.INPUT.equals(socket)) {
-         while (!this.buffer.isEmpty()) {
-            this.pushTuple(this.buffer.poll());
+   private void emit(final long bucket) {
+      final List<DataTuple> tuples = this.buckets[(int) (bucket & (this.buckets.length - 1))];
+      if (tuples != null && !tuples.isEmpty()) {
+         if (tuples.size() > 1) {
+            tuples.sort(this.comparator);
+         }
+         for (final DataTuple tuple : tuples) {
+            this.pushTuple(tuple);
          }
+         this.size -= tuples.size();
+         tuples.clear();
+         this.emitted = true;
       }
-      super.handleEoS(socket, input, message);
    }
 
    /**
@@ -153,6 +242,10 @@ public class KSorter extends AbstractOperator {
          final Comparator<DataTuple> comparator = (Comparator<DataTuple>) Class.forName(comparatorName)
                .newInstance();
          final long slack = Long.parseLong(parameters.get("slack").getString());
+         if (parameters.getMap().containsKey("width")) {
+            final long width = Long.parseLong(parameters.get("width").getString());
+            return new KSorter(operatorId, inputSchema, comparator, slack, width);
+         }
          return new KSorter(operatorId, inputSchema, comparator, slack);
       }
    }
@@ -12,8 +12,10 @@ package niagarino.operator;
 import java.util.Arrays;
 import java.util.Objects;
 
+import niagarino.stream.ColumnarPage;
 import niagarino.stream.ControlTuple;
 import niagarino.stream.DataTuple;
+import niagarino.stream.PageElement;
 import niagarino.stream.Schema;
 import niagarino.stream.Stream.Flow;
 
@@ -57,6 +59,11 @@ public class Limit extends AbstractOperator {
       return this.getInputSchemas().get(0);
    }
 
+   @Override
+   protected boolean isFusible() {
+      return true;
+   }
+
    @Override
    protected void processTuple(final int input, final DataTuple tuple) {
       if (this.curr < this.limit) {
@@ -69,4 +76,35 @@ public class Limit extends AbstractOperator {
       }
       // *drops mic*
    }
+
+   @Override
+   protected boolean isBatchProcessing() {
+      return true;
+   }
+
+   @Override
+   protected void processBatch(final int input, final PageElement page) {
+      final int size = page.size();
+      if (this.curr + size <= this.limit) {
+         // the entire page passes
+         this.pushBatch(page);
+         this.curr += size;
+      } else if (this.curr <= this.limit) {
+         final int remaining = (int) (this.limit - this.curr);
+         if (page instanceof ColumnarPage) {
+            final int[] rows = new int[remaining];
+            for (int row = 0; row < remaining; row++) {
+               rows[row] = row;
+            }
+            this.pushBatch(((ColumnarPage) page).select(rows, remaining));
+         } else {
+            final DataTuple[] tuples = page.getTuples();
+            for (int row = 0; row < remaining; row++) {
+               this.pushTuple(tuples[row]);
+            }
+         }
+         this.pushControl(Flow.FORWARD, new ControlTuple(ControlTuple.Type.EOS));
+         this.curr = this.limit + 1;
+      }
+   }
 }
@@ -0,0 +1,283 @@
+/*
+ * @(#)LoadShedder.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import niagarino.plan.Parameter;
+import niagarino.plan.PlanOperatorByParametersFactory;
+import niagarino.stream.ControlTuple;
+import niagarino.stream.DataTuple;
+import niagarino.stream.ElementMetadata;
+import niagarino.stream.ElementPriority;
+import niagarino.stream.Schema;
+import niagarino.stream.Stream;
+import niagarino.stream.Stream.Flow;
+
+/**
+ * A {@link LoadShedder} sheds load when the operators downstream of it cannot keep up with its input, instead
+ * of exerting back-pressure on the source. Every {@value #CHECK_INTERVAL} tuples, it adapts its shedding
+ * level, i.e., the fraction of the input that is shed, to the occupancy of its output streams and to the
+ * end-to-end latency of the current tuple. The level is raised by {@value #STEP} while an output stream is
+ * fuller than the high watermark or the latency exceeds the target, and lowered by half that step while the
+ * occupancy is below the low watermark and the latency is below half the target. Latencies are only known
+ * if the plan collects metrics, which stamp the tuples with their source time.<br />
+ * <br />
+ * In {@link Mode#TUPLE tuple mode}, tuples are dropped at random with a probability equal to the shedding
+ * level. In {@link Mode#SEGMENT segment mode}, tuples are annotated with the {@link ElementPriority} (x, 0),
+ * where x is the largest number such that shedding all but every x-th segment sheds at most the shedding
+ * level, i.e., no segments are shed below a level of one half. A downstream window only assigns the tuples
+ * to every x-th segment, so that whole segments are shed and the remaining segments are complete as long as
+ * the level does not change. Tuples that already have a lower priority keep it. The load shedder reports
+ * the tuples that it drops in tuple mode, the downstream window the tuples that it drops in segment mode.
+ * <br />
+ * <br />
+ * As the occupancy of the output streams is measured, the consumer of a load shedder is never fused into
+ * it.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class LoadShedder extends AbstractOperator {
+
+   /** Default occupancy of an output stream at which the shedding level is raised. */
+   public static final double DEFAULT_HIGH_WATERMARK = 0.8;
+   /** Default occupancy of the output streams below which the shedding level is lowered. */
+   public static final double DEFAULT_LOW_WATERMARK = 0.5;
+
+   /** Number of tuples after which the shedding level is adapted, must be a power of two. */
+   private static final int CHECK_INTERVAL = 64;
+   /** Amount by which the shedding level is raised. */
+   private static final double STEP = 0.05;
+   /** Maximum shedding level, so that the downstream operators never starve completely. */
+   private static final double MAX_LEVEL = 0.95;
+
+   /**
+    * Granularity at which load is shed.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   public enum Mode {
+      /** Individual tuples are dropped at random. */
+      TUPLE,
+      /** Whole segments of downstream windows are shed by lowering the priority of the tuples. */
+      SEGMENT
+   }
+
+   /** Granularity at which load is shed. */
+   private final Mode mode;
+   /** Target end-to-end latency in nanoseconds, zero if the latency is not taken into account. */
+   private final long latencyTarget;
+   /** Occupancy of an output stream at which the shedding level is raised. */
+   private final double highWatermark;
+   /** Occupancy of the output streams below which the shedding level is lowered. */
+   private final double lowWatermark;
+
+   /** Fraction of the input that is currently shed. */
+   private double level;
+   /** Shedding level scaled to the range of non-negative longs, compared against random numbers. */
+   private long threshold;
+   /** Priority that is assigned to tuples in segment mode, {@code null} if no segments are shed. */
+   private ElementPriority priority;
+   /** State of the generator of the random numbers that decide whether a tuple is dropped. */
+   private long random;
+   /** Number of tuples processed since the shedding level was last adapted. */
+   private int processed;
+   /** Number of tuples dropped since the dropped tuples were last reported. */
+   private long dropped;
+
+   /**
+    * Constructs a new load shedder that only takes the occupancy of its output streams into account and uses
+    * the default watermarks.
+    *
+    * @param operatorId
+    *           id of operator
+    * @param inputSchema
+    *           input schema
+    * @param mode
+    *           granularity at which load is shed
+    */
+   public LoadShedder(final String operatorId, final Schema inputSchema, final Mode mode) {
+      this(operatorId, inputSchema, mode, 0, DEFAULT_HIGH_WATERMARK, DEFAULT_LOW_WATERMARK);
+   }
+
+   /**
+    * Constructs a new load shedder.
+    *
+    * @param operatorId
+    *           id of operator
+    * @param inputSchema
+    *           input schema
+    * @param mode
+    *           granularity at which load is shed
+    * @param latencyTarget
+    *           target end-to-end latency in milliseconds, zero if the latency is not taken into account
+    * @param highWatermark
+    *           occupancy of an output stream between 0 and 1 at which the shedding level is raised
+    * @param lowWatermark
+    *           occupancy of the output streams between 0 and 1 below which the shedding level is lowered
+    */
+   public LoadShedder(final String operatorId, final Schema inputSchema, final Mode mode,
+         final long latencyTarget, final double highWatermark, final double lowWatermark) {
+      super(operatorId, Arrays.asList(inputSchema));
+      if (latencyTarget < 0 || lowWatermark < 0 || lowWatermark > highWatermark || highWatermark > 1) {
+         throw new IllegalArgumentException("Latency target must not be negative and watermarks must satisfy "
+               + "0 <= low <= high <= 1.");
+      }
+      this.mode = mode;
+      this.latencyTarget = TimeUnit.MILLISECONDS.toNanos(latencyTarget);
+      this.highWatermark = highWatermark;
+      this.lowWatermark = lowWatermark;
+      this.level = 0;
+      this.threshold = 0;
+      this.priority = null;
+      this.random = 0x2545f4914f6cdd1dL;
+      this.processed = 0;
+      this.dropped = 0;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   public Schema getOutputSchema() {
+      return this.getInputSchemas().get(0);
+   }
+
+   /**
+    * Returns the fraction of the input that is currently shed.
+    *
+    * @return shedding level between 0 and 1
+    */
+   public double getLevel() {
+      return this.level;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   protected boolean hasFusibleOutput() {
+      // a fused consumer would bypass the output streams whose occupancy is measured
+      return false;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   protected void processTuple(final int input, final DataTuple tuple) {
+      if ((++this.processed & (CHECK_INTERVAL - 1)) == 0) {
+         this.adapt(tuple.getElementMetadata());
+      }
+      if (this.mode == Mode.TUPLE) {
+         if (this.threshold > 0) {
+            this.random ^= this.random << 13;
+            this.random ^= this.random >>> 7;
+            this.random ^= this.random << 17;
+            if ((this.random >>> 1) < this.threshold) {
+               this.dropped++;
+               return;
+            }
+         }
+      } else if (this.priority != null) {
+         final ElementMetadata metadata = tuple.getElementMetadata();
+         if (metadata.getElementPriority().getX() < this.priority.getX()) {
+            metadata.setElementPriority(this.priority);
+         }
+      }
+      this.pushTuple(tuple);
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   protected void handleEoS(final Socket socket, final int input, final ControlTuple message) {
+      if (Socket.INPUT.equals(socket)) {
+         this.reportDropped();
+      }
+      super.handleEoS(socket, input, message);
+   }
+
+   /**
+    * Adapts the shedding level to the occupancy of the output streams and to the latency of the tuple with
+    * the given metadata.
+    *
+    * @param metadata
+    *           metadata of the current tuple
+    */
+   private void adapt(final ElementMetadata metadata) {
+      this.reportDropped();
+      double occupancy = 0;
+      for (final Stream stream : this.getStreams(Socket.OUTPUT)) {
+         occupancy = Math.max(occupancy, (double) stream.getSize(Flow.FORWARD) / stream.getCapacity());
+      }
+      long latency = 0;
+      if (this.latencyTarget > 0 && metadata.getSourceTime() != 0) {
+         latency = System.nanoTime() - metadata.getSourceTime();
+      }
+      final double old = this.level;
+      if (occupancy >= this.highWatermark || this.latencyTarget > 0 && latency > this.latencyTarget) {
+         this.level = Math.min(MAX_LEVEL, this.level + STEP);
+      } else if (occupancy < this.lowWatermark && latency <= this.latencyTarget / 2) {
+         this.level = Math.max(0, this.level - STEP / 2);
+      }
+      if (this.level != old) {
+         this.threshold = (long) (this.level * Long.MAX_VALUE);
+         // the largest x such that keeping every x-th segment sheds at most the level
+         final int x = (int) Math.floor(1 / (1 - this.level) + 1e-9);
+         this.priority = x > 1 ? new ElementPriority(x, 0) : null;
+      }
+   }
+
+   /**
+    * Reports the tuples that were dropped since they were last reported.
+    */
+   private void reportDropped() {
+      if (this.dropped > 0) {
+         this.reportDroppedTuples(this.dropped);
+         this.dropped = 0;
+      }
+   }
+
+   /**
+    * Factory for new instances of the LoadShedder operator.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   public static class Factory implements PlanOperatorByParametersFactory {
+
+      @Override
+      public Operator getOperatorByParameters(final String operatorId, final Schema inputSchema,
+            final Parameter parameters) {
+         Mode mode = Mode.TUPLE;
+         if (parameters.getMap().containsKey("mode")) {
+            mode = Mode.valueOf(parameters.get("mode").getString().trim().toUpperCase());
+         }
+         long latency = 0;
+         if (parameters.getMap().containsKey("latency")) {
+            latency = Long.parseLong(parameters.get("latency").getString());
+         }
+         double high = DEFAULT_HIGH_WATERMARK;
+         if (parameters.getMap().containsKey("high")) {
+            high = Double.parseDouble(parameters.get("high").getString());
+         }
+         double low = DEFAULT_LOW_WATERMARK;
+         if (parameters.getMap().containsKey("low")) {
+            low = Double.parseDouble(parameters.get("low").getString());
+         }
+         return new LoadShedder(operatorId, inputSchema, mode, latency, high, low);
+      }
+   }
+}
@@ -40,4 +40,12 @@ public class NoOp extends AbstractOperator {
    public Schema getOutputSchema() {
       return this.outputSchema;
    }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   protected boolean isFusible() {
+      return true;
+   }
 }
@@ -10,6 +10,7 @@
 package niagarino.operator;
 
 import niagarino.stream.DataTuple;
+import niagarino.stream.PageElement;
 
 /**
  * Listener interface to monitor operator execution.
@@ -38,6 +39,72 @@ public interface OperatorEventListener {
     */
    void onOutputTuple(Operator source, DataTuple tuple);
 
+   /**
+    * Invoked whenever the operator consumes a page of input tuples.
+    *
+    * @param source
+    *           operator that triggers the event
+    * @param page
+    *           page of input tuples
+    */
+   void onInputBatch(Operator source, PageElement page);
+
+   /**
+    * Invoked whenever the operator produces a page of output tuples.
+    *
+    * @param source
+    *           operator that triggers the event
+    * @param page
+    *           page of output tuples
+    */
+   void onOutputBatch(Operator source, PageElement page);
+
+   /**
+    * Invoked whenever the operator was blocked pushing a stream element onto a full stream.
+    *
+    * @param source
+    *           operator that triggers the event
+    * @param nanos
+    *           time in nanoseconds that the operator was blocked
+    */
+   void onBlocked(Operator source, long nanos);
+
+   /**
+    * Invoked whenever the operator was idle waiting for stream elements.
+    *
+    * @param source
+    *           operator that triggers the event
+    * @param nanos
+    *           time in nanoseconds that the operator was idle
+    */
+   void onIdle(Operator source, long nanos);
+
+   /**
+    * Invoked whenever the operator deliberately dropped input tuples, e.g., to shed load.
+    *
+    * @param source
+    *           operator that triggers the event
+    * @param count
+    *           number of dropped tuples
+    */
+   void onDroppedTuples(Operator source, long count);
+
+   /**
+    * Invoked when the operator starts a work quantum on the current thread.
+    *
+    * @param source
+    *           operator that triggers the event
+    */
+   void onQuantumStart(Operator source);
+
+   /**
+    * Invoked when the operator ends a work quantum on the current thread.
+    *
+    * @param source
+    *           operator that triggers the event
+    */
+   void onQuantumEnd(Operator source);
+
    /**
     * Invoked when the operator shuts down.
     *
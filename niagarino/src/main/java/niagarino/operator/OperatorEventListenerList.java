@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import niagarino.stream.DataTuple;
+import niagarino.stream.PageElement;
 
 /**
  * Utility class that implements a list to manage all operator event listeners that are registered for an
@@ -81,6 +82,100 @@ public final class OperatorEventListenerList {
       }
    }
 
+   /**
+    * Fires the event that indicates that an operator consumed a page of input tuples.
+    *
+    * @param source
+    *           operator that triggers the event
+    * @param page
+    *           page of input tuples
+    */
+   public void fireOnInputBatch(final Operator source, final PageElement page) {
+      for (final OperatorEventListener listener : this.listeners) {
+         listener.onInputBatch(source, page);
+      }
+   }
+
+   /**
+    * Fires the event that indicates that an operator produced a page of output tuples.
+    *
+    * @param source
+    *           operator that triggers the event
+    * @param page
+    *           page of output tuples
+    */
+   public void fireOnOutputBatch(final Operator source, final PageElement page) {
+      for (final OperatorEventListener listener : this.listeners) {
+         listener.onOutputBatch(source, page);
+      }
+   }
+
+   /**
+    * Fires the event that indicates that an operator was blocked pushing onto a full stream.
+    *
+    * @param source
+    *           operator that triggers the event
+    * @param nanos
+    *           blocked time in nanoseconds
+    */
+   public void fireOnBlocked(final Operator source, final long nanos) {
+      for (final OperatorEventListener listener : this.listeners) {
+         listener.onBlocked(source, nanos);
+      }
+   }
+
+   /**
+    * Fires the event that indicates that an operator was idle waiting for stream elements.
+    *
+    * @param source
+    *           operator that triggers the event
+    * @param nanos
+    *           idle time in nanoseconds
+    */
+   public void fireOnIdle(final Operator source, final long nanos) {
+      for (final OperatorEventListener listener : this.listeners) {
+         listener.onIdle(source, nanos);
+      }
+   }
+
+   /**
+    * Fires the event that indicates that an operator deliberately dropped input tuples.
+    *
+    * @param source
+    *           operator that triggers the event
+    * @param count
+    *           number of dropped tuples
+    */
+   public void fireOnDroppedTuples(final Operator source, final long count) {
+      for (final OperatorEventListener listener : this.listeners) {
+         listener.onDroppedTuples(source, count);
+      }
+   }
+
+   /**
+    * Fires the event that indicates that an operator starts a work quantum.
+    *
+    * @param source
+    *           operator that triggers the event
+    */
+   public void fireOnQuantumStart(final Operator source) {
+      for (final OperatorEventListener listener : this.listeners) {
+         listener.onQuantumStart(source);
+      }
+   }
+
+   /**
+    * Fires the event that indicates that an operator ends a work quantum.
+    *
+    * @param source
+    *           operator that triggers the event
+    */
+   public void fireOnQuantumEnd(final Operator source) {
+      for (final OperatorEventListener listener : this.listeners) {
+         listener.onQuantumEnd(source);
+      }
+   }
+
    /**
     * Fires the event that indicates that an operator has shut down.
     *
@@ -0,0 +1,85 @@
+/*
+ * @(#)OperatorFusion.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import niagarino.operator.AbstractOperator.Socket;
+import niagarino.stream.Stream;
+
+/**
+ * Optimization that fuses chains of operators into one thread. An operator is fused into the operator that
+ * produces its input if it declares itself fusible, has a single input stream, and that stream is the only
+ * output stream of the producing operator, which allows its consumer to be fused. A fused operator is
+ * called directly by its producer, so that its input no longer crosses a stream and a thread boundary.
+ * Control tuples, including {@code EOS}, are passed along the chain in both directions in the same way as
+ * tuples.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public final class OperatorFusion {
+
+   /**
+    * Hidden constructor.
+    */
+   private OperatorFusion() {
+      // prevent instantiation
+   }
+
+   /**
+    * Fuses all chains of fusible operators among the given operators into the operator that heads the
+    * chain. The given operators must not be running.
+    *
+    * @param operators
+    *           all operators of a physical query plan
+    * @return operators that still need to be executed, i.e., all operators that have not been fused
+    */
+   public static List<Operator> fuse(final Collection<Operator> operators) {
+      // fusible operators by their only input stream
+      final Map<Stream, AbstractOperator> consumers = new HashMap<>();
+      for (final Operator operator : operators) {
+         if (operator instanceof AbstractOperator) {
+            final AbstractOperator consumer = (AbstractOperator) operator;
+            final List<Stream> inputs = consumer.getStreams(Socket.INPUT);
+            if (consumer.isFusible() && inputs.size() == 1) {
+               consumers.put(inputs.get(0), consumer);
+            }
+         }
+      }
+      // operators that call the next operator of their chain directly
+      final Map<Operator, AbstractOperator> chains = new HashMap<>();
+      for (final Operator operator : operators) {
+         if (operator instanceof AbstractOperator && ((AbstractOperator) operator).hasFusibleOutput()) {
+            final List<Stream> outputs = ((AbstractOperator) operator).getStreams(Socket.OUTPUT);
+            if (outputs.size() == 1 && consumers.containsKey(outputs.get(0))) {
+               chains.put(operator, consumers.get(outputs.get(0)));
+            }
+         }
+      }
+      final List<Operator> result = new ArrayList<>();
+      for (final Operator operator : operators) {
+         if (!chains.containsValue(operator)) {
+            result.add(operator);
+            Operator producer = operator;
+            while (chains.containsKey(producer)) {
+               final AbstractOperator consumer = chains.get(producer);
+               ((AbstractOperator) operator).fuse((AbstractOperator) producer, consumer);
+               producer = consumer;
+            }
+         }
+      }
+      return result;
+   }
+}
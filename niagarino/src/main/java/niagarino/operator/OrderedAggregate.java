@@ -25,17 +25,27 @@ import niagarino.operator.function.BuiltInAggregationFunction;
 import niagarino.plan.Parameter;
 import niagarino.plan.PlanOperatorByParametersFactory;
 import niagarino.stream.Attribute;
+import niagarino.stream.ColumnarPage;
 import niagarino.stream.ControlTuple;
 import niagarino.stream.DataTuple;
 import niagarino.stream.GroupedStreamSegment;
+import niagarino.stream.PageElement;
 import niagarino.stream.PunctuationControl;
 import niagarino.stream.Schema;
 import niagarino.stream.Stream.Flow;
 import niagarino.stream.StreamSegment;
+import niagarino.stream.WindowSlices;
+import niagarino.util.PropertiesReader;
 import niagarino.util.TypeSystem;
 
 /**
- * Aggregation operator that works over ordered streams.
+ * Aggregation operator that works over ordered streams. If slicing is enabled and the aggregators of all
+ * aggregation functions are mergeable, tuples that belong to the same range of windows are aggregated only
+ * once and the result of each window is combined from these partial aggregates.
+ * <p>
+ * Tuples may arrive out of order as long as their segments have not been closed by a window punctuation,
+ * e.g., from a {@link ValueWindow} with an allowed lateness. Tuples that precede the newest slice are
+ * aggregated for each of their segments individually.
  *
  * @author Michael Grossniklaus &lt;michagro@cecs.pdx.edu&gt;
  * @version 1.0
@@ -60,6 +70,8 @@ public class OrderedAggregate extends AbstractOperator {
    private final int attributePosition;
    /** Last seen punctuation. */
    private PunctuationControl lastPunctuation;
+   /** Slices that are being aggregated or <code>null</code> if slicing is disabled. */
+   private final WindowSlices slices;
 
    /**
     * Constructs a new aggregation operator for ordered streams with the given input schema that applies the
@@ -134,6 +146,13 @@ public class OrderedAggregate extends AbstractOperator {
       this.limit = limit;
       this.attributePosition = attributePosition;
       this.lastPunctuation = null;
+      final boolean slicing = Boolean.parseBoolean(PropertiesReader.getPropertiesReader().getProperties()
+            .getProperty(PropertiesReader.AGGREGATE_SLICING));
+      if (slicing && WindowSlices.isSupported(functions)) {
+         this.slices = new WindowSlices(inputSchema, groupAttributes, aggregatedAttributes, functions);
+      } else {
+         this.slices = null;
+      }
    }
 
    /**
@@ -212,6 +231,13 @@ public class OrderedAggregate extends AbstractOperator {
    @Override
    protected void processTuple(final int input, final DataTuple tuple) {
       final List<Long> currentSegments = tuple.getElementMetadata().getSegmentIds();
+      if (this.slices != null) {
+         final GroupedStreamSegment slice = this.slices.getSlice(currentSegments);
+         if (slice != null) {
+            slice.insertTuple(tuple);
+            return;
+         }
+      }
       // compute open segments
       this.openSegments.addAll(currentSegments);
       // update current segments
@@ -226,6 +252,61 @@ public class OrderedAggregate extends AbstractOperator {
       }
    }
 
+   @Override
+   protected boolean isBatchProcessing() {
+      return true;
+   }
+
+   @Override
+   protected void processBatch(final int input, final PageElement page) {
+      if (page instanceof ColumnarPage) {
+         final ColumnarPage columns = (ColumnarPage) page;
+         List<Long> currentSegments = null;
+         GroupedStreamSegment[] segments = null;
+         for (int row = 0; row < columns.size(); row++) {
+            final List<Long> segmentIds = columns.getElementMetadata(row).getSegmentIds();
+            // consecutive tuples usually belong to the same segments, so only look them up once
+            if (!segmentIds.equals(currentSegments)) {
+               currentSegments = segmentIds;
+               segments = this.getSegments(segmentIds);
+            }
+            for (final GroupedStreamSegment segment : segments) {
+               segment.insertRow(columns, row);
+            }
+         }
+      } else {
+         super.processBatch(input, page);
+      }
+   }
+
+   /**
+    * Opens the segments with the given ids and returns them, creating them if necessary.
+    *
+    * @param segmentIds
+    *           segment ids
+    * @return stream segments
+    */
+   private GroupedStreamSegment[] getSegments(final List<Long> segmentIds) {
+      if (this.slices != null) {
+         final GroupedStreamSegment slice = this.slices.getSlice(segmentIds);
+         if (slice != null) {
+            return new GroupedStreamSegment[] { slice };
+         }
+      }
+      this.openSegments.addAll(segmentIds);
+      final GroupedStreamSegment[] result = new GroupedStreamSegment[segmentIds.size()];
+      for (int i = 0; i < result.length; i++) {
+         StreamSegment segment = this.segments.get(segmentIds.get(i));
+         if (segment == null) {
+            segment = new GroupedStreamSegment(this.getInputSchema(), this.groupAttributes,
+                  this.aggregatedAttributes, this.functions);
+            this.segments.put(segmentIds.get(i), segment);
+         }
+         result[i] = (GroupedStreamSegment) segment;
+      }
+      return result;
+   }
+
    @Override
    protected void processForwardControl(final int input, final ControlTuple message) {
       switch (message.getType()) {
@@ -233,6 +314,14 @@ public class OrderedAggregate extends AbstractOperator {
             final PunctuationControl pctrl = (PunctuationControl) message;
             if (PunctuationControl.Type.WINDOW.equals(pctrl.getPunctuationType())) {
                this.lastPunctuation = pctrl;
+               if (this.slices != null) {
+                  // windows of slices without a punctuation of their own are reported before later windows
+                  Long window = this.slices.nextWindow();
+                  while (window != null && window < pctrl.getSegmentId()) {
+                     this.reportSegment(window);
+                     window = this.slices.nextWindow();
+                  }
+               }
                this.reportSegment(pctrl.getSegmentId());
                this.openSegments.remove(pctrl.getSegmentId());
             }
@@ -249,9 +338,18 @@ public class OrderedAggregate extends AbstractOperator {
    protected void handleEoS(final Socket socket, final int input, final ControlTuple message) {
       if (Socket.INPUT.equals(socket)) {
          while (!this.segments.isEmpty()) {
-            final Long l = this.segments.firstKey();
+            Long l = this.segments.firstKey();
+            if (this.slices != null) {
+               final Long window = this.slices.nextWindow();
+               if (window != null && window < l) {
+                  l = window;
+               }
+            }
             this.reportSegment(l);
          }
+         while (this.slices != null && this.slices.nextWindow() != null) {
+            this.reportSegment(this.slices.nextWindow());
+         }
       }
       super.handleEoS(socket, input, message);
    }
@@ -264,9 +362,16 @@ public class OrderedAggregate extends AbstractOperator {
     *           segment number
     */
    private void reportSegment(final Long l) {
-      final StreamSegment segment = this.segments.get(l);
-      if (segment != null) {
-         final GroupedStreamSegment gss = (GroupedStreamSegment) segment;
+      GroupedStreamSegment gss = (GroupedStreamSegment) this.segments.get(l);
+      if (this.slices != null) {
+         final GroupedStreamSegment sliced = this.slices.report(l);
+         if (gss == null) {
+            gss = sliced;
+         } else if (sliced != null) {
+            gss.merge(sliced);
+         }
+      }
+      if (gss != null) {
          if (this.lastPunctuation != null) {
             final long difference = (l - this.lastPunctuation.getSegmentId())
                   * this.lastPunctuation.getStepSize();
@@ -285,7 +390,7 @@ public class OrderedAggregate extends AbstractOperator {
             }
             gss.setMinMax(min, max);
          }
-         List<DataTuple> tuples = segment.reportTuples();
+         List<DataTuple> tuples = gss.reportTuples();
          if (this.sortValues > 0) {
             Collections.sort(tuples, compareTuples(this.attributePosition, this.sortValues));
          }
@@ -359,8 +464,16 @@ public class OrderedAggregate extends AbstractOperator {
          counter = 0;
          for (final Parameter param : funcParam.getList()) {
             funcAttributes[counter] = inputSchema.getAttributeIndex(param.get("attribute").getString());
-            funcFuncs[counter] = BuiltInAggregationFunction.forType(Type.valueOf(param.getName()
-                  .toUpperCase()));
+            final Type type = Type.valueOf(param.getName().toUpperCase());
+            if (type == Type.PERCENTILE && param.getMap().containsKey("quantile")) {
+               funcFuncs[counter] = BuiltInAggregationFunction.percentile(Double.parseDouble(param.get(
+                     "quantile").getString()));
+            } else if (type == Type.HEAVY_HITTERS && param.getMap().containsKey("k")) {
+               funcFuncs[counter] = BuiltInAggregationFunction.heavyHitters(Integer.parseInt(param.get("k")
+                     .getString()));
+            } else {
+               funcFuncs[counter] = BuiltInAggregationFunction.forType(type);
+            }
             counter++;
          }
          int limit = 0;
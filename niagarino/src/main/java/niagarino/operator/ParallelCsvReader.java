@@ -0,0 +1,364 @@
+/*
+ * @(#)ParallelCsvReader.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import niagarino.stream.ColumnType;
+import niagarino.stream.PrimitiveValueList;
+import niagarino.stream.Schema;
+
+/**
+ * Reads several splits of the input of a scan operator, i.e., files or byte ranges of a file, concurrently
+ * with a fixed number of reader threads. The reader threads hand the parsed tuple values to the consuming
+ * thread in batches through bounded queues, so that the number of tuples that are read ahead is capped.
+ * <p>
+ * In ordered mode, one split per reader thread is read at a time and the tuples of these splits are merged
+ * in the order of the progressing attribute, ties being broken by the order of the splits. Once a split is
+ * exhausted, the next split is started. If the splits are ordered on the progressing attribute and do not
+ * overlap, e.g., hourly files of an archive, the merged stream is identical to reading the splits one after
+ * another. In unordered mode, all splits are read as fast as possible and their tuples are interleaved.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+final class ParallelCsvReader implements Closeable {
+
+   /** Maximum number of tuple values in a batch. */
+   private static final int BATCH_SIZE = 256;
+
+   /**
+    * Batch of tuple values that is handed from a reader thread to the consuming thread.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static final class Batch {
+
+      /** Tuple values of this batch. */
+      private final PrimitiveValueList[] values;
+      /** Number of tuple values in this batch. */
+      private int size;
+      /** Indicates whether this batch marks the end of its split. */
+      private final boolean last;
+      /** Exception that terminated the split, or {@code null} if the split was read completely. */
+      private final Exception error;
+
+      /**
+       * Creates a new empty batch.
+       *
+       * @param capacity
+       *           maximum number of tuple values, zero for batches that mark the end of a split
+       * @param error
+       *           exception that terminated the split or {@code null}
+       */
+      Batch(final int capacity, final Exception error) {
+         this.values = new PrimitiveValueList[capacity];
+         this.size = 0;
+         this.last = capacity == 0;
+         this.error = error;
+      }
+   }
+
+   /**
+    * Position of the consuming thread in the batches of one split.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static final class Cursor {
+
+      /** Index of the split. */
+      private final int split;
+      /** Queue through which the reader thread of the split hands over batches. */
+      private final BlockingQueue<Batch> queue;
+      /** Current batch. */
+      private Batch batch;
+      /** Index of the current tuple values in the current batch. */
+      private int index;
+
+      /**
+       * Creates a new cursor for the given split.
+       *
+       * @param split
+       *           index of the split
+       * @param queue
+       *           queue of the split
+       */
+      Cursor(final int split, final BlockingQueue<Batch> queue) {
+         this.split = split;
+         this.queue = queue;
+         this.batch = null;
+         this.index = 0;
+      }
+
+      /**
+       * Returns the current tuple values.
+       *
+       * @return tuple values
+       */
+      PrimitiveValueList current() {
+         return this.batch.values[this.index];
+      }
+   }
+
+   /** Tasks that open the readers of the splits, which are read in the given order. */
+   private final List<Callable<CsvReader>> splits;
+   /** Number of reader threads. */
+   private final int readers;
+   /** Indicates whether tuples are merged in the order of the progressing attribute. */
+   private final boolean ordered;
+   /** Maximum number of batches that each reader thread reads ahead. */
+   private final int capacity;
+   /** Position of the progressing attribute. */
+   private final int progressing;
+   /** Column type of the progressing attribute. */
+   private final ColumnType progressingType;
+   /** Reader threads. */
+   private final ExecutorService executor;
+   /** Cursor of the shared queue in unordered mode. */
+   private final Cursor sharedCursor;
+   /** Cursors of the splits that are currently read in ordered mode, ordered by their current values. */
+   private final PriorityQueue<Cursor> heads;
+   /** Number of splits that have been started. */
+   private int started;
+   /** Number of splits that have been read completely. */
+   private int finished;
+   /** Indicates whether this reader has been closed. */
+   private volatile boolean closed;
+
+   /**
+    * Creates a new parallel reader that starts reading the given splits immediately.
+    *
+    * @param name
+    *           name used for the reader threads
+    * @param schema
+    *           schema of the tuples in the splits
+    * @param splits
+    *           tasks that open the readers of the splits, which are read in the given order
+    * @param readers
+    *           number of reader threads
+    * @param ordered
+    *           {@code true} if tuples are merged in the order of the progressing attribute, {@code false}
+    *           otherwise
+    * @param readAhead
+    *           maximum number of tuples that each reader thread reads ahead
+    */
+   ParallelCsvReader(final String name, final Schema schema, final List<Callable<CsvReader>> splits,
+         final int readers, final boolean ordered, final int readAhead) {
+      this.splits = splits;
+      this.readers = readers;
+      this.ordered = ordered;
+      this.capacity = Math.max(1, readAhead / BATCH_SIZE);
+      this.progressing = schema.getProgressingAttribute();
+      this.progressingType = schema.getColumnType(this.progressing);
+      final AtomicInteger threads = new AtomicInteger();
+      this.executor = Executors.newFixedThreadPool(readers, (final Runnable runnable) -> {
+         final Thread thread = new Thread(runnable, name + "-reader-" + threads.incrementAndGet());
+         thread.setDaemon(true);
+         return thread;
+      });
+      this.heads = new PriorityQueue<>(readers, this::compare);
+      this.started = 0;
+      this.finished = 0;
+      this.closed = false;
+      if (ordered) {
+         this.sharedCursor = null;
+      } else {
+         // all splits share one queue, whose capacity is proportional to the number of reader threads
+         this.sharedCursor = new Cursor(-1, new ArrayBlockingQueue<>(this.capacity * readers));
+         for (int split = 0; split < splits.size(); split++) {
+            this.start(split, this.sharedCursor.queue);
+         }
+      }
+   }
+
+   /**
+    * Returns the values of the next tuple.
+    *
+    * @return tuple values, or {@code null} if all splits have been read completely
+    * @throws IOException
+    *            if a split cannot be opened or read
+    * @throws InterruptedException
+    *            if the consuming thread is interrupted while waiting for tuples
+    */
+   public PrimitiveValueList readValues() throws IOException, InterruptedException {
+      if (this.ordered) {
+         // keep one split per reader thread open
+         while (this.started - this.finished < this.readers && this.started < this.splits.size()) {
+            final Cursor cursor = new Cursor(this.started, new ArrayBlockingQueue<>(this.capacity));
+            this.start(this.started, cursor.queue);
+            this.advance(cursor);
+         }
+         final Cursor cursor = this.heads.poll();
+         if (cursor == null) {
+            return null;
+         }
+         final PrimitiveValueList values = cursor.current();
+         this.advance(cursor);
+         return values;
+      }
+      final Cursor cursor = this.sharedCursor;
+      while (cursor.batch == null || cursor.index == cursor.batch.size) {
+         if (this.finished == this.splits.size()) {
+            return null;
+         }
+         cursor.batch = this.take(cursor);
+         cursor.index = 0;
+      }
+      return cursor.batch.values[cursor.index++];
+   }
+
+   @Override
+   public void close() {
+      this.closed = true;
+      this.executor.shutdownNow();
+   }
+
+   /**
+    * Starts reading the split with the given index into the given queue.
+    *
+    * @param split
+    *           index of the split
+    * @param queue
+    *           queue that receives the batches of the split
+    */
+   private void start(final int split, final BlockingQueue<Batch> queue) {
+      this.started++;
+      this.executor.execute(() -> this.read(split, queue));
+   }
+
+   /**
+    * Reads the split with the given index into the given queue. This method is executed by a reader thread.
+    *
+    * @param split
+    *           index of the split
+    * @param queue
+    *           queue that receives the batches of the split
+    */
+   private void read(final int split, final BlockingQueue<Batch> queue) {
+      Exception error = null;
+      try (CsvReader reader = this.splits.get(split).call()) {
+         Batch batch = new Batch(BATCH_SIZE, null);
+         PrimitiveValueList values = reader.readValues();
+         while (values != null && !this.closed) {
+            batch.values[batch.size++] = values;
+            if (batch.size == BATCH_SIZE) {
+               queue.put(batch);
+               batch = new Batch(BATCH_SIZE, null);
+            }
+            values = reader.readValues();
+         }
+         if (batch.size > 0) {
+            queue.put(batch);
+         }
+      } catch (final InterruptedException e) {
+         // the parallel reader has been closed
+         Thread.currentThread().interrupt();
+         return;
+      } catch (final Exception e) {
+         error = e;
+      }
+      try {
+         queue.put(new Batch(0, error));
+      } catch (final InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   /**
+    * Advances the given cursor of an ordered split to the next tuple values and adds it to the heads, unless
+    * the split has been read completely.
+    *
+    * @param cursor
+    *           cursor of a split
+    * @throws IOException
+    *            if the split cannot be opened or read
+    * @throws InterruptedException
+    *            if the consuming thread is interrupted while waiting for tuples
+    */
+   private void advance(final Cursor cursor) throws IOException, InterruptedException {
+      cursor.index++;
+      while (cursor.batch == null || cursor.index >= cursor.batch.size) {
+         cursor.batch = this.take(cursor);
+         cursor.index = 0;
+         if (cursor.batch.last) {
+            return;
+         }
+      }
+      this.heads.add(cursor);
+   }
+
+   /**
+    * Takes the next batch from the queue of the given cursor and counts the splits that have been read
+    * completely.
+    *
+    * @param cursor
+    *           cursor
+    * @return batch
+    * @throws IOException
+    *            if a split could not be opened or read
+    * @throws InterruptedException
+    *            if the consuming thread is interrupted while waiting for a batch
+    */
+   private Batch take(final Cursor cursor) throws IOException, InterruptedException {
+      final Batch batch = cursor.queue.take();
+      if (batch.last) {
+         this.finished++;
+         if (batch.error != null) {
+            throw new IOException("Could not read input split.", batch.error);
+         }
+      }
+      return batch;
+   }
+
+   /**
+    * Compares the current tuple values of the given cursors on the progressing attribute. Ties are broken by
+    * the order of the splits.
+    *
+    * @param first
+    *           first cursor
+    * @param second
+    *           second cursor
+    * @return negative value, zero, or positive value if the first cursor is less than, equal to, or greater
+    *         than the second cursor
+    */
+   @SuppressWarnings({ "unchecked", "rawtypes" })
+   private int compare(final Cursor first, final Cursor second) {
+      final PrimitiveValueList one = first.current();
+      final PrimitiveValueList two = second.current();
+      final boolean oneNull = one.isNull(this.progressing);
+      final boolean twoNull = two.isNull(this.progressing);
+      int result;
+      if (oneNull || twoNull) {
+         // tuples without a progressing value are emitted as early as possible
+         result = Boolean.compare(twoNull, oneNull);
+      } else if (this.progressingType == ColumnType.DOUBLE) {
+         result = Double.compare(one.getDouble(this.progressing), two.getDouble(this.progressing));
+      } else if (this.progressingType == ColumnType.INT || this.progressingType == ColumnType.LONG) {
+         result = Long.compare(one.getLong(this.progressing), two.getLong(this.progressing));
+      } else {
+         result = ((Comparable) one.get(this.progressing)).compareTo(two.get(this.progressing));
+      }
+      if (result == 0) {
+         result = Integer.compare(first.split, second.split);
+      }
+      return result;
+   }
+}
@@ -11,7 +11,6 @@ package niagarino.operator;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
@@ -158,14 +157,7 @@ public class ProgressingMerge extends AbstractOperator {
     * @return progressing value as a double
     */
    private double getProgressingValue(final DataTuple tuple) {
-      final Object object = tuple.getProgressingValue();
-      if (object instanceof Number) {
-         return ((Number) object).doubleValue();
-      } else if (object instanceof Date) {
-         return ((Date) object).getTime();
-      } else {
-         return Double.NaN;
-      }
+      return tuple.getDouble(tuple.getSchema().getProgressingAttribute());
    }
 
    /**
@@ -10,7 +10,6 @@
 package niagarino.operator;
 
 import java.util.Arrays;
-import java.util.Date;
 
 import niagarino.stream.DataTuple;
 import niagarino.stream.PunctuationControl;
@@ -97,14 +96,7 @@ public class Punctuator extends AbstractOperator {
    @Override
    protected void processTuple(final int input, final DataTuple tuple) {
       // extract progressing value
-      final Object obj = tuple.getProgressingValue();
-
-      double value = Double.NaN;
-      if (obj instanceof Number) {
-         value = ((Number) obj).doubleValue();
-      } else if (obj instanceof Date) {
-         value = ((Date) obj).getTime();
-      }
+      final double value = tuple.getDouble(tuple.getSchema().getProgressingAttribute());
       // adjust offset (this relies on the stream being ordered)
       if (!this.offsetSet) {
          this.currentOffset = value;
@@ -9,36 +9,46 @@
  */
 package niagarino.operator;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.zip.ZipInputStream;
 
-import niagarino.stream.Attribute;
+import niagarino.runtime.OperatorSignal;
+import niagarino.runtime.SchedulingMode;
 import niagarino.stream.ControlTuple;
 import niagarino.stream.ControlTuple.Type;
 import niagarino.stream.DataTuple;
-import niagarino.stream.Page;
+import niagarino.stream.PageElement;
+import niagarino.stream.PageFormat;
+import niagarino.stream.PrimitiveValueList;
 import niagarino.stream.Schema;
 import niagarino.stream.Stream;
 import niagarino.stream.Stream.Flow;
 import niagarino.stream.StreamElement;
+import niagarino.stream.StringDictionary;
 import niagarino.util.PropertiesReader;
-import niagarino.util.TypeSystem;
 
 /**
- * Reads a stream of tuples from a file.
+ * Reads a stream of tuples from a file or from all files in a directory, which are read in the order of
+ * their names. Optionally, the files, or byte ranges of a single large file, can be read by several reader
+ * threads concurrently. In that case, the tuples are either merged in the order of the progressing attribute
+ * or emitted in the order in which they are read.
  *
  * @author Michael Grossniklaus &lt;michagro@cecs.pdx.edu&gt;
  * @version 1.0
  */
 public class Scan implements Operator, Runnable {
 
+   /** Minimum size of the byte ranges into which a single file is split for concurrent reading. */
+   private static final long MIN_RANGE_SIZE = 1 << 20;
+
    /** Name of the operator. */
    private final String operatorId;
    /** Schema of this scan operator. */
@@ -54,7 +64,7 @@ public class Scan implements Operator, Runnable {
    /** Statistics collected by this operator. */
    private final OperatorEventListenerList listeners;
    /** Page. **/
-   private Page page;
+   private PageElement page;
    /** Separator string in input file. */
    private final String separator;
    /** Flag if input file has a header. */
@@ -65,6 +75,23 @@ public class Scan implements Operator, Runnable {
    /** Number of tuples in a page. */
    private final int pageSize = Integer.parseInt(PropertiesReader.getPropertiesReader().getProperties()
          .getProperty(PropertiesReader.PAGING_PAGESIZE));
+   /** Format of the pages produced by this operator. */
+   private final PageFormat pageFormat = PageFormat.getConfiguredFormat();
+   /** Dictionary shared by all columnar pages produced by this operator. */
+   private final StringDictionary dictionary = new StringDictionary();
+   /** Strategy used to wait for the EOS signal from downstream. */
+   private final SchedulingMode schedulingMode = SchedulingMode.getConfiguredMode();
+   /** Signal that is raised whenever a stream element is pushed backward onto the output stream. */
+   private final OperatorSignal signal = new OperatorSignal();
+   /** Number of threads that read the input files concurrently. */
+   private int readers = Integer.parseInt(PropertiesReader.getPropertiesReader().getProperties()
+         .getProperty(PropertiesReader.SCAN_READERS));
+   /** Indicates whether concurrently read files are merged in the order of the progressing attribute. */
+   private boolean ordered = Boolean.parseBoolean(PropertiesReader.getPropertiesReader().getProperties()
+         .getProperty(PropertiesReader.SCAN_ORDERED));
+   /** Maximum number of tuples that each reader thread reads ahead. */
+   private final int readAhead = Integer.parseInt(PropertiesReader.getPropertiesReader().getProperties()
+         .getProperty(PropertiesReader.SCAN_READAHEAD));
 
    /**
     * Constructs a new scan operator with the given output schema that reads from the given file.
@@ -150,6 +177,32 @@ public class Scan implements Operator, Runnable {
       this.separator = separator;
    }
 
+   /**
+    * Sets the number of threads that read the input files of this scan operator concurrently. With a single
+    * reader, the files are read by the thread of this operator.
+    *
+    * @param readers
+    *           number of reader threads
+    */
+   public void setReaders(final int readers) {
+      if (readers < 1) {
+         throw new IllegalArgumentException("A scan operator needs at least one reader.");
+      }
+      this.readers = readers;
+   }
+
+   /**
+    * Sets whether the tuples of concurrently read files are merged in the order of the progressing
+    * attribute, which is required by operators such as value windows, or emitted in the order in which they
+    * are read.
+    *
+    * @param ordered
+    *           {@code true} if tuples are merged in order, {@code false} otherwise
+    */
+   public void setOrdered(final boolean ordered) {
+      this.ordered = ordered;
+   }
+
    @Override
    public String getName() {
       return this.operatorId;
@@ -164,6 +217,7 @@ public class Scan implements Operator, Runnable {
    public void addOutputStream(final Stream stream) {
       if (this.stream == null) {
          this.stream = stream;
+         this.stream.setSignal(Flow.BACKWARD, this.signal);
       } else {
          throw new IllegalStateException("Maximum number of output streams exceeded.");
       }
@@ -203,6 +257,7 @@ public class Scan implements Operator, Runnable {
    @Override
    public void stop() {
       this.running = false;
+      this.signal.signal();
    }
 
    @Override
@@ -213,6 +268,7 @@ public class Scan implements Operator, Runnable {
    @Override
    public void run() {
       this.running = true;
+      final List<String> files = new ArrayList<>();
       final File file = new File(this.fileName);
       if (file.isDirectory()) {
          final ArrayList<String> tmpfa = new ArrayList<>();
@@ -222,25 +278,28 @@ public class Scan implements Operator, Runnable {
          }
          Collections.sort(tmpfa);
          for (final String s : tmpfa) {
-            try {
-               this.processFile(this.fileName + "/" + s);
+            files.add(this.fileName + "/" + s);
+         }
+      } else {
+         files.add(this.fileName);
+      }
+      try {
+         if (this.readers > 1) {
+            this.processFiles(files);
+         } else {
+            for (final String s : files) {
+               this.processFile(s);
                if (!this.running) {
                   break;
                }
-            } catch (final Exception e) {
-               throw new OperatorException(this, e);
             }
          }
-      } else {
-         try {
-            this.processFile(this.fileName);
-         } catch (final Exception e) {
-            throw new OperatorException(this, e);
-         }
+      } catch (final Exception e) {
+         throw new OperatorException(this, e);
       }
       if (this.isPaging) {
-         this.stream.pushElement(Flow.FORWARD, this.page);
-         this.page = new Page(this.pageSize);
+         this.push(this.page);
+         this.page = this.pageFormat.createPage(this.schema, this.pageSize, this.dictionary);
       }
       this.stream.pushElement(Flow.FORWARD, new ControlTuple(Type.EOS));
       // if the operator is still running, wait for the EOS signal from downstream
@@ -251,6 +310,12 @@ public class Scan implements Operator, Runnable {
             if (Type.EOS.equals(control.getType())) {
                this.running = false;
             }
+         } else if (element == null && SchedulingMode.SIGNAL.equals(this.schedulingMode)) {
+            try {
+               this.signal.await();
+            } catch (final InterruptedException e) {
+               throw new OperatorException(this, e);
+            }
          }
       }
       this.running = false;
@@ -263,27 +328,60 @@ public class Scan implements Operator, Runnable {
    }
 
    /**
-    * Gets a reader for the given file name.
+    * Pushes the given stream element forward and reports the time this operator was blocked because the
+    * output stream was full.
+    *
+    * @param element
+    *           stream element
+    */
+   private void push(final StreamElement element) {
+      final long blocked = this.stream.pushElement(Flow.FORWARD, element);
+      if (blocked > 0) {
+         this.listeners.fireOnBlocked(this, blocked);
+      }
+   }
+
+   /**
+    * Gets a reader for the given file name. Uncompressed files are memory-mapped by the reader.
     *
     * @param name
     *           file name
-    * @return buffered reader
+    * @return CSV reader
     * @throws Exception
     *            if the file cannot be found, opened, or uncompressed
     */
-   private BufferedReader getReader(final String name) throws Exception {
-      // try to find file in class path
-      InputStream in = ClassLoader.getSystemResourceAsStream(name);
-      if (in == null) {
-         // file is not on class path
-         in = new FileInputStream(new File(name));
-      }
+   private CsvReader getReader(final String name) throws Exception {
       if (name.endsWith("zip")) {
+         // try to find file in class path
+         InputStream in = ClassLoader.getSystemResourceAsStream(name);
+         if (in == null) {
+            // file is not on class path
+            in = new FileInputStream(new File(name));
+         }
          // wrap input stream to unzip it
-         in = new ZipInputStream(in);
-         ((ZipInputStream) in).getNextEntry();
+         final ZipInputStream zip = new ZipInputStream(in);
+         zip.getNextEntry();
+         return new CsvReader(this.schema, zip, this.separator);
       }
-      return new BufferedReader(new InputStreamReader(in));
+      return new CsvReader(this.schema, name, this.separator);
+   }
+
+   /**
+    * Gets a reader for the given file name and skips the header line if there is one.
+    *
+    * @param name
+    *           file name
+    * @return CSV reader
+    * @throws Exception
+    *            if the file cannot be found, opened, or uncompressed
+    */
+   private CsvReader openFile(final String name) throws Exception {
+      final CsvReader in = this.getReader(name);
+      // skip first line with column names
+      if (this.hasHeader) {
+         in.skipLine();
+      }
+      return in;
    }
 
    /**
@@ -295,48 +393,89 @@ public class Scan implements Operator, Runnable {
     *            if file cannot be found, read or decoded
     */
    private void processFile(final String fileName) throws Exception {
-      final BufferedReader in = this.getReader(fileName);
-      // skip first line with column names
-      if (this.hasHeader) {
-         in.readLine();
+      final CsvReader in = this.openFile(fileName);
+      PrimitiveValueList values = in.readValues();
+      while (values != null && this.emit(values)) {
+         values = in.readValues();
       }
-      String line;
-      while ((line = in.readLine()) != null) {
-         final String[] strings = line.split(this.separator);
-         final List<Object> values = new ArrayList<Object>();
-         for (int i = 0; i < this.getOutputSchema().getSize(); i++) {
-            if (i < strings.length) {
-               final Attribute attribute = this.schema.getAttribute(i);
-               values.add(TypeSystem.convertValue(attribute.getType(), strings[i]));
-            } else {
-               values.add(null);
-            }
-         }
-         final DataTuple tuple = new DataTuple(this.schema, values);
-         if (this.isPaging) {
-            if (this.page == null) {
-               this.page = new Page(this.pageSize);
-            }
-            this.page.put(tuple);
-            if (this.page.isFull()) {
-               this.stream.pushElement(Flow.FORWARD, this.page);
-               this.page = new Page(this.pageSize);
+      in.close();
+   }
+
+   /**
+    * Processes the given files concurrently. If there is only a single uncompressed file, it is split into
+    * byte ranges that are read concurrently.
+    *
+    * @param files
+    *           names of files
+    * @throws Exception
+    *            if a file cannot be found, read or decoded
+    */
+   private void processFiles(final List<String> files) throws Exception {
+      final List<Callable<CsvReader>> splits = new ArrayList<>();
+      for (final String name : files) {
+         final Path path = name.endsWith("zip") ? null : CsvReader.resolve(name);
+         final long size = path == null ? 0 : Files.size(path);
+         final int ranges = files.size() == 1 ? (int) Math.min(this.readers, size / MIN_RANGE_SIZE) : 1;
+         if (ranges > 1) {
+            for (int i = 0; i < ranges; i++) {
+               final long start = size * i / ranges;
+               final long end = size * (i + 1) / ranges;
+               splits.add(() -> {
+                  final CsvReader in = new CsvReader(this.schema, name, this.separator, start, end);
+                  // only the first range contains the line with the column names
+                  if (start == 0 && this.hasHeader) {
+                     in.skipLine();
+                  }
+                  return in;
+               });
             }
          } else {
-            this.stream.pushElement(Flow.FORWARD, tuple);
+            splits.add(() -> this.openFile(name));
          }
-         this.listeners.fireOnOutputTuple(this, tuple);
-         // check downstream and kill operator if EOS has been received.
-         final StreamElement element = this.stream.pullElement(Flow.BACKWARD);
-         if (element != null && element instanceof ControlTuple) {
-            final ControlTuple control = (ControlTuple) element;
-            if (Type.EOS.equals(control.getType())) {
-               this.running = false;
-               break;
-            }
+      }
+      try (ParallelCsvReader in = new ParallelCsvReader(this.operatorId, this.schema, splits, this.readers,
+            this.ordered, this.readAhead)) {
+         PrimitiveValueList values = in.readValues();
+         while (values != null && this.emit(values)) {
+            values = in.readValues();
          }
       }
-      in.close();
+   }
+
+   /**
+    * Emits a tuple with the given values and checks whether downstream operators requested the end of the
+    * stream.
+    *
+    * @param values
+    *           tuple values
+    * @return {@code true} if more tuples should be emitted, {@code false} if an EOS message has been received
+    */
+   private boolean emit(final PrimitiveValueList values) {
+      final DataTuple tuple = new DataTuple(this.schema, values);
+      // listeners see the tuple before it is published to the consuming operator
+      this.listeners.fireOnOutputTuple(this, tuple);
+      if (this.isPaging) {
+         if (this.page == null) {
+            this.page = this.pageFormat.createPage(this.schema, this.pageSize, this.dictionary);
+         }
+         this.page.put(tuple);
+         if (this.page.isFull()) {
+            this.push(this.page);
+            this.page = this.pageFormat.createPage(this.schema, this.pageSize, this.dictionary);
+         }
+      } else {
+         this.push(tuple);
+      }
+      // check downstream and kill operator if EOS has been received.
+      final StreamElement element = this.stream.pullElement(Flow.BACKWARD);
+      if (element != null && element instanceof ControlTuple) {
+         final ControlTuple control = (ControlTuple) element;
+         if (Type.EOS.equals(control.getType())) {
+            this.running = false;
+            return false;
+         }
+      }
+      return true;
    }
 
    @Override
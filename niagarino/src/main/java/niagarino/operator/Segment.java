@@ -57,9 +57,12 @@ public abstract class Segment extends AbstractOperator {
    protected final void processTuple(final int input, final DataTuple tuple) {
       tuple.getElementMetadata().clearSegmentIds();
       this.assignSegments(tuple);
-      // check if tuple was assigned to any windows
+      // check if tuple was assigned to any windows, tuples that arrive too late or whose priority excludes
+      // them from all windows are dropped
       if (tuple.getElementMetadata().getSegmentIds().size() > 0) {
          this.pushTuple(tuple);
+      } else {
+         this.reportDroppedTuples(1);
       }
    }
 
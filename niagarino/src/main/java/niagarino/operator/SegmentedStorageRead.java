@@ -95,26 +95,14 @@ public class SegmentedStorageRead<V> extends AbstractOperator {
    protected void processTuple(final int input, final DataTuple tuple) {
       final Object[] keys = this.keyFunction.getSegmentKeys(tuple);
       StorageReader<V> reader = null;
-      synchronized (this.storage) {
-         // TODO Either remove possibility to return mutliple keys, or actually use them.
-         while (reader == null && keys.length > 0) {
-            try {
-               reader = this.storage.getSegmentReader(keys[0]);
-            } catch (final IllegalArgumentException e) {
-               // If the storage is closed, there will be no more changes. This means this tuple will not get any
-               // matching entries. For now, we just discard in that case.
-               if (this.storage.isClosed()) {
-                  return;
-               }
-               try {
-                  LOG.debug("[" + this.storageName + "] Could not find keys " + Arrays.toString(keys)
-                        + ". Now waiting.");
-                  this.storage.wait();
-                  LOG.debug("[" + this.storageName + "] Woken for keys " + Arrays.toString(keys) + ".");
-               } catch (final InterruptedException e1) {
-                  // Nothing to do here.
-               }
-            }
+      // TODO Either remove possibility to return mutliple keys, or actually use them.
+      if (keys.length > 0) {
+         reader = this.storage.awaitSegmentReader(keys[0]);
+         if (reader == null) {
+            // If the storage is closed, there will be no more changes. This means this tuple will not get any
+            // matching entries. For now, we just discard in that case.
+            LOG.debug("[" + this.storageName + "] Discarding tuple for keys " + Arrays.toString(keys) + ".");
+            return;
          }
       }
       final Object newValue = this.derivationFunction.derive(tuple, reader);
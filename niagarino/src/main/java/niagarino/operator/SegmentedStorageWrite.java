@@ -83,10 +83,7 @@ public class SegmentedStorageWrite<V> extends AbstractOperator {
    @Override
    protected void processTuple(final int input, final DataTuple tuple) {
       final Object[] segmentKeys = this.keyFunction.getSegmentKeys(tuple);
-      synchronized (this.storage) {
-         this.storage.processTuple(tuple, segmentKeys, this.updateFunction);
-         this.storage.notifyAll();
-      }
+      this.storage.processTuple(tuple, segmentKeys, this.updateFunction);
       this.pushTuple(tuple);
    }
 
@@ -11,10 +11,14 @@ package niagarino.operator;
 
 import java.util.Arrays;
 
+import niagarino.operator.predicate.BatchPredicate;
+import niagarino.operator.predicate.ExpressionPredicate;
 import niagarino.operator.predicate.Predicate;
 import niagarino.plan.Parameter;
 import niagarino.plan.PlanOperatorByParametersFactory;
+import niagarino.stream.ColumnarPage;
 import niagarino.stream.DataTuple;
+import niagarino.stream.PageElement;
 import niagarino.stream.Schema;
 
 /**
@@ -27,6 +31,8 @@ public class Selection extends AbstractOperator {
 
    /** Predicate used by this selection operator. */
    private final Predicate predicate;
+   /** Selection vector that holds the rows of a columnar page that satisfy the predicate. */
+   private int[] selection;
 
    /**
     * Constructs a new selection operator with the given input schema that uses the given predicate.
@@ -42,6 +48,7 @@ public class Selection extends AbstractOperator {
       super(operatorId, Arrays.asList(inputSchema));
       if (predicate.isApplicable(inputSchema)) {
          this.predicate = predicate;
+         this.selection = new int[0];
       } else {
          throw new IllegalArgumentException("Predicate " + predicate + " not applicable to schema "
                + inputSchema + ".");
@@ -68,6 +75,11 @@ public class Selection extends AbstractOperator {
       return this.getInputSchemas().get(0);
    }
 
+   @Override
+   protected boolean isFusible() {
+      return true;
+   }
+
    /**
     * {@inheritDoc}
     */
@@ -78,6 +90,56 @@ public class Selection extends AbstractOperator {
       }
    }
 
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   protected boolean isBatchProcessing() {
+      return true;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   protected void processBatch(final int input, final PageElement page) {
+      if (page instanceof ColumnarPage) {
+         final ColumnarPage columns = (ColumnarPage) page;
+         if (this.selection.length < columns.size()) {
+            this.selection = new int[columns.size()];
+         }
+         final int count = this.select(columns);
+         if (count == columns.size()) {
+            this.pushBatch(columns);
+         } else if (count > 0) {
+            this.pushBatch(columns.select(this.selection, count));
+         }
+      } else {
+         super.processBatch(input, page);
+      }
+   }
+
+   /**
+    * Evaluates the predicate on all tuples of the given columnar page and stores the rows for which it holds
+    * in the selection vector.
+    *
+    * @param page
+    *           columnar page
+    * @return number of selected rows
+    */
+   private int select(final ColumnarPage page) {
+      if (this.predicate instanceof BatchPredicate) {
+         return ((BatchPredicate) this.predicate).evaluate(page, this.selection);
+      }
+      int count = 0;
+      for (int row = 0; row < page.size(); row++) {
+         if (this.predicate.evaluate(page.getTuple(row))) {
+            this.selection[count++] = row;
+         }
+      }
+      return count;
+   }
+
    /**
     * Factory for new instances of the Selection operator.
     * 
@@ -90,6 +152,11 @@ public class Selection extends AbstractOperator {
       public Selection getOperatorByParameters(final String operatorId, final Schema inputSchema,
             final Parameter parameters) throws InstantiationException,
             IllegalAccessException, ClassNotFoundException {
+         final Parameter expression = parameters.get("expression");
+         if (expression != null) {
+            return new Selection(operatorId, inputSchema, new ExpressionPredicate(inputSchema, expression
+                  .getString()));
+         }
          final String predicateName = parameters.get("object").get("class").getString();
          final Predicate predicate = (Predicate) Class.forName(predicateName).newInstance();
          return new Selection(operatorId, inputSchema, predicate);
@@ -27,7 +27,8 @@ import niagarino.util.TypeSystem;
 
 /**
  * Operator to answer top-k queries, currently only the top-k MAX tuples are calculated. This class is derived
- * directly from {@code OrderedAggregate}.
+ * directly from {@code OrderedAggregate}. Tuples may arrive out of order as long as their segments have not
+ * been closed by a window punctuation, e.g., from a {@link ValueWindow} with an allowed lateness.
  *
  * @author Manuel Hotz &lt;manuel.hotz@uni-konstanz.de&gt
  */
@@ -114,7 +115,7 @@ public class TopK extends AbstractOperator {
    }
 
    /**
-    * Reports the tuples of the given segment.
+    * Reports the tuples of the given segment. Segments to which no tuple belongs are skipped.
     *
     * @param segmentId
     *           the segment to report tuples of
@@ -122,7 +123,8 @@ public class TopK extends AbstractOperator {
    private void reportSegment(final Long segmentId) {
       final TopKStreamSegment segment = this.segments.get(segmentId);
       if (segment == null) {
-         throw new IllegalArgumentException("Unknown segment for segment id " + segmentId);
+         // windows that are closed by watermarks can be empty
+         return;
       }
 
       this.advanceProgressingAttributeBoundaries(segmentId, segment);
@@ -9,8 +9,6 @@
  */
 package niagarino.operator;
 
-import java.util.Date;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -20,9 +18,13 @@ import niagarino.stream.PunctuationControl;
 import niagarino.stream.PunctuationControl.Type;
 import niagarino.stream.Schema;
 import niagarino.stream.Stream.Flow;
+import niagarino.stream.WatermarkControl;
 
 /**
- * Slide-by-value window.
+ * Slide-by-value window. By default, the input has to be ordered by its progressing attribute and a segment
+ * is closed as soon as a tuple of a later segment arrives. If an allowed lateness is given, the input may be
+ * out of order and segments are only closed by watermarks, namely once the watermark has passed the end of
+ * a segment by more than the allowed lateness. Tuples that only belong to closed segments are dropped.
  *
  * @author Michael Grossniklaus &lt;michagro@cecs.pdx.edu&gt;
  */
@@ -31,9 +33,15 @@ public class ValueWindow extends Window {
    /** Logger for this class. */
    private static final Logger LOG = LogManager.getLogger(ValueWindow.class);
 
+   /** Allowed lateness that indicates that the input is ordered and segments are closed by tuples. */
+   public static final long ORDERED = -1;
+
    /** Start of the first window. */
    private long start;
 
+   /** Allowed lateness of tuples with respect to the watermark, or {@link #ORDERED}. */
+   private final long lateness;
+
    /**
     * Constructs a new value-based window operator with the given input schema, which generates windows that
     * contain the given number of tuples and slide by the given value.
@@ -63,7 +71,7 @@ public class ValueWindow extends Window {
     *           slide of the window
     */
    public ValueWindow(final String operatorId, final Schema inputSchema, final long size, final long slide) {
-      this(operatorId, inputSchema, size, slide, Long.MIN_VALUE, false);
+      this(operatorId, inputSchema, size, slide, Long.MIN_VALUE, false, ORDERED);
    }
 
    /**
@@ -83,7 +91,33 @@ public class ValueWindow extends Window {
     */
    public ValueWindow(final String operatorId, final Schema inputSchema, final long size, final long slide,
          final long start) {
-      this(operatorId, inputSchema, size, slide, start, true);
+      this(operatorId, inputSchema, size, slide, start, true, ORDERED);
+   }
+
+   /**
+    * Constructs a new value-based window operator with the given input schema, which generates windows that
+    * contain the given number of tuples and slide by the given value. The input may be out of order and
+    * segments are closed by watermarks.
+    *
+    * @param operatorId
+    *           id of operator
+    * @param inputSchema
+    *           input schema
+    * @param size
+    *           size of the window
+    * @param slide
+    *           slide of the window
+    * @param start
+    *           starting offset for this window operator
+    * @param lateness
+    *           allowed lateness of tuples with respect to the watermark
+    */
+   public ValueWindow(final String operatorId, final Schema inputSchema, final long size, final long slide,
+         final long start, final long lateness) {
+      this(operatorId, inputSchema, size, slide, start, true, lateness);
+      if (lateness < 0) {
+         throw new IllegalArgumentException("Lateness must be non-negative, was: " + lateness);
+      }
    }
 
    /**
@@ -102,9 +136,11 @@ public class ValueWindow extends Window {
     *           starting offset for this window operator
     * @param startSet
     *           whether start value is set already
+    * @param lateness
+    *           allowed lateness of tuples with respect to the watermark, or {@link #ORDERED}
     */
    private ValueWindow(final String operatorId, final Schema inputSchema, final long size, final long slide,
-         final long start, final boolean startSet) {
+         final long start, final boolean startSet, final long lateness) {
       super(operatorId, inputSchema, size, slide);
       if (startSet) {
          if (start < 0) {
@@ -115,20 +151,22 @@ public class ValueWindow extends Window {
       } else {
          this.start = Long.MIN_VALUE;
       }
+      this.lateness = lateness;
    }
 
    @Override
    protected void assignSegments(final DataTuple tuple) {
       // extract progressing value
-      final Object obj = tuple.getProgressingValue();
-      long value;
-      if (obj instanceof Number) {
-         value = ((Number) obj).longValue();
-      } else if (obj instanceof Date) {
-         value = ((Date) obj).getTime();
-      } else {
+      final long value;
+      try {
+         value = tuple.getProgressingLong();
+      } catch (final IllegalArgumentException e) {
+         final Object progressing = tuple.getProgressingValue();
+         if (progressing == null) {
+            throw new OperatorException(this, "Progressing attribute value is null.");
+         }
          throw new OperatorException(this, "Unsupported progressing attribute type: "
-               + obj.getClass().getSimpleName() + ".");
+               + progressing.getClass().getSimpleName() + ".");
       }
 
       // adjust offset (this relies on the stream being ordered)
@@ -136,6 +174,19 @@ public class ValueWindow extends Window {
          this.start = value;
       }
 
+      if (this.lateness != ORDERED) {
+         // segments that have been closed by a watermark do not accept tuples anymore
+         final long loID = Math.max(Math.floorDiv(value - this.start, this.getSlide()), this.getSegmentId());
+         final long hiID = Math.floorDiv(value - this.start + this.getSize(), this.getSlide()) - 1;
+         for (long id = loID; id <= hiID; id++) {
+            tuple.getElementMetadata().addSegmentId(id);
+         }
+         if (loID > hiID) {
+            LOG.debug("Dropped tuple that arrived too late: {}.", tuple);
+         }
+         return;
+      }
+
       // compute segment ids
       final long loID = (value - this.start) / this.getSlide();
       final long hiID = (value - this.start + this.getSize()) / this.getSlide() - 1;
@@ -186,13 +237,15 @@ public class ValueWindow extends Window {
          case PUNCTUATION:
             final PunctuationControl pc = (PunctuationControl) message;
             // The punctuation can be used if the current segment ends at the same point as the
-            // punctuation.
-            long currentSegmentEnd = this.getCurrentStart() + this.getSize() - 1;
-            final long punctuationValue = pc.getSegmentEnd();
-            while (currentSegmentEnd <= punctuationValue) {
-               // End the current segment
-               this.incrementSegmentId();
-               currentSegmentEnd += this.getSlide();
+            // punctuation. Segments are not known before the first tuple has set the start.
+            if (this.start != Long.MIN_VALUE) {
+               long currentSegmentEnd = this.getCurrentStart() + this.getSize() - 1;
+               final long punctuationValue = pc.getSegmentEnd();
+               while (currentSegmentEnd <= punctuationValue) {
+                  // End the current segment
+                  this.incrementSegmentId();
+                  currentSegmentEnd += this.getSlide();
+               }
             }
             // Only forward INTERVAL punctuations
             // If WINDOW punctuations are forwarded, in certain scenarios they might pile up and
@@ -201,6 +254,18 @@ public class ValueWindow extends Window {
                this.pushControl(Flow.FORWARD, message);
             }
             break;
+         case WATERMARK:
+            // Segments are closed once the watermark has passed their end by more than the allowed lateness.
+            if (this.start != Long.MIN_VALUE) {
+               final long watermark = ((WatermarkControl) message).getValue() - Math.max(this.lateness, 0);
+               long segmentEnd = this.getCurrentStart() + this.getSize() - 1;
+               while (segmentEnd <= watermark) {
+                  this.incrementSegmentId();
+                  segmentEnd += this.getSlide();
+               }
+            }
+            this.pushControl(Flow.FORWARD, message);
+            break;
          default:
             this.pushControl(Flow.FORWARD, message);
       }
@@ -0,0 +1,121 @@
+/*
+ * @(#)WatermarkAssigner.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.util.Arrays;
+
+import niagarino.plan.Parameter;
+import niagarino.plan.PlanOperatorByParametersFactory;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+import niagarino.stream.Stream.Flow;
+import niagarino.stream.WatermarkControl;
+
+/**
+ * A {@link WatermarkAssigner} emits watermarks for a stream whose tuples are out of order by at most a
+ * bounded delay. The watermark trails the largest progressing value seen so far by that delay. Tuples are
+ * forwarded unchanged and in the order of their arrival.<br />
+ * <br />
+ * Downstream windows use the watermarks to close their segments, so that mildly disordered streams do not
+ * have to be sorted by a {@link KSorter} first.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class WatermarkAssigner extends AbstractOperator {
+
+   /** Maximum delay of a tuple with respect to the largest progressing value seen before it. */
+   private final long delay;
+
+   /** Minimum advance of the watermark before a new watermark is emitted. */
+   private final long interval;
+
+   /** Value of the last emitted watermark. */
+   private long watermark;
+
+   /**
+    * Constructs a new watermark assigner that emits a watermark whenever it advances.
+    *
+    * @param operatorId
+    *           id of operator
+    * @param inputSchema
+    *           schema of incoming tuples
+    * @param delay
+    *           maximum delay of a tuple with respect to the largest progressing value seen before it
+    */
+   public WatermarkAssigner(final String operatorId, final Schema inputSchema, final long delay) {
+      this(operatorId, inputSchema, delay, 1);
+   }
+
+   /**
+    * Constructs a new watermark assigner that emits a watermark whenever it advances by at least the given
+    * interval.
+    *
+    * @param operatorId
+    *           id of operator
+    * @param inputSchema
+    *           schema of incoming tuples
+    * @param delay
+    *           maximum delay of a tuple with respect to the largest progressing value seen before it
+    * @param interval
+    *           minimum advance of the watermark before a new watermark is emitted
+    */
+   public WatermarkAssigner(final String operatorId, final Schema inputSchema, final long delay,
+         final long interval) {
+      super(operatorId, Arrays.asList(inputSchema));
+      if (delay < 0 || interval <= 0) {
+         throw new IllegalArgumentException("Delay must not be negative and interval must be positive.");
+      }
+      this.delay = delay;
+      this.interval = interval;
+      this.watermark = Long.MIN_VALUE;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   public Schema getOutputSchema() {
+      return this.getInputSchemas().get(0);
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   protected void processTuple(final int input, final DataTuple tuple) {
+      this.pushTuple(tuple);
+      final long value = tuple.getProgressingLong() - this.delay;
+      if (this.watermark == Long.MIN_VALUE || value - this.watermark >= this.interval) {
+         this.watermark = value;
+         this.pushControl(Flow.FORWARD, new WatermarkControl(value));
+      }
+   }
+
+   /**
+    * Factory for new instances of the WatermarkAssigner operator.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   public static class Factory implements PlanOperatorByParametersFactory {
+
+      @Override
+      public Operator getOperatorByParameters(final String operatorId, final Schema inputSchema,
+            final Parameter parameters) {
+         final long delay = Long.parseLong(parameters.get("delay").getString());
+         if (parameters.getMap().containsKey("interval")) {
+            final long interval = Long.parseLong(parameters.get("interval").getString());
+            return new WatermarkAssigner(operatorId, inputSchema, delay, interval);
+         }
+         return new WatermarkAssigner(operatorId, inputSchema, delay);
+      }
+   }
+}
@@ -0,0 +1,144 @@
+/*
+ * @(#)Arithmetic.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+/**
+ * Expression that applies an arithmetic operator to two numeric expressions. The result is a long if both
+ * operands are longs and a double otherwise. The result is <code>null</code> if either operand is
+ * <code>null</code> or if a long is divided by zero. Doubles follow IEEE 754, i.e., dividing a double by zero
+ * results in an infinite value or NaN.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class Arithmetic extends Expression {
+
+   /**
+    * Enumeration of arithmetic operators.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   public enum Operator {
+      /** Addition operator. */
+      ADD("+"),
+      /** Subtraction operator. */
+      SUBTRACT("-"),
+      /** Multiplication operator. */
+      MULTIPLY("*"),
+      /** Division operator, which truncates if both operands are longs. */
+      DIVIDE("/"),
+      /** Remainder operator. */
+      MODULO("%");
+
+      /** Symbol of this operator. */
+      private final String symbol;
+
+      /**
+       * Constructs a new operator with the given symbol.
+       *
+       * @param symbol
+       *           operator symbol
+       */
+      Operator(final String symbol) {
+         this.symbol = symbol;
+      }
+
+      @Override
+      public String toString() {
+         return this.symbol;
+      }
+   }
+
+   /** Arithmetic operator of this expression. */
+   private final Operator operator;
+   /** Left operand. */
+   private final Expression left;
+   /** Right operand. */
+   private final Expression right;
+
+   /**
+    * Constructs a new arithmetic expression that applies the given operator to the given operands.
+    *
+    * @param operator
+    *           arithmetic operator
+    * @param left
+    *           left operand
+    * @param right
+    *           right operand
+    */
+   public Arithmetic(final Operator operator, final Expression left, final Expression right) {
+      super(left.getType() == Type.LONG && right.getType() == Type.LONG ? Type.LONG : Type.DOUBLE);
+      if (!left.getType().isNumeric() || !right.getType().isNumeric()) {
+         throw new IllegalArgumentException("Operator " + operator + " cannot be applied to " + left
+               + " of type " + left.getType() + " and " + right + " of type " + right.getType() + ".");
+      }
+      this.operator = operator;
+      this.left = left;
+      this.right = right;
+   }
+
+   @Override
+   public long evaluateLong(final Row row) {
+      final long l = this.left.evaluateLong(row);
+      final long r = this.right.evaluateLong(row);
+      switch (this.operator) {
+         case ADD:
+            return l + r;
+         case SUBTRACT:
+            return l - r;
+         case MULTIPLY:
+            return l * r;
+         case DIVIDE:
+            // the result of dividing a long by zero is undefined
+            if (r == 0) {
+               row.setNull(true);
+               return 0;
+            }
+            return l / r;
+         case MODULO:
+            if (r == 0) {
+               row.setNull(true);
+               return 0;
+            }
+            return l % r;
+         default:
+            throw new UnsupportedOperationException("Operator " + this.operator + " not supported.");
+      }
+   }
+
+   @Override
+   public double evaluateDouble(final Row row) {
+      if (this.getType() == Type.LONG) {
+         return this.evaluateLong(row);
+      }
+      final double l = this.left.evaluateDouble(row);
+      final double r = this.right.evaluateDouble(row);
+      switch (this.operator) {
+         case ADD:
+            return l + r;
+         case SUBTRACT:
+            return l - r;
+         case MULTIPLY:
+            return l * r;
+         case DIVIDE:
+            return l / r;
+         case MODULO:
+            return l % r;
+         default:
+            throw new UnsupportedOperationException("Operator " + this.operator + " not supported.");
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "(" + this.left + " " + this.operator + " " + this.right + ")";
+   }
+}
@@ -0,0 +1,120 @@
+/*
+ * @(#)AttributeReference.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+import java.util.Date;
+
+import niagarino.stream.Attribute;
+import niagarino.util.TypeSystem;
+
+/**
+ * Expression that evaluates to the value of an attribute. The position of the attribute is resolved once,
+ * when the expression is compiled.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class AttributeReference extends Expression {
+
+   /** Referenced attribute. */
+   private final Attribute attribute;
+   /** Position of the referenced attribute. */
+   private final int position;
+
+   /**
+    * Constructs a new reference to the given attribute at the given position.
+    *
+    * @param attribute
+    *           referenced attribute
+    * @param position
+    *           position of the attribute
+    */
+   public AttributeReference(final Attribute attribute, final int position) {
+      super(AttributeReference.getType(attribute));
+      this.attribute = attribute;
+      this.position = position;
+   }
+
+   /**
+    * Returns the referenced attribute.
+    *
+    * @return attribute
+    */
+   public Attribute getAttribute() {
+      return this.attribute;
+   }
+
+   @Override
+   public long evaluateLong(final Row row) {
+      if (row.isNull(this.position)) {
+         row.setNull(true);
+         return 0;
+      }
+      return row.getLong(this.position);
+   }
+
+   @Override
+   public double evaluateDouble(final Row row) {
+      if (row.isNull(this.position)) {
+         row.setNull(true);
+         return 0;
+      }
+      return row.getDouble(this.position);
+   }
+
+   @Override
+   public boolean evaluateBoolean(final Row row) {
+      final Object value = row.getValue(this.position);
+      if (value == null) {
+         row.setNull(true);
+      }
+      return Boolean.TRUE.equals(value);
+   }
+
+   @Override
+   public String evaluateString(final Row row) {
+      final String value = (String) row.getValue(this.position);
+      if (value == null) {
+         row.setNull(true);
+      }
+      return value;
+   }
+
+   @Override
+   public Object evaluate(final Row row) {
+      return row.getValue(this.position);
+   }
+
+   @Override
+   public String toString() {
+      return this.attribute.getName();
+   }
+
+   /**
+    * Returns the expression type of the given attribute.
+    *
+    * @param attribute
+    *           attribute
+    * @return expression type
+    */
+   private static Type getType(final Attribute attribute) {
+      final Class< ? > type = attribute.getType();
+      if (Double.class.equals(type) || Float.class.equals(type)) {
+         return Type.DOUBLE;
+      } else if (TypeSystem.isNumeric(type) || Date.class.equals(type)) {
+         return Type.LONG;
+      } else if (Boolean.class.equals(type)) {
+         return Type.BOOLEAN;
+      } else if (String.class.equals(type)) {
+         return Type.STRING;
+      }
+      throw new IllegalArgumentException("Attribute " + attribute + " cannot be used in an expression.");
+   }
+}
@@ -0,0 +1,151 @@
+/*
+ * @(#)Comparison.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+/**
+ * Boolean expression that compares two expressions. Numeric values are compared as longs if both operands
+ * are longs and as doubles otherwise. Strings are compared lexicographically and boolean values can only be
+ * tested for equality. A comparison with a <code>null</code> operand is <code>null</code>.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class Comparison extends Expression {
+
+   /**
+    * Enumeration of comparison operators.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   public enum Operator {
+      /** Equals operator. */
+      EQ("=="),
+      /** Not-equals operator. */
+      NEQ("!="),
+      /** Less-than operator. */
+      LT("<"),
+      /** Less-or-equals operator. */
+      LEQ("<="),
+      /** Greater-than operator. */
+      GT(">"),
+      /** Greater-or-equals operator. */
+      GEQ(">=");
+
+      /** Symbol of this operator. */
+      private final String symbol;
+
+      /**
+       * Constructs a new operator with the given symbol.
+       *
+       * @param symbol
+       *           operator symbol
+       */
+      Operator(final String symbol) {
+         this.symbol = symbol;
+      }
+
+      @Override
+      public String toString() {
+         return this.symbol;
+      }
+   }
+
+   /** Comparison operator of this expression. */
+   private final Operator operator;
+   /** Left operand. */
+   private final Expression left;
+   /** Right operand. */
+   private final Expression right;
+   /** Type in which the operands are compared. */
+   private final Type operandType;
+
+   /**
+    * Constructs a new comparison that applies the given operator to the given operands.
+    *
+    * @param operator
+    *           comparison operator
+    * @param left
+    *           left operand
+    * @param right
+    *           right operand
+    */
+   public Comparison(final Operator operator, final Expression left, final Expression right) {
+      super(Type.BOOLEAN);
+      this.operator = operator;
+      this.left = left;
+      this.right = right;
+      if (left.getType().isNumeric() && right.getType().isNumeric()) {
+         this.operandType = left.getType() == Type.LONG && right.getType() == Type.LONG ? Type.LONG
+               : Type.DOUBLE;
+      } else if (left.getType() == right.getType()
+            && (left.getType() == Type.STRING || operator == Operator.EQ || operator == Operator.NEQ)) {
+         this.operandType = left.getType();
+      } else {
+         throw new IllegalArgumentException("Operator " + operator + " cannot be applied to " + left
+               + " of type " + left.getType() + " and " + right + " of type " + right.getType() + ".");
+      }
+   }
+
+   @Override
+   public boolean evaluateBoolean(final Row row) {
+      final int comparison;
+      switch (this.operandType) {
+         case LONG:
+            comparison = Long.compare(this.left.evaluateLong(row), this.right.evaluateLong(row));
+            break;
+         case DOUBLE:
+            comparison = Double.compare(this.left.evaluateDouble(row), this.right.evaluateDouble(row));
+            break;
+         case BOOLEAN:
+            comparison = Boolean.compare(this.left.evaluateBoolean(row), this.right.evaluateBoolean(row));
+            break;
+         default:
+            final String l = this.left.evaluateString(row);
+            final String r = this.right.evaluateString(row);
+            comparison = l == null || r == null ? 0 : l.compareTo(r);
+            break;
+      }
+      // a comparison with a null operand is null
+      return !row.wasNull() && this.holds(comparison);
+   }
+
+   /**
+    * Checks whether the comparison operator holds for the given result of comparing the operands.
+    *
+    * @param comparison
+    *           negative, zero, or positive if the left operand is less than, equal to, or greater than the
+    *           right operand
+    * @return <code>true</code> if the comparison holds, <code>false</code> otherwise
+    */
+   private boolean holds(final int comparison) {
+      switch (this.operator) {
+         case EQ:
+            return comparison == 0;
+         case NEQ:
+            return comparison != 0;
+         case LT:
+            return comparison < 0;
+         case LEQ:
+            return comparison <= 0;
+         case GT:
+            return comparison > 0;
+         case GEQ:
+            return comparison >= 0;
+         default:
+            throw new UnsupportedOperationException("Operator " + this.operator + " not supported.");
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "(" + this.left + " " + this.operator + " " + this.right + ")";
+   }
+}
@@ -0,0 +1,111 @@
+/*
+ * @(#)Constant.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+/**
+ * Expression that evaluates to a constant value.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class Constant extends Expression {
+
+   /** Value of a long or boolean constant, where booleans are one or zero. */
+   private final long longValue;
+   /** Value of a double constant. */
+   private final double doubleValue;
+   /** Value of this constant as an object. */
+   private final Object value;
+
+   /**
+    * Constructs a new long constant.
+    *
+    * @param value
+    *           long value
+    */
+   public Constant(final long value) {
+      super(Type.LONG);
+      this.longValue = value;
+      this.doubleValue = value;
+      this.value = Long.valueOf(value);
+   }
+
+   /**
+    * Constructs a new double constant.
+    *
+    * @param value
+    *           double value
+    */
+   public Constant(final double value) {
+      super(Type.DOUBLE);
+      this.longValue = (long) value;
+      this.doubleValue = value;
+      this.value = Double.valueOf(value);
+   }
+
+   /**
+    * Constructs a new boolean constant.
+    *
+    * @param value
+    *           boolean value
+    */
+   public Constant(final boolean value) {
+      super(Type.BOOLEAN);
+      this.longValue = value ? 1 : 0;
+      this.doubleValue = this.longValue;
+      this.value = Boolean.valueOf(value);
+   }
+
+   /**
+    * Constructs a new string constant.
+    *
+    * @param value
+    *           string value
+    */
+   public Constant(final String value) {
+      super(Type.STRING);
+      this.longValue = 0;
+      this.doubleValue = 0;
+      this.value = value;
+   }
+
+   @Override
+   public long evaluateLong(final Row row) {
+      return this.longValue;
+   }
+
+   @Override
+   public double evaluateDouble(final Row row) {
+      return this.doubleValue;
+   }
+
+   @Override
+   public boolean evaluateBoolean(final Row row) {
+      return this.longValue != 0;
+   }
+
+   @Override
+   public String evaluateString(final Row row) {
+      return (String) this.value;
+   }
+
+   @Override
+   public Object evaluate(final Row row) {
+      return this.value;
+   }
+
+   @Override
+   public String toString() {
+      if (this.getType() == Type.STRING) {
+         return "'" + this.value + "'";
+      }
+      return String.valueOf(this.value);
+   }
+}
@@ -0,0 +1,150 @@
+/*
+ * @(#)Expression.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+/**
+ * Node of a compiled expression tree. The type of every node is known once the expression has been resolved
+ * against a schema, so that values are evaluated by the unboxed method of that type. Integer, long, and date
+ * values are evaluated as longs, floating point values as doubles, and strings as objects.
+ * <p>
+ * Every operand is evaluated once. An expression that is <code>null</code> sets the null flag of the row
+ * (see {@link Row#setNull(boolean)}) and returns zero, <code>false</code>, or <code>null</code>. The flag is
+ * never cleared by the operands, so that it propagates to the enclosing expressions. Only logical
+ * expressions, which are not always <code>null</code> if an operand is, inspect the flag of each operand.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public abstract class Expression {
+
+   /**
+    * Types of expression values.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   public enum Type {
+      /** Integer, long, and date values. */
+      LONG,
+      /** Floating point values. */
+      DOUBLE,
+      /** Boolean values. */
+      BOOLEAN,
+      /** String values. */
+      STRING;
+
+      /**
+       * Checks whether this type is numeric.
+       *
+       * @return <code>true</code> if values of this type are numeric, <code>false</code> otherwise
+       */
+      public boolean isNumeric() {
+         return this == LONG || this == DOUBLE;
+      }
+   }
+
+   /** Type of the value of this expression. */
+   private final Type type;
+
+   /**
+    * Constructs a new expression with the given value type.
+    *
+    * @param type
+    *           value type
+    */
+   protected Expression(final Type type) {
+      this.type = type;
+   }
+
+   /**
+    * Returns the type of the value of this expression.
+    *
+    * @return value type
+    */
+   public Type getType() {
+      return this.type;
+   }
+
+   /**
+    * Evaluates this expression of type {@link Type#LONG} on the given row.
+    *
+    * @param row
+    *           row of values
+    * @return long value
+    */
+   public long evaluateLong(final Row row) {
+      throw new UnsupportedOperationException("Expression " + this + " of type " + this.type
+            + " is not a long.");
+   }
+
+   /**
+    * Evaluates this numeric expression on the given row.
+    *
+    * @param row
+    *           row of values
+    * @return double value
+    */
+   public double evaluateDouble(final Row row) {
+      if (this.type == Type.LONG) {
+         return this.evaluateLong(row);
+      }
+      throw new UnsupportedOperationException("Expression " + this + " of type " + this.type
+            + " is not numeric.");
+   }
+
+   /**
+    * Evaluates this expression of type {@link Type#BOOLEAN} on the given row.
+    *
+    * @param row
+    *           row of values
+    * @return boolean value
+    */
+   public boolean evaluateBoolean(final Row row) {
+      throw new UnsupportedOperationException("Expression " + this + " of type " + this.type
+            + " is not a boolean.");
+   }
+
+   /**
+    * Evaluates this expression of type {@link Type#STRING} on the given row.
+    *
+    * @param row
+    *           row of values
+    * @return string value or <code>null</code>
+    */
+   public String evaluateString(final Row row) {
+      throw new UnsupportedOperationException("Expression " + this + " of type " + this.type
+            + " is not a string.");
+   }
+
+   /**
+    * Evaluates this expression on the given row and returns its value as an object. The null flag of the
+    * row is cleared before the expression is evaluated.
+    *
+    * @param row
+    *           row of values
+    * @return value of this expression or <code>null</code>
+    */
+   public Object evaluate(final Row row) {
+      row.setNull(false);
+      switch (this.type) {
+         case LONG:
+            final long longValue = this.evaluateLong(row);
+            return row.wasNull() ? null : Long.valueOf(longValue);
+         case DOUBLE:
+            final double doubleValue = this.evaluateDouble(row);
+            return row.wasNull() ? null : Double.valueOf(doubleValue);
+         case BOOLEAN:
+            final boolean booleanValue = this.evaluateBoolean(row);
+            return row.wasNull() ? null : Boolean.valueOf(booleanValue);
+         default:
+            return this.evaluateString(row);
+      }
+   }
+}
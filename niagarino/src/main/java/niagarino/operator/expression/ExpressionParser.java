@@ -0,0 +1,398 @@
+/*
+ * @(#)ExpressionParser.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+import java.util.Collections;
+import java.util.List;
+
+import niagarino.stream.Attribute;
+
+/**
+ * Parser that compiles the text of an expression into an expression tree that is resolved against a list of
+ * attributes. Expressions consist of attribute names, numeric, string (<code>'text'</code>), and boolean
+ * (<code>true</code>, <code>false</code>) constants, the arithmetic operators <code>+ - * / %</code>, the
+ * comparison operators <code>== != &lt; &lt;= &gt; &gt;=</code>, the boolean operators
+ * <code>&amp;&amp; || !</code>, and parentheses. Operators have the same precedence as in Java. Attribute
+ * names that are not identifiers are enclosed in backquotes, e.g., <code>`AVG(spd)` &gt; 40</code>.
+ * Sub-expressions that only consist of constants are evaluated during compilation.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public final class ExpressionParser {
+
+   /** Text of the expression. */
+   private final String text;
+   /** Attributes to which names in the expression are resolved. */
+   private final List<Attribute> attributes;
+   /** Current position in the text. */
+   private int position;
+
+   /**
+    * Constructs a new parser for the given expression text.
+    *
+    * @param text
+    *           expression text
+    * @param attributes
+    *           attributes to which names are resolved
+    */
+   private ExpressionParser(final String text, final List<Attribute> attributes) {
+      this.text = text;
+      this.attributes = attributes;
+      this.position = 0;
+   }
+
+   /**
+    * Compiles the given expression text into an expression tree whose attribute references are resolved
+    * against the given attributes.
+    *
+    * @param text
+    *           expression text
+    * @param attributes
+    *           attributes to which names are resolved
+    * @return compiled expression
+    * @throws IllegalArgumentException
+    *            if the expression is malformed, refers to an unknown attribute, or applies an operator to
+    *            operands of the wrong type
+    */
+   public static Expression parse(final String text, final List<Attribute> attributes) {
+      final ExpressionParser parser = new ExpressionParser(text, attributes);
+      final Expression expression = parser.parseDisjunction();
+      parser.skipWhitespace();
+      if (parser.position < text.length()) {
+         throw parser.error("end of expression");
+      }
+      return expression;
+   }
+
+   /**
+    * Parses a disjunction of conjunctions.
+    *
+    * @return expression
+    */
+   private Expression parseDisjunction() {
+      Expression expression = this.parseConjunction();
+      while (this.accept("||")) {
+         final Expression right = this.parseConjunction();
+         expression = ExpressionParser.fold(new Logical(false, expression, right), expression, right);
+      }
+      return expression;
+   }
+
+   /**
+    * Parses a conjunction of comparisons.
+    *
+    * @return expression
+    */
+   private Expression parseConjunction() {
+      Expression expression = this.parseComparison();
+      while (this.accept("&&")) {
+         final Expression right = this.parseComparison();
+         expression = ExpressionParser.fold(new Logical(true, expression, right), expression, right);
+      }
+      return expression;
+   }
+
+   /**
+    * Parses a comparison of two sums, or a single sum.
+    *
+    * @return expression
+    */
+   private Expression parseComparison() {
+      final Expression left = this.parseSum();
+      final Comparison.Operator operator;
+      if (this.accept("==")) {
+         operator = Comparison.Operator.EQ;
+      } else if (this.accept("!=")) {
+         operator = Comparison.Operator.NEQ;
+      } else if (this.accept("<=")) {
+         operator = Comparison.Operator.LEQ;
+      } else if (this.accept(">=")) {
+         operator = Comparison.Operator.GEQ;
+      } else if (this.accept("<")) {
+         operator = Comparison.Operator.LT;
+      } else if (this.accept(">")) {
+         operator = Comparison.Operator.GT;
+      } else {
+         return left;
+      }
+      final Expression right = this.parseSum();
+      return ExpressionParser.fold(new Comparison(operator, left, right), left, right);
+   }
+
+   /**
+    * Parses a sum or difference of products.
+    *
+    * @return expression
+    */
+   private Expression parseSum() {
+      Expression expression = this.parseProduct();
+      while (true) {
+         if (this.accept("+")) {
+            expression = ExpressionParser.arithmetic(Arithmetic.Operator.ADD, expression,
+                  this.parseProduct());
+         } else if (this.accept("-")) {
+            expression = ExpressionParser.arithmetic(Arithmetic.Operator.SUBTRACT, expression,
+                  this.parseProduct());
+         } else {
+            return expression;
+         }
+      }
+   }
+
+   /**
+    * Parses a product, quotient, or remainder of unary expressions.
+    *
+    * @return expression
+    */
+   private Expression parseProduct() {
+      Expression expression = this.parseUnary();
+      while (true) {
+         if (this.accept("*")) {
+            expression = ExpressionParser.arithmetic(Arithmetic.Operator.MULTIPLY, expression,
+                  this.parseUnary());
+         } else if (this.accept("/")) {
+            expression = ExpressionParser.arithmetic(Arithmetic.Operator.DIVIDE, expression,
+                  this.parseUnary());
+         } else if (this.accept("%")) {
+            expression = ExpressionParser.arithmetic(Arithmetic.Operator.MODULO, expression,
+                  this.parseUnary());
+         } else {
+            return expression;
+         }
+      }
+   }
+
+   /**
+    * Parses a negated or sign-inverted expression, or a primary expression.
+    *
+    * @return expression
+    */
+   private Expression parseUnary() {
+      if (this.accept("-")) {
+         final Expression operand = this.parseUnary();
+         final Expression zero = operand.getType() == Expression.Type.DOUBLE ? new Constant(0.0)
+               : new Constant(0L);
+         return ExpressionParser.arithmetic(Arithmetic.Operator.SUBTRACT, zero, operand);
+      } else if (!this.peek("!=") && this.accept("!")) {
+         final Expression operand = this.parseUnary();
+         return ExpressionParser.fold(new Negation(operand), operand);
+      }
+      return this.parsePrimary();
+   }
+
+   /**
+    * Parses a parenthesized expression, a constant, or an attribute reference.
+    *
+    * @return expression
+    */
+   private Expression parsePrimary() {
+      if (this.accept("(")) {
+         final Expression expression = this.parseDisjunction();
+         if (!this.accept(")")) {
+            throw this.error("')'");
+         }
+         return expression;
+      }
+      this.skipWhitespace();
+      if (this.position >= this.text.length()) {
+         throw this.error("operand");
+      }
+      final char c = this.text.charAt(this.position);
+      if (Character.isDigit(c) || c == '.') {
+         return this.parseNumber();
+      } else if (c == '\'') {
+         return new Constant(this.parseQuoted('\''));
+      } else if (c == '`') {
+         return this.resolve(this.parseQuoted('`'));
+      } else if (Character.isJavaIdentifierStart(c)) {
+         final int start = this.position;
+         while (this.position < this.text.length()
+               && Character.isJavaIdentifierPart(this.text.charAt(this.position))) {
+            this.position++;
+         }
+         final String name = this.text.substring(start, this.position);
+         if ("true".equals(name)) {
+            return new Constant(true);
+         } else if ("false".equals(name)) {
+            return new Constant(false);
+         }
+         return this.resolve(name);
+      }
+      throw this.error("operand");
+   }
+
+   /**
+    * Parses a numeric constant. Constants with a decimal point or an exponent are doubles, all others are
+    * longs.
+    *
+    * @return constant expression
+    */
+   private Expression parseNumber() {
+      final int start = this.position;
+      boolean decimal = false;
+      while (this.position < this.text.length()) {
+         final char c = this.text.charAt(this.position);
+         if (c == '.' || c == 'e' || c == 'E') {
+            decimal = true;
+         } else if (!Character.isDigit(c) && !((c == '+' || c == '-') && decimal
+               && Character.toLowerCase(this.text.charAt(this.position - 1)) == 'e')) {
+            break;
+         }
+         this.position++;
+      }
+      final String number = this.text.substring(start, this.position);
+      try {
+         if (decimal) {
+            return new Constant(Double.parseDouble(number));
+         }
+         return new Constant(Long.parseLong(number));
+      } catch (final NumberFormatException e) {
+         this.position = start;
+         throw this.error("number");
+      }
+   }
+
+   /**
+    * Parses text that is enclosed in the given quote character. The quote character itself is written twice
+    * inside the text.
+    *
+    * @param quote
+    *           quote character
+    * @return text without quotes
+    */
+   private String parseQuoted(final char quote) {
+      final StringBuilder builder = new StringBuilder();
+      this.position++;
+      while (this.position < this.text.length()) {
+         final char c = this.text.charAt(this.position++);
+         if (c != quote) {
+            builder.append(c);
+         } else if (this.position < this.text.length() && this.text.charAt(this.position) == quote) {
+            builder.append(c);
+            this.position++;
+         } else {
+            return builder.toString();
+         }
+      }
+      throw this.error("closing " + quote);
+   }
+
+   /**
+    * Resolves the given attribute name to a reference to the attribute with that name.
+    *
+    * @param name
+    *           attribute name
+    * @return attribute reference
+    */
+   private Expression resolve(final String name) {
+      for (int i = 0; i < this.attributes.size(); i++) {
+         if (this.attributes.get(i).getName().equals(name)) {
+            return new AttributeReference(this.attributes.get(i), i);
+         }
+      }
+      throw new IllegalArgumentException("Unknown attribute " + name + " in expression '" + this.text
+            + "'; attributes are " + this.attributes + ".");
+   }
+
+   /**
+    * Consumes the given symbol if it is the next token.
+    *
+    * @param symbol
+    *           operator symbol
+    * @return <code>true</code> if the symbol has been consumed, <code>false</code> otherwise
+    */
+   private boolean accept(final String symbol) {
+      if (this.peek(symbol)) {
+         this.position += symbol.length();
+         return true;
+      }
+      return false;
+   }
+
+   /**
+    * Checks whether the given symbol is the next token without consuming it.
+    *
+    * @param symbol
+    *           operator symbol
+    * @return <code>true</code> if the symbol is next, <code>false</code> otherwise
+    */
+   private boolean peek(final String symbol) {
+      this.skipWhitespace();
+      return this.text.startsWith(symbol, this.position);
+   }
+
+   /**
+    * Advances the current position to the next character that is not a whitespace.
+    */
+   private void skipWhitespace() {
+      while (this.position < this.text.length() && Character.isWhitespace(this.text.charAt(this.position))) {
+         this.position++;
+      }
+   }
+
+   /**
+    * Creates the exception to signal that something else was expected at the current position.
+    *
+    * @param expected
+    *           description of the expected token
+    * @return exception to throw
+    */
+   private IllegalArgumentException error(final String expected) {
+      return new IllegalArgumentException("Expected " + expected + " at position " + this.position
+            + " of expression '" + this.text + "'.");
+   }
+
+   /**
+    * Creates an arithmetic expression that applies the given operator to the given operands.
+    *
+    * @param operator
+    *           arithmetic operator
+    * @param left
+    *           left operand
+    * @param right
+    *           right operand
+    * @return arithmetic expression or a constant if both operands are constants
+    */
+   private static Expression arithmetic(final Arithmetic.Operator operator, final Expression left,
+         final Expression right) {
+      return ExpressionParser.fold(new Arithmetic(operator, left, right), left, right);
+   }
+
+   /**
+    * Replaces the given expression by a constant if all its operands are constants.
+    *
+    * @param expression
+    *           expression
+    * @param operands
+    *           operands of the expression
+    * @return constant or the given expression
+    */
+   private static Expression fold(final Expression expression, final Expression... operands) {
+      for (final Expression operand : operands) {
+         if (!(operand instanceof Constant)) {
+            return expression;
+         }
+      }
+      final Object value = expression.evaluate(new ListRow(Collections.emptyList()));
+      if (value == null) {
+         // there are no null constants, e.g., for a division by zero
+         return expression;
+      }
+      switch (expression.getType()) {
+         case LONG:
+            return new Constant(((Long) value).longValue());
+         case DOUBLE:
+            return new Constant(((Double) value).doubleValue());
+         default:
+            return new Constant(((Boolean) value).booleanValue());
+      }
+   }
+}
@@ -0,0 +1,68 @@
+/*
+ * @(#)ListRow.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+import java.util.List;
+
+import niagarino.util.TypeSystem;
+
+/**
+ * Row that gives access to the values in a list, as they are passed to derivation functions.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public final class ListRow implements Row {
+
+   /** Values of this row. */
+   private final List<Object> values;
+   /** Null flag of the evaluated expression. */
+   private boolean wasNull;
+
+   /**
+    * Constructs a new row for the given values.
+    *
+    * @param values
+    *           attribute values
+    */
+   public ListRow(final List<Object> values) {
+      this.values = values;
+   }
+
+   @Override
+   public boolean isNull(final int position) {
+      return this.values.get(position) == null;
+   }
+
+   @Override
+   public long getLong(final int position) {
+      return TypeSystem.toLong(this.values.get(position));
+   }
+
+   @Override
+   public double getDouble(final int position) {
+      return TypeSystem.toDouble(this.values.get(position));
+   }
+
+   @Override
+   public Object getValue(final int position) {
+      return this.values.get(position);
+   }
+
+   @Override
+   public void setNull(final boolean isNull) {
+      this.wasNull = isNull;
+   }
+
+   @Override
+   public boolean wasNull() {
+      return this.wasNull;
+   }
+}
@@ -0,0 +1,83 @@
+/*
+ * @(#)Logical.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+/**
+ * Boolean expression that combines two boolean expressions by conjunction or disjunction. The right operand
+ * is only evaluated if the left operand does not determine the result. <code>null</code> operands follow
+ * three-valued logic, i.e., a conjunction is <code>false</code> if either operand is <code>false</code> and a
+ * disjunction is <code>true</code> if either operand is <code>true</code>. Otherwise, the result is
+ * <code>null</code> if either operand is <code>null</code>.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class Logical extends Expression {
+
+   /** Indicates whether this expression is a conjunction, otherwise it is a disjunction. */
+   private final boolean conjunction;
+   /** Left operand. */
+   private final Expression left;
+   /** Right operand. */
+   private final Expression right;
+
+   /**
+    * Constructs a new conjunction or disjunction of the given operands.
+    *
+    * @param conjunction
+    *           <code>true</code> for a conjunction, <code>false</code> for a disjunction
+    * @param left
+    *           left operand
+    * @param right
+    *           right operand
+    */
+   public Logical(final boolean conjunction, final Expression left, final Expression right) {
+      super(Type.BOOLEAN);
+      if (left.getType() != Type.BOOLEAN || right.getType() != Type.BOOLEAN) {
+         throw new IllegalArgumentException("Operator " + (conjunction ? "&&" : "||")
+               + " cannot be applied to " + left + " of type " + left.getType() + " and " + right
+               + " of type " + right.getType() + ".");
+      }
+      this.conjunction = conjunction;
+      this.left = left;
+      this.right = right;
+   }
+
+   /**
+    * {@inheritDoc} The null flag of the row is cleared before each operand is evaluated and restored
+    * afterwards, as a <code>null</code> operand does not necessarily make this expression <code>null</code>.
+    */
+   @Override
+   public boolean evaluateBoolean(final Row row) {
+      final boolean enclosingNull = row.wasNull();
+      row.setNull(false);
+      final boolean leftValue = this.left.evaluateBoolean(row);
+      final boolean leftNull = row.wasNull();
+      // a conjunction with a false operand is false and a disjunction with a true operand is true
+      if (!leftNull && leftValue != this.conjunction) {
+         row.setNull(enclosingNull);
+         return leftValue;
+      }
+      row.setNull(false);
+      final boolean rightValue = this.right.evaluateBoolean(row);
+      final boolean rightNull = row.wasNull();
+      if (!rightNull && rightValue != this.conjunction) {
+         row.setNull(enclosingNull);
+         return rightValue;
+      }
+      row.setNull(enclosingNull || leftNull || rightNull);
+      return this.conjunction && !leftNull && !rightNull;
+   }
+
+   @Override
+   public String toString() {
+      return "(" + this.left + (this.conjunction ? " && " : " || ") + this.right + ")";
+   }
+}
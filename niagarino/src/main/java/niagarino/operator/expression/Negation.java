@@ -0,0 +1,49 @@
+/*
+ * @(#)Negation.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+/**
+ * Boolean expression that negates a boolean expression. The negation of <code>null</code> is
+ * <code>null</code>.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class Negation extends Expression {
+
+   /** Negated operand. */
+   private final Expression operand;
+
+   /**
+    * Constructs a new negation of the given operand.
+    *
+    * @param operand
+    *           boolean operand
+    */
+   public Negation(final Expression operand) {
+      super(Type.BOOLEAN);
+      if (operand.getType() != Type.BOOLEAN) {
+         throw new IllegalArgumentException("Operator ! cannot be applied to " + operand + " of type "
+               + operand.getType() + ".");
+      }
+      this.operand = operand;
+   }
+
+   @Override
+   public boolean evaluateBoolean(final Row row) {
+      final boolean value = this.operand.evaluateBoolean(row);
+      return !row.wasNull() && !value;
+   }
+
+   @Override
+   public String toString() {
+      return "!" + this.operand;
+   }
+}
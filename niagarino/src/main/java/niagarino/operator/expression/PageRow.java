@@ -0,0 +1,81 @@
+/*
+ * @(#)PageRow.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+import niagarino.stream.ColumnarPage;
+
+/**
+ * Row that gives access to the values in one row of a columnar page. The row can be moved over the page, so
+ * that an expression can be evaluated on all tuples of the page without materializing them.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public final class PageRow implements Row {
+
+   /** Columnar page of this row. */
+   private final ColumnarPage page;
+   /** Current row index. */
+   private int row;
+   /** Null flag of the evaluated expression. */
+   private boolean wasNull;
+
+   /**
+    * Constructs a new row that is positioned on the first row of the given columnar page.
+    *
+    * @param page
+    *           columnar page
+    */
+   public PageRow(final ColumnarPage page) {
+      this.page = page;
+      this.row = 0;
+   }
+
+   /**
+    * Moves this row to the given row index of the page and clears its null flag.
+    *
+    * @param index
+    *           row index
+    */
+   public void setRow(final int index) {
+      this.row = index;
+      this.wasNull = false;
+   }
+
+   @Override
+   public boolean isNull(final int position) {
+      return this.page.isNull(position, this.row);
+   }
+
+   @Override
+   public long getLong(final int position) {
+      return this.page.getLong(position, this.row);
+   }
+
+   @Override
+   public double getDouble(final int position) {
+      return this.page.getDouble(position, this.row);
+   }
+
+   @Override
+   public Object getValue(final int position) {
+      return this.page.getValue(position, this.row);
+   }
+
+   @Override
+   public void setNull(final boolean isNull) {
+      this.wasNull = isNull;
+   }
+
+   @Override
+   public boolean wasNull() {
+      return this.wasNull;
+   }
+}
@@ -0,0 +1,77 @@
+/*
+ * @(#)Row.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+/**
+ * Values of one tuple as seen by an {@link Expression}. Implementations give access to the attribute values
+ * of data tuples, value lists, and rows of columnar pages without converting primitive values to objects.
+ * Every row also carries the null flag of the expression that is evaluated on it, so that <code>null</code>
+ * values are propagated from the operands without evaluating them twice. The flag is clear for a new row.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public interface Row {
+
+   /**
+    * Checks whether the value at the given position is <code>null</code>.
+    *
+    * @param position
+    *           attribute position
+    * @return <code>true</code> if the value is <code>null</code>, <code>false</code> otherwise
+    */
+   boolean isNull(int position);
+
+   /**
+    * Returns the value at the given position of an integer, long, or date attribute as a long. Dates are
+    * returned as milliseconds since the epoch. The value must not be <code>null</code>.
+    *
+    * @param position
+    *           attribute position
+    * @return long value
+    */
+   long getLong(int position);
+
+   /**
+    * Returns the value at the given position of a numeric attribute as a double. The value must not be
+    * <code>null</code>.
+    *
+    * @param position
+    *           attribute position
+    * @return double value
+    */
+   double getDouble(int position);
+
+   /**
+    * Returns the value at the given position as an object.
+    *
+    * @param position
+    *           attribute position
+    * @return attribute value or <code>null</code>
+    */
+   Object getValue(int position);
+
+   /**
+    * Sets or clears the null flag of this row, which marks that the value of the expression evaluated on
+    * this row is <code>null</code>.
+    *
+    * @param isNull
+    *           <code>true</code> if the value is <code>null</code>, <code>false</code> otherwise
+    */
+   void setNull(boolean isNull);
+
+   /**
+    * Checks whether the null flag of this row is set.
+    *
+    * @return <code>true</code> if the value of the evaluated expression is <code>null</code>,
+    *         <code>false</code> otherwise
+    */
+   boolean wasNull();
+}
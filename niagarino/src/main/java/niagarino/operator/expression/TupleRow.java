@@ -0,0 +1,66 @@
+/*
+ * @(#)TupleRow.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+import niagarino.stream.DataTuple;
+
+/**
+ * Row that gives access to the values of a data tuple.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public final class TupleRow implements Row {
+
+   /** Data tuple of this row. */
+   private final DataTuple tuple;
+   /** Null flag of the evaluated expression. */
+   private boolean wasNull;
+
+   /**
+    * Constructs a new row for the given data tuple.
+    *
+    * @param tuple
+    *           data tuple
+    */
+   public TupleRow(final DataTuple tuple) {
+      this.tuple = tuple;
+   }
+
+   @Override
+   public boolean isNull(final int position) {
+      return this.tuple.isNull(position);
+   }
+
+   @Override
+   public long getLong(final int position) {
+      return this.tuple.getLong(position);
+   }
+
+   @Override
+   public double getDouble(final int position) {
+      return this.tuple.getDouble(position);
+   }
+
+   @Override
+   public Object getValue(final int position) {
+      return this.tuple.getAttributeValue(position);
+   }
+
+   @Override
+   public void setNull(final boolean isNull) {
+      this.wasNull = isNull;
+   }
+
+   @Override
+   public boolean wasNull() {
+      return this.wasNull;
+   }
+}
@@ -36,7 +36,7 @@ public abstract class AbstractAggregationFunction implements AggregationFunction
     * @param outputType
     *           output type
     */
-   private AbstractAggregationFunction(final Type type, final String name, final Class< ? > outputType) {
+   AbstractAggregationFunction(final Type type, final String name, final Class< ? > outputType) {
       this.type = type;
       this.name = name;
       this.outputType = outputType;
@@ -80,4 +80,9 @@ public abstract class AbstractAggregationFunction implements AggregationFunction
    public Attribute getAggregatedAttribute(final Attribute inputAttribute) {
       return new Attribute(this.getName() + "(" + inputAttribute.getName() + ")", this.outputType);
    }
+
+   @Override
+   public GroupAggregator createGroupAggregator() {
+      return new ObjectGroupAggregator(this);
+   }
 }
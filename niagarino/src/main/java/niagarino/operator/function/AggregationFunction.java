@@ -44,6 +44,13 @@ public interface AggregationFunction extends Supplier<Aggregator> {
     */
    Attribute getAggregatedAttribute(Attribute inputAttribute);
 
+   /**
+    * Returns a new group aggregator that computes this aggregation function for many groups at once.
+    *
+    * @return group aggregator
+    */
+   GroupAggregator createGroupAggregator();
+
    /**
     * Aggregation types that are supported by Niagarino.
     *
@@ -62,6 +69,14 @@ public interface AggregationFunction extends Supplier<Aggregator> {
       MIN,
       /** Maximum aggregation function type. */
       MAX,
+      /** Approximate distinct count aggregation function type. */
+      COUNT_DISTINCT,
+      /** Approximate median aggregation function type. */
+      MEDIAN,
+      /** Approximate percentile aggregation function type. */
+      PERCENTILE,
+      /** Approximate most frequent values aggregation function type. */
+      HEAVY_HITTERS,
       /** User-defined aggregation function type. */
       UDF;
    }
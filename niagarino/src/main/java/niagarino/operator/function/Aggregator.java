@@ -33,4 +33,30 @@ public interface Aggregator {
     * @return {@code true} if the aggregation value has changed, {@code false} otherwise
     */
    boolean update(final Object value);
+
+   /**
+    * Incrementally updates the aggregated value with the given non-{@code null} numeric value. The result is
+    * the same as passing the boxed value to {@link #update(Object)}, which this default implementation does.
+    * Aggregators override this method to avoid boxing.
+    *
+    * @param value
+    *           numeric value
+    * @return {@code true} if the aggregation value has changed, {@code false} otherwise
+    */
+   default boolean update(final double value) {
+      return this.update(Double.valueOf(value));
+   }
+
+   /**
+    * Incrementally updates the aggregated value with the given integer value. The result is the same as
+    * passing the boxed value to {@link #update(Object)}, which this default implementation does. Aggregators
+    * override this method to avoid boxing.
+    *
+    * @param value
+    *           integer value
+    * @return {@code true} if the aggregation value has changed, {@code false} otherwise
+    */
+   default boolean update(final long value) {
+      return this.update(Long.valueOf(value));
+   }
 }
@@ -9,6 +9,8 @@
  */
 package niagarino.operator.function;
 
+import java.util.Arrays;
+
 /**
  * Implementation of the {@code AVG} built-in aggregation function.
  *
@@ -29,13 +31,18 @@ public class AvgAggregationFunction extends AbstractAggregationFunction {
       return new AvgAggregator();
    }
 
+   @Override
+   public GroupAggregator createGroupAggregator() {
+      return new AvgGroupAggregator();
+   }
+
    /**
     * Average aggregator that uses Kahan's method to incrementally compute a numerically stable average.
     *
     * @author Michael Grossniklaus &lt;michael.grossniklaus@uni-konstanz.de&gt;
     * @version 1.0
     */
-   private class AvgAggregator implements Aggregator {
+   private class AvgAggregator implements InvertibleAggregator {
 
       /** Sum value. */
       private double avg = 0.0;
@@ -49,23 +56,184 @@ public class AvgAggregationFunction extends AbstractAggregationFunction {
       @Override
       public boolean update(final Object value) {
          if (value != null) {
+            return this.update(((Number) value).doubleValue());
+         }
+         return false;
+      }
+
+      @Override
+      public boolean update(final double value) {
+         final double old = this.avg;
+         this.add((value - this.avg) / (this.count + 1));
+         this.isNull = false;
+         this.count++;
+         return old != this.avg;
+      }
+
+      @Override
+      public boolean update(final long value) {
+         return this.update((double) value);
+      }
+
+      @Override
+      public boolean retract(final Object value) {
+         if (value != null) {
+            if (this.count == 1) {
+               this.avg = 0.0;
+               this.c = 0.0;
+               this.count = 0;
+               this.isNull = true;
+               return true;
+            }
             final double old = this.avg;
-            final double v = ((Number) value).doubleValue();
-            final double delta = (v - this.avg) / (this.count + 1);
-            final double y = delta - this.c;
-            final double t = this.avg + y;
-            this.c = t - this.avg - y;
-            this.avg = t;
-            this.isNull = false;
-            this.count++;
+            this.add((this.avg - ((Number) value).doubleValue()) / (this.count - 1));
+            this.count--;
             return old != this.avg;
          }
          return false;
       }
 
+      @Override
+      public void merge(final Aggregator aggregator) {
+         final AvgAggregator other = (AvgAggregator) aggregator;
+         if (!other.isNull) {
+            final long total = this.count + other.count;
+            this.add((other.avg - this.avg) * other.count / total);
+            this.count = total;
+            this.isNull = false;
+         }
+      }
+
+      @Override
+      public void subtract(final Aggregator aggregator) {
+         final AvgAggregator other = (AvgAggregator) aggregator;
+         if (!other.isNull) {
+            final long total = this.count - other.count;
+            if (total == 0) {
+               this.avg = 0.0;
+               this.c = 0.0;
+               this.isNull = true;
+            } else {
+               this.add((this.avg - other.avg) * other.count / total);
+            }
+            this.count = total;
+         }
+      }
+
+      /**
+       * Adds the given delta to the average value using Kahan's method.
+       *
+       * @param delta
+       *           delta to add
+       */
+      private void add(final double delta) {
+         final double y = delta - this.c;
+         final double t = this.avg + y;
+         this.c = t - this.avg - y;
+         this.avg = t;
+      }
+
       @Override
       public Double getValue() {
          return this.isNull ? null : Double.valueOf(this.avg);
       }
    }
+
+   /**
+    * Group aggregator that stores the average, Kahan's 'c' value, and count of each group in primitive
+    * arrays.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private class AvgGroupAggregator implements GroupAggregator {
+
+      /** Average values. */
+      private double[] avgs = new double[0];
+      /** Kahan's 'c' values. */
+      private double[] cs = new double[0];
+      /** Count values, the average value of a group is {@code null} if it has no values. */
+      private long[] counts = new long[0];
+
+      @Override
+      public void resize(final int capacity) {
+         this.avgs = Arrays.copyOf(this.avgs, capacity);
+         this.cs = Arrays.copyOf(this.cs, capacity);
+         this.counts = Arrays.copyOf(this.counts, capacity);
+      }
+
+      @Override
+      public boolean isNumeric() {
+         return true;
+      }
+
+      @Override
+      public boolean update(final int group, final Object value) {
+         if (value != null) {
+            return this.update(group, ((Number) value).doubleValue());
+         }
+         return false;
+      }
+
+      @Override
+      public boolean update(final int group, final double value) {
+         final double old = this.avgs[group];
+         this.add(group, (value - this.avgs[group]) / (this.counts[group] + 1));
+         this.counts[group]++;
+         return old != this.avgs[group];
+      }
+
+      @Override
+      public void merge(final int group, final GroupAggregator aggregator, final int other) {
+         final AvgGroupAggregator partial = (AvgGroupAggregator) aggregator;
+         final long count = partial.counts[other];
+         if (count != 0) {
+            final long total = this.counts[group] + count;
+            this.add(group, (partial.avgs[other] - this.avgs[group]) * count / total);
+            this.counts[group] = total;
+         }
+      }
+
+      @Override
+      public void subtract(final int group, final GroupAggregator aggregator, final int other) {
+         final AvgGroupAggregator partial = (AvgGroupAggregator) aggregator;
+         final long count = partial.counts[other];
+         if (count != 0) {
+            final long total = this.counts[group] - count;
+            if (total == 0) {
+               this.reset(group);
+            } else {
+               this.add(group, (this.avgs[group] - partial.avgs[other]) * count / total);
+               this.counts[group] = total;
+            }
+         }
+      }
+
+      @Override
+      public void reset(final int group) {
+         this.avgs[group] = 0.0;
+         this.cs[group] = 0.0;
+         this.counts[group] = 0;
+      }
+
+      /**
+       * Adds the given delta to the average value of the given group using Kahan's method.
+       *
+       * @param group
+       *           group number
+       * @param delta
+       *           delta to add
+       */
+      private void add(final int group, final double delta) {
+         final double y = delta - this.cs[group];
+         final double t = this.avgs[group] + y;
+         this.cs[group] = t - this.avgs[group] - y;
+         this.avgs[group] = t;
+      }
+
+      @Override
+      public Double getValue(final int group) {
+         return this.counts[group] == 0 ? null : Double.valueOf(this.avgs[group]);
+      }
+   }
 }
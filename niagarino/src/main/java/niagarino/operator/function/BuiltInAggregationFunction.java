@@ -19,6 +19,9 @@ import niagarino.operator.function.AggregationFunction.Type;
  */
 public final class BuiltInAggregationFunction {
 
+   /** Quantile of the percentile aggregation function that is returned if no quantile is given. */
+   public static final double DEFAULT_QUANTILE = 0.95;
+
    /** Sum aggregation function type. */
    public static final AggregationFunction SUM = new SumAggregationFunction();
    /** Average aggregation function type. */
@@ -29,9 +32,17 @@ public final class BuiltInAggregationFunction {
    public static final AggregationFunction MIN = new MinMaxAggregationFunction(true);
    /** Maximum aggregation function type. */
    public static final AggregationFunction MAX = new MinMaxAggregationFunction(false);
+   /** Approximate distinct count aggregation function type. */
+   public static final AggregationFunction COUNT_DISTINCT = new CountDistinctAggregationFunction();
+   /** Approximate median aggregation function type. */
+   public static final AggregationFunction MEDIAN = new QuantileAggregationFunction();
+   /** Approximate most frequent values aggregation function type returning the ten most frequent values. */
+   public static final AggregationFunction HEAVY_HITTERS = new HeavyHittersAggregationFunction(
+         HeavyHittersAggregationFunction.DEFAULT_K);
 
    /**
-    * Returns the built-in aggregation function corresponding to the given aggregation function type.
+    * Returns the built-in aggregation function corresponding to the given aggregation function type. The
+    * percentile aggregation function computes the {@link #DEFAULT_QUANTILE default quantile}.
     * 
     * @param type
     *           aggregation function type
@@ -49,12 +60,43 @@ public final class BuiltInAggregationFunction {
             return MIN;
          case MAX:
             return MAX;
+         case COUNT_DISTINCT:
+            return COUNT_DISTINCT;
+         case MEDIAN:
+            return MEDIAN;
+         case PERCENTILE:
+            return percentile(DEFAULT_QUANTILE);
+         case HEAVY_HITTERS:
+            return HEAVY_HITTERS;
          default:
             throw new IllegalArgumentException("Type " + type.name()
                   + " is not a built-in aggregation function.");
       }
    }
 
+   /**
+    * Returns an approximate percentile aggregation function that computes the given quantile.
+    *
+    * @param quantile
+    *           quantile between 0 and 1
+    * @return aggregation function
+    */
+   public static AggregationFunction percentile(final double quantile) {
+      return new QuantileAggregationFunction(quantile);
+   }
+
+   /**
+    * Returns an approximate most frequent values aggregation function that returns the given number of
+    * values.
+    *
+    * @param k
+    *           number of values
+    * @return aggregation function
+    */
+   public static AggregationFunction heavyHitters(final int k) {
+      return new HeavyHittersAggregationFunction(k);
+   }
+
    /**
     * Hidden constructor.
     */
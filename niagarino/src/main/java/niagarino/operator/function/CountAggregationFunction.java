@@ -9,6 +9,8 @@
  */
 package niagarino.operator.function;
 
+import java.util.Arrays;
+
 /**
  * Implementation of the {@code COUNT} built-in aggregation function.
  *
@@ -29,13 +31,18 @@ public class CountAggregationFunction extends AbstractAggregationFunction {
       return new CountAggregator();
    }
 
+   @Override
+   public GroupAggregator createGroupAggregator() {
+      return new CountGroupAggregator();
+   }
+
    /**
     * Count aggregator that counts all non-{@code null} values.
     *
     * @author Michael Grossniklaus &lt;michael.grossniklaus@uni-konstanz.de&gt;
     * @version 1.0
     */
-   private class CountAggregator implements Aggregator {
+   private class CountAggregator implements InvertibleAggregator {
 
       /** Count value. */
       private long count = 0;
@@ -49,9 +56,97 @@ public class CountAggregationFunction extends AbstractAggregationFunction {
          return false;
       }
 
+      @Override
+      public boolean update(final double value) {
+         this.count++;
+         return true;
+      }
+
+      @Override
+      public boolean update(final long value) {
+         this.count++;
+         return true;
+      }
+
+      @Override
+      public boolean retract(final Object value) {
+         if (value != null) {
+            this.count--;
+            return true;
+         }
+         return false;
+      }
+
+      @Override
+      public void merge(final Aggregator aggregator) {
+         this.count += ((CountAggregator) aggregator).count;
+      }
+
+      @Override
+      public void subtract(final Aggregator aggregator) {
+         this.count -= ((CountAggregator) aggregator).count;
+      }
+
       @Override
       public Long getValue() {
          return Long.valueOf(this.count);
       }
    }
+
+   /**
+    * Group aggregator that stores the count of each group in a primitive array.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private class CountGroupAggregator implements GroupAggregator {
+
+      /** Count values. */
+      private long[] counts = new long[0];
+
+      @Override
+      public void resize(final int capacity) {
+         this.counts = Arrays.copyOf(this.counts, capacity);
+      }
+
+      @Override
+      public boolean isNumeric() {
+         return true;
+      }
+
+      @Override
+      public boolean update(final int group, final Object value) {
+         if (value != null) {
+            this.counts[group]++;
+            return true;
+         }
+         return false;
+      }
+
+      @Override
+      public boolean update(final int group, final double value) {
+         this.counts[group]++;
+         return true;
+      }
+
+      @Override
+      public void merge(final int group, final GroupAggregator aggregator, final int other) {
+         this.counts[group] += ((CountGroupAggregator) aggregator).counts[other];
+      }
+
+      @Override
+      public void subtract(final int group, final GroupAggregator aggregator, final int other) {
+         this.counts[group] -= ((CountGroupAggregator) aggregator).counts[other];
+      }
+
+      @Override
+      public void reset(final int group) {
+         this.counts[group] = 0;
+      }
+
+      @Override
+      public Long getValue(final int group) {
+         return Long.valueOf(this.counts[group]);
+      }
+   }
 }
@@ -0,0 +1,100 @@
+/*
+ * @(#)ExpressionFunction.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.function;
+
+import java.util.List;
+
+import niagarino.operator.expression.AttributeReference;
+import niagarino.operator.expression.Expression;
+import niagarino.operator.expression.ExpressionParser;
+import niagarino.operator.expression.ListRow;
+import niagarino.stream.Attribute;
+import niagarino.stream.ElementMetadata;
+
+/**
+ * Derivation function that derives an attribute by evaluating an expression over the attributes of a tuple,
+ * e.g., <code>seg * 2 + dir</code>. The expression is compiled when the schema is set. The derived attribute
+ * is a long, double, boolean, or string attribute, depending on the type of the expression, unless the
+ * expression is just an attribute name, in which case the type of that attribute is used. See
+ * {@link ExpressionParser} for the syntax of expressions.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ExpressionFunction extends AbstractDerivationFunction {
+
+   /** Name of the derived attribute. */
+   private final String name;
+   /** Text of the expression. */
+   private final String text;
+   /** Compiled expression. */
+   private Expression expression;
+
+   /**
+    * Constructs a new derivation function that derives the attribute with the given name from the given
+    * expression.
+    *
+    * @param name
+    *           name of the derived attribute
+    * @param expression
+    *           text of the expression
+    */
+   public ExpressionFunction(final String name, final String expression) {
+      this.name = name;
+      this.text = expression;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   public boolean isApplicable(final List<Attribute> schema) {
+      try {
+         ExpressionParser.parse(this.text, schema);
+         return true;
+      } catch (final IllegalArgumentException e) {
+         return false;
+      }
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   public Object derive(final List<Object> tuple, final ElementMetadata metadata) {
+      return this.expression.evaluate(new ListRow(tuple));
+   }
+
+   @Override
+   public String toString() {
+      return this.name + " = " + this.text;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   protected Attribute initDerivedAttribute(final List<Attribute> schema) {
+      this.expression = ExpressionParser.parse(this.text, schema);
+      if (this.expression instanceof AttributeReference) {
+         return new Attribute(this.name, ((AttributeReference) this.expression).getAttribute().getType());
+      }
+      switch (this.expression.getType()) {
+         case LONG:
+            return new Attribute(this.name, Long.class);
+         case DOUBLE:
+            return new Attribute(this.name, Double.class);
+         case BOOLEAN:
+            return new Attribute(this.name, Boolean.class);
+         default:
+            return new Attribute(this.name, String.class);
+      }
+   }
+}
@@ -0,0 +1,106 @@
+/*
+ * @(#)GroupAggregator.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.function;
+
+/**
+ * Interface describing an aggregator that computes the aggregation result of many groups at once. Groups are
+ * identified by consecutive numbers, which allows implementations to store the state of all groups in flat
+ * primitive arrays instead of one {@link Aggregator} object per group. Every group behaves exactly like an
+ * aggregator of the same aggregation function.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public interface GroupAggregator {
+
+   /**
+    * Makes room for the state of all groups whose numbers are less than the given capacity. The state of
+    * existing groups is kept.
+    *
+    * @param capacity
+    *           number of groups
+    */
+   void resize(int capacity);
+
+   /**
+    * Checks whether numeric values can be passed to {@link #update(int, double)} instead of
+    * {@link #update(int, Object)}.
+    *
+    * @return <code>true</code> if numeric values can be aggregated unboxed, <code>false</code> otherwise
+    */
+   boolean isNumeric();
+
+   /**
+    * Incrementally updates the aggregated value of the given group with the given value.
+    *
+    * @param group
+    *           group number
+    * @param value
+    *           value object
+    * @return {@code true} if the aggregation value has changed, {@code false} otherwise
+    */
+   boolean update(int group, Object value);
+
+   /**
+    * Incrementally updates the aggregated value of the given group with the given non-{@code null} numeric
+    * value.
+    *
+    * @param group
+    *           group number
+    * @param value
+    *           numeric value
+    * @return {@code true} if the aggregation value has changed, {@code false} otherwise
+    */
+   boolean update(int group, double value);
+
+   /**
+    * Returns the current aggregation value of the given group.
+    *
+    * @param group
+    *           group number
+    * @return current aggregation value
+    */
+   Object getValue(int group);
+
+   /**
+    * Merges the partial aggregate of a group of the given aggregator into the given group of this aggregator.
+    * The aggregators of the aggregation function have to be mergeable.
+    *
+    * @param group
+    *           group number
+    * @param aggregator
+    *           group aggregator of the same aggregation function
+    * @param other
+    *           group number in the given aggregator
+    */
+   void merge(int group, GroupAggregator aggregator, int other);
+
+   /**
+    * Removes the partial aggregate of a group of the given aggregator from the given group of this
+    * aggregator, into which it has been merged before. The aggregators of the aggregation function have to be
+    * invertible.
+    *
+    * @param group
+    *           group number
+    * @param aggregator
+    *           group aggregator of the same aggregation function
+    * @param other
+    *           group number in the given aggregator
+    */
+   void subtract(int group, GroupAggregator aggregator, int other);
+
+   /**
+    * Resets the given group to the state of a new aggregator.
+    *
+    * @param group
+    *           group number
+    */
+   void reset(int group);
+}
@@ -0,0 +1,178 @@
+/*
+ * @(#)HeavyHittersAggregationFunction.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.function;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implementation of the {@code HEAVY_HITTERS} built-in aggregation function, which returns the list of the
+ * {@code k} most frequent non-{@code null} values, ordered by decreasing frequency. The frequencies are
+ * estimated with a Count-Min sketch of {@value #DEPTH} rows of {@value #WIDTH} counters, which never
+ * underestimates a frequency. Only the current {@code k} candidates are stored in addition to the sketch,
+ * so that the memory used by an aggregator is independent of the number of distinct values. Sketches of
+ * partial aggregates can be merged.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class HeavyHittersAggregationFunction extends AbstractAggregationFunction {
+
+   /** Default number of values that are returned. */
+   public static final int DEFAULT_K = 10;
+
+   /** Number of rows of the Count-Min sketch. */
+   private static final int DEPTH = 4;
+   /** Number of counters in each row of the Count-Min sketch. */
+   private static final int WIDTH = 256;
+
+   /** Number of values that are returned. */
+   private final int k;
+
+   /**
+    * Constructs a new {@code HEAVY_HITTERS} built-in aggregation function that returns the given number of
+    * values.
+    *
+    * @param k
+    *           number of values
+    */
+   HeavyHittersAggregationFunction(final int k) {
+      super(Type.HEAVY_HITTERS, List.class);
+      if (k < 1) {
+         throw new IllegalArgumentException("Number of heavy hitters " + k + " is not positive.");
+      }
+      this.k = k;
+   }
+
+   /**
+    * Returns the number of values that are returned by this aggregation function.
+    *
+    * @return number of values
+    */
+   public int getK() {
+      return this.k;
+   }
+
+   @Override
+   public Aggregator get() {
+      return new HeavyHittersAggregator();
+   }
+
+   /**
+    * Aggregator that keeps the most frequent values according to a Count-Min sketch.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private class HeavyHittersAggregator implements MergeableAggregator {
+
+      /** Counters of the Count-Min sketch, one row after the other. */
+      private final long[] counters = new long[DEPTH * WIDTH];
+      /** Candidate values. */
+      private final Object[] candidates = new Object[HeavyHittersAggregationFunction.this.k];
+      /** Estimated frequencies of the candidate values. */
+      private final long[] frequencies = new long[HeavyHittersAggregationFunction.this.k];
+      /** Number of candidate values. */
+      private int size = 0;
+
+      @Override
+      public boolean update(final Object value) {
+         if (value != null) {
+            final long estimate = this.add(SketchHashing.hash(value), 1);
+            return this.offer(value, estimate);
+         }
+         return false;
+      }
+
+      @Override
+      public void merge(final Aggregator aggregator) {
+         final HeavyHittersAggregator other = (HeavyHittersAggregator) aggregator;
+         for (int i = 0; i < this.counters.length; i++) {
+            this.counters[i] += other.counters[i];
+         }
+         // the merged sketch may rank the candidates of both aggregators differently
+         final Object[] values = Arrays.copyOf(this.candidates, this.size + other.size);
+         System.arraycopy(other.candidates, 0, values, this.size, other.size);
+         this.size = 0;
+         for (final Object value : values) {
+            this.offer(value, this.add(SketchHashing.hash(value), 0));
+         }
+      }
+
+      @Override
+      public List<Object> getValue() {
+         final Integer[] order = new Integer[this.size];
+         for (int i = 0; i < order.length; i++) {
+            order[i] = Integer.valueOf(i);
+         }
+         Arrays.sort(order, (first, second) -> Long.compare(this.frequencies[second],
+               this.frequencies[first]));
+         final List<Object> result = new ArrayList<>(order.length);
+         for (final Integer i : order) {
+            result.add(this.candidates[i]);
+         }
+         return result;
+      }
+
+      /**
+       * Adds the given number of occurrences of the value with the given hash code to the sketch.
+       *
+       * @param hash
+       *           hash code of the value
+       * @param occurrences
+       *           number of occurrences
+       * @return estimated frequency of the value
+       */
+      private long add(final long hash, final long occurrences) {
+         long estimate = Long.MAX_VALUE;
+         for (int row = 0; row < DEPTH; row++) {
+            // each row uses a different 16-bit slice of the hash code
+            final int counter = row * WIDTH + (int) ((hash >>> (row * 16)) & (WIDTH - 1));
+            this.counters[counter] += occurrences;
+            estimate = Math.min(estimate, this.counters[counter]);
+         }
+         return estimate;
+      }
+
+      /**
+       * Offers the given value as a candidate. The value replaces the least frequent candidate, if there are
+       * already {@code k} candidates and its estimated frequency is higher.
+       *
+       * @param value
+       *           value object
+       * @param estimate
+       *           estimated frequency of the value
+       * @return {@code true} if the value is a candidate, {@code false} otherwise
+       */
+      private boolean offer(final Object value, final long estimate) {
+         int minimum = -1;
+         for (int i = 0; i < this.size; i++) {
+            if (this.candidates[i].equals(value)) {
+               this.frequencies[i] = estimate;
+               return true;
+            }
+            if (minimum == -1 || this.frequencies[i] < this.frequencies[minimum]) {
+               minimum = i;
+            }
+         }
+         if (this.size < this.candidates.length) {
+            this.candidates[this.size] = value;
+            this.frequencies[this.size++] = estimate;
+            return true;
+         } else if (estimate > this.frequencies[minimum]) {
+            this.candidates[minimum] = value;
+            this.frequencies[minimum] = estimate;
+            return true;
+         }
+         return false;
+      }
+   }
+}
@@ -0,0 +1,40 @@
+/*
+ * @(#)InvertibleAggregator.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.function;
+
+/**
+ * Interface describing a mergeable aggregator that can also remove a partial aggregate that has previously
+ * been merged into its aggregated value.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public interface InvertibleAggregator extends MergeableAggregator {
+
+   /**
+    * Removes the partial aggregate of the given aggregator from the aggregated value of this aggregator. The
+    * partial aggregate must have been merged into this aggregator before. The given aggregator is not
+    * modified.
+    *
+    * @param aggregator
+    *           aggregator of the same aggregation function
+    */
+   void subtract(Aggregator aggregator);
+
+   /**
+    * Removes the given value from the aggregated value of this aggregator, e.g., when the value is evicted
+    * from a window. The value must have been passed to one of the update methods before.
+    *
+    * @param value
+    *           value object
+    * @return {@code true} if the aggregation value has changed, {@code false} otherwise
+    */
+   boolean retract(Object value);
+}
@@ -0,0 +1,29 @@
+/*
+ * @(#)MergeableAggregator.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.function;
+
+/**
+ * Interface describing an aggregator that can combine its partial aggregate with the partial aggregate of
+ * another aggregator of the same aggregation function.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public interface MergeableAggregator extends Aggregator {
+
+   /**
+    * Merges the partial aggregate of the given aggregator into the aggregated value of this aggregator. The
+    * given aggregator is not modified.
+    *
+    * @param aggregator
+    *           aggregator of the same aggregation function
+    */
+   void merge(Aggregator aggregator);
+}
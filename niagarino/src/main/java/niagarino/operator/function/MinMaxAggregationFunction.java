@@ -9,6 +9,8 @@
  */
 package niagarino.operator.function;
 
+import java.util.Arrays;
+
 /**
  * Implementation of the {@code MIN} and {@code MAX} built-in aggregation function.
  *
@@ -40,13 +42,18 @@ public class MinMaxAggregationFunction extends AbstractAggregationFunction {
       }
    }
 
+   @Override
+   public GroupAggregator createGroupAggregator() {
+      return new MinMaxGroupAggregator(this.getType() == Type.MIN);
+   }
+
    /**
     * Minimum aggregator.
     *
     * @author Michael Grossniklaus &lt;michael.grossniklaus@uni-konstanz.de&gt;
     * @version 1.0
     */
-   private class MinAggregator implements Aggregator {
+   private class MinAggregator implements MergeableAggregator {
 
       /** Minimum value. */
       private double minimum = Double.POSITIVE_INFINITY;
@@ -56,15 +63,33 @@ public class MinMaxAggregationFunction extends AbstractAggregationFunction {
       @Override
       public boolean update(final Object value) {
          if (value != null) {
-            final double old = this.minimum;
-            final double v = ((Number) value).doubleValue();
-            this.minimum = Math.min(this.minimum, v);
-            this.isNull = false;
-            return old != this.minimum;
+            return this.update(((Number) value).doubleValue());
          }
          return false;
       }
 
+      @Override
+      public boolean update(final double value) {
+         final double old = this.minimum;
+         this.minimum = Math.min(this.minimum, value);
+         this.isNull = false;
+         return old != this.minimum;
+      }
+
+      @Override
+      public boolean update(final long value) {
+         return this.update((double) value);
+      }
+
+      @Override
+      public void merge(final Aggregator aggregator) {
+         final MinAggregator other = (MinAggregator) aggregator;
+         if (!other.isNull) {
+            this.minimum = Math.min(this.minimum, other.minimum);
+            this.isNull = false;
+         }
+      }
+
       @Override
       public Double getValue() {
          return this.isNull ? null : Double.valueOf(this.minimum);
@@ -77,7 +102,7 @@ public class MinMaxAggregationFunction extends AbstractAggregationFunction {
     * @author Michael Grossniklaus &lt;michael.grossniklaus@uni-konstanz.de&gt;
     * @version 1.0
     */
-   private class MaxAggregator implements Aggregator {
+   private class MaxAggregator implements MergeableAggregator {
 
       /** Maximum value. */
       private double maximum = Double.NEGATIVE_INFINITY;
@@ -87,18 +112,124 @@ public class MinMaxAggregationFunction extends AbstractAggregationFunction {
       @Override
       public boolean update(final Object value) {
          if (value != null) {
-            final double old = this.maximum;
-            final double v = ((Number) value).doubleValue();
-            this.maximum = Math.max(this.maximum, v);
-            this.isNull = false;
-            return old != this.maximum;
+            return this.update(((Number) value).doubleValue());
          }
          return false;
       }
 
+      @Override
+      public boolean update(final double value) {
+         final double old = this.maximum;
+         this.maximum = Math.max(this.maximum, value);
+         this.isNull = false;
+         return old != this.maximum;
+      }
+
+      @Override
+      public boolean update(final long value) {
+         return this.update((double) value);
+      }
+
+      @Override
+      public void merge(final Aggregator aggregator) {
+         final MaxAggregator other = (MaxAggregator) aggregator;
+         if (!other.isNull) {
+            this.maximum = Math.max(this.maximum, other.maximum);
+            this.isNull = false;
+         }
+      }
+
       @Override
       public Double getValue() {
          return this.isNull ? null : Double.valueOf(this.maximum);
       }
    }
+
+   /**
+    * Group aggregator that stores the minimum or maximum of each group in a primitive array.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private class MinMaxGroupAggregator implements GroupAggregator {
+
+      /** Flag that indicates whether the minimum or the maximum is computed. */
+      private final boolean min;
+      /** Minimum or maximum values. */
+      private double[] extrema;
+      /** Flags to check whether the value of a group is not {@code null}. */
+      private boolean[] present;
+
+      /**
+       * Creates a new group aggregator that computes the minimum or maximum.
+       *
+       * @param min
+       *           {@code true} to find the minimum, {@code false} to find the maximum
+       */
+      private MinMaxGroupAggregator(final boolean min) {
+         this.min = min;
+         this.extrema = new double[0];
+         this.present = new boolean[0];
+      }
+
+      @Override
+      public void resize(final int capacity) {
+         final int size = this.extrema.length;
+         this.extrema = Arrays.copyOf(this.extrema, capacity);
+         this.present = Arrays.copyOf(this.present, capacity);
+         for (int group = size; group < capacity; group++) {
+            this.reset(group);
+         }
+      }
+
+      @Override
+      public boolean isNumeric() {
+         return true;
+      }
+
+      @Override
+      public boolean update(final int group, final Object value) {
+         if (value != null) {
+            return this.update(group, ((Number) value).doubleValue());
+         }
+         return false;
+      }
+
+      @Override
+      public boolean update(final int group, final double value) {
+         final double old = this.extrema[group];
+         if (this.min) {
+            this.extrema[group] = Math.min(old, value);
+         } else {
+            this.extrema[group] = Math.max(old, value);
+         }
+         this.present[group] = true;
+         return old != this.extrema[group];
+      }
+
+      @Override
+      public void merge(final int group, final GroupAggregator aggregator, final int other) {
+         final MinMaxGroupAggregator partial = (MinMaxGroupAggregator) aggregator;
+         if (partial.present[other]) {
+            this.update(group, partial.extrema[other]);
+         }
+      }
+
+      @Override
+      public void subtract(final int group, final GroupAggregator aggregator, final int other) {
+         throw new UnsupportedOperationException("Aggregation function "
+               + MinMaxAggregationFunction.this.getName() + " is not invertible.");
+      }
+
+      @Override
+      public void reset(final int group) {
+         this.extrema[group] = this.min ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+         this.present[group] = false;
+      }
+
+      @Override
+      public Double getValue(final int group) {
+         return this.present[group] ? Double.valueOf(this.extrema[group]) : null;
+      }
+   }
 }
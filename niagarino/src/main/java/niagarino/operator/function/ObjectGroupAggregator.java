@@ -0,0 +1,113 @@
+/*
+ * @(#)ObjectGroupAggregator.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.function;
+
+import java.util.Arrays;
+
+/**
+ * Group aggregator that keeps one {@link Aggregator} object per group. It is used for aggregation functions,
+ * such as user-defined functions, that do not provide a specialized group aggregator. By default, the
+ * aggregators receive the original value objects. Aggregation functions whose aggregators implement the
+ * unboxed updates opt in to receiving numeric values unboxed.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+final class ObjectGroupAggregator implements GroupAggregator {
+
+   /** Aggregation function that supplies the aggregators. */
+   private final AggregationFunction function;
+   /** Aggregators indexed by group number, created on first access. */
+   private Aggregator[] aggregators;
+   /** Indicates whether numeric values are passed to the aggregators unboxed. */
+   private final boolean numeric;
+
+   /**
+    * Creates a new group aggregator for the given aggregation function that passes the original value
+    * objects.
+    *
+    * @param function
+    *           aggregation function
+    */
+   ObjectGroupAggregator(final AggregationFunction function) {
+      this(function, false);
+   }
+
+   /**
+    * Creates a new group aggregator for the given aggregation function.
+    *
+    * @param function
+    *           aggregation function
+    * @param numeric
+    *           {@code true} if numeric values are passed unboxed, {@code false} if the aggregators receive
+    *           the original value objects
+    */
+   ObjectGroupAggregator(final AggregationFunction function, final boolean numeric) {
+      this.function = function;
+      this.aggregators = new Aggregator[0];
+      this.numeric = numeric;
+   }
+
+   @Override
+   public void resize(final int capacity) {
+      this.aggregators = Arrays.copyOf(this.aggregators, capacity);
+   }
+
+   @Override
+   public boolean isNumeric() {
+      return this.numeric;
+   }
+
+   @Override
+   public boolean update(final int group, final Object value) {
+      return this.get(group).update(value);
+   }
+
+   @Override
+   public boolean update(final int group, final double value) {
+      return this.get(group).update(value);
+   }
+
+   @Override
+   public Object getValue(final int group) {
+      return this.get(group).getValue();
+   }
+
+   @Override
+   public void merge(final int group, final GroupAggregator aggregator, final int other) {
+      ((MergeableAggregator) this.get(group)).merge(((ObjectGroupAggregator) aggregator).get(other));
+   }
+
+   @Override
+   public void subtract(final int group, final GroupAggregator aggregator, final int other) {
+      ((InvertibleAggregator) this.get(group)).subtract(((ObjectGroupAggregator) aggregator).get(other));
+   }
+
+   @Override
+   public void reset(final int group) {
+      this.aggregators[group] = null;
+   }
+
+   /**
+    * Returns the aggregator of the given group, creating it if necessary.
+    *
+    * @param group
+    *           group number
+    * @return aggregator
+    */
+   private Aggregator get(final int group) {
+      Aggregator aggregator = this.aggregators[group];
+      if (aggregator == null) {
+         aggregator = this.function.get();
+         this.aggregators[group] = aggregator;
+      }
+      return aggregator;
+   }
+}
@@ -0,0 +1,233 @@
+/*
+ * @(#)QuantileAggregationFunction.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.function;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Implementation of the {@code MEDIAN} and {@code PERCENTILE} built-in aggregation functions. The quantile of
+ * the non-{@code null} values is estimated with a KLL sketch, which keeps a fixed number of samples in a
+ * hierarchy of compactors. Whenever the sketch is full, the lowest full compactor is sorted and every other
+ * of its samples is promoted to the next compactor with twice the weight. The rank of the returned value
+ * deviates from the rank of the exact quantile by less than 2% of the number of values. Sketches of partial
+ * aggregates can be merged.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class QuantileAggregationFunction extends AbstractAggregationFunction {
+
+   /** Capacity of the top compactor. */
+   private static final int K = 200;
+   /** Minimal capacity of a compactor. */
+   private static final int MIN_CAPACITY = 8;
+   /** Ratio between the capacities of two consecutive compactors. */
+   private static final double CAPACITY_RATIO = 2.0 / 3.0;
+
+   /** Quantile that is computed by this aggregation function. */
+   private final double quantile;
+
+   /**
+    * Constructs a new {@code MEDIAN} built-in aggregation function.
+    */
+   QuantileAggregationFunction() {
+      super(Type.MEDIAN, Double.class);
+      this.quantile = 0.5;
+   }
+
+   /**
+    * Constructs a new {@code PERCENTILE} built-in aggregation function that computes the given quantile. The
+    * name of the function includes the quantile as a percentage, e.g., {@code PERCENTILE95}.
+    *
+    * @param quantile
+    *           quantile between 0 and 1
+    */
+   QuantileAggregationFunction(final double quantile) {
+      super(Type.PERCENTILE, Type.PERCENTILE.name() + BigDecimal.valueOf(quantile).movePointRight(2)
+            .stripTrailingZeros().toPlainString(), Double.class);
+      if (quantile < 0.0 || quantile > 1.0) {
+         throw new IllegalArgumentException("Quantile " + quantile + " is not between 0 and 1.");
+      }
+      this.quantile = quantile;
+   }
+
+   /**
+    * Returns the quantile that is computed by this aggregation function.
+    *
+    * @return quantile between 0 and 1
+    */
+   public double getQuantile() {
+      return this.quantile;
+   }
+
+   @Override
+   public Aggregator get() {
+      return new QuantileAggregator();
+   }
+
+   @Override
+   public GroupAggregator createGroupAggregator() {
+      return new ObjectGroupAggregator(this, true);
+   }
+
+   /**
+    * Aggregator that estimates a quantile with a KLL sketch.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private class QuantileAggregator implements MergeableAggregator {
+
+      /** Samples of each compactor, where the samples of compactor {@code h} have weight 2^h. */
+      private double[][] levels = new double[][] { new double[MIN_CAPACITY] };
+      /** Number of samples of each compactor. */
+      private int[] sizes = new int[1];
+      /** Capacity of each compactor. */
+      private int[] capacities = new int[] { K };
+      /** Total number of samples. */
+      private int size = 0;
+      /** Total capacity of all compactors. */
+      private int capacity = K;
+      /** Number of aggregated values. */
+      private long count = 0;
+      /** State of the generator that chooses which samples of a compactor are promoted. */
+      private long random = 0x2545f4914f6cdd1dL;
+
+      @Override
+      public boolean update(final Object value) {
+         if (value != null) {
+            return this.update(((Number) value).doubleValue());
+         }
+         return false;
+      }
+
+      @Override
+      public boolean update(final double value) {
+         this.append(0, value);
+         this.size++;
+         this.count++;
+         if (this.size >= this.capacity) {
+            this.compact();
+         }
+         return true;
+      }
+
+      @Override
+      public boolean update(final long value) {
+         return this.update((double) value);
+      }
+
+      @Override
+      public void merge(final Aggregator aggregator) {
+         final QuantileAggregator other = (QuantileAggregator) aggregator;
+         while (this.levels.length < other.levels.length) {
+            this.grow();
+         }
+         for (int level = 0; level < other.levels.length; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+               this.append(level, other.levels[level][i]);
+            }
+         }
+         this.size += other.size;
+         this.count += other.count;
+         while (this.size >= this.capacity) {
+            this.compact();
+         }
+      }
+
+      @Override
+      public Double getValue() {
+         if (this.count == 0) {
+            return null;
+         }
+         final int[] positions = new int[this.levels.length];
+         for (int level = 0; level < this.levels.length; level++) {
+            Arrays.sort(this.levels[level], 0, this.sizes[level]);
+         }
+         // merges the sorted compactors until the cumulative weight exceeds the rank of the quantile
+         final long rank = (long) Math.floor(QuantileAggregationFunction.this.quantile * (this.count - 1));
+         long weight = 0;
+         while (true) {
+            int next = -1;
+            for (int level = 0; level < this.levels.length; level++) {
+               if (positions[level] < this.sizes[level] && (next == -1
+                     || this.levels[level][positions[level]] < this.levels[next][positions[next]])) {
+                  next = level;
+               }
+            }
+            weight += 1L << next;
+            if (weight > rank || weight >= this.count) {
+               return Double.valueOf(this.levels[next][positions[next]]);
+            }
+            positions[next]++;
+         }
+      }
+
+      /**
+       * Appends the given sample to the given compactor.
+       *
+       * @param level
+       *           compactor
+       * @param value
+       *           sample
+       */
+      private void append(final int level, final double value) {
+         if (this.sizes[level] == this.levels[level].length) {
+            this.levels[level] = Arrays.copyOf(this.levels[level], this.sizes[level] * 2);
+         }
+         this.levels[level][this.sizes[level]++] = value;
+      }
+
+      /**
+       * Adds a new top compactor and recomputes the capacities of all compactors.
+       */
+      private void grow() {
+         final int height = this.levels.length + 1;
+         this.levels = Arrays.copyOf(this.levels, height);
+         this.levels[height - 1] = new double[MIN_CAPACITY];
+         this.sizes = Arrays.copyOf(this.sizes, height);
+         this.capacities = new int[height];
+         this.capacity = 0;
+         for (int level = 0; level < height; level++) {
+            this.capacities[level] = Math.max(MIN_CAPACITY, (int) Math.ceil(K
+                  * Math.pow(CAPACITY_RATIO, height - level - 1)));
+            this.capacity += this.capacities[level];
+         }
+      }
+
+      /**
+       * Compacts the lowest full compactor by promoting every other of its sorted samples to the next
+       * compactor.
+       */
+      private void compact() {
+         int level = 0;
+         while (this.sizes[level] < this.capacities[level]) {
+            level++;
+         }
+         if (level == this.levels.length - 1) {
+            this.grow();
+         }
+         final double[] samples = this.levels[level];
+         final int length = this.sizes[level];
+         Arrays.sort(samples, 0, length);
+         // an odd sample stays in this compactor
+         final int start = length % 2;
+         this.random ^= this.random << 13;
+         this.random ^= this.random >>> 7;
+         this.random ^= this.random << 17;
+         for (int i = start + (int) (this.random >>> 63); i < length; i += 2) {
+            this.append(level + 1, samples[i]);
+         }
+         this.sizes[level] = start;
+         this.size -= (length - start) / 2;
+      }
+   }
+}
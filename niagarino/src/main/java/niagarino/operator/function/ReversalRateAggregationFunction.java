@@ -32,49 +32,123 @@ public class ReversalRateAggregationFunction extends AbstractAggregationFunction
       return new ReversalRateAggregator();
    }
 
+   @Override
+   public GroupAggregator createGroupAggregator() {
+      return new ObjectGroupAggregator(this, true);
+   }
+
+   /**
+    * Checks whether the given trend is a change of the given previous trend.
+    *
+    * @param previousTrend
+    *           previous trend
+    * @param trend
+    *           current trend
+    * @return <code>true</code> if the trend has changed, <code>false</code> otherwise
+    */
+   private static boolean isReversal(final double previousTrend, final double trend) {
+      return trend > 0 && previousTrend < 0 || trend < 0 && previousTrend > 0;
+   }
+
    /**
-    * Reversal-rate aggregator.
+    * Reversal-rate aggregator. Partial aggregates can be merged if the values of the merged aggregator
+    * follow the values of this aggregator in the time-series, which is the case when merging the slices of a
+    * window in ascending order. To that end, the aggregator keeps the number of trend changes instead of the
+    * rate, as well as the values and trends at both ends of its part of the time-series.
     *
     * @author Michael Grossniklaus &lt;michael.grossniklaus@uni-konstanz.de&gt;
     * @version 1.0
     */
-   private class ReversalRateAggregator implements Aggregator {
+   private class ReversalRateAggregator implements MergeableAggregator {
 
-      /** Sum value. */
-      private double rate = 0.0;
+      /** Number of trend changes. */
+      private long reversals = 0;
       /** Count value. */
       private long count = 0;
+      /** First value. */
+      private double firstValue = 0.0;
+      /** Second value, if at least two values have been aggregated. */
+      private double secondValue = 0.0;
       /** Previous value. */
       private double previousValue = 0.0;
       /** Previous trend. */
       private double previousTrend = 0.0;
-      /** Flag to check whether the reversal-rate value is {@code null}. */
-      private boolean isNull = true;
 
       @Override
       public boolean update(final Object value) {
          if (value != null) {
-            final double old = this.rate;
-            final double v = ((Number) value).doubleValue();
-            final double trend = v - this.previousValue;
-            int increment = 0;
-            if (trend > 0 && this.previousTrend < 0 || trend < 0 && this.previousTrend > 0) {
-               // trend has changed
-               increment = 1;
+            return this.update(((Number) value).doubleValue());
+         }
+         return false;
+      }
+
+      @Override
+      public boolean update(final double value) {
+         final Double old = this.getValue();
+         final double trend = value - this.previousValue;
+         if (ReversalRateAggregationFunction.isReversal(this.previousTrend, trend)) {
+            this.reversals++;
+         }
+         if (this.count == 0) {
+            this.firstValue = value;
+         } else if (this.count == 1) {
+            this.secondValue = value;
+         }
+         this.previousTrend = trend;
+         this.previousValue = value;
+         this.count++;
+         return !this.getValue().equals(old);
+      }
+
+      @Override
+      public boolean update(final long value) {
+         return this.update((double) value);
+      }
+
+      @Override
+      public void merge(final Aggregator aggregator) {
+         final ReversalRateAggregator other = (ReversalRateAggregator) aggregator;
+         if (other.count == 0) {
+            return;
+         }
+         if (this.count == 0) {
+            this.reversals = other.reversals;
+            this.count = other.count;
+            this.firstValue = other.firstValue;
+            this.secondValue = other.secondValue;
+            this.previousValue = other.previousValue;
+            this.previousTrend = other.previousTrend;
+            return;
+         }
+         // the first trend of the other values now starts at the last value of this aggregator
+         final double trend = other.firstValue - this.previousValue;
+         long reversals = this.reversals + other.reversals;
+         if (ReversalRateAggregationFunction.isReversal(this.previousTrend, trend)) {
+            reversals++;
+         }
+         if (other.count > 1) {
+            final double secondTrend = other.secondValue - other.firstValue;
+            if (ReversalRateAggregationFunction.isReversal(other.firstValue, secondTrend)) {
+               reversals--;
             }
-            this.rate = this.rate + (increment - this.rate) / (this.count + 1);
+            if (ReversalRateAggregationFunction.isReversal(trend, secondTrend)) {
+               reversals++;
+            }
+            this.previousTrend = other.previousTrend;
+         } else {
             this.previousTrend = trend;
-            this.previousValue = v;
-            this.count++;
-            this.isNull = false;
-            return old != this.rate;
          }
-         return false;
+         if (this.count == 1) {
+            this.secondValue = other.firstValue;
+         }
+         this.reversals = reversals;
+         this.count += other.count;
+         this.previousValue = other.previousValue;
       }
 
       @Override
       public Double getValue() {
-         return this.isNull ? null : Double.valueOf(this.rate);
+         return this.count == 0 ? null : Double.valueOf((double) this.reversals / this.count);
       }
    }
 }
@@ -0,0 +1,89 @@
+/*
+ * @(#)SketchHashing.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.function;
+
+/**
+ * Utility class providing the 64-bit hash function that is used by the sketch-based aggregation functions.
+ * Floating point numbers are hashed by their double value and all other numbers by their long value, so
+ * that a value hashes to the same code regardless of whether it is passed boxed or as a primitive. Longs are
+ * not converted to doubles, which would map distinct values above 2<sup>53</sup> to the same code.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+final class SketchHashing {
+
+   /**
+    * Hidden constructor.
+    */
+   private SketchHashing() {
+      // prevent instantiation
+   }
+
+   /**
+    * Returns the 64-bit hash code of the given non-{@code null} value.
+    *
+    * @param value
+    *           value object
+    * @return hash code
+    */
+   static long hash(final Object value) {
+      if (value instanceof Double || value instanceof Float) {
+         return hash(((Number) value).doubleValue());
+      } else if (value instanceof Number) {
+         return hash(((Number) value).longValue());
+      } else if (value instanceof String) {
+         final String string = (String) value;
+         long hash = 0x9e3779b97f4a7c15L ^ string.length();
+         for (int i = 0; i < string.length(); i++) {
+            hash = (hash ^ string.charAt(i)) * 0x100000001b3L;
+         }
+         return mix(hash);
+      }
+      return mix(value.hashCode());
+   }
+
+   /**
+    * Returns the 64-bit hash code of the given integral value.
+    *
+    * @param value
+    *           integral value
+    * @return hash code
+    */
+   static long hash(final long value) {
+      return mix(value);
+   }
+
+   /**
+    * Returns the 64-bit hash code of the given floating point value.
+    *
+    * @param value
+    *           floating point value
+    * @return hash code
+    */
+   static long hash(final double value) {
+      // +0.0 and -0.0 are equal values
+      return mix(Double.doubleToLongBits(value == 0.0 ? 0.0 : value));
+   }
+
+   /**
+    * Scrambles the bits of the given value with the finalizer of the SplitMix64 generator.
+    *
+    * @param value
+    *           value to scramble
+    * @return scrambled value
+    */
+   private static long mix(final long value) {
+      long z = value + 0x9e3779b97f4a7c15L;
+      z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+      z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+      return z ^ (z >>> 31);
+   }
+}
@@ -9,6 +9,8 @@
  */
 package niagarino.operator.function;
 
+import java.util.Arrays;
+
 /**
  * Implementation of the {@code SUM} built-in aggregation function.
  *
@@ -29,39 +31,189 @@ public class SumAggregationFunction extends AbstractAggregationFunction {
       return new SumAggregator();
    }
 
+   @Override
+   public GroupAggregator createGroupAggregator() {
+      return new SumGroupAggregator();
+   }
+
    /**
     * Sum aggregator that uses Kahan's method to incrementally compute a numerically stable sum.
     *
     * @author Michael Grossniklaus &lt;michael.grossniklaus@uni-konstanz.de&gt;
     * @version 1.0
     */
-   private class SumAggregator implements Aggregator {
+   private class SumAggregator implements InvertibleAggregator {
 
       /** Sum value. */
       private double sum = 0.0;
       /** Kahan's 'c' value. */
       private double c = 0.0;
-      /** Flag to check whether the sum value is {@code null}. */
-      private boolean isNull = true;
+      /** Number of summed values, the sum value is {@code null} if no values have been summed. */
+      private long count = 0;
 
       @Override
       public boolean update(final Object value) {
+         if (value != null) {
+            return this.update(((Number) value).doubleValue());
+         }
+         return false;
+      }
+
+      @Override
+      public boolean update(final double value) {
+         final double old = this.sum;
+         this.add(value);
+         this.count++;
+         return old != this.sum;
+      }
+
+      @Override
+      public boolean update(final long value) {
+         return this.update((double) value);
+      }
+
+      @Override
+      public boolean retract(final Object value) {
          if (value != null) {
             final double old = this.sum;
-            final double v = ((Number) value).doubleValue();
-            final double y = v - this.c;
-            final double t = this.sum + y;
-            this.c = t - this.sum - y;
-            this.sum = t;
-            this.isNull = false;
+            this.add(-((Number) value).doubleValue());
+            this.count--;
+            if (this.count == 0) {
+               this.sum = 0.0;
+               this.c = 0.0;
+               return true;
+            }
             return old != this.sum;
          }
          return false;
       }
 
+      @Override
+      public void merge(final Aggregator aggregator) {
+         final SumAggregator other = (SumAggregator) aggregator;
+         this.add(other.sum);
+         this.add(-other.c);
+         this.count += other.count;
+      }
+
+      @Override
+      public void subtract(final Aggregator aggregator) {
+         final SumAggregator other = (SumAggregator) aggregator;
+         this.add(-other.sum);
+         this.add(other.c);
+         this.count -= other.count;
+         if (this.count == 0) {
+            this.sum = 0.0;
+            this.c = 0.0;
+         }
+      }
+
+      /**
+       * Adds the given value to the sum value using Kahan's method.
+       *
+       * @param value
+       *           value to add
+       */
+      private void add(final double value) {
+         final double y = value - this.c;
+         final double t = this.sum + y;
+         this.c = t - this.sum - y;
+         this.sum = t;
+      }
+
       @Override
       public Double getValue() {
-         return this.isNull ? null : Double.valueOf(this.sum);
+         return this.count == 0 ? null : Double.valueOf(this.sum);
+      }
+   }
+
+   /**
+    * Group aggregator that stores the sum, Kahan's 'c' value, and count of each group in primitive arrays.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private class SumGroupAggregator implements GroupAggregator {
+
+      /** Sum values. */
+      private double[] sums = new double[0];
+      /** Kahan's 'c' values. */
+      private double[] cs = new double[0];
+      /** Number of summed values, the sum value of a group is {@code null} if it has no values. */
+      private long[] counts = new long[0];
+
+      @Override
+      public void resize(final int capacity) {
+         this.sums = Arrays.copyOf(this.sums, capacity);
+         this.cs = Arrays.copyOf(this.cs, capacity);
+         this.counts = Arrays.copyOf(this.counts, capacity);
+      }
+
+      @Override
+      public boolean isNumeric() {
+         return true;
+      }
+
+      @Override
+      public boolean update(final int group, final Object value) {
+         if (value != null) {
+            return this.update(group, ((Number) value).doubleValue());
+         }
+         return false;
+      }
+
+      @Override
+      public boolean update(final int group, final double value) {
+         final double old = this.sums[group];
+         this.add(group, value);
+         this.counts[group]++;
+         return old != this.sums[group];
+      }
+
+      @Override
+      public void merge(final int group, final GroupAggregator aggregator, final int other) {
+         final SumGroupAggregator partial = (SumGroupAggregator) aggregator;
+         this.add(group, partial.sums[other]);
+         this.add(group, -partial.cs[other]);
+         this.counts[group] += partial.counts[other];
+      }
+
+      @Override
+      public void subtract(final int group, final GroupAggregator aggregator, final int other) {
+         final SumGroupAggregator partial = (SumGroupAggregator) aggregator;
+         this.add(group, -partial.sums[other]);
+         this.add(group, partial.cs[other]);
+         this.counts[group] -= partial.counts[other];
+         if (this.counts[group] == 0) {
+            this.reset(group);
+         }
+      }
+
+      @Override
+      public void reset(final int group) {
+         this.sums[group] = 0.0;
+         this.cs[group] = 0.0;
+         this.counts[group] = 0;
+      }
+
+      /**
+       * Adds the given value to the sum value of the given group using Kahan's method.
+       *
+       * @param group
+       *           group number
+       * @param value
+       *           value to add
+       */
+      private void add(final int group, final double value) {
+         final double y = value - this.cs[group];
+         final double t = this.sums[group] + y;
+         this.cs[group] = t - this.sums[group] - y;
+         this.sums[group] = t;
+      }
+
+      @Override
+      public Double getValue(final int group) {
+         return this.counts[group] == 0 ? null : Double.valueOf(this.sums[group]);
       }
    }
 }
@@ -0,0 +1,33 @@
+/*
+ * @(#)BatchPredicate.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.predicate;
+
+import niagarino.stream.ColumnarPage;
+
+/**
+ * Selection predicate that can also be evaluated on all tuples of a columnar page at once.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public interface BatchPredicate extends Predicate {
+
+   /**
+    * Evaluates this predicate on all tuples of the given columnar page and stores the rows for which it holds
+    * in the given selection vector.
+    *
+    * @param page
+    *           columnar page
+    * @param selection
+    *           selection vector with at least as many entries as there are tuples in the page
+    * @return number of selected rows
+    */
+   int evaluate(ColumnarPage page, int[] selection);
+}
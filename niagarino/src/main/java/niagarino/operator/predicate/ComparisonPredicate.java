@@ -9,6 +9,7 @@
  */
 package niagarino.operator.predicate;
 
+import niagarino.stream.ColumnarPage;
 import niagarino.stream.DataTuple;
 import niagarino.stream.Schema;
 
@@ -17,7 +18,7 @@ import niagarino.stream.Schema;
  *
  * @author Maximilian Ortwein &lt;maximilian.ortwein@uni-konstanz.de&gt;
  */
-public class ComparisonPredicate implements Predicate {
+public class ComparisonPredicate implements BatchPredicate {
 
    /** Position of the attribute to which the predicate is applied. */
    private final int attributePosition;
@@ -70,26 +71,78 @@ public class ComparisonPredicate implements Predicate {
    public boolean evaluate(final DataTuple tuple) {
       final Number number = (Number) tuple.getAttributeValue(this.attributePosition);
       if (number != null) {
-         switch (this.operator) {
-            case LT:
-               return number.doubleValue() < this.value;
-            case GT:
-               return number.doubleValue() > this.value;
-            case LEQ:
-               return number.doubleValue() <= this.value;
-            case GEQ:
-               return number.doubleValue() >= this.value;
-            case NEQ:
-               return number.doubleValue() != this.value;
-            case EQ:
-               return number.doubleValue() == this.value;
-            default:
-               throw new RuntimeException("Operator not Supportet");
-         }
+         return this.compare(number.doubleValue());
       }
       return false;
    }
 
+   @Override
+   public int evaluate(final ColumnarPage page, final int[] selection) {
+      final int column = this.attributePosition;
+      final int size = page.size();
+      int count = 0;
+      switch (page.getColumnType(column)) {
+         case INT:
+            final int[] ints = page.getIntColumn(column);
+            for (int row = 0; row < size; row++) {
+               if (this.compare(ints[row]) && !page.isNull(column, row)) {
+                  selection[count++] = row;
+               }
+            }
+            break;
+         case LONG:
+            final long[] longs = page.getLongColumn(column);
+            for (int row = 0; row < size; row++) {
+               if (this.compare(longs[row]) && !page.isNull(column, row)) {
+                  selection[count++] = row;
+               }
+            }
+            break;
+         case DOUBLE:
+            final double[] doubles = page.getDoubleColumn(column);
+            for (int row = 0; row < size; row++) {
+               if (this.compare(doubles[row]) && !page.isNull(column, row)) {
+                  selection[count++] = row;
+               }
+            }
+            break;
+         default:
+            for (int row = 0; row < size; row++) {
+               final Number number = (Number) page.getValue(column, row);
+               if (number != null && this.compare(number.doubleValue())) {
+                  selection[count++] = row;
+               }
+            }
+      }
+      return count;
+   }
+
+   /**
+    * Compares the given attribute value to the constant value of this predicate.
+    *
+    * @param number
+    *           attribute value
+    * @return <code>true</code> if the comparison holds, <code>false</code> otherwise
+    */
+   private boolean compare(final double number) {
+      switch (this.operator) {
+         case LT:
+            return number < this.value;
+         case GT:
+            return number > this.value;
+         case LEQ:
+            return number <= this.value;
+         case GEQ:
+            return number >= this.value;
+         case NEQ:
+            return number != this.value;
+         case EQ:
+            return number == this.value;
+         default:
+            throw new RuntimeException("Operator not Supportet");
+      }
+   }
+
    /**
     * Enumeration of comparison operators.
     *
@@ -0,0 +1,95 @@
+/*
+ * @(#)ExpressionPredicate.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.predicate;
+
+import niagarino.operator.expression.Expression;
+import niagarino.operator.expression.ExpressionParser;
+import niagarino.operator.expression.PageRow;
+import niagarino.operator.expression.TupleRow;
+import niagarino.stream.Attribute;
+import niagarino.stream.ColumnarPage;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+
+/**
+ * Predicate that evaluates a boolean expression over the attributes of a tuple, e.g.,
+ * <code>type == 2 &amp;&amp; lane != 4</code>. The expression is compiled against the schema once, so that
+ * attribute values are accessed by position and without boxing. See {@link ExpressionParser} for the syntax
+ * of expressions.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ExpressionPredicate implements BatchPredicate {
+
+   /** Schema against which the expression has been compiled. */
+   private final Schema schema;
+   /** Compiled boolean expression. */
+   private final Expression expression;
+
+   /**
+    * Constructs a new predicate that evaluates the given expression over tuples of the given schema.
+    *
+    * @param schema
+    *           schema of the tuples
+    * @param expression
+    *           text of a boolean expression
+    * @throws IllegalArgumentException
+    *            if the expression is malformed or not a boolean expression
+    */
+   public ExpressionPredicate(final Schema schema, final String expression) {
+      this.schema = schema;
+      this.expression = ExpressionParser.parse(expression, schema.getAttributes());
+      if (this.expression.getType() != Expression.Type.BOOLEAN) {
+         throw new IllegalArgumentException("Expression '" + expression + "' is not a boolean expression.");
+      }
+   }
+
+   @Override
+   public boolean isApplicable(final Schema other) {
+      if (this.schema == other) {
+         return true;
+      }
+      if (this.schema.getSize() != other.getSize()) {
+         return false;
+      }
+      for (int i = 0; i < other.getSize(); i++) {
+         final Attribute attribute = this.schema.getAttribute(i);
+         if (!attribute.getName().equals(other.getAttribute(i).getName())
+               || !attribute.getType().equals(other.getAttribute(i).getType())) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   @Override
+   public boolean evaluate(final DataTuple tuple) {
+      return this.expression.evaluateBoolean(new TupleRow(tuple));
+   }
+
+   @Override
+   public int evaluate(final ColumnarPage page, final int[] selection) {
+      final PageRow row = new PageRow(page);
+      int count = 0;
+      for (int i = 0; i < page.size(); i++) {
+         row.setRow(i);
+         if (this.expression.evaluateBoolean(row)) {
+            selection[count++] = i;
+         }
+      }
+      return count;
+   }
+
+   @Override
+   public String toString() {
+      return this.expression.toString();
+   }
+}
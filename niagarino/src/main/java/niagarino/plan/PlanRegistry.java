@@ -0,0 +1,364 @@
+/*
+ * @(#)PlanRegistry.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.plan;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import niagarino.QueryException;
+import niagarino.operator.DynamicMultiplex;
+import niagarino.operator.Operator;
+import niagarino.runtime.PhysicalQueryPlan;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.stream.Stream;
+
+/**
+ * The plan registry runs the common prefixes of concurrently running query plans only once. Two operators of
+ * different plans are shared if they have the same key, i.e., the same operator type, parameters and input
+ * schema, and read from the same shared operator or are both sources. Each shared operator runs in a plan of
+ * its own, which ends in a {@link DynamicMultiplex} that fans out its output to the shared operators and the
+ * plans reading from it. Thus, a plan can be attached to and detached from a running shared prefix at any
+ * operator. A plan that is attached to a running prefix receives its output from the moment it was
+ * attached. Detaching a plan ends its input streams, so that it terminates, and stops the shared operators
+ * that are no longer read by any plan.<br />
+ * <br />
+ * Shared operators are only started once the registry has been started, so that plans that are attached
+ * before see the entire output of the prefix. Afterwards, shared operators are started as soon as a plan is
+ * attached to them.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class PlanRegistry {
+
+   /** Logger of this class. */
+   private static final Logger LOG = LogManager.getLogger(PlanRegistry.class);
+
+   /** Shared source operators by key. */
+   private final Map<String, Node> sources;
+   /** Nodes of all shared operators. */
+   private final Map<Operator, Node> nodes;
+   /** Streams from shared operators to attached plans, by plan id. */
+   private final Map<String, List<Attachment>> plans;
+   /** Indicates whether the registry has been started. */
+   private boolean started;
+
+   /**
+    * Constructs a new plan registry without any shared operators.
+    */
+   public PlanRegistry() {
+      this.sources = new HashMap<>();
+      this.nodes = new IdentityHashMap<>();
+      this.plans = new HashMap<>();
+      this.started = false;
+   }
+
+   /**
+    * Creates the query plan of the given XML reader, whose plan description has already been read, with the
+    * longest possible prefix shared with the other plans of this registry, and attaches it under the given
+    * id. The returned plan only contains the operators that are not shared and needs to be executed as
+    * usual.
+    *
+    * @param planId
+    *           id of the plan
+    * @param reader
+    *           XML reader that has read the plan description
+    * @return the operators of the plan that are not shared
+    */
+   public synchronized PhysicalQueryPlan attach(final String planId, final XMLReader reader) {
+      if (this.plans.containsKey(planId)) {
+         throw new IllegalArgumentException("Plan with id '" + planId + "' is already attached.");
+      }
+      return reader.createPlan(this, planId);
+   }
+
+   /**
+    * Returns the shared operator with the given key that reads from the given shared operator, or creates
+    * it using the given factory if there is no such operator. Shared operators whose input has ended are
+    * replaced.
+    *
+    * @param input
+    *           shared operator from which the operator reads, or {@code null} if it is a source
+    * @param key
+    *           key of the operator consisting of its type, parameters and input schema
+    * @param factory
+    *           factory that creates the operator
+    * @return shared operator
+    */
+   public synchronized Operator share(final Operator input, final String key,
+         final Supplier<Operator> factory) {
+      final Node parent = input == null ? null : this.getNode(input);
+      final Map<String, Node> siblings = parent == null ? this.sources : parent.children;
+      Node node = siblings.get(key);
+      if (node == null || node.multiplex.isClosed()) {
+         node = new Node(parent, key, factory.get());
+         siblings.put(key, node);
+         this.nodes.put(node.operator, node);
+      }
+      return node.operator;
+   }
+
+   /**
+    * Checks whether the given operator is shared by this registry.
+    *
+    * @param operator
+    *           operator
+    * @return {@code true} if the operator is shared, {@code false} otherwise
+    */
+   public synchronized boolean isShared(final Operator operator) {
+      return this.nodes.containsKey(operator);
+   }
+
+   /**
+    * Attaches the given operator of the plan with the given id to the output of the given shared operator.
+    * The operator must be a source of its plan and not yet be running.
+    *
+    * @param planId
+    *           id of the plan
+    * @param shared
+    *           shared operator
+    * @param operator
+    *           operator that reads the output of the shared operator
+    */
+   public synchronized void connect(final String planId, final Operator shared, final Operator operator) {
+      final Node node = this.getNode(shared);
+      final Stream stream = this.attach(node, operator);
+      List<Attachment> attachments = this.plans.get(planId);
+      if (attachments == null) {
+         attachments = new ArrayList<>();
+         this.plans.put(planId, attachments);
+      }
+      attachments.add(new Attachment(node, stream));
+   }
+
+   /**
+    * Detaches the plan with the given id from the shared operators. The plan terminates once it has
+    * processed the stream elements that it has already received. Shared operators that are no longer read by
+    * any plan are stopped.
+    *
+    * @param planId
+    *           id of the plan
+    */
+   public synchronized void detach(final String planId) {
+      final List<Attachment> attachments = this.plans.remove(planId);
+      if (attachments == null) {
+         throw new IllegalArgumentException("Plan with id '" + planId + "' is not attached.");
+      }
+      for (final Attachment attachment : attachments) {
+         this.detach(attachment.node, attachment.stream);
+      }
+   }
+
+   /**
+    * Starts all shared operators that have been attached so far. Shared operators to which plans are
+    * attached afterwards are started immediately.
+    */
+   public synchronized void start() {
+      this.started = true;
+      for (final Node node : this.nodes.values()) {
+         if (node.plan != null && node.thread == null) {
+            this.start(node);
+         }
+      }
+   }
+
+   /**
+    * Returns the number of shared operators that are currently read by at least one plan.
+    *
+    * @return number of shared operators
+    */
+   public synchronized int getSharedOperatorCount() {
+      int count = 0;
+      for (final Node node : this.nodes.values()) {
+         if (node.attachments > 0) {
+            count++;
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Returns the node of the given shared operator.
+    *
+    * @param operator
+    *           shared operator
+    * @return node of the operator
+    */
+   private Node getNode(final Operator operator) {
+      final Node node = this.nodes.get(operator);
+      if (node == null) {
+         throw new IllegalArgumentException("Operator '" + operator.getName() + "' is not shared.");
+      }
+      return node;
+   }
+
+   /**
+    * Attaches a new stream from the output of the given node to the given operator. The operator is
+    * registered as the consumer of the stream before the stream is attached, so that a running shared
+    * operator never pushes onto a stream without a consumer. The plan of the node is created when the first
+    * stream is attached, which in turn attaches the node to the output of its parent node.
+    *
+    * @param node
+    *           node of the shared operator
+    * @param operator
+    *           operator that reads from the stream
+    * @return attached stream
+    */
+   private Stream attach(final Node node, final Operator operator) {
+      if (node.multiplex.isClosed()) {
+         throw new IllegalStateException("Operator '" + node.operator.getName() + "' has already ended.");
+      }
+      final Stream stream = new Stream();
+      operator.addInputStream(stream);
+      if (!node.multiplex.attach(stream)) {
+         throw new IllegalStateException("Operator '" + node.operator.getName() + "' has already ended.");
+      }
+      node.attachments++;
+      if (node.plan == null) {
+         node.plan = new PhysicalQueryPlan();
+         node.plan.addOperator(node.operator, OperatorType.SOURCE);
+         node.plan.addOperator(node.multiplex, OperatorType.SINK);
+         node.plan.addStream(node.operator, node.multiplex);
+         if (node.parent != null) {
+            node.input = this.attach(node.parent, node.operator);
+         }
+         if (this.started) {
+            this.start(node);
+         }
+      }
+      return stream;
+   }
+
+   /**
+    * Detaches the given stream from the output of the given node. If the node is no longer read, it is
+    * removed and detached from its parent node.
+    *
+    * @param node
+    *           node of the shared operator
+    * @param stream
+    *           attached stream
+    */
+   private void detach(final Node node, final Stream stream) {
+      node.multiplex.detach(stream);
+      if (--node.attachments == 0) {
+         final Map<String, Node> siblings = node.parent == null ? this.sources : node.parent.children;
+         if (siblings.get(node.key) == node) {
+            siblings.remove(node.key);
+         }
+         this.nodes.remove(node.operator);
+         if (node.parent != null) {
+            this.detach(node.parent, node.input);
+         }
+      }
+   }
+
+   /**
+    * Executes the plan of the given node in a thread of its own.
+    *
+    * @param node
+    *           node of the shared operator
+    */
+   private void start(final Node node) {
+      final PhysicalQueryPlan plan = node.plan;
+      node.thread = new Thread(() -> {
+         try {
+            plan.execute();
+         } catch (final QueryException e) {
+            LOG.error("Shared operator '" + node.operator.getName() + "' failed.", e);
+         }
+      });
+      node.thread.setName(node.operator.getName() + "-shared");
+      node.thread.start();
+   }
+
+   /**
+    * Node of a shared operator in the tree of shared prefixes.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static final class Node {
+
+      /** Node of the shared operator from which this operator reads, or {@code null} for sources. */
+      private final Node parent;
+      /** Key of the shared operator. */
+      private final String key;
+      /** Shared operator. */
+      private final Operator operator;
+      /** Multiplex that fans out the output of the shared operator. */
+      private final DynamicMultiplex multiplex;
+      /** Nodes of the shared operators that read from this operator by key. */
+      private final Map<String, Node> children;
+      /** Number of streams that are attached to the output of the shared operator. */
+      private int attachments;
+      /** Plan that runs the shared operator, or {@code null} if no stream has been attached yet. */
+      private PhysicalQueryPlan plan;
+      /** Stream from which the shared operator reads, or {@code null} for sources. */
+      private Stream input;
+      /** Thread that executes the plan, or {@code null} if it has not been started yet. */
+      private Thread thread;
+
+      /**
+       * Constructs a new node for the given shared operator.
+       *
+       * @param parent
+       *           node of the shared operator from which the operator reads, or {@code null} for sources
+       * @param key
+       *           key of the shared operator
+       * @param operator
+       *           shared operator
+       */
+      private Node(final Node parent, final String key, final Operator operator) {
+         this.parent = parent;
+         this.key = key;
+         this.operator = operator;
+         this.multiplex = new DynamicMultiplex(operator.getName() + "-multiplex", operator.getOutputSchema());
+         this.children = new HashMap<>();
+         this.attachments = 0;
+         this.plan = null;
+         this.input = null;
+         this.thread = null;
+      }
+   }
+
+   /**
+    * Stream from a shared operator to an attached plan.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static final class Attachment {
+
+      /** Node of the shared operator. */
+      private final Node node;
+      /** Attached stream. */
+      private final Stream stream;
+
+      /**
+       * Constructs a new attachment.
+       *
+       * @param node
+       *           node of the shared operator
+       * @param stream
+       *           attached stream
+       */
+      private Attachment(final Node node, final Stream stream) {
+         this.node = node;
+         this.stream = stream;
+      }
+   }
+}
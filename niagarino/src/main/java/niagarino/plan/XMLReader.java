@@ -13,12 +13,14 @@ import java.io.File;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.TreeMap;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
@@ -29,6 +31,9 @@ import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import niagarino.QueryException;
+import niagarino.operator.Exchange;
+import niagarino.operator.ExchangeMerge;
 import niagarino.operator.Multiplex;
 import niagarino.operator.Operator;
 import niagarino.runtime.PhysicalQueryPlan;
@@ -72,8 +77,10 @@ public class XMLReader {
     *            if the XML file is malformed
     * @throws ClassNotFoundException
     *            if a non-existent operator is used in the plan description
+    * @throws QueryException
+    *            if a source or sink operator is to run in parallel
     */
-   public void read() throws JAXBException, ClassNotFoundException {
+   public void read() throws JAXBException, ClassNotFoundException, QueryException {
       final File xml = new File(this.planFile);
 
       final JAXBContext jc = JAXBContext.newInstance(Plan.class);
@@ -120,6 +127,31 @@ public class XMLReader {
       if (this.firstStream == null) {
          throw new IllegalArgumentException("There is no beginning for the plan in the plan description.");
       }
+      this.checkParallelism(this.firstStream);
+   }
+
+   /**
+    * Checks that neither the source nor the sink operators of the given stream segment and its following
+    * stream segments are to run in parallel, as only operators between a source and a sink can be replicated.
+    *
+    * @param stream
+    *           the stream segment to check
+    * @throws QueryException
+    *            if a source or sink operator is to run in parallel
+    */
+   private void checkParallelism(final Stream stream) throws QueryException {
+      final List<OperatorSpecification> operators = stream.getOperators();
+      for (int i = 0; i < operators.size(); i++) {
+         final boolean source = stream == this.firstStream && i == 0;
+         final boolean sink = i == operators.size() - 1 && stream.getFollowingStreams().isEmpty();
+         if ((source || sink) && operators.get(i).getParallelism() != 1) {
+            throw new QueryException("Operator '" + operators.get(i).getName() + "' is a "
+                  + (source ? "source" : "sink") + " and cannot run in parallel.");
+         }
+      }
+      for (final Stream nextStream : stream.getFollowingStreams()) {
+         this.checkParallelism(nextStream);
+      }
    }
 
    /**
@@ -129,20 +161,73 @@ public class XMLReader {
     */
    public PhysicalQueryPlan createPlan() {
       final PhysicalQueryPlan plan = new PhysicalQueryPlan();
-      this.createPlan(plan, this.firstStream);
+      this.createPlan(plan, this.firstStream, 0, null, null, null);
       return plan;
    }
 
    /**
-    * Creates the query plan of this XMLReader object using information parsed beforehand.
+    * Creates the query plan of the XML file of this XMLReader object using the information parsed
+    * beforehand, sharing the longest possible prefix of the first stream segment with the other plans of the
+    * given registry. Operators that run in parallel, multiplex operators and sinks are not shared.
+    *
+    * @param registry
+    *           the registry of shared operators
+    * @param planId
+    *           the id under which the plan is attached to the shared operators
+    * @return the created PhysicalQueryPlan object containing the operators that are not shared
+    */
+   PhysicalQueryPlan createPlan(final PlanRegistry registry, final String planId) {
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      final List<OperatorSpecification> operators = this.firstStream.getOperators();
+      Operator shared = null;
+      int first = 0;
+      while (this.isShareable(this.firstStream, first)) {
+         final OperatorSpecification opSpec = operators.get(first);
+         final Schema inputSchema = this.getInputSchema(opSpec, shared);
+         // Operators are identified by their type, parameters and input schema
+         final String key = opSpec.getOperatorType().getName() + new TreeMap<>(opSpec.getMap()) + inputSchema;
+         shared = registry.share(shared, key,
+               () -> this.getOperatorInstance(opSpec, opSpec.getName(), inputSchema));
+         first++;
+      }
+      this.createPlan(plan, this.firstStream, first, shared, registry, planId);
+      return plan;
+   }
+
+   /**
+    * Checks whether the operator at the given position of the given stream segment can be shared with other
+    * plans.
     *
-    * @param plan
-    *           the PhysicalQueryPlan to use for the actual query plan
     * @param stream
-    *           the stream segment that is currently to process
+    *           the stream segment
+    * @param i
+    *           the position of the operator
+    * @return <code>true</code> if the operator can be shared, <code>false</code> otherwise
+    */
+   private boolean isShareable(final Stream stream, final int i) {
+      if (i >= stream.getOperators().size()
+            || i == stream.getOperators().size() - 1 && stream.getFollowingStreams().size() == 0) {
+         return false;
+      }
+      final OperatorSpecification opSpec = stream.getOperators().get(i);
+      return opSpec.getParallelism() == 1 && !opSpec.getOperatorType().equals(Multiplex.class);
+   }
+
+   /**
+    * Returns the input schema of the operator with the given specification.
+    *
+    * @param opSpec
+    *           the operator specification
+    * @param previousOperator
+    *           the operator from which the operator reads, or, if missing, <code>null</code>
+    * @return the input schema
     */
-   private void createPlan(final PhysicalQueryPlan plan, final Stream stream) {
-      this.createPlan(plan, stream, null);
+   private Schema getInputSchema(final OperatorSpecification opSpec, final Operator previousOperator) {
+      if (previousOperator == null) {
+         final String schemaName = opSpec.get("schema").get("name").getString();
+         return this.schemas.get(schemaName);
+      }
+      return previousOperator.getOutputSchema();
    }
 
    /**
@@ -152,22 +237,22 @@ public class XMLReader {
     *           the PhysicalQueryPlan to use for the actual query plan
     * @param stream
     *           the stream segment that is currently to process
+    * @param first
+    *           the position of the first operator of the stream segment that is to process
     * @param previousStreamOperator
     *           the last operator from the previous stream segment, or, if missing, <code>null</code>
+    * @param registry
+    *           the registry of shared operators, or <code>null</code> if no operators are shared
+    * @param planId
+    *           the id under which the plan is attached to the shared operators
     */
-   private void createPlan(final PhysicalQueryPlan plan, final Stream stream,
-         final Operator previousStreamOperator) {
+   private void createPlan(final PhysicalQueryPlan plan, final Stream stream, final int first,
+         final Operator previousStreamOperator, final PlanRegistry registry, final String planId) {
       Operator previousOperator = previousStreamOperator;
-      for (int i = 0; i < stream.getOperators().size(); i++) {
+      for (int i = first; i < stream.getOperators().size(); i++) {
          final OperatorSpecification opSpec = stream.getOperators().get(i);
          // Determine input schema
-         final Schema inputSchema;
-         if (previousOperator == null) {
-            final String schemaName = opSpec.get("schema").get("name").getString();
-            inputSchema = this.schemas.get(schemaName);
-         } else {
-            inputSchema = previousOperator.getOutputSchema();
-         }
+         final Schema inputSchema = this.getInputSchema(opSpec, previousOperator);
 
          // Treat special case multiplex
          if (opSpec.getOperatorType().equals(Multiplex.class)) {
@@ -176,19 +261,34 @@ public class XMLReader {
             opSpec.put("arity", param);
          }
 
-         // Create operator
-         final Operator operator = this.getOperatorInstance(opSpec, inputSchema);
+         // Create operator, or replicas of the operator and a merge of their outputs if it runs in parallel
+         final Operator operator;
+         final List<Operator> inputOperators;
+         if (previousOperator != null && opSpec.getParallelism() > 1) {
+            inputOperators = this.createReplicas(plan, opSpec, previousOperator, registry, planId);
+            operator = new ExchangeMerge(opSpec.getName() + "-merge", inputOperators.get(0).getOutputSchema(),
+                  inputOperators.size());
+         } else {
+            operator = this.getOperatorInstance(opSpec, opSpec.getName(), inputSchema);
+            inputOperators = Collections.singletonList(previousOperator);
+         }
 
          // Add operator to the plan
+         final boolean sink = i == stream.getOperators().size() - 1
+               && stream.getFollowingStreams().size() == 0;
          if (previousOperator == null) {
             plan.addOperator(operator, PhysicalQueryPlan.OperatorType.SOURCE);
-         } else if (i == stream.getOperators().size() - 1 && stream.getFollowingStreams().size() == 0) {
-            plan.addOperator(operator, PhysicalQueryPlan.OperatorType.SINK);
+         } else if (opSpec.getParallelism() <= 1) {
+            this.addOperator(plan, operator, previousOperator, sink, registry, planId);
          } else {
-            plan.addOperator(operator);
-         }
-         if (previousOperator != null) {
-            plan.addStream(previousOperator, operator);
+            if (sink) {
+               plan.addOperator(operator, PhysicalQueryPlan.OperatorType.SINK);
+            } else {
+               plan.addOperator(operator);
+            }
+            for (final Operator inputOperator : inputOperators) {
+               plan.addStream(inputOperator, operator);
+            }
          }
 
          previousOperator = operator;
@@ -196,20 +296,102 @@ public class XMLReader {
 
       // Process following stream segments
       for (final Stream nextStream : stream.getFollowingStreams()) {
-         this.createPlan(plan, nextStream, previousOperator);
+         this.createPlan(plan, nextStream, 0, previousOperator, registry, planId);
       }
    }
 
+   /**
+    * Adds the given operator to the given plan and connects it to the given input operator. If the input
+    * operator is shared by the given registry, the operator is attached to its output instead and becomes a
+    * source of the plan.
+    *
+    * @param plan
+    *           the PhysicalQueryPlan to use for the actual query plan
+    * @param operator
+    *           the operator to add
+    * @param inputOperator
+    *           the operator from which the operator reads
+    * @param sink
+    *           whether the operator is a sink of the plan
+    * @param registry
+    *           the registry of shared operators, or <code>null</code> if no operators are shared
+    * @param planId
+    *           the id under which the plan is attached to the shared operators
+    */
+   private void addOperator(final PhysicalQueryPlan plan, final Operator operator,
+         final Operator inputOperator, final boolean sink, final PlanRegistry registry, final String planId) {
+      final List<PhysicalQueryPlan.OperatorType> types = new ArrayList<>();
+      final boolean attached = registry != null && registry.isShared(inputOperator);
+      if (attached) {
+         types.add(PhysicalQueryPlan.OperatorType.SOURCE);
+      }
+      if (sink) {
+         types.add(PhysicalQueryPlan.OperatorType.SINK);
+      }
+      plan.addOperator(operator, types.toArray(new PhysicalQueryPlan.OperatorType[types.size()]));
+      if (attached) {
+         registry.connect(planId, inputOperator, operator);
+      } else {
+         plan.addStream(inputOperator, operator);
+      }
+   }
+
+   /**
+    * Creates the replicas of an operator that runs in parallel, together with the exchange operator that
+    * partitions the output of the given previous operator over them, and adds them to the given plan. Tuples
+    * are partitioned on the grouping attributes of the operator, if it has any, and round-robin otherwise.
+    *
+    * @param plan
+    *           the PhysicalQueryPlan to use for the actual query plan
+    * @param op
+    *           the operator specification to create the replicas from
+    * @param previousOperator
+    *           the operator whose output is partitioned
+    * @param registry
+    *           the registry of shared operators, or <code>null</code> if no operators are shared
+    * @param planId
+    *           the id under which the plan is attached to the shared operators
+    * @return the replicas of the operator
+    */
+   private List<Operator> createReplicas(final PhysicalQueryPlan plan, final OperatorSpecification op,
+         final Operator previousOperator, final PlanRegistry registry, final String planId) {
+      final Schema inputSchema = previousOperator.getOutputSchema();
+      final int[] partitionAttributes;
+      final Parameter group = op.get("group");
+      if (group == null) {
+         partitionAttributes = new int[0];
+      } else {
+         final List<Parameter> attributes = group.get("attribute").getList();
+         partitionAttributes = new int[attributes.size()];
+         for (int i = 0; i < partitionAttributes.length; i++) {
+            partitionAttributes[i] = inputSchema.getAttributeIndex(attributes.get(i).get("name").getString());
+         }
+      }
+      final Operator exchange = new Exchange(op.getName() + "-exchange", inputSchema, partitionAttributes);
+      this.addOperator(plan, exchange, previousOperator, false, registry, planId);
+      final List<Operator> replicas = new ArrayList<>();
+      for (int i = 0; i < op.getParallelism(); i++) {
+         final Operator replica = this.getOperatorInstance(op, op.getName() + "-" + i, inputSchema);
+         plan.addOperator(replica);
+         plan.addStream(exchange, replica);
+         replicas.add(replica);
+      }
+      return replicas;
+   }
+
    /**
     * Creates a new instance of the operator specified by <i>op</i>, using <i>inputSchema</i> as input schema.
     *
     * @param op
     *           the operator specification to create an instance from
+    * @param operatorId
+    *           the id of the new operator
     * @param inputSchema
     *           the input schema to use for the new operator
     * @return a new operator according to the given specifications
     */
-   private Operator getOperatorInstance(final OperatorSpecification op, final Schema inputSchema) {
+   private Operator getOperatorInstance(final OperatorSpecification op, final String operatorId,
+         final Schema inputSchema) {
       final Class< ? > opClass = op.getOperatorType();
 
       // If simple (non-nested) parameters
@@ -254,7 +436,8 @@ public class XMLReader {
          // Try all candidates, starting with the one with the highest parameter count
          for (final Constructor< ? > constr : constructors) {
             try {
-               final Object[] objects = this.createConstructorParameterObjects(op, inputSchema, constr);
+               final Object[] objects = this.createConstructorParameterObjects(op, operatorId, inputSchema,
+                     constr);
                final Object instance = constr.newInstance(objects);
                operatorInstance = (Operator) instance;
                break;
@@ -286,7 +469,7 @@ public class XMLReader {
 
             final PlanOperatorByParametersFactory factory = (PlanOperatorByParametersFactory) factoryClass
                   .newInstance();
-            operatorInstance = factory.getOperatorByParameters(op.getName(), inputSchema, op);
+            operatorInstance = factory.getOperatorByParameters(operatorId, inputSchema, op);
          } catch (final Exception e) {
             // If factory fails as well: give up
             if (e instanceof UnsupportedOperationException) {
@@ -306,6 +489,8 @@ public class XMLReader {
     *
     * @param operator
     *           the operator specification from which to take the data from
+    * @param operatorId
+    *           the id of the new operator
     * @param inputSchema
     *           the input schema to use in the Object array
     * @param constr
@@ -313,12 +498,12 @@ public class XMLReader {
     * @return the Object array to use as parameters for the given constructor
     */
    private Object[] createConstructorParameterObjects(final OperatorSpecification operator,
-         final Schema inputSchema, final Constructor< ? > constr) {
+         final String operatorId, final Schema inputSchema, final Constructor< ? > constr) {
       final ArrayList<Object> params = new ArrayList<>();
       for (final java.lang.reflect.Parameter p : constr.getParameters()) {
          // First a few special cases
          if (p.getName().equalsIgnoreCase("operatorId")) {
-            params.add(operator.getName());
+            params.add(operatorId);
          } else if (Schema.class.equals(p.getType())) {
             params.add(inputSchema);
          } else {
@@ -392,6 +577,10 @@ public class XMLReader {
          final Class< ? > operatorType = Class.forName(((GenericOperatorType) operatorObject).getClassSpec());
          final String operatorName = operatorObject.getName();
          operator = new OperatorSpecification(operatorType, operatorName);
+         final Integer parallelism = ((GenericOperatorType) operatorObject).getParallelism();
+         if (parallelism != null) {
+            operator.setParallelism(parallelism);
+         }
 
          // Process parameters and store them in a hash map.
          for (final Object element : ((GenericOperatorType) operatorObject).getParameters()) {
@@ -508,6 +697,9 @@ public class XMLReader {
       /** The class of this operator. */
       private final Class< ? > type;
 
+      /** The number of replicas of this operator. */
+      private int parallelism;
+
       /**
        * Creates a new OperatorSpecification object describing an operator with the given class and name.
        *
@@ -519,6 +711,7 @@ public class XMLReader {
       public OperatorSpecification(final Class< ? > type, final String name) {
          super(name);
          this.type = type;
+         this.parallelism = 1;
       }
 
       /**
@@ -531,6 +724,25 @@ public class XMLReader {
          return super.getName();
       }
 
+      /**
+       * Returns the number of replicas of this operator that run in parallel.
+       *
+       * @return the number of replicas
+       */
+      public int getParallelism() {
+         return this.parallelism;
+      }
+
+      /**
+       * Sets the number of replicas of this operator that run in parallel.
+       *
+       * @param parallelism
+       *           the number of replicas
+       */
+      public void setParallelism(final int parallelism) {
+         this.parallelism = parallelism;
+      }
+
       /**
        * Returns the class used by this operator.
        *
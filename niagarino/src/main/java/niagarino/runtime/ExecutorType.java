@@ -0,0 +1,62 @@
+/*
+ * @(#)ExecutorType.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import niagarino.util.PropertiesReader;
+
+/**
+ * Enumeration of the available plan executors.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public enum ExecutorType {
+
+   /** Every operator is executed by a dedicated thread. */
+   THREAD,
+
+   /** Operators are executed in work quanta on a fixed work-stealing pool. */
+   POOL,
+
+   /** Operators are executed in work quanta on virtual threads. */
+   VIRTUAL;
+
+   /**
+    * Creates a new plan executor of this type.
+    *
+    * @return plan executor
+    */
+   public PlanExecutor createExecutor() {
+      switch (this) {
+         case POOL:
+            return new WorkStealingExecutor();
+         case VIRTUAL:
+            return new VirtualThreadExecutor();
+         case THREAD:
+         default:
+            return new ThreadExecutor();
+      }
+   }
+
+   /**
+    * Returns the executor type that is configured in the Niagarino properties. If no executor type is
+    * configured, every operator is executed by a dedicated thread.
+    *
+    * @return configured executor type
+    */
+   public static ExecutorType getConfiguredType() {
+      final String type = PropertiesReader.getPropertiesReader().getProperties()
+            .getProperty(PropertiesReader.EXECUTOR_TYPE);
+      if (type == null) {
+         return THREAD;
+      }
+      return ExecutorType.valueOf(type.trim().toUpperCase());
+   }
+}
@@ -0,0 +1,139 @@
+/*
+ * @(#)LatencyHistogram.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in nanoseconds with logarithmic buckets. Every power of two is divided into four
+ * buckets, hence percentiles are accurate to within 25%. Recording a latency does not allocate and only
+ * updates two counters, so that the histogram can be updated on the hot path of an operator. The histogram
+ * can be read concurrently, but the percentiles of a concurrently updated histogram are only approximations.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class LatencyHistogram {
+
+   /** Number of bits used to divide a power of two into sub-buckets. */
+   private static final int SUB_BITS = 2;
+   /** Number of sub-buckets per power of two. */
+   private static final int SUB_BUCKETS = 1 << SUB_BITS;
+   /** Number of buckets that cover all non-negative long values. */
+   private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+   /** Number of recorded latencies per bucket. */
+   private final AtomicLongArray counts;
+   /** Sum of all recorded latencies. */
+   private final LongAdder sum;
+
+   /**
+    * Creates a new empty latency histogram.
+    */
+   public LatencyHistogram() {
+      this.counts = new AtomicLongArray(BUCKETS);
+      this.sum = new LongAdder();
+   }
+
+   /**
+    * Records the given latency. Negative latencies are recorded as zero.
+    *
+    * @param nanos
+    *           latency in nanoseconds
+    */
+   public void record(final long nanos) {
+      final long latency = Math.max(0, nanos);
+      this.counts.incrementAndGet(LatencyHistogram.bucket(latency));
+      this.sum.add(latency);
+   }
+
+   /**
+    * Returns the number of recorded latencies.
+    *
+    * @return number of latencies
+    */
+   public long getCount() {
+      long count = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         count += this.counts.get(i);
+      }
+      return count;
+   }
+
+   /**
+    * Returns the mean of all recorded latencies.
+    *
+    * @return mean latency in nanoseconds or zero if no latencies have been recorded
+    */
+   public double getMean() {
+      final long count = this.getCount();
+      return count == 0 ? 0.0 : (double) this.sum.sum() / count;
+   }
+
+   /**
+    * Returns the given percentile of all recorded latencies, i.e., the upper bound of the bucket that
+    * contains the latency below which the given fraction of all latencies falls.
+    *
+    * @param fraction
+    *           percentile as a fraction between zero and one
+    * @return latency in nanoseconds or zero if no latencies have been recorded
+    */
+   public long getPercentile(final double fraction) {
+      final long[] snapshot = new long[BUCKETS];
+      long count = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         snapshot[i] = this.counts.get(i);
+         count += snapshot[i];
+      }
+      final long rank = Math.max(1, (long) Math.ceil(fraction * count));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         seen += snapshot[i];
+         if (seen >= rank) {
+            return LatencyHistogram.upperBound(i);
+         }
+      }
+      return 0;
+   }
+
+   /**
+    * Returns the bucket of the given latency.
+    *
+    * @param latency
+    *           non-negative latency in nanoseconds
+    * @return bucket index
+    */
+   static int bucket(final long latency) {
+      if (latency < SUB_BUCKETS) {
+         return (int) latency;
+      }
+      final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(latency);
+      final int sub = (int) (latency >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+      return ((exponent - SUB_BITS + 1) << SUB_BITS) + sub;
+   }
+
+   /**
+    * Returns the largest latency that falls into the given bucket.
+    *
+    * @param bucket
+    *           bucket index
+    * @return latency in nanoseconds
+    */
+   static long upperBound(final int bucket) {
+      if (bucket < SUB_BUCKETS) {
+         return bucket;
+      }
+      final int exponent = (bucket >>> SUB_BITS) + SUB_BITS - 1;
+      final long width = 1L << (exponent - SUB_BITS);
+      // the largest bucket ends at Long.MAX_VALUE, which the overflowing sum wraps around to
+      return (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) * width + width - 1;
+   }
+}
@@ -0,0 +1,167 @@
+/*
+ * @(#)ManagedBlocking.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Utility class for blocking operations that are executed by operators. If an operator runs on a worker of a
+ * {@link ForkJoinPool}, these operations inform the pool that the worker is about to block, so that the pool
+ * can activate a spare worker and the operators that would release the block still get to run. Outside of a
+ * pool, the operations behave exactly like their plain counterparts.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public final class ManagedBlocking {
+
+   /**
+    * Hidden constructor.
+    */
+   private ManagedBlocking() {
+      // prevent instantiation
+   }
+
+   /**
+    * Inserts the given element into the given queue, waiting for space to become available if necessary.
+    *
+    * @param queue
+    *           blocking queue
+    * @param element
+    *           element to insert
+    * @param <E>
+    *           type of the queue elements
+    * @throws InterruptedException
+    *            if interrupted while waiting
+    */
+   public static <E> void put(final BlockingQueue<E> queue, final E element) throws InterruptedException {
+      if (!queue.offer(element)) {
+         ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+            /** Indicates whether the element has been inserted. */
+            private boolean done = false;
+
+            @Override
+            public boolean block() throws InterruptedException {
+               if (!this.done) {
+                  queue.put(element);
+                  this.done = true;
+               }
+               return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+               if (!this.done) {
+                  this.done = queue.offer(element);
+               }
+               return this.done;
+            }
+         });
+      }
+   }
+
+   /**
+    * Waits on the monitor of the given object, which the current thread must own.
+    *
+    * @param monitor
+    *           object whose monitor is owned by the current thread
+    * @throws InterruptedException
+    *            if interrupted while waiting
+    */
+   public static void await(final Object monitor) throws InterruptedException {
+      ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+         @Override
+         public boolean block() throws InterruptedException {
+            monitor.wait();
+            return true;
+         }
+
+         @Override
+         public boolean isReleasable() {
+            return false;
+         }
+      });
+   }
+
+   /**
+    * Waits for the given future to complete and returns its result.
+    *
+    * @param future
+    *           future result
+    * @param <T>
+    *           type of the result
+    * @return result of the future
+    * @throws InterruptedException
+    *            if interrupted while waiting
+    * @throws IllegalStateException
+    *            if the computation of the result has failed
+    */
+   public static <T> T get(final Future<T> future) throws InterruptedException {
+      if (!future.isDone()) {
+         ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+            @Override
+            public boolean block() throws InterruptedException {
+               try {
+                  future.get();
+               } catch (final ExecutionException e) {
+                  // the exception is rethrown below
+               }
+               return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+               return future.isDone();
+            }
+         });
+      }
+      try {
+         return future.get();
+      } catch (final ExecutionException e) {
+         throw new IllegalStateException(e.getCause());
+      }
+   }
+
+   /**
+    * Executes the given action, which might block the current thread for a while.
+    *
+    * @param action
+    *           potentially blocking action
+    * @throws InterruptedException
+    *            if interrupted while waiting
+    */
+   public static void run(final Runnable action) throws InterruptedException {
+      ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+         /** Indicates whether the action has been executed. */
+         private boolean done = false;
+
+         @Override
+         public boolean block() {
+            if (!this.done) {
+               action.run();
+               this.done = true;
+            }
+            return true;
+         }
+
+         @Override
+         public boolean isReleasable() {
+            return this.done;
+         }
+      });
+   }
+}
@@ -0,0 +1,249 @@
+/*
+ * @(#)OperatorMetrics.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import niagarino.operator.Operator;
+import niagarino.operator.OperatorEventListener;
+import niagarino.stream.DataTuple;
+import niagarino.stream.ElementMetadata;
+import niagarino.stream.PageElement;
+
+/**
+ * Operator metrics collect live information about a running operator, which can be read at any time while
+ * the operator is executed, either through {@link PhysicalQueryPlan#getMetrics()} or through JMX. In
+ * contrast to {@link OperatorStatistics}, all counters are striped, so that reading them never interferes
+ * with the operator thread, and no thread information is accessed on the hot path.
+ * <p>
+ * End-to-end latencies are measured by stamping every tuple with its source time when it leaves a source
+ * operator and by recording the elapsed time when the tuple is consumed by a sink operator. Tuples that are
+ * created by intermediate operators, e.g., aggregates, carry no source time and are not recorded.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class OperatorMetrics implements OperatorEventListener, OperatorMetricsMBean {
+
+   /** Name of the operator. */
+   private final String operatorName;
+   /** Indicates whether the operator is a source that stamps its output tuples with their source time. */
+   private final boolean source;
+   /** Indicates whether the operator is a sink that records the latency of its input tuples. */
+   private final boolean sink;
+   /** Counts the number of all input tuples consumed by the operator. */
+   private final LongAdder inputTuples;
+   /** Counts the number of all output tuples produced by the operator. */
+   private final LongAdder outputTuples;
+   /** Counts the number of input tuples deliberately dropped by the operator. */
+   private final LongAdder droppedTuples;
+   /** Accumulates the time in nanoseconds that the operator was blocked pushing onto full streams. */
+   private final LongAdder blockedTime;
+   /** Accumulates the time in nanoseconds that the operator was idle. */
+   private final LongAdder idleTime;
+   /** Histogram of the end-to-end latencies of the input tuples of a sink operator. */
+   private final LatencyHistogram latencies;
+   /** Value of {@link System#nanoTime()} when collecting metrics started. */
+   private final long startTime;
+   /** Value of {@link System#nanoTime()} when the operator shut down, zero while it is running. */
+   private volatile long endTime;
+
+   /**
+    * Constructs new metrics for the operator with the given name.
+    *
+    * @param operatorName
+    *           name of the operator
+    * @param source
+    *           {@code true} if the operator is a source of the plan, {@code false} otherwise
+    * @param sink
+    *           {@code true} if the operator is a sink of the plan, {@code false} otherwise
+    */
+   public OperatorMetrics(final String operatorName, final boolean source, final boolean sink) {
+      this.operatorName = operatorName;
+      this.source = source;
+      this.sink = sink;
+      this.inputTuples = new LongAdder();
+      this.outputTuples = new LongAdder();
+      this.droppedTuples = new LongAdder();
+      this.blockedTime = new LongAdder();
+      this.idleTime = new LongAdder();
+      this.latencies = new LatencyHistogram();
+      this.startTime = System.nanoTime();
+      this.endTime = 0;
+   }
+
+   @Override
+   public void onInputTuple(final Operator operator, final DataTuple tuple) {
+      this.inputTuples.increment();
+      if (this.sink) {
+         this.recordLatency(tuple.getElementMetadata(), System.nanoTime());
+      }
+   }
+
+   @Override
+   public void onOutputTuple(final Operator operator, final DataTuple tuple) {
+      this.outputTuples.increment();
+      if (this.source) {
+         tuple.getElementMetadata().setSourceTime(System.nanoTime());
+      }
+   }
+
+   @Override
+   public void onInputBatch(final Operator operator, final PageElement page) {
+      final int size = page.size();
+      this.inputTuples.add(size);
+      if (this.sink) {
+         // one clock reading per page keeps the overhead independent of the page size
+         final long now = System.nanoTime();
+         for (int row = 0; row < size; row++) {
+            this.recordLatency(page.getElementMetadata(row), now);
+         }
+      }
+   }
+
+   @Override
+   public void onOutputBatch(final Operator operator, final PageElement page) {
+      final int size = page.size();
+      this.outputTuples.add(size);
+      if (this.source) {
+         final long now = System.nanoTime();
+         for (int row = 0; row < size; row++) {
+            page.getElementMetadata(row).setSourceTime(now);
+         }
+      }
+   }
+
+   @Override
+   public void onBlocked(final Operator operator, final long nanos) {
+      this.blockedTime.add(nanos);
+   }
+
+   @Override
+   public void onIdle(final Operator operator, final long nanos) {
+      this.idleTime.add(nanos);
+   }
+
+   @Override
+   public void onDroppedTuples(final Operator operator, final long count) {
+      this.droppedTuples.add(count);
+   }
+
+   @Override
+   public void onQuantumStart(final Operator operator) {
+      // work quanta are accounted by the operator statistics
+   }
+
+   @Override
+   public void onQuantumEnd(final Operator operator) {
+      // work quanta are accounted by the operator statistics
+   }
+
+   @Override
+   public void onShutdown(final Operator operator) {
+      this.endTime = System.nanoTime();
+   }
+
+   /**
+    * Records the latency of the tuple with the given metadata if it carries a source time.
+    *
+    * @param metadata
+    *           element metadata of the tuple
+    * @param now
+    *           current value of {@link System#nanoTime()}
+    */
+   private void recordLatency(final ElementMetadata metadata, final long now) {
+      final long sourceTime = metadata.getSourceTime();
+      if (sourceTime != 0) {
+         this.latencies.record(now - sourceTime);
+      }
+   }
+
+   @Override
+   public String getOperatorName() {
+      return this.operatorName;
+   }
+
+   @Override
+   public long getInputTuples() {
+      return this.inputTuples.sum();
+   }
+
+   @Override
+   public long getOutputTuples() {
+      return this.outputTuples.sum();
+   }
+
+   @Override
+   public long getDroppedTuples() {
+      return this.droppedTuples.sum();
+   }
+
+   @Override
+   public double getInputRate() {
+      return this.getInputTuples() / this.getElapsedSeconds();
+   }
+
+   @Override
+   public double getOutputRate() {
+      return this.getOutputTuples() / this.getElapsedSeconds();
+   }
+
+   @Override
+   public long getBlockedTime() {
+      return TimeUnit.NANOSECONDS.toMillis(this.blockedTime.sum());
+   }
+
+   @Override
+   public long getIdleTime() {
+      return TimeUnit.NANOSECONDS.toMillis(this.idleTime.sum());
+   }
+
+   @Override
+   public long getLatencyCount() {
+      return this.latencies.getCount();
+   }
+
+   @Override
+   public double getMeanLatency() {
+      return this.latencies.getMean() / 1E03;
+   }
+
+   @Override
+   public long getMedianLatency() {
+      return TimeUnit.NANOSECONDS.toMicros(this.latencies.getPercentile(0.5));
+   }
+
+   @Override
+   public long getTailLatency() {
+      return TimeUnit.NANOSECONDS.toMicros(this.latencies.getPercentile(0.99));
+   }
+
+   /**
+    * Returns the histogram of the end-to-end latencies in nanoseconds of the tuples consumed by the monitored
+    * operator.
+    *
+    * @return latency histogram
+    */
+   public LatencyHistogram getLatencies() {
+      return this.latencies;
+   }
+
+   /**
+    * Returns the time in seconds during which metrics have been collected.
+    *
+    * @return elapsed time in seconds
+    */
+   private double getElapsedSeconds() {
+      final long end = this.endTime;
+      final long elapsed = (end == 0 ? System.nanoTime() : end) - this.startTime;
+      return Math.max(1, elapsed) / 1E09;
+   }
+}
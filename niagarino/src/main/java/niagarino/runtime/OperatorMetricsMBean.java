@@ -0,0 +1,108 @@
+/*
+ * @(#)OperatorMetricsMBean.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+/**
+ * Management interface that exposes the live metrics of an operator through JMX.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public interface OperatorMetricsMBean {
+
+   /**
+    * Returns the name of the monitored operator.
+    *
+    * @return operator name
+    */
+   String getOperatorName();
+
+   /**
+    * Returns the number of input tuples consumed by the monitored operator so far.
+    *
+    * @return number of input tuples
+    */
+   long getInputTuples();
+
+   /**
+    * Returns the number of output tuples produced by the monitored operator so far.
+    *
+    * @return number of output tuples
+    */
+   long getOutputTuples();
+
+   /**
+    * Returns the number of input tuples deliberately dropped by the monitored operator so far, e.g., to shed
+    * load.
+    *
+    * @return number of dropped tuples
+    */
+   long getDroppedTuples();
+
+   /**
+    * Returns the average number of input tuples consumed per second since the plan was started.
+    *
+    * @return input throughput in tuples per second
+    */
+   double getInputRate();
+
+   /**
+    * Returns the average number of output tuples produced per second since the plan was started.
+    *
+    * @return output throughput in tuples per second
+    */
+   double getOutputRate();
+
+   /**
+    * Returns the total amount of time in milliseconds that the monitored operator was blocked pushing stream
+    * elements onto full streams, i.e., the back-pressure exerted by its consumers.
+    *
+    * @return blocked time
+    */
+   long getBlockedTime();
+
+   /**
+    * Returns the total amount of time in milliseconds that the monitored operator was idle waiting for stream
+    * elements.
+    *
+    * @return idle time
+    */
+   long getIdleTime();
+
+   /**
+    * Returns the number of tuples for which the end-to-end latency has been recorded. Latencies are only
+    * recorded by sink operators.
+    *
+    * @return number of latencies
+    */
+   long getLatencyCount();
+
+   /**
+    * Returns the mean end-to-end latency in microseconds of the tuples consumed by the monitored operator.
+    *
+    * @return mean latency
+    */
+   double getMeanLatency();
+
+   /**
+    * Returns the median end-to-end latency in microseconds of the tuples consumed by the monitored operator.
+    *
+    * @return median latency
+    */
+   long getMedianLatency();
+
+   /**
+    * Returns the 99th percentile of the end-to-end latency in microseconds of the tuples consumed by the
+    * monitored operator.
+    *
+    * @return 99th percentile latency
+    */
+   long getTailLatency();
+}
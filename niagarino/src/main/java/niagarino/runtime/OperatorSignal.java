@@ -0,0 +1,112 @@
+/*
+ * @(#)OperatorSignal.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An operator signal is used by the event-driven scheduler to wake up an operator thread as soon as a stream
+ * element becomes available on one of its streams. Every operator owns exactly one signal, which is
+ * registered with all streams from which the operator reads. Pushing an element onto such a stream raises the
+ * signal, while an idle operator parks its thread until the signal is raised. A signal that is raised while
+ * the operator is busy is remembered, so that wake-ups are never lost. Alternatively, executors that run
+ * operators in work quanta can register a listener that is invoked instead of parking a thread.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class OperatorSignal {
+
+   /** Indicates whether the signal has been raised since it was last consumed. */
+   private final AtomicBoolean pending;
+   /** Thread that is currently waiting for this signal, or {@code null} if no thread is waiting. */
+   private volatile Thread waiter;
+   /** Listener that is invoked whenever this signal is raised, or {@code null} if there is none. */
+   private volatile Runnable listener;
+
+   /**
+    * Constructs a new operator signal that has not been raised.
+    */
+   public OperatorSignal() {
+      this.pending = new AtomicBoolean(false);
+      this.waiter = null;
+      this.listener = null;
+   }
+
+   /**
+    * Sets the listener that is invoked whenever this signal is raised after it has been consumed.
+    *
+    * @param listener
+    *           signal listener, or {@code null} to remove the current listener
+    */
+   public void setListener(final Runnable listener) {
+      this.listener = listener;
+   }
+
+   /**
+    * Raises this signal and wakes up the waiting operator thread, if there is one.
+    */
+   public void signal() {
+      // only the first signal after consumption needs to unpark the waiting thread
+      if (!this.pending.get() && !this.pending.getAndSet(true)) {
+         final Thread thread = this.waiter;
+         if (thread != null) {
+            LockSupport.unpark(thread);
+         }
+         final Runnable listener = this.listener;
+         if (listener != null) {
+            listener.run();
+         }
+      }
+   }
+
+   /**
+    * Consumes this signal without waiting.
+    *
+    * @return {@code true} if this signal was pending, {@code false} otherwise
+    */
+   public boolean consume() {
+      return this.pending.getAndSet(false);
+   }
+
+   /**
+    * Waits until this signal is raised and consumes it. If the signal has already been raised, this method
+    * returns immediately.
+    *
+    * @throws InterruptedException
+    *            if the waiting thread is interrupted
+    */
+   public void await() throws InterruptedException {
+      if (this.pending.getAndSet(false)) {
+         return;
+      }
+      this.waiter = Thread.currentThread();
+      try {
+         while (!this.pending.getAndSet(false)) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+               throw new InterruptedException();
+            }
+         }
+      } finally {
+         this.waiter = null;
+      }
+   }
+
+   /**
+    * Returns whether this signal has been raised and not yet consumed.
+    *
+    * @return {@code true} if this signal is pending, {@code false} otherwise
+    */
+   public boolean isPending() {
+      return this.pending.get();
+   }
+}
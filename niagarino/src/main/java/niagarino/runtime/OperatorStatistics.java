@@ -12,12 +12,19 @@ package niagarino.runtime;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
 
+import niagarino.operator.AbstractOperator;
 import niagarino.operator.Operator;
 import niagarino.operator.OperatorEventListener;
 import niagarino.stream.DataTuple;
+import niagarino.stream.PageElement;
 
 /**
- * Operator statistics collect information about the lifecycle of an operator.
+ * Operator statistics collect information about the lifecycle of an operator. As an operator is not
+ * necessarily executed by a dedicated thread, thread information is accounted per work quantum, i.e., as the
+ * difference between the values of the executing thread at the start and at the end of each work quantum.
+ * Operators that do not report work quanta are accounted on shutdown using the values of their thread.
+ * Operators that are fused into another operator are run by its thread, which is accounted to the operator
+ * into which they are fused.
  *
  * @author Bernhard Fischer &lt;bernhard.fischer@uni.kn&gt;
  * @author Michael Grossniklaus &lt;michael.grossniklaus@uni.kn&gt;
@@ -28,9 +35,6 @@ public class OperatorStatistics implements OperatorEventListener {
    /** Name of the operator. */
    private final String operatorName;
 
-   /** ID of the operator thread. */
-   private final long threadId;
-
    /** Thread management bean to access thread information. */
    private final ThreadMXBean threadMXBean;
 
@@ -40,6 +44,9 @@ public class OperatorStatistics implements OperatorEventListener {
    /** Counts the number of all output tuples produced by this operator. */
    private long outputTuples;
 
+   /** Counts the number of input tuples that this operator deliberately dropped. */
+   private long droppedTuples;
+
    /** Counts the number of times that this operator blocked. */
    private long blockedCount;
 
@@ -58,28 +65,38 @@ public class OperatorStatistics implements OperatorEventListener {
    /** Records the CPU time in user mode of the monitored operator thread. */
    private long threadUserTime;
 
+   /** Counts the number of work quanta executed by this operator. */
+   private long quanta;
+
+   /** Thread information at the start of the current work quantum. */
+   private ThreadInfo quantumStartInfo;
+
+   /** Total CPU time of the executing thread at the start of the current work quantum. */
+   private long quantumStartCpuTime;
+
+   /** User-mode CPU time of the executing thread at the start of the current work quantum. */
+   private long quantumStartUserTime;
+
    /**
     * Constructs an instance and throws an exception if the used JVM does not support thread wise CPU timing.
     *
     * @param operatorName
     *           name of the operator
-    * @param threadId
-    *           ID of the operator thread
     * @param threadMXBean
     *           thread management bean
     */
-   public OperatorStatistics(final String operatorName, final long threadId,
-         final ThreadMXBean threadMXBean) {
+   public OperatorStatistics(final String operatorName, final ThreadMXBean threadMXBean) {
       this.operatorName = operatorName;
-      this.threadId = threadId;
       this.threadMXBean = threadMXBean;
       this.outputTuples = 0;
+      this.droppedTuples = 0;
       this.blockedCount = 0;
       this.blockedTime = 0;
       this.waitedCount = 0;
       this.waitedTime = 0;
       this.threadCpuTime = 0;
       this.threadUserTime = 0;
+      this.quanta = 0;
    }
 
    @Override
@@ -92,18 +109,80 @@ public class OperatorStatistics implements OperatorEventListener {
       this.outputTuples++;
    }
 
+   @Override
+   public void onInputBatch(final Operator source, final PageElement page) {
+      this.inputTuples += page.size();
+   }
+
+   @Override
+   public void onOutputBatch(final Operator source, final PageElement page) {
+      this.outputTuples += page.size();
+   }
+
+   @Override
+   public void onBlocked(final Operator source, final long nanos) {
+      // blocking is accounted using the thread information
+   }
+
+   @Override
+   public void onIdle(final Operator source, final long nanos) {
+      // waiting is accounted using the thread information
+   }
+
+   @Override
+   public void onDroppedTuples(final Operator source, final long count) {
+      this.droppedTuples += count;
+   }
+
+   @Override
+   public void onQuantumStart(final Operator source) {
+      if (this.threadMXBean.isCurrentThreadCpuTimeSupported()) {
+         this.quantumStartCpuTime = this.threadMXBean.getCurrentThreadCpuTime();
+         this.quantumStartUserTime = this.threadMXBean.getCurrentThreadUserTime();
+      }
+      this.quantumStartInfo = this.threadMXBean.getThreadInfo(Thread.currentThread().getId());
+   }
+
+   @Override
+   public void onQuantumEnd(final Operator source) {
+      // threads that are not supported by the management bean, e.g., virtual threads, report negative values
+      if (this.threadMXBean.isCurrentThreadCpuTimeSupported() && this.quantumStartCpuTime >= 0) {
+         this.threadCpuTime += this.threadMXBean.getCurrentThreadCpuTime() - this.quantumStartCpuTime;
+         this.threadUserTime += this.threadMXBean.getCurrentThreadUserTime() - this.quantumStartUserTime;
+      }
+      final ThreadInfo threadInfo = this.threadMXBean.getThreadInfo(Thread.currentThread().getId());
+      if (threadInfo != null && this.quantumStartInfo != null) {
+         this.blockedCount += threadInfo.getBlockedCount() - this.quantumStartInfo.getBlockedCount();
+         this.waitedCount += threadInfo.getWaitedCount() - this.quantumStartInfo.getWaitedCount();
+         if (this.threadMXBean.isThreadContentionMonitoringEnabled()) {
+            this.blockedTime += threadInfo.getBlockedTime() - this.quantumStartInfo.getBlockedTime();
+            this.waitedTime += threadInfo.getWaitedTime() - this.quantumStartInfo.getWaitedTime();
+         }
+      }
+      this.quantumStartInfo = null;
+      this.quanta++;
+   }
+
    @Override
    public void onShutdown(final Operator source) {
-      if (this.threadMXBean.isThreadCpuTimeSupported()) {
-         this.threadCpuTime = this.threadMXBean.getThreadCpuTime(this.threadId);
-         this.threadUserTime = this.threadMXBean.getThreadUserTime(this.threadId);
+      if (source instanceof AbstractOperator && ((AbstractOperator) source).isFused()) {
+         // the thread of a fused operator is accounted to the operator into which it is fused
+         return;
       }
-      final ThreadInfo threadInfo = this.threadMXBean.getThreadInfo(this.threadId);
-      this.blockedCount = threadInfo.getBlockedCount();
-      this.waitedCount = threadInfo.getWaitedCount();
-      if (this.threadMXBean.isThreadContentionMonitoringEnabled()) {
-         this.blockedTime = threadInfo.getBlockedTime();
-         this.waitedTime = threadInfo.getWaitedTime();
+      if (this.quanta == 0) {
+         // the operator does not report work quanta, hence it is running on a dedicated thread
+         final long threadId = Thread.currentThread().getId();
+         if (this.threadMXBean.isThreadCpuTimeSupported()) {
+            this.threadCpuTime = this.threadMXBean.getThreadCpuTime(threadId);
+            this.threadUserTime = this.threadMXBean.getThreadUserTime(threadId);
+         }
+         final ThreadInfo threadInfo = this.threadMXBean.getThreadInfo(threadId);
+         this.blockedCount = threadInfo.getBlockedCount();
+         this.waitedCount = threadInfo.getWaitedCount();
+         if (this.threadMXBean.isThreadContentionMonitoringEnabled()) {
+            this.blockedTime = threadInfo.getBlockedTime();
+            this.waitedTime = threadInfo.getWaitedTime();
+         }
       }
    }
 
@@ -134,6 +213,24 @@ public class OperatorStatistics implements OperatorEventListener {
       return this.outputTuples;
    }
 
+   /**
+    * Returns the number of input tuples deliberately dropped by the monitored operator.
+    *
+    * @return number of dropped tuples
+    */
+   public long getDroppedTuples() {
+      return this.droppedTuples;
+   }
+
+   /**
+    * Returns the number of work quanta executed by the monitored operator.
+    *
+    * @return number of work quanta
+    */
+   public long getQuanta() {
+      return this.quanta;
+   }
+
    /**
     * Returns the number of times the monitored operator was blocked. This information is recorded upon
     * operator shutdown and therefore not available prior.
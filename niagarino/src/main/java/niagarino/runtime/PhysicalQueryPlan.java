@@ -13,16 +13,27 @@ import java.io.PrintStream;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import niagarino.QueryException;
 import niagarino.operator.Operator;
+import niagarino.operator.OperatorFusion;
 import niagarino.stream.Stream;
+import niagarino.util.PropertiesReader;
 
 /**
  * A physical query plan is a directed acyclic graph with operators as nodes and streams as edges.
@@ -51,10 +62,15 @@ public class PhysicalQueryPlan implements Thread.UncaughtExceptionHandler {
       SINK
    };
 
+   /** Logger of this class. */
+   private static final Logger LOG = LogManager.getLogger(PhysicalQueryPlan.class);
+   /** Counter used to give the management beans of every physical query plan a unique name. */
+   private static final AtomicInteger PLAN_COUNTER = new AtomicInteger();
+
    /** All operators in this physical query plan. */
    private final Map<String, Operator> operators;
-   /** All streams in this physical query plan. */
-   private final Set<Stream> streams;
+   /** All streams in this physical query plan mapped to their names. */
+   private final Map<Stream, String> streams;
    /** Source operators in this physical query plan. */
    private final Set<Operator> sources;
    /** Sink operators in this physical query plan. */
@@ -63,26 +79,43 @@ public class PhysicalQueryPlan implements Thread.UncaughtExceptionHandler {
    private boolean statisticsEnabled;
    /** List of all operator statistics. */
    private final List<OperatorStatistics> statistics;
+   /** Indicates whether live metrics are collected. */
+   private boolean metricsEnabled;
+   /** List of all operator metrics. */
+   private final List<OperatorMetrics> metrics;
+   /** List of all stream metrics. */
+   private final List<StreamMetrics> streamMetrics;
+   /** Indicates whether chains of cheap operators are fused into one thread. */
+   private boolean fusionEnabled;
    /** Records the execution time in nanoseconds of this physical query plan. */
    private long executionTime;
    /** Records the memory in bytes used by this physical query plan. */
    private long memoryUsage;
    /** List that collects exceptions that occur in operator threads during execution. */
    private final List<Throwable> throwables;
+   /** Executor that assigns the operators of this physical query plan to threads. */
+   private PlanExecutor executor;
 
    /**
     * Creates a new physical query plan, which can optionally use paging.
     */
    public PhysicalQueryPlan() {
       this.operators = new LinkedHashMap<>();
-      this.streams = new HashSet<>();
+      this.streams = new LinkedHashMap<>();
       this.sources = new HashSet<>();
       this.sinks = new HashSet<>();
       this.statisticsEnabled = false;
       this.statistics = new ArrayList<>();
+      this.metricsEnabled = Boolean.parseBoolean(PropertiesReader.getPropertiesReader().getProperties()
+            .getProperty(PropertiesReader.METRICS_ENABLED));
+      this.metrics = new ArrayList<>();
+      this.streamMetrics = new ArrayList<>();
+      this.fusionEnabled = Boolean.parseBoolean(PropertiesReader.getPropertiesReader().getProperties()
+            .getProperty(PropertiesReader.FUSION_ENABLED));
       this.executionTime = 0;
       this.memoryUsage = 0;
-      this.throwables = new ArrayList<>();
+      this.throwables = Collections.synchronizedList(new ArrayList<>());
+      this.executor = ExecutorType.getConfiguredType().createExecutor();
    }
 
    /**
@@ -100,24 +133,28 @@ public class PhysicalQueryPlan implements Thread.UncaughtExceptionHandler {
    }
 
    /**
-    * Adds the given operator to this physical query plan and marks it with the given type.
+    * Adds the given operator to this physical query plan and marks it with the given types. An operator that
+    * reads from a stream outside of this plan, e.g., from an operator shared with other plans, is a source
+    * and can be a sink at the same time.
     *
     * @param operator
     *           stream operator
-    * @param type
-    *           operator type
+    * @param types
+    *           operator types
     */
-   public void addOperator(final Operator operator, final OperatorType type) {
+   public void addOperator(final Operator operator, final OperatorType... types) {
       this.addOperator(operator);
-      switch (type) {
-         case SOURCE:
-            this.sources.add(operator);
-            break;
-         case SINK:
-            this.sinks.add(operator);
-            break;
-         default:
-            // do nothing
+      for (final OperatorType type : types) {
+         switch (type) {
+            case SOURCE:
+               this.sources.add(operator);
+               break;
+            case SINK:
+               this.sinks.add(operator);
+               break;
+            default:
+               // do nothing
+         }
       }
    }
 
@@ -143,7 +180,7 @@ public class PhysicalQueryPlan implements Thread.UncaughtExceptionHandler {
    public void addStream(final Operator from, final Operator to) {
       if (this.operators.containsValue(from) && this.operators.containsValue(to)) {
          final Stream stream = new Stream();
-         this.streams.add(stream);
+         this.streams.put(stream, from.getName() + "->" + to.getName());
          from.addOutputStream(stream);
          to.addInputStream(stream);
       } else {
@@ -157,7 +194,7 @@ public class PhysicalQueryPlan implements Thread.UncaughtExceptionHandler {
     * @return stream of this physical query plan
     */
    public Set<Stream> getStreams() {
-      return Collections.unmodifiableSet(this.streams);
+      return Collections.unmodifiableSet(this.streams.keySet());
    }
 
    /**
@@ -179,6 +216,96 @@ public class PhysicalQueryPlan implements Thread.UncaughtExceptionHandler {
       return this.statisticsEnabled;
    }
 
+   /**
+    * Returns the statistics of all operators of this physical query plan as an unmodifiable list. Statistics
+    * are only collected if they are enabled before the plan is executed.
+    *
+    * @return operator statistics
+    */
+   public List<OperatorStatistics> getStatistics() {
+      return Collections.unmodifiableList(this.statistics);
+   }
+
+   /**
+    * Set whether this physical query plan collects live metrics. If enabled, the metrics are also registered
+    * as management beans with the platform MBean server while the plan is executed.
+    *
+    * @param metricsEnabled
+    *           {@code true} if metrics are collected, {@code false} otherwise
+    */
+   public void setMetricsEnabled(final boolean metricsEnabled) {
+      this.metricsEnabled = metricsEnabled;
+   }
+
+   /**
+    * Returns whether this physical query plan collects live metrics.
+    *
+    * @return {@code true} if metrics are collected, {@code false} otherwise
+    */
+   public boolean isMetricsEnabled() {
+      return this.metricsEnabled;
+   }
+
+   /**
+    * Returns the metrics of all operators of this physical query plan as an unmodifiable list. In contrast to
+    * statistics, metrics can be read while the plan is executed. Metrics are only collected if they are
+    * enabled before the plan is executed.
+    *
+    * @return operator metrics
+    */
+   public List<OperatorMetrics> getMetrics() {
+      return Collections.unmodifiableList(this.metrics);
+   }
+
+   /**
+    * Returns the metrics of all streams of this physical query plan as an unmodifiable list. Metrics are only
+    * collected if they are enabled before the plan is executed.
+    *
+    * @return stream metrics
+    */
+   public List<StreamMetrics> getStreamMetrics() {
+      return Collections.unmodifiableList(this.streamMetrics);
+   }
+
+   /**
+    * Set whether this physical query plan fuses chains of cheap operators into the thread of the operator
+    * feeding them. Disabling fusion runs every operator in its own thread, which is useful for debugging.
+    *
+    * @param fusionEnabled
+    *           {@code true} if operators are fused, {@code false} otherwise
+    */
+   public void setFusionEnabled(final boolean fusionEnabled) {
+      this.fusionEnabled = fusionEnabled;
+   }
+
+   /**
+    * Returns whether this physical query plan fuses chains of cheap operators into one thread.
+    *
+    * @return {@code true} if operators are fused, {@code false} otherwise
+    */
+   public boolean isFusionEnabled() {
+      return this.fusionEnabled;
+   }
+
+   /**
+    * Sets the executor that assigns the operators of this physical query plan to threads.
+    *
+    * @param executor
+    *           plan executor
+    */
+   public void setExecutor(final PlanExecutor executor) {
+      this.executor = executor;
+   }
+
+   /**
+    * Returns the executor that assigns the operators of this physical query plan to threads.
+    *
+    * @return plan executor
+    */
+   public PlanExecutor getExecutor() {
+      return this.executor;
+   }
+
    /**
     * Executes this physical query plan.
     *
@@ -210,35 +337,42 @@ public class PhysicalQueryPlan implements Thread.UncaughtExceptionHandler {
          // Record the memory used at the start of the physical query plan
          startMemory = runtime.totalMemory() - runtime.freeMemory();
       }
-      try {
-         final List<Thread> sourceThreads = new ArrayList<>();
-         for (final Operator operator : this.operators.values()) {
-            operator.setSink(this.sinks.contains(operator));
-            final Thread thread = new Thread(operator);
-            // Register handler for exception that are not caught by the operator thread in order to propagate
-            // them to the main thread
-            thread.setUncaughtExceptionHandler(this);
-            // Set the thread name to the operator name in order to get better debugging information
-            thread.setName(operator.getName());
-            if (this.sources.contains(operator)) {
-               sourceThreads.add(thread);
-            }
-            if (this.statisticsEnabled) {
-               // Collect operator statistics using an operator event listener
-               final OperatorStatistics stats = new OperatorStatistics(operator.getName(), thread.getId(),
-                     threadMXBean);
-               operator.addOperatorEventListener(stats);
-               this.statistics.add(stats);
-            }
-            // Operator is fully configured, start the corresponding thread
-            thread.start();
+      for (final Operator operator : this.operators.values()) {
+         operator.setSink(this.sinks.contains(operator));
+         if (this.statisticsEnabled) {
+            // Collect operator statistics using an operator event listener
+            final OperatorStatistics stats = new OperatorStatistics(operator.getName(), threadMXBean);
+            operator.addOperatorEventListener(stats);
+            this.statistics.add(stats);
+         }
+         if (this.metricsEnabled) {
+            // Sources stamp their output tuples, so that sinks can measure the end-to-end latency
+            final OperatorMetrics operatorMetrics = new OperatorMetrics(operator.getName(),
+                  this.sources.contains(operator), this.sinks.contains(operator));
+            operator.addOperatorEventListener(operatorMetrics);
+            this.metrics.add(operatorMetrics);
          }
-         // Wait for all operators to finish
-         for (final Thread thread : sourceThreads) {
-            thread.join();
+      }
+      if (this.metricsEnabled) {
+         for (final Map.Entry<Stream, String> entry : this.streams.entrySet()) {
+            this.streamMetrics.add(new StreamMetrics(entry.getValue(), entry.getKey()));
          }
+      }
+      final List<ObjectName> beans = this.registerMetrics();
+      try {
+         // Operators are fully configured, hand them to the executor and wait for them to finish
+         final Collection<Operator> operators;
+         if (this.fusionEnabled) {
+            // fused operators are run by the thread of the operator heading their chain
+            operators = OperatorFusion.fuse(this.operators.values());
+         } else {
+            operators = this.operators.values();
+         }
+         this.executor.execute(operators, this.sources, this);
       } catch (final InterruptedException e) {
          throw new QueryException(e);
+      } finally {
+         PhysicalQueryPlan.unregisterMetrics(beans);
       }
       if (this.statisticsEnabled) {
          // Record the end time of the physical query plan
@@ -254,6 +388,54 @@ public class PhysicalQueryPlan implements Thread.UncaughtExceptionHandler {
       this.memoryUsage = endMemory - startMemory;
    }
 
+   /**
+    * Registers the operator and stream metrics of this physical query plan with the platform MBean server.
+    * Failing to register the metrics does not prevent the plan from being executed.
+    *
+    * @return names of the registered management beans
+    */
+   private List<ObjectName> registerMetrics() {
+      final List<ObjectName> beans = new ArrayList<>();
+      if (this.metricsEnabled) {
+         final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+         final String plan = "niagarino:plan=" + PLAN_COUNTER.incrementAndGet();
+         try {
+            for (final OperatorMetrics operatorMetrics : this.metrics) {
+               final ObjectName name = new ObjectName(
+                     plan + ",type=Operator,name=" + ObjectName.quote(operatorMetrics.getOperatorName()));
+               server.registerMBean(operatorMetrics, name);
+               beans.add(name);
+            }
+            for (final StreamMetrics metrics : this.streamMetrics) {
+               final ObjectName name = new ObjectName(
+                     plan + ",type=Stream,name=" + ObjectName.quote(metrics.getStreamName()));
+               server.registerMBean(metrics, name);
+               beans.add(name);
+            }
+         } catch (final JMException e) {
+            LOG.warn("Could not register metrics with the platform MBean server.", e);
+         }
+      }
+      return beans;
+   }
+
+   /**
+    * Unregisters the management beans with the given names from the platform MBean server.
+    *
+    * @param beans
+    *           names of the registered management beans
+    */
+   private static void unregisterMetrics(final List<ObjectName> beans) {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      for (final ObjectName name : beans) {
+         try {
+            server.unregisterMBean(name);
+         } catch (final JMException e) {
+            LOG.warn("Could not unregister metrics '" + name + "' from the platform MBean server.", e);
+         }
+      }
+   }
+
    /**
     * Terminates this physical query plan by stopping all operators.
     */
@@ -275,12 +457,13 @@ public class PhysicalQueryPlan implements Thread.UncaughtExceptionHandler {
       if (this.statisticsEnabled) {
          for (final OperatorStatistics stats : this.statistics) {
             final String s = "---" + padRight(stats.getOperatorName(), 42, '-') + "\nProcessed tuples\t"
-                  + stats.getInputTuples() + " -> " + stats.getOutputTuples() + "\nBlocked count\t\t"
+                  + stats.getInputTuples() + " -> " + stats.getOutputTuples() + "\nDropped tuples\t\t"
+                  + stats.getDroppedTuples() + "\nBlocked count\t\t"
                   + stats.getBlockedCount() + "\nBlocked time\t\t" + stats.getBlockedTime()
                   + " ms\nWaited count\t\t" + stats.getWaitedCount() + "\nWaited time\t\t"
                   + stats.getWaitedTime() + " ms\nTotal CPU time\t\t"
                   + (long) (stats.getThreadCpuTime() / 1E06) + " ms" + "\nUser-mode CPU time\t"
-                  + (long) (stats.getThreadUserTime() / 1E06) + " ms";
+                  + (long) (stats.getThreadUserTime() / 1E06) + " ms\nWork quanta\t\t" + stats.getQuanta();
             out.println(s);
          }
          final String s = "===Summary===================================" + "\nTotal execution time\t"
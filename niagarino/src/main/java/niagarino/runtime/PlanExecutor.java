@@ -0,0 +1,40 @@
+/*
+ * @(#)PlanExecutor.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import java.util.Collection;
+import java.util.Set;
+
+import niagarino.operator.Operator;
+
+/**
+ * Interface describing the strategy that a physical query plan uses to assign its operators to threads.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public interface PlanExecutor {
+
+   /**
+    * Executes the given fully configured operators and returns once all of the given source operators have
+    * terminated.
+    *
+    * @param operators
+    *           all operators of the physical query plan
+    * @param sources
+    *           source operators of the physical query plan
+    * @param handler
+    *           handler for exceptions that are not caught by the operators
+    * @throws InterruptedException
+    *            if the calling thread is interrupted while waiting for the operators
+    */
+   void execute(Collection<Operator> operators, Set<Operator> sources,
+         Thread.UncaughtExceptionHandler handler) throws InterruptedException;
+}
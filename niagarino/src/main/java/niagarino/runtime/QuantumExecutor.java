@@ -0,0 +1,215 @@
+/*
+ * @(#)QuantumExecutor.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import niagarino.operator.CooperativeOperator;
+import niagarino.operator.Operator;
+import niagarino.util.PropertiesReader;
+
+/**
+ * Abstract plan executor that runs cooperative operators in work quanta on a shared executor service instead
+ * of dedicating a thread to every operator. An operator is only scheduled while it has work to do. Once a
+ * work quantum finds no more stream elements, the operator is rescheduled as soon as its signal is raised.
+ * Operators that cannot be executed cooperatively are still executed by a dedicated thread.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public abstract class QuantumExecutor implements PlanExecutor {
+
+   /** Default maximum number of rounds over all streams of an operator in one work quantum. */
+   private static final int DEFAULT_QUANTUM = 64;
+
+   /** Maximum number of rounds over all streams of an operator in one work quantum. */
+   private final int quantum;
+
+   /**
+    * Constructs a new quantum executor with the given work quantum.
+    *
+    * @param quantum
+    *           maximum number of rounds over all streams of an operator in one work quantum
+    */
+   protected QuantumExecutor(final int quantum) {
+      if (quantum < 1) {
+         throw new IllegalArgumentException("Work quantum must be positive.");
+      }
+      this.quantum = quantum;
+   }
+
+   /**
+    * Constructs a new quantum executor with the work quantum configured in the Niagarino properties.
+    */
+   protected QuantumExecutor() {
+      this(QuantumExecutor.getConfiguredQuantum());
+   }
+
+   /**
+    * Creates the executor service that runs the work quanta of one physical query plan.
+    *
+    * @return executor service
+    */
+   protected abstract ExecutorService createExecutorService();
+
+   @Override
+   public void execute(final Collection<Operator> operators, final Set<Operator> sources,
+         final Thread.UncaughtExceptionHandler handler) throws InterruptedException {
+      final ExecutorService service = this.createExecutorService();
+      final List<OperatorTask> tasks = new ArrayList<>();
+      final List<Thread> sourceThreads = new ArrayList<>();
+      for (final Operator operator : operators) {
+         if (operator instanceof CooperativeOperator) {
+            tasks.add(new OperatorTask((CooperativeOperator) operator, service, handler));
+         } else {
+            final Thread thread = ThreadExecutor.startThread(operator, handler);
+            if (sources.contains(operator)) {
+               sourceThreads.add(thread);
+            }
+         }
+      }
+      final CountDownLatch finished = new CountDownLatch(tasks.size());
+      for (final OperatorTask task : tasks) {
+         task.open(finished);
+      }
+      for (final OperatorTask task : tasks) {
+         task.schedule();
+      }
+      try {
+         // Wait for all operators to finish
+         finished.await();
+         for (final Thread thread : sourceThreads) {
+            thread.join();
+         }
+      } finally {
+         service.shutdown();
+      }
+   }
+
+   /**
+    * Returns the work quantum that is configured in the Niagarino properties.
+    *
+    * @return configured work quantum
+    */
+   private static int getConfiguredQuantum() {
+      final String quantum = PropertiesReader.getPropertiesReader().getProperties()
+            .getProperty(PropertiesReader.EXECUTOR_QUANTUM);
+      if (quantum == null) {
+         return DEFAULT_QUANTUM;
+      }
+      return Integer.parseInt(quantum.trim());
+   }
+
+   /**
+    * Task that runs one work quantum of a cooperative operator and reschedules itself as long as the operator
+    * has work to do.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private final class OperatorTask implements Runnable {
+
+      /** Operator executed by this task. */
+      private final CooperativeOperator operator;
+      /** Executor service that runs this task. */
+      private final ExecutorService service;
+      /** Handler for exceptions that are not caught by the operator. */
+      private final Thread.UncaughtExceptionHandler handler;
+      /** Indicates whether this task is currently scheduled or running. */
+      private final AtomicBoolean scheduled;
+      /** Latch that is counted down once the operator has finished. */
+      private CountDownLatch finished;
+
+      /**
+       * Constructs a new operator task.
+       *
+       * @param operator
+       *           cooperative operator
+       * @param service
+       *           executor service that runs this task
+       * @param handler
+       *           handler for exceptions that are not caught by the operator
+       */
+      private OperatorTask(final CooperativeOperator operator, final ExecutorService service,
+            final Thread.UncaughtExceptionHandler handler) {
+         this.operator = operator;
+         this.service = service;
+         this.handler = handler;
+         this.scheduled = new AtomicBoolean(false);
+      }
+
+      /**
+       * Opens the operator and registers this task to be scheduled whenever the operator signal is raised.
+       *
+       * @param finished
+       *           latch that is counted down once the operator has finished
+       */
+      private void open(final CountDownLatch finished) {
+         this.finished = finished;
+         this.operator.open();
+         this.operator.getSignal().setListener(this::schedule);
+      }
+
+      /**
+       * Schedules this task unless it is already scheduled or running.
+       */
+      private void schedule() {
+         if (this.scheduled.compareAndSet(false, true)) {
+            this.service.execute(this);
+         }
+      }
+
+      @Override
+      public void run() {
+         final boolean more;
+         try {
+            // signals raised from here on will trigger another work quantum
+            this.operator.getSignal().consume();
+            more = this.operator.runQuantum(QuantumExecutor.this.quantum);
+         } catch (final Throwable throwable) {
+            this.handler.uncaughtException(Thread.currentThread(), throwable);
+            this.finish();
+            return;
+         }
+         if (!this.operator.isRunning()) {
+            this.finish();
+         } else if (more) {
+            // yield to other operators, but stay scheduled
+            this.service.execute(this);
+         } else {
+            this.scheduled.set(false);
+            // catch signals that were raised while this task was still marked as scheduled
+            if (this.operator.getSignal().isPending()) {
+               this.schedule();
+            }
+         }
+      }
+
+      /**
+       * Closes the operator and marks it as finished.
+       */
+      private void finish() {
+         this.operator.getSignal().setListener(null);
+         try {
+            // closing may block, e.g., to flush console output
+            ManagedBlocking.run(this.operator::close);
+         } catch (final Throwable throwable) {
+            this.handler.uncaughtException(Thread.currentThread(), throwable);
+         }
+         this.finished.countDown();
+      }
+   }
+}
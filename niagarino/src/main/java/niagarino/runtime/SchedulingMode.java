@@ -0,0 +1,42 @@
+/*
+ * @(#)SchedulingMode.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import niagarino.util.PropertiesReader;
+
+/**
+ * Enumeration of the strategies an operator thread can use to wait for new stream elements.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public enum SchedulingMode {
+
+   /** Idle operators poll their streams and sleep with exponential back-off in between. */
+   BACKOFF,
+
+   /** Idle operators park until a stream element is pushed onto one of their streams. */
+   SIGNAL;
+
+   /**
+    * Returns the scheduling mode that is configured in the Niagarino properties. If no scheduling mode is
+    * configured, the event-driven strategy is used, as in the default properties.
+    *
+    * @return configured scheduling mode
+    */
+   public static SchedulingMode getConfiguredMode() {
+      final String mode = PropertiesReader.getPropertiesReader().getProperties()
+            .getProperty(PropertiesReader.SCHEDULER_MODE);
+      if (mode == null) {
+         return SIGNAL;
+      }
+      return SchedulingMode.valueOf(mode.trim().toUpperCase());
+   }
+}
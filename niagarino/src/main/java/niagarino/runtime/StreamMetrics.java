@@ -0,0 +1,56 @@
+/*
+ * @(#)StreamMetrics.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import niagarino.stream.Stream;
+import niagarino.stream.Stream.Flow;
+
+/**
+ * Stream metrics report the occupancy of a stream of a running physical query plan. A stream whose forward
+ * direction is constantly full indicates that its consuming operator is a bottleneck.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class StreamMetrics implements StreamMetricsMBean {
+
+   /** Name of the stream. */
+   private final String streamName;
+   /** Monitored stream. */
+   private final Stream stream;
+
+   /**
+    * Constructs new metrics for the given stream.
+    *
+    * @param streamName
+    *           name of the stream
+    * @param stream
+    *           monitored stream
+    */
+   public StreamMetrics(final String streamName, final Stream stream) {
+      this.streamName = streamName;
+      this.stream = stream;
+   }
+
+   @Override
+   public String getStreamName() {
+      return this.streamName;
+   }
+
+   @Override
+   public int getForwardSize() {
+      return this.stream.getSize(Flow.FORWARD);
+   }
+
+   @Override
+   public int getBackwardSize() {
+      return this.stream.getSize(Flow.BACKWARD);
+   }
+}
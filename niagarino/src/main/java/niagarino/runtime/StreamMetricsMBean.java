@@ -0,0 +1,43 @@
+/*
+ * @(#)StreamMetricsMBean.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+/**
+ * Management interface that exposes the occupancy of a stream through JMX.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public interface StreamMetricsMBean {
+
+   /**
+    * Returns the name of the monitored stream, which consists of the names of the producing and the consuming
+    * operator.
+    *
+    * @return stream name
+    */
+   String getStreamName();
+
+   /**
+    * Returns the number of stream elements currently buffered in the forward direction of the monitored
+    * stream.
+    *
+    * @return forward queue depth
+    */
+   int getForwardSize();
+
+   /**
+    * Returns the number of stream elements currently buffered in the backward direction of the monitored
+    * stream.
+    *
+    * @return backward queue depth
+    */
+   int getBackwardSize();
+}
@@ -0,0 +1,63 @@
+/*
+ * @(#)ThreadExecutor.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import niagarino.operator.Operator;
+
+/**
+ * Plan executor that starts one dedicated thread for every operator.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ThreadExecutor implements PlanExecutor {
+
+   @Override
+   public void execute(final Collection<Operator> operators, final Set<Operator> sources,
+         final Thread.UncaughtExceptionHandler handler) throws InterruptedException {
+      final List<Thread> sourceThreads = new ArrayList<>();
+      for (final Operator operator : operators) {
+         final Thread thread = ThreadExecutor.startThread(operator, handler);
+         if (sources.contains(operator)) {
+            sourceThreads.add(thread);
+         }
+      }
+      // Wait for all operators to finish
+      for (final Thread thread : sourceThreads) {
+         thread.join();
+      }
+   }
+
+   /**
+    * Starts a dedicated thread that executes the given operator.
+    *
+    * @param operator
+    *           stream operator
+    * @param handler
+    *           handler for exceptions that are not caught by the operator
+    * @return operator thread
+    */
+   static Thread startThread(final Operator operator, final Thread.UncaughtExceptionHandler handler) {
+      final Thread thread = new Thread(operator);
+      // Register handler for exception that are not caught by the operator thread in order to propagate
+      // them to the main thread
+      thread.setUncaughtExceptionHandler(handler);
+      // Set the thread name to the operator name in order to get better debugging information
+      thread.setName(operator.getName());
+      // Operator is fully configured, start the corresponding thread
+      thread.start();
+      return thread;
+   }
+}
@@ -0,0 +1,59 @@
+/*
+ * @(#)VirtualThreadExecutor.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Plan executor that runs every work quantum of an operator on a new virtual thread. Virtual threads are
+ * looked up at runtime, as Niagarino is compiled for older Java versions. If the Java runtime does not
+ * support virtual threads, work quanta are executed on a cached pool of platform threads instead.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class VirtualThreadExecutor extends QuantumExecutor {
+
+   /** Logger for this class. */
+   private static final Logger LOG = LogManager.getLogger(VirtualThreadExecutor.class);
+
+   /**
+    * Constructs a new virtual thread executor with the given work quantum.
+    *
+    * @param quantum
+    *           maximum number of rounds over all streams of an operator in one work quantum
+    */
+   public VirtualThreadExecutor(final int quantum) {
+      super(quantum);
+   }
+
+   /**
+    * Constructs a new virtual thread executor with the configured work quantum.
+    */
+   public VirtualThreadExecutor() {
+      super();
+   }
+
+   @Override
+   protected ExecutorService createExecutorService() {
+      try {
+         final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+         return (ExecutorService) factory.invoke(null);
+      } catch (final ReflectiveOperationException e) {
+         LOG.warn("Virtual threads are not supported by this Java runtime, using platform threads instead.");
+         return Executors.newCachedThreadPool();
+      }
+   }
+}
@@ -0,0 +1,54 @@
+/*
+ * @(#)WorkStealingExecutor.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plan executor that runs operators in work quanta on a fixed work-stealing pool. By default, the pool is
+ * sized to the number of available cores. Workers that block on a full stream are compensated by the pool
+ * (see {@link ManagedBlocking}), so that the operators that drain the stream still get to run.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class WorkStealingExecutor extends QuantumExecutor {
+
+   /** Number of worker threads of the pool. */
+   private final int parallelism;
+
+   /**
+    * Constructs a new work-stealing executor with the given number of worker threads and work quantum.
+    *
+    * @param parallelism
+    *           number of worker threads
+    * @param quantum
+    *           maximum number of rounds over all streams of an operator in one work quantum
+    */
+   public WorkStealingExecutor(final int parallelism, final int quantum) {
+      super(quantum);
+      this.parallelism = parallelism;
+   }
+
+   /**
+    * Constructs a new work-stealing executor with one worker thread per available core and the configured
+    * work quantum.
+    */
+   public WorkStealingExecutor() {
+      this.parallelism = Runtime.getRuntime().availableProcessors();
+   }
+
+   @Override
+   protected ExecutorService createExecutorService() {
+      // asynchronous mode schedules rescheduled operators in FIFO order, which is fairer than LIFO
+      return new ForkJoinPool(this.parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+   }
+}
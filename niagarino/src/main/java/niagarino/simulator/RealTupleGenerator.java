@@ -18,11 +18,13 @@ import niagarino.operator.OperatorException;
 import niagarino.stream.ControlTuple;
 import niagarino.stream.ControlTuple.Type;
 import niagarino.stream.DataTuple;
-import niagarino.stream.Page;
+import niagarino.stream.PageElement;
+import niagarino.stream.PageFormat;
 import niagarino.stream.Schema;
 import niagarino.stream.Stream;
 import niagarino.stream.Stream.Flow;
 import niagarino.stream.StreamElement;
+import niagarino.stream.StringDictionary;
 import niagarino.util.PropertiesReader;
 
 /**
@@ -46,7 +48,7 @@ public class RealTupleGenerator implements Operator, Runnable {
    /** Statistics collected by this operator. */
    private final OperatorEventListenerList listeners;
    /** Page. **/
-   private Page page;
+   private PageElement page;
    /** Current window value. */
    private int window = 0;
    /** Maximum window value. */
@@ -59,6 +61,10 @@ public class RealTupleGenerator implements Operator, Runnable {
    /** Number of tuples in a page. */
    private final int pageSize = Integer.parseInt(PropertiesReader.getPropertiesReader().getProperties()
          .getProperty(PropertiesReader.PAGING_PAGESIZE));
+   /** Format of the pages produced by this operator. */
+   private final PageFormat pageFormat = PageFormat.getConfiguredFormat();
+   /** Dictionary shared by all columnar pages produced by this operator. */
+   private final StringDictionary dictionary = new StringDictionary();
 
    /**
     * Constructs a new generator operator with the given output schema that creates tuples from the next()
@@ -156,12 +162,12 @@ public class RealTupleGenerator implements Operator, Runnable {
       while ((tuple = this.next()) != null) {
          if (this.isPaging) {
             if (this.page == null) {
-               this.page = new Page(this.pageSize);
+               this.page = this.pageFormat.createPage(this.schema, this.pageSize, this.dictionary);
             }
             this.page.put(tuple);
             if (this.page.isFull()) {
                this.stream.pushElement(Flow.FORWARD, this.page);
-               this.page = new Page(this.pageSize);
+               this.page = this.pageFormat.createPage(this.schema, this.pageSize, this.dictionary);
             }
          } else {
             this.stream.pushElement(Flow.FORWARD, tuple);
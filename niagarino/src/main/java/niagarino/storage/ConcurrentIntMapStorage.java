@@ -0,0 +1,306 @@
+/*
+ * @(#)ConcurrentIntMapStorage.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.storage;
+
+import java.util.function.BiConsumer;
+
+import niagarino.stream.DataTuple;
+
+/**
+ * MapStorage for integer keys that can be written and read by several threads at once. The keys are spread
+ * over a fixed number of stripes, each of which is an open-addressing hash table with primitive keys that is
+ * guarded by its own lock. Updates of keys in different stripes therefore do not contend and no key is ever
+ * boxed.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ * @param <V>
+ *           the value type
+ */
+public class ConcurrentIntMapStorage<V> extends MapStorage<V> {
+
+   /** Number of bits of the hash code that select a stripe. */
+   private static final int STRIPE_BITS = 4;
+   /** Default capacity of a stripe. */
+   private static final int DEFAULT_STRIPE_CAPACITY = 16;
+   /** Marker for slots that contain a <code>null</code> value. */
+   private static final Object NULL = new Object();
+
+   /** Stripes of this storage. */
+   private final Stripe[] stripes;
+
+   /**
+    * Constructs a new ConcurrentIntMapStorage with the specified initial capacity.
+    *
+    * @param initialSize
+    *           the expected number of keys, or <code>-1</code> for a default capacity
+    */
+   public ConcurrentIntMapStorage(final int initialSize) {
+      super(0);
+      final int stripeCapacity = initialSize < 0 ? DEFAULT_STRIPE_CAPACITY : Math.max(
+            DEFAULT_STRIPE_CAPACITY, initialSize >> STRIPE_BITS);
+      this.stripes = new Stripe[1 << STRIPE_BITS];
+      for (int i = 0; i < this.stripes.length; i++) {
+         this.stripes[i] = new Stripe(stripeCapacity);
+      }
+   }
+
+   /**
+    * Constructs a new ConcurrentIntMapStorage.
+    */
+   public ConcurrentIntMapStorage() {
+      this(-1);
+   }
+
+   @Override
+   protected void put(final Object key, final V value) {
+      this.put(ConcurrentIntMapStorage.toInt(key), value);
+   }
+
+   @Override
+   protected V get(final Object key) {
+      return this.get(ConcurrentIntMapStorage.toInt(key));
+   }
+
+   @Override
+   protected void put(final int key, final V value) {
+      final int hash = ConcurrentIntMapStorage.hash(key);
+      final Stripe stripe = this.stripes[hash >>> Integer.SIZE - STRIPE_BITS];
+      synchronized (stripe) {
+         stripe.put(key, hash, value == null ? NULL : value);
+      }
+   }
+
+   @Override
+   protected V get(final int key) {
+      final int hash = ConcurrentIntMapStorage.hash(key);
+      final Stripe stripe = this.stripes[hash >>> Integer.SIZE - STRIPE_BITS];
+      synchronized (stripe) {
+         return this.unmask(stripe.get(key, hash));
+      }
+   }
+
+   @Override
+   public void update(final int key, final DataTuple tuple, final StorageUpdateFunction<V> function) {
+      final int hash = ConcurrentIntMapStorage.hash(key);
+      final Stripe stripe = this.stripes[hash >>> Integer.SIZE - STRIPE_BITS];
+      synchronized (stripe) {
+         final V value = function.getUpdatedValue(this.unmask(stripe.get(key, hash)), tuple);
+         stripe.put(key, hash, value == null ? NULL : value);
+      }
+   }
+
+   @Override
+   public int size() {
+      int size = 0;
+      for (final Stripe stripe : this.stripes) {
+         synchronized (stripe) {
+            size += stripe.size;
+         }
+      }
+      return size;
+   }
+
+   @Override
+   public void forEach(final BiConsumer<Object, ? super V> action) {
+      for (final Stripe stripe : this.stripes) {
+         synchronized (stripe) {
+            for (int i = 0; i < stripe.values.length; i++) {
+               if (stripe.values[i] != null) {
+                  action.accept(stripe.keys[i], this.unmask(stripe.values[i]));
+               }
+            }
+         }
+      }
+   }
+
+   @Override
+   public String toString() {
+      final StringBuilder builder = new StringBuilder("{");
+      for (final Stripe stripe : this.stripes) {
+         synchronized (stripe) {
+            for (int i = 0; i < stripe.values.length; i++) {
+               if (stripe.values[i] != null) {
+                  if (builder.length() > 1) {
+                     builder.append(", ");
+                  }
+                  builder.append(stripe.keys[i]).append('=').append(this.unmask(stripe.values[i]));
+               }
+            }
+         }
+      }
+      return builder.append('}').toString();
+   }
+
+   /**
+    * Returns the value stored in a slot.
+    *
+    * @param value
+    *           content of the slot
+    * @return stored value
+    */
+   @SuppressWarnings("unchecked")
+   private V unmask(final Object value) {
+      return value == NULL ? null : (V) value;
+   }
+
+   /**
+    * Converts the given key object to an integer key.
+    *
+    * @param key
+    *           key object
+    * @return integer key
+    */
+   private static int toInt(final Object key) {
+      if (key instanceof Integer) {
+         return ((Integer) key).intValue();
+      }
+      throw new IllegalArgumentException("ConcurrentIntMapStorage only supports integer keys, got " + key
+            + ".");
+   }
+
+   /**
+    * Spreads the bits of the given key, so that the high bits select the stripe and the low bits the slot.
+    *
+    * @param key
+    *           integer key
+    * @return hash code
+    */
+   static int hash(final int key) {
+      final int hash = key * 0x9E3779B9;
+      return hash ^ hash >>> 16;
+   }
+
+   /**
+    * Open-addressing hash table with linear probing. Slots without a value are empty.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static final class Stripe {
+
+      /** Keys of the slots. */
+      private int[] keys;
+      /** Values of the slots, <code>null</code> for empty slots. */
+      private Object[] values;
+      /** Number of used slots. */
+      private int size;
+
+      /**
+       * Constructs a new stripe with room for the given number of keys.
+       *
+       * @param capacity
+       *           expected number of keys
+       */
+      Stripe(final int capacity) {
+         final int length = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) << 1;
+         this.keys = new int[length];
+         this.values = new Object[length];
+         this.size = 0;
+      }
+
+      /**
+       * Returns the value of the given key.
+       *
+       * @param key
+       *           integer key
+       * @param hash
+       *           hash code of the key
+       * @return value or <code>null</code> if the key is not contained
+       */
+      Object get(final int key, final int hash) {
+         final int mask = this.values.length - 1;
+         for (int slot = hash & mask;; slot = slot + 1 & mask) {
+            final Object value = this.values[slot];
+            if (value == null || this.keys[slot] == key) {
+               return value;
+            }
+         }
+      }
+
+      /**
+       * Sets the value of the given key.
+       *
+       * @param key
+       *           integer key
+       * @param hash
+       *           hash code of the key
+       * @param value
+       *           non-null value
+       */
+      void put(final int key, final int hash, final Object value) {
+         final int mask = this.values.length - 1;
+         int slot = hash & mask;
+         while (this.values[slot] != null && this.keys[slot] != key) {
+            slot = slot + 1 & mask;
+         }
+         if (this.values[slot] == null) {
+            this.size++;
+         }
+         this.keys[slot] = key;
+         this.values[slot] = value;
+         if (this.size * 2 > this.values.length) {
+            this.grow();
+         }
+      }
+
+      /**
+       * Doubles the number of slots of this stripe.
+       */
+      private void grow() {
+         final int[] oldKeys = this.keys;
+         final Object[] oldValues = this.values;
+         this.keys = new int[oldKeys.length * 2];
+         this.values = new Object[oldValues.length * 2];
+         this.size = 0;
+         for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+               this.put(oldKeys[i], ConcurrentIntMapStorage.hash(oldKeys[i]), oldValues[i]);
+            }
+         }
+      }
+   }
+
+   /**
+    * Factory to create new instances of ConcurrentIntMapStorage.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @param <V>
+    *           the value type of the storage
+    */
+   public static class ConcurrentIntMapStorageFactory<V> extends MapStorageFactory<V> {
+
+      /** The expected number of keys of each storage created with this factory. */
+      private final int initialCapacity;
+
+      /**
+       * Constructs a new ConcurrentIntMapStorageFactory with the given initial capacity.
+       *
+       * @param initialCapacity
+       *           the expected number of keys of each storage, or <code>-1</code> for a default capacity
+       */
+      public ConcurrentIntMapStorageFactory(final int initialCapacity) {
+         super(initialCapacity);
+         this.initialCapacity = initialCapacity;
+      }
+
+      /**
+       * Constructs a new ConcurrentIntMapStorageFactory.
+       */
+      public ConcurrentIntMapStorageFactory() {
+         this(-1);
+      }
+
+      @Override
+      public MapStorage<V> getStorageInstance() {
+         return new ConcurrentIntMapStorage<>(this.initialCapacity);
+      }
+   }
+}
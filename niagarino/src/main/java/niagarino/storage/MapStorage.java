@@ -10,6 +10,9 @@
 package niagarino.storage;
 
 import java.util.HashMap;
+import java.util.function.BiConsumer;
+
+import niagarino.stream.DataTuple;
 
 /**
  * The MapStorage is a HashMap wrapper featuring dedicated writer and reader objects to ensure proper
@@ -75,6 +78,67 @@ public class MapStorage<V> {
       return this.values.get(key);
    }
 
+   /**
+    * Puts the specified value with the specified integer key into this MapStorage.
+    *
+    * @param key
+    *           the key to place the value at
+    * @param value
+    *           the value to insert
+    */
+   protected void put(final int key, final V value) {
+      synchronized (this) {
+         this.put(Integer.valueOf(key), value);
+      }
+   }
+
+   /**
+    * Retrieves the value for the specified integer key.
+    *
+    * @param key
+    *           the key whose value is to get
+    * @return the value
+    */
+   protected V get(final int key) {
+      return this.get(Integer.valueOf(key));
+   }
+
+   /**
+    * Atomically replaces the value for the specified integer key with the value that the given update
+    * function derives from the current value and the given tuple.
+    *
+    * @param key
+    *           the key whose value is to update
+    * @param tuple
+    *           the tuple to update the value with
+    * @param function
+    *           the function that calculates the new value
+    */
+   public void update(final int key, final DataTuple tuple, final StorageUpdateFunction<V> function) {
+      synchronized (this) {
+         this.put(key, function.getUpdatedValue(this.get(key), tuple));
+      }
+   }
+
+   /**
+    * Returns the number of keys in this MapStorage.
+    *
+    * @return number of keys
+    */
+   public int size() {
+      return this.values.size();
+   }
+
+   /**
+    * Performs the given action for every key and value in this MapStorage.
+    *
+    * @param action
+    *           action to perform
+    */
+   public void forEach(final BiConsumer<Object, ? super V> action) {
+      this.values.forEach(action);
+   }
+
    @Override
    public String toString() {
       return this.values.toString();
@@ -144,5 +208,28 @@ public class MapStorage<V> {
       public MapStorage<V> getStorageInstance() {
          return new MapStorage<>(this.initialCapacity);
       }
+
+      /**
+       * Called when the segment stored in the given MapStorage is closed. No more values will be written to
+       * the storage. This implementation keeps the storage as it is.
+       *
+       * @param storage
+       *           storage of the closed segment
+       * @return storage that readers of the closed segment use
+       */
+      public MapStorage<V> close(final MapStorage<V> storage) {
+         return storage;
+      }
+
+      /**
+       * Called when the given storage of a closed segment is removed from the history of its segmented
+       * storage. This implementation does nothing.
+       *
+       * @param storage
+       *           storage of the removed segment
+       */
+      public void release(final MapStorage<V> storage) {
+         // nothing to release
+      }
    }
 }
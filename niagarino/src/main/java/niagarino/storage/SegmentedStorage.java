@@ -13,12 +13,16 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import niagarino.operator.SegmentedStorageWrite;
+import niagarino.runtime.ManagedBlocking;
 import niagarino.storage.MapStorage.MapStorageFactory;
 import niagarino.stream.DataTuple;
 
@@ -70,10 +74,13 @@ public class SegmentedStorage<V> {
    private final MapStorageFactory<V> factory;
 
    /** Storage objects for the segments. */
-   private final HashMap<Object, MapStorage<V>> storages;
+   private final Map<Object, MapStorage<V>> storages;
 
    /** Storage objects for closed segments. */
-   private final HashMap<Object, MapStorage<V>> closedSegments;
+   private final Map<Object, MapStorage<V>> closedSegments;
+
+   /** Completions of the segments for which readers are waiting, by segment key. */
+   private final Map<Object, CompletableFuture<MapStorage<V>>> completions;
 
    /** A queue to keep track of the order of the segments. */
    private final Queue<Object> history;
@@ -104,8 +111,9 @@ public class SegmentedStorage<V> {
       this.name = name;
       this.historySize = historySize;
       this.factory = factory;
-      this.storages = new HashMap<>();
-      this.closedSegments = new HashMap<>();
+      this.storages = new ConcurrentHashMap<>();
+      this.closedSegments = new ConcurrentHashMap<>();
+      this.completions = new HashMap<>();
       this.history = new LinkedList<>();
       this.closeState = new HashMap<>();
       this.writers = new HashSet<>();
@@ -116,7 +124,8 @@ public class SegmentedStorage<V> {
 
    /**
     * Inserts the given tuple into the correct segment storages after deriving the correct value using the
-    * given StorageUpdateFunction.
+    * given StorageUpdateFunction. Several writers can insert tuples at the same time, as only the creation of
+    * a segment and the update of a single key are synchronized.
     *
     * @param tuple
     *           the tuple to insert
@@ -138,12 +147,7 @@ public class SegmentedStorage<V> {
                }
             }
          }
-         final int key = updateFunction.getTupleNumericKey(tuple);
-         synchronized (storage) {
-            final V value = storage.getReader().get(key);
-            final V newValue = updateFunction.getUpdatedValue(value, tuple);
-            storage.getWriter().put(key, newValue);
-         }
+         storage.update(updateFunction.getTupleNumericKey(tuple), tuple, updateFunction);
       }
    }
 
@@ -176,7 +180,8 @@ public class SegmentedStorage<V> {
    }
 
    /**
-    * Retrieves the reader object for the storage of the segment identified by the given key.
+    * Retrieves the reader object for the storage of the segment identified by the given key. If the segment
+    * is still open, this method waits until it is closed.
     *
     * @param segmentKey
     *           the key for the segment of the required storage
@@ -185,30 +190,92 @@ public class SegmentedStorage<V> {
    public StorageReader<V> getSegmentReader(final Object segmentKey) {
       MapStorage<V> storage = this.closedSegments.get(segmentKey);
       if (storage == null) {
+         final CompletableFuture<MapStorage<V>> completion;
          synchronized (this) {
             storage = this.closedSegments.get(segmentKey);
-            final boolean open = this.storages.containsKey(segmentKey);
-            if (storage == null && !open) {
+            if (storage == null && !this.storages.containsKey(segmentKey)) {
                throw new IllegalArgumentException("Storage '" + segmentKey
                      + "' is not known or closed in this SegmentedStorage.");
-            } else {
-               while (storage == null) {
-                  try {
-                     LOG.debug("[" + this.name + "] Waiting for segment " + segmentKey + " to become ready.");
-                     this.wait();
-                  } catch (final InterruptedException e) {
-                     // Nothing to do here.
-                  }
-                  LOG.debug("[" + this.name + "] Woken while waiting for segment " + segmentKey
-                        + " to become ready.");
-                  storage = this.closedSegments.get(segmentKey);
-               }
             }
+            completion = this.getCompletion(segmentKey);
+         }
+         storage = this.await(segmentKey, completion);
+         if (storage == null) {
+            throw new IllegalArgumentException("Storage '" + segmentKey
+                  + "' has not been closed in this SegmentedStorage.");
          }
       }
       return storage.getReader();
    }
 
+   /**
+    * Retrieves the reader object for the storage of the segment identified by the given key, waiting until
+    * the segment has been created and closed. If all writers have finished without closing the segment, or if
+    * the segment has already been removed from the history, there is no reader.
+    *
+    * @param segmentKey
+    *           the key for the segment of the required storage
+    * @return the StorageReader for the segment in question, or <code>null</code> if the segment will never
+    *         be closed
+    */
+   public StorageReader<V> awaitSegmentReader(final Object segmentKey) {
+      MapStorage<V> storage = this.closedSegments.get(segmentKey);
+      if (storage == null) {
+         final CompletableFuture<MapStorage<V>> completion;
+         synchronized (this) {
+            storage = this.closedSegments.get(segmentKey);
+            if (storage == null && this.isClosed()) {
+               return null;
+            }
+            completion = this.getCompletion(segmentKey);
+         }
+         storage = this.await(segmentKey, completion);
+      }
+      return storage == null ? null : storage.getReader();
+   }
+
+   /**
+    * Returns the completion of the segment identified by the given key. This method must be called while
+    * holding the lock of this SegmentedStorage.
+    *
+    * @param segmentKey
+    *           the key identifying the segment
+    * @return future storage of the segment
+    */
+   private CompletableFuture<MapStorage<V>> getCompletion(final Object segmentKey) {
+      final MapStorage<V> storage = this.closedSegments.get(segmentKey);
+      if (storage != null) {
+         return CompletableFuture.completedFuture(storage);
+      }
+      CompletableFuture<MapStorage<V>> completion = this.completions.get(segmentKey);
+      if (completion == null) {
+         completion = new CompletableFuture<>();
+         this.completions.put(segmentKey, completion);
+      }
+      return completion;
+   }
+
+   /**
+    * Waits until the given completion of the segment identified by the given key is done.
+    *
+    * @param segmentKey
+    *           the key identifying the segment
+    * @param completion
+    *           future storage of the segment
+    * @return storage of the segment or <code>null</code> if the segment will never be closed
+    */
+   private MapStorage<V> await(final Object segmentKey, final CompletableFuture<MapStorage<V>> completion) {
+      while (!completion.isDone()) {
+         try {
+            LOG.debug("[" + this.name + "] Waiting for segment " + segmentKey + " to become ready.");
+            ManagedBlocking.get(completion);
+         } catch (final InterruptedException e) {
+            // Nothing to do here.
+         }
+      }
+      return completion.join();
+   }
+
    /**
     * {@inheritDoc}
     */
@@ -231,9 +298,12 @@ public class SegmentedStorage<V> {
                this.closeSegment(key);
             }
          }
+         // Segments that have not been created by now never will be.
+         for (final CompletableFuture<MapStorage<V>> completion : this.completions.values()) {
+            completion.complete(null);
+         }
+         this.completions.clear();
       }
-      // Notify any waiting readers of the changes.
-      this.notifyAll();
    }
 
    /**
@@ -256,8 +326,12 @@ public class SegmentedStorage<V> {
                + count);
       } else {
          this.closeState.remove(segmentKey);
-         final MapStorage<V> storage = this.storages.remove(segmentKey);
+         final MapStorage<V> storage = this.factory.close(this.storages.remove(segmentKey));
          this.closedSegments.put(segmentKey, storage);
+         final CompletableFuture<MapStorage<V>> completion = this.completions.remove(segmentKey);
+         if (completion != null) {
+            completion.complete(storage);
+         }
          LOG.debug("[" + this.name + "] Closed storage for segment " + segmentKey + ".");
       }
 
@@ -266,7 +340,9 @@ public class SegmentedStorage<V> {
          Object key = this.history.poll();
          if (key != null) {
             final MapStorage<V> removedStorage = this.closedSegments.remove(key);
-            if (removedStorage == null) {
+            if (removedStorage != null) {
+               this.factory.release(removedStorage);
+            } else {
                // Segment is way too old, but not even closed. Let's close and remove it.
                // This happens if segments are not closed in order.
                LOG.warn("[" + this.name + "] Segment " + key
@@ -283,11 +359,10 @@ public class SegmentedStorage<V> {
                   + this.name
                   + "] Got a NULL key to close - SOMETHING IS WRONG. Removing a random candidate from the history.");
             key = this.closedSegments.keySet().iterator().next();
-            this.closedSegments.remove(key);
+            this.factory.release(this.closedSegments.remove(key));
          }
          LOG.debug("[" + this.name + "] Removed segment '" + key + "'.");
       }
-      this.notifyAll();
    }
 
    /**
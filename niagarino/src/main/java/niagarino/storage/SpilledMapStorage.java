@@ -0,0 +1,234 @@
+/*
+ * @(#)SpilledMapStorage.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.storage;
+
+import java.nio.ByteBuffer;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+
+import niagarino.stream.DataTuple;
+
+/**
+ * Read-only MapStorage for integer keys whose entries are encoded in a buffer outside of the heap, e.g., in a
+ * memory-mapped file. The buffer is an open-addressing hash table of fixed-width slots. Each slot consists
+ * of a state byte, the key, and the value encoded by a {@link ValueCodec}. Keys are looked up directly in the
+ * buffer. Values are decoded on first access and then kept on the heap as long as the
+ * {@link SpillingMapStorageFactory} that created this storage keeps it in its cache.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ * @param <V>
+ *           the value type
+ */
+public class SpilledMapStorage<V> extends MapStorage<V> {
+
+   /** State of an empty slot. */
+   private static final byte EMPTY = 0;
+   /** State of a slot that contains a value. */
+   private static final byte VALUE = 1;
+   /** State of a slot that contains a <code>null</code> value. */
+   private static final byte NULL = 2;
+   /** Number of bytes of the state and the key of a slot. */
+   private static final int HEADER_WIDTH = 1 + Integer.BYTES;
+
+   /** Buffer that contains the slots. */
+   private final ByteBuffer buffer;
+   /** Codec of the values. */
+   private final ValueCodec<V> codec;
+   /** Factory that caches the decoded values of this storage. */
+   private final SpillingMapStorageFactory<V> factory;
+   /** Number of bytes of a slot. */
+   private final int slotWidth;
+   /** Number of slots minus one. */
+   private final int mask;
+   /** Number of keys. */
+   private final int size;
+   /** Decoded values by slot, or <code>null</code> if this storage is not cached. */
+   private volatile Object[] decoded;
+   /** Indicates whether values have been read since the cache last checked. */
+   private volatile boolean referenced;
+
+   /**
+    * Constructs a new SpilledMapStorage that contains the entries of the given storage, which must only
+    * contain integer keys.
+    *
+    * @param source
+    *           storage whose entries are copied
+    * @param codec
+    *           codec of the values
+    * @param allocator
+    *           function that allocates a buffer with the given number of bytes
+    * @param factory
+    *           factory that caches the decoded values
+    */
+   SpilledMapStorage(final MapStorage<V> source, final ValueCodec<V> codec,
+         final IntFunction<ByteBuffer> allocator, final SpillingMapStorageFactory<V> factory) {
+      super(0);
+      this.codec = codec;
+      this.factory = factory;
+      this.slotWidth = HEADER_WIDTH + codec.getWidth();
+      this.size = source.size();
+      final int slots = Integer.highestOneBit(Math.max(this.size, 1) * 2 - 1) << 1;
+      this.mask = slots - 1;
+      this.buffer = allocator.apply(slots * this.slotWidth);
+      source.forEach((key, value) -> this.write(key, value));
+   }
+
+   /**
+    * Writes the given entry into a free slot of the buffer.
+    *
+    * @param key
+    *           integer key
+    * @param value
+    *           value
+    */
+   private void write(final Object key, final V value) {
+      if (!(key instanceof Integer)) {
+         throw new IllegalArgumentException("SpilledMapStorage only supports integer keys, got " + key + ".");
+      }
+      final int intKey = ((Integer) key).intValue();
+      int slot = ConcurrentIntMapStorage.hash(intKey) & this.mask;
+      while (this.buffer.get(slot * this.slotWidth) != EMPTY) {
+         slot = slot + 1 & this.mask;
+      }
+      final int offset = slot * this.slotWidth;
+      this.buffer.put(offset, value == null ? NULL : VALUE);
+      this.buffer.putInt(offset + 1, intKey);
+      if (value != null) {
+         this.codec.encode(value, this.buffer, offset + HEADER_WIDTH);
+      }
+   }
+
+   /**
+    * Returns the number of slots of this storage.
+    *
+    * @return number of slots
+    */
+   int getSlots() {
+      return this.mask + 1;
+   }
+
+   /**
+    * Returns the decoded values of this storage, if it is cached.
+    *
+    * @return decoded values by slot or <code>null</code>
+    */
+   Object[] getDecoded() {
+      return this.decoded;
+   }
+
+   /**
+    * Sets the decoded values of this storage when it is added to or removed from the cache.
+    *
+    * @param decoded
+    *           decoded values by slot or <code>null</code>
+    */
+   void setDecoded(final Object[] decoded) {
+      this.decoded = decoded;
+   }
+
+   /**
+    * Checks whether values have been read since the last call, and resets the indicator.
+    *
+    * @return <code>true</code> if values have been read, <code>false</code> otherwise
+    */
+   boolean clearReferenced() {
+      final boolean result = this.referenced;
+      this.referenced = false;
+      return result;
+   }
+
+   @Override
+   protected V get(final Object key) {
+      if (key instanceof Integer) {
+         return this.get(((Integer) key).intValue());
+      }
+      return null;
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   protected V get(final int key) {
+      int slot = ConcurrentIntMapStorage.hash(key) & this.mask;
+      while (true) {
+         final int offset = slot * this.slotWidth;
+         final byte state = this.buffer.get(offset);
+         if (state == EMPTY) {
+            return null;
+         } else if (this.buffer.getInt(offset + 1) == key) {
+            if (state == NULL) {
+               return null;
+            }
+            if (!this.referenced) {
+               this.referenced = true;
+            }
+            Object[] values = this.decoded;
+            if (values == null) {
+               values = this.factory.cache(this);
+               if (values == null) {
+                  // without a cache, only the probed slot is decoded
+                  return this.codec.decode(this.buffer, offset + HEADER_WIDTH);
+               }
+            }
+            Object value = values[slot];
+            if (value == null) {
+               // concurrent readers might both decode the value, which is harmless
+               value = this.codec.decode(this.buffer, offset + HEADER_WIDTH);
+               values[slot] = value;
+            }
+            return (V) value;
+         }
+         slot = slot + 1 & this.mask;
+      }
+   }
+
+   @Override
+   protected void put(final Object key, final V value) {
+      throw new UnsupportedOperationException("The storage of a closed segment cannot be changed.");
+   }
+
+   @Override
+   protected void put(final int key, final V value) {
+      throw new UnsupportedOperationException("The storage of a closed segment cannot be changed.");
+   }
+
+   @Override
+   public void update(final int key, final DataTuple tuple, final StorageUpdateFunction<V> function) {
+      throw new UnsupportedOperationException("The storage of a closed segment cannot be changed.");
+   }
+
+   @Override
+   public int size() {
+      return this.size;
+   }
+
+   @Override
+   public void forEach(final BiConsumer<Object, ? super V> action) {
+      for (int slot = 0; slot <= this.mask; slot++) {
+         final int offset = slot * this.slotWidth;
+         if (this.buffer.get(offset) != EMPTY) {
+            final int key = this.buffer.getInt(offset + 1);
+            action.accept(key, this.get(key));
+         }
+      }
+   }
+
+   @Override
+   public String toString() {
+      final StringBuilder builder = new StringBuilder("{");
+      this.forEach((key, value) -> {
+         if (builder.length() > 1) {
+            builder.append(", ");
+         }
+         builder.append(key).append('=').append(value);
+      });
+      return builder.append('}').toString();
+   }
+}
@@ -0,0 +1,198 @@
+/*
+ * @(#)SpillingMapStorageFactory.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import niagarino.storage.ConcurrentIntMapStorage.ConcurrentIntMapStorageFactory;
+import niagarino.storage.MapStorage.MapStorageFactory;
+import niagarino.util.PropertiesReader;
+
+/**
+ * Factory for storages whose closed segments are moved out of the heap. Open segments are kept in a
+ * {@link ConcurrentIntMapStorage}. When a segment is closed, its entries are encoded into a
+ * {@link SpilledMapStorage} backed by either a memory-mapped file in the given directory or a direct buffer.
+ * The files are deleted as soon as they are mapped, so that the space is reclaimed once the mapping is no
+ * longer used. The decoded values of the most recently read closed segments are kept on the heap. If the
+ * cache is full, a segment is evicted by the clock algorithm, i.e., the first segment that has not been read
+ * since the last time the cache looked at it.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ * @param <V>
+ *           the value type of the storages
+ */
+public class SpillingMapStorageFactory<V> extends MapStorageFactory<V> {
+
+   /** Logger of this class. */
+   private static final Logger LOG = LogManager.getLogger(SpillingMapStorageFactory.class);
+
+   /** The expected number of keys of each storage created with this factory. */
+   private final int initialCapacity;
+   /** Codec of the values. */
+   private final ValueCodec<V> codec;
+   /** Directory of the memory-mapped files, or <code>null</code> for direct buffers. */
+   private final File directory;
+   /** Maximum number of closed segments whose decoded values are kept on the heap. */
+   private final int cacheSize;
+   /** Closed segments whose decoded values are kept on the heap. */
+   private final List<SpilledMapStorage<V>> cache;
+   /** Position of the clock hand in the cache. */
+   private int hand;
+
+   /**
+    * Constructs a new SpillingMapStorageFactory.
+    *
+    * @param initialCapacity
+    *           the expected number of keys of each storage, or <code>-1</code> for a default capacity
+    * @param codec
+    *           codec that encodes values with a fixed width
+    * @param directory
+    *           directory of the memory-mapped files, or <code>null</code> to use direct buffers
+    * @param cacheSize
+    *           maximum number of closed segments whose decoded values are kept on the heap
+    */
+   public SpillingMapStorageFactory(final int initialCapacity, final ValueCodec<V> codec,
+         final File directory, final int cacheSize) {
+      super(initialCapacity);
+      this.initialCapacity = initialCapacity;
+      this.codec = codec;
+      this.directory = directory;
+      this.cacheSize = cacheSize;
+      this.cache = new ArrayList<>(cacheSize);
+      this.hand = 0;
+   }
+
+   /**
+    * Returns the factory for storages configured in the Niagarino properties. Closed segments are kept on the
+    * heap (<code>heap</code>, the default), moved to direct buffers (<code>memory</code>), or moved to
+    * memory-mapped files in the temporary directory (<code>file</code>).
+    *
+    * @param initialCapacity
+    *           the expected number of keys of each storage, or <code>-1</code> for a default capacity
+    * @param codec
+    *           codec that encodes values with a fixed width
+    * @param <V>
+    *           the value type of the storages
+    * @return configured factory
+    */
+   public static <V> MapStorageFactory<V> getConfiguredFactory(final int initialCapacity,
+         final ValueCodec<V> codec) {
+      final Properties properties = PropertiesReader.getPropertiesReader().getProperties();
+      final String spill = properties.getProperty(PropertiesReader.STORAGE_SPILL, "heap").trim();
+      final int cacheSize = Integer.parseInt(properties.getProperty(PropertiesReader.STORAGE_CACHE, "4")
+            .trim());
+      switch (spill) {
+         case "memory":
+            return new SpillingMapStorageFactory<>(initialCapacity, codec, null, cacheSize);
+         case "file":
+            return new SpillingMapStorageFactory<>(initialCapacity, codec, new File(System
+                  .getProperty("java.io.tmpdir")), cacheSize);
+         case "heap":
+            return new ConcurrentIntMapStorageFactory<>(initialCapacity);
+         default:
+            throw new IllegalArgumentException("Unknown value '" + spill + "' of property "
+                  + PropertiesReader.STORAGE_SPILL + ".");
+      }
+   }
+
+   @Override
+   public MapStorage<V> getStorageInstance() {
+      return new ConcurrentIntMapStorage<>(this.initialCapacity);
+   }
+
+   @Override
+   public MapStorage<V> close(final MapStorage<V> storage) {
+      try {
+         return new SpilledMapStorage<>(storage, this.codec, this::allocate, this);
+      } catch (final UncheckedIOException e) {
+         LOG.error("Could not spill segment to directory '" + this.directory + "', keeping it on the heap.",
+               e.getCause());
+         return storage;
+      }
+   }
+
+   @Override
+   public synchronized void release(final MapStorage<V> storage) {
+      final int index = this.cache.indexOf(storage);
+      if (index >= 0) {
+         this.cache.remove(index);
+         ((SpilledMapStorage<V>) storage).setDecoded(null);
+         if (this.hand > index) {
+            this.hand--;
+         }
+      }
+   }
+
+   /**
+    * Adds the given storage to the cache of decoded values, evicting another storage if necessary. The array
+    * for the decoded values is only allocated if the storage is actually cached.
+    *
+    * @param storage
+    *           storage that is read
+    * @return array for the decoded values of the storage, or <code>null</code> if the cache is disabled
+    */
+   synchronized Object[] cache(final SpilledMapStorage<V> storage) {
+      Object[] decoded = storage.getDecoded();
+      if (decoded != null || this.cacheSize <= 0) {
+         return decoded;
+      }
+      if (this.cache.size() >= this.cacheSize) {
+         while (this.cache.get(this.hand).clearReferenced()) {
+            this.hand = (this.hand + 1) % this.cache.size();
+         }
+         this.cache.remove(this.hand).setDecoded(null);
+         if (this.hand == this.cache.size()) {
+            this.hand = 0;
+         }
+      }
+      decoded = new Object[storage.getSlots()];
+      this.cache.add(storage);
+      storage.setDecoded(decoded);
+      return decoded;
+   }
+
+   /**
+    * Allocates a buffer with the given number of bytes.
+    *
+    * @param bytes
+    *           number of bytes
+    * @return memory-mapped or direct buffer
+    */
+   private ByteBuffer allocate(final int bytes) {
+      if (this.directory == null) {
+         return ByteBuffer.allocateDirect(bytes);
+      }
+      try {
+         final File file = File.createTempFile("segment", ".bin", this.directory);
+         try (RandomAccessFile access = new RandomAccessFile(file, "rw")) {
+            access.setLength(bytes);
+            return access.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+         } finally {
+            if (!file.delete()) {
+               file.deleteOnExit();
+            }
+         }
+      } catch (final IOException e) {
+         throw new UncheckedIOException(e);
+      }
+   }
+}
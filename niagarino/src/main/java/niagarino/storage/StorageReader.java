@@ -42,4 +42,15 @@ public class StorageReader<V> {
    public V get(final Object key) {
       return this.storage.get(key);
    }
+
+   /**
+    * Retrieves the value for the given integer key.
+    *
+    * @param key
+    *           the key for the desired value
+    * @return the desired value
+    */
+   public V get(final int key) {
+      return this.storage.get(key);
+   }
 }
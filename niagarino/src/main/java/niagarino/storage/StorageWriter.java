@@ -43,4 +43,17 @@ public class StorageWriter<V> {
    public synchronized void put(final Object key, final V value) {
       this.storage.put(key, value);
    }
+
+   /**
+    * Puts a value with an integer key into the storage of this writer. The storage itself synchronizes
+    * concurrent puts and updates with integer keys.
+    *
+    * @param key
+    *           the key for the value
+    * @param value
+    *           the value
+    */
+   public void put(final int key, final V value) {
+      this.storage.put(key, value);
+   }
 }
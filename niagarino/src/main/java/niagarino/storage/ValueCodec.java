@@ -0,0 +1,55 @@
+/*
+ * @(#)ValueCodec.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encoding of storage values with a fixed number of bytes, which is used to move closed segments out of the
+ * heap. Values are written and read at absolute positions of a buffer, so that several readers can decode
+ * values from the same buffer at once.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ * @param <V>
+ *           the value type
+ */
+public interface ValueCodec<V> {
+
+   /**
+    * Returns the number of bytes of an encoded value.
+    *
+    * @return width of encoded values
+    */
+   int getWidth();
+
+   /**
+    * Encodes the given non-null value into the given buffer.
+    *
+    * @param value
+    *           value to encode
+    * @param buffer
+    *           target buffer
+    * @param offset
+    *           position in the buffer at which the encoded value starts
+    */
+   void encode(V value, ByteBuffer buffer, int offset);
+
+   /**
+    * Decodes a value from the given buffer.
+    *
+    * @param buffer
+    *           source buffer
+    * @param offset
+    *           position in the buffer at which the encoded value starts
+    * @return decoded value
+    */
+   V decode(ByteBuffer buffer, int offset);
+}
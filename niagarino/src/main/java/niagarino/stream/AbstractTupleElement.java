@@ -47,4 +47,12 @@ public abstract class AbstractTupleElement implements TupleElement {
       clone.metadata = this.metadata.clone();
       return clone;
    }
+
+   @Override
+   public AbstractTupleElement share() throws CloneNotSupportedException {
+      // a shallow copy shares the values, which cannot be modified once the tuple element has been created
+      final AbstractTupleElement copy = (AbstractTupleElement) super.clone();
+      copy.metadata = this.metadata.share();
+      return copy;
+   }
 }
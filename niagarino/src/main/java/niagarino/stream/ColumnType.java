@@ -0,0 +1,57 @@
+/*
+ * @(#)ColumnType.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import java.util.Date;
+
+/**
+ * Enumeration of the physical column types of a {@link ColumnarPage}. The column type of an attribute is
+ * derived from the attribute type in the schema.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public enum ColumnType {
+
+   /** Integer and boolean values stored in an {@code int[]}. */
+   INT,
+
+   /** Long and date values stored in a {@code long[]}, dates as milliseconds since the epoch. */
+   LONG,
+
+   /** Double and float values stored in a {@code double[]}. */
+   DOUBLE,
+
+   /** String values stored as codes of a {@link StringDictionary} in an {@code int[]}. */
+   STRING,
+
+   /** All other values stored as objects in an {@code Object[]}. */
+   OBJECT;
+
+   /**
+    * Returns the column type that is used to store values of the given attribute type.
+    *
+    * @param type
+    *           attribute type
+    * @return column type
+    */
+   public static ColumnType forType(final Class< ? > type) {
+      if (Integer.class.equals(type) || Boolean.class.equals(type)) {
+         return INT;
+      } else if (Long.class.equals(type) || Date.class.equals(type)) {
+         return LONG;
+      } else if (Double.class.equals(type) || Float.class.equals(type)) {
+         return DOUBLE;
+      } else if (String.class.equals(type)) {
+         return STRING;
+      }
+      return OBJECT;
+   }
+}
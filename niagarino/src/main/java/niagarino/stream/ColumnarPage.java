@@ -0,0 +1,677 @@
+/*
+ * @(#)ColumnarPage.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Implementation of a paging stream element that stores the values of its tuples column by column in
+ * primitive arrays. The type of each column is derived from the attribute type in the schema, see
+ * {@link ColumnType}. Null values are tracked in a bitmap per column and strings are encoded with a
+ * {@link StringDictionary} that is shared by all pages of the producing operator.
+ * <p>
+ * Operators that opt into batch processing can read the columns directly without boxing any values. For all
+ * other operators, the page materializes its tuples on demand. If a tuple contains a value that does not
+ * match the attribute type in the schema, the corresponding column of this page falls back to storing
+ * objects.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ColumnarPage implements PageElement {
+
+   /** Number of bits that are used to address a bit within a word of a null bitmap. */
+   private static final int WORD_SHIFT = 6;
+
+   /** Schema of the tuples in this page. */
+   private final Schema schema;
+   /** Dictionary that is used to encode strings. */
+   private final StringDictionary dictionary;
+   /** Maximum number of tuples in this page. */
+   private final int capacity;
+   /** Attribute types of the schema. */
+   private final Class< ? >[] attributeTypes;
+   /** Column types of this page. */
+   private final ColumnType[] types;
+   /** Column arrays of this page. */
+   private final Object[] columns;
+   /** Null bitmap of each column. */
+   private final long[][] nulls;
+   /** Metadata of each tuple. */
+   private final ElementMetadata[] metadata;
+   /** Materialized tuples or <code>null</code> if the tuples have not been materialized. */
+   private DataTuple[] tuples;
+   /** Current number of tuples. */
+   private int tupleCount;
+
+   /**
+    * Constructs a new columnar page for tuples of the given schema.
+    *
+    * @param schema
+    *           schema of the tuples
+    * @param capacity
+    *           maximum number of tuples
+    * @param dictionary
+    *           dictionary that is used to encode strings
+    */
+   public ColumnarPage(final Schema schema, final int capacity, final StringDictionary dictionary) {
+      this(schema, capacity, dictionary, null);
+   }
+
+   /**
+    * Constructs a new columnar page for tuples of the given schema, the leading columns of which are shared
+    * with the given prefix page.
+    *
+    * @param schema
+    *           schema of the tuples
+    * @param capacity
+    *           maximum number of tuples
+    * @param dictionary
+    *           dictionary that is used to encode strings
+    * @param prefix
+    *           page whose columns, null bitmaps, and metadata are shared or <code>null</code>
+    */
+   private ColumnarPage(final Schema schema, final int capacity, final StringDictionary dictionary,
+         final ColumnarPage prefix) {
+      if (capacity < 1) {
+         throw new IllegalArgumentException("Capacity must be positive.");
+      }
+      this.schema = schema;
+      this.dictionary = dictionary;
+      this.capacity = capacity;
+      final int size = schema.getSize();
+      final int shared;
+      if (prefix != null) {
+         shared = prefix.types.length;
+      } else {
+         shared = 0;
+      }
+      this.attributeTypes = new Class< ? >[size];
+      this.types = new ColumnType[size];
+      this.columns = new Object[size];
+      this.nulls = new long[size][];
+      for (int column = 0; column < size; column++) {
+         this.attributeTypes[column] = schema.getAttribute(column).getType();
+         if (column < shared) {
+            this.types[column] = prefix.types[column];
+            this.columns[column] = prefix.columns[column];
+            this.nulls[column] = prefix.nulls[column];
+         } else {
+            this.types[column] = ColumnType.forType(this.attributeTypes[column]);
+            this.columns[column] = ColumnarPage.createColumn(this.types[column], capacity);
+            this.nulls[column] = new long[((capacity - 1) >>> WORD_SHIFT) + 1];
+         }
+      }
+      if (prefix != null) {
+         this.metadata = prefix.metadata;
+         this.tupleCount = prefix.tupleCount;
+      } else {
+         this.metadata = new ElementMetadata[capacity];
+         this.tupleCount = 0;
+      }
+   }
+
+   /**
+    * Creates a column array of the given type.
+    *
+    * @param type
+    *           column type
+    * @param capacity
+    *           number of values
+    * @return column array
+    */
+   private static Object createColumn(final ColumnType type, final int capacity) {
+      switch (type) {
+         case INT:
+         case STRING:
+            return new int[capacity];
+         case LONG:
+            return new long[capacity];
+         case DOUBLE:
+            return new double[capacity];
+         case OBJECT:
+         default:
+            return new Object[capacity];
+      }
+   }
+
+   @Override
+   public final void put(final DataTuple tuple) {
+      if (this.isFull()) {
+         throw new IllegalStateException("Page is full.");
+      }
+      if (tuple.getSchema().getSize() != this.schema.getSize()) {
+         throw new IllegalArgumentException("Tuple " + tuple + " does not match page schema " + this.schema
+               + ".");
+      }
+      final int row = this.tupleCount;
+      for (int column = 0; column < this.types.length; column++) {
+         this.setValue(column, row, tuple.getAttributeValue(column));
+      }
+      this.metadata[row] = tuple.getElementMetadata();
+      this.tuples = null;
+      this.tupleCount++;
+   }
+
+   /**
+    * Stores the given value in the given column and row, which has to be less than {@link #size()}.
+    *
+    * @param column
+    *           column index
+    * @param row
+    *           row index
+    * @param value
+    *           attribute value
+    */
+   public void setValue(final int column, final int row, final Object value) {
+      this.tuples = null;
+      if (value == null) {
+         this.nulls[column][row >>> WORD_SHIFT] |= 1L << row;
+         return;
+      }
+      this.nulls[column][row >>> WORD_SHIFT] &= ~(1L << row);
+      if (this.types[column] != ColumnType.OBJECT && !this.attributeTypes[column].isInstance(value)) {
+         this.promote(column);
+      }
+      switch (this.types[column]) {
+         case INT:
+            if (value instanceof Boolean) {
+               ((int[]) this.columns[column])[row] = ((Boolean) value).booleanValue() ? 1 : 0;
+            } else {
+               ((int[]) this.columns[column])[row] = ((Integer) value).intValue();
+            }
+            break;
+         case LONG:
+            if (value instanceof Date) {
+               ((long[]) this.columns[column])[row] = ((Date) value).getTime();
+            } else {
+               ((long[]) this.columns[column])[row] = ((Long) value).longValue();
+            }
+            break;
+         case DOUBLE:
+            ((double[]) this.columns[column])[row] = ((Number) value).doubleValue();
+            break;
+         case STRING:
+            ((int[]) this.columns[column])[row] = this.dictionary.encode((String) value);
+            break;
+         case OBJECT:
+         default:
+            ((Object[]) this.columns[column])[row] = value;
+      }
+   }
+
+   /**
+    * Converts the given column of this page into an object column.
+    *
+    * @param column
+    *           column index
+    */
+   private void promote(final int column) {
+      final Object[] values = new Object[this.capacity];
+      for (int row = 0; row < this.tupleCount; row++) {
+         values[row] = this.getValue(column, row);
+      }
+      this.columns[column] = values;
+      this.types[column] = ColumnType.OBJECT;
+   }
+
+   /**
+    * Returns the schema of the tuples in this page.
+    *
+    * @return schema
+    */
+   public Schema getSchema() {
+      return this.schema;
+   }
+
+   /**
+    * Returns the dictionary that is used to encode the strings of this page.
+    *
+    * @return string dictionary
+    */
+   public StringDictionary getDictionary() {
+      return this.dictionary;
+   }
+
+   /**
+    * Checks whether tuples of the given schema can be stored in this page without converting any column.
+    *
+    * @param other
+    *           schema
+    * @return {@code true} if the schemas have the same attribute types, {@code false} otherwise
+    */
+   public boolean isCompatible(final Schema other) {
+      if (this.schema == other) {
+         return true;
+      }
+      if (this.schema.getSize() != other.getSize()) {
+         return false;
+      }
+      for (int column = 0; column < this.attributeTypes.length; column++) {
+         if (!this.attributeTypes[column].equals(other.getAttribute(column).getType())) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Returns the type of the given column.
+    *
+    * @param column
+    *           column index
+    * @return column type
+    */
+   public ColumnType getColumnType(final int column) {
+      return this.types[column];
+   }
+
+   /**
+    * Checks whether the value in the given column and row is null.
+    *
+    * @param column
+    *           column index
+    * @param row
+    *           row index
+    * @return {@code true} if the value is null, {@code false} otherwise
+    */
+   public boolean isNull(final int column, final int row) {
+      return (this.nulls[column][row >>> WORD_SHIFT] & 1L << row) != 0;
+   }
+
+   /**
+    * Returns the null bitmap of the given column, in which bit {@code row % 64} of word {@code row / 64} is
+    * set if the value in that row is null.
+    *
+    * @param column
+    *           column index
+    * @return null bitmap
+    */
+   public long[] getNulls(final int column) {
+      return this.nulls[column];
+   }
+
+   /**
+    * Returns the values of the given {@link ColumnType#INT} or {@link ColumnType#STRING} column. Only the
+    * first {@link #size()} values are valid.
+    *
+    * @param column
+    *           column index
+    * @return column values
+    */
+   public int[] getIntColumn(final int column) {
+      this.checkColumnType(column, ColumnType.INT, ColumnType.STRING);
+      return (int[]) this.columns[column];
+   }
+
+   /**
+    * Returns the values of the given {@link ColumnType#LONG} column. Only the first {@link #size()} values
+    * are valid.
+    *
+    * @param column
+    *           column index
+    * @return column values
+    */
+   public long[] getLongColumn(final int column) {
+      this.checkColumnType(column, ColumnType.LONG, ColumnType.LONG);
+      return (long[]) this.columns[column];
+   }
+
+   /**
+    * Returns the values of the given {@link ColumnType#DOUBLE} column. Only the first {@link #size()} values
+    * are valid.
+    *
+    * @param column
+    *           column index
+    * @return column values
+    */
+   public double[] getDoubleColumn(final int column) {
+      this.checkColumnType(column, ColumnType.DOUBLE, ColumnType.DOUBLE);
+      return (double[]) this.columns[column];
+   }
+
+   /**
+    * Checks that the given column has one of the given column types.
+    *
+    * @param column
+    *           column index
+    * @param type
+    *           expected column type
+    * @param alternative
+    *           alternative expected column type
+    */
+   private void checkColumnType(final int column, final ColumnType type, final ColumnType alternative) {
+      if (this.types[column] != type && this.types[column] != alternative) {
+         throw new IllegalStateException("Column " + column + " has type " + this.types[column] + ".");
+      }
+   }
+
+   /**
+    * Returns the value in the given column and row as an integer. The value must not be null.
+    *
+    * @param column
+    *           column index
+    * @param row
+    *           row index
+    * @return integer value
+    */
+   public int getInt(final int column, final int row) {
+      if (this.types[column] == ColumnType.INT) {
+         return ((int[]) this.columns[column])[row];
+      }
+      return ((Number) this.getValue(column, row)).intValue();
+   }
+
+   /**
+    * Returns the value in the given column and row as a long. Dates are returned as milliseconds since the
+    * epoch. The value must not be null.
+    *
+    * @param column
+    *           column index
+    * @param row
+    *           row index
+    * @return long value
+    */
+   public long getLong(final int column, final int row) {
+      switch (this.types[column]) {
+         case INT:
+            return ((int[]) this.columns[column])[row];
+         case LONG:
+            return ((long[]) this.columns[column])[row];
+         default:
+            final Object value = this.getValue(column, row);
+            if (value instanceof Date) {
+               return ((Date) value).getTime();
+            }
+            return ((Number) value).longValue();
+      }
+   }
+
+   /**
+    * Returns the value in the given column and row as a double. The value must not be null.
+    *
+    * @param column
+    *           column index
+    * @param row
+    *           row index
+    * @return double value
+    */
+   public double getDouble(final int column, final int row) {
+      switch (this.types[column]) {
+         case INT:
+            return ((int[]) this.columns[column])[row];
+         case LONG:
+            return ((long[]) this.columns[column])[row];
+         case DOUBLE:
+            return ((double[]) this.columns[column])[row];
+         default:
+            return ((Number) this.getValue(column, row)).doubleValue();
+      }
+   }
+
+   /**
+    * Returns the value in the given column and row as an object of the attribute type.
+    *
+    * @param column
+    *           column index
+    * @param row
+    *           row index
+    * @return attribute value or <code>null</code>
+    */
+   public Object getValue(final int column, final int row) {
+      if (this.isNull(column, row)) {
+         return null;
+      }
+      final Class< ? > type = this.attributeTypes[column];
+      switch (this.types[column]) {
+         case INT:
+            final int intValue = ((int[]) this.columns[column])[row];
+            if (Boolean.class.equals(type)) {
+               return Boolean.valueOf(intValue != 0);
+            }
+            return Integer.valueOf(intValue);
+         case LONG:
+            final long longValue = ((long[]) this.columns[column])[row];
+            if (Date.class.equals(type)) {
+               return new Date(longValue);
+            }
+            return Long.valueOf(longValue);
+         case DOUBLE:
+            final double doubleValue = ((double[]) this.columns[column])[row];
+            if (Float.class.equals(type)) {
+               return Float.valueOf((float) doubleValue);
+            }
+            return Double.valueOf(doubleValue);
+         case STRING:
+            return this.dictionary.decode(((int[]) this.columns[column])[row]);
+         case OBJECT:
+         default:
+            return ((Object[]) this.columns[column])[row];
+      }
+   }
+
+   @Override
+   public ElementMetadata getElementMetadata(final int row) {
+      return this.metadata[row];
+   }
+
+   /**
+    * Materializes the tuple in the given row.
+    *
+    * @param row
+    *           row index
+    * @return data tuple
+    */
+   public DataTuple getTuple(final int row) {
+      if (this.tuples != null) {
+         return this.tuples[row];
+      }
+      final PrimitiveValueList values = new PrimitiveValueList(this.schema);
+      for (int column = 0; column < this.types.length; column++) {
+         if (this.isNull(column, row)) {
+            continue;
+         }
+         switch (this.types[column]) {
+            case INT:
+               values.setLong(column, ((int[]) this.columns[column])[row]);
+               break;
+            case LONG:
+               values.setLong(column, ((long[]) this.columns[column])[row]);
+               break;
+            case DOUBLE:
+               values.setDouble(column, ((double[]) this.columns[column])[row]);
+               break;
+            default:
+               values.set(column, this.getValue(column, row));
+         }
+      }
+      return new DataTuple(this.schema, values, this.metadata[row]);
+   }
+
+   /**
+    * Returns a view of the first values of the tuple in the given row. Values are only converted to objects
+    * when they are accessed.
+    *
+    * @param row
+    *           row index
+    * @param width
+    *           number of leading values of the view
+    * @return list of attribute values
+    */
+   public List<Object> getRow(final int row, final int width) {
+      return new Row(row, width);
+   }
+
+   /**
+    * Creates a new columnar page that only contains the given rows of this page.
+    *
+    * @param rows
+    *           selection vector of ascending row indexes
+    * @param count
+    *           number of selected rows
+    * @return columnar page with the selected rows
+    */
+   public ColumnarPage select(final int[] rows, final int count) {
+      final ColumnarPage page = new ColumnarPage(this.schema, Math.max(1, count), this.dictionary);
+      for (int column = 0; column < this.types.length; column++) {
+         final Object source = this.columns[column];
+         switch (this.types[column]) {
+            case INT:
+            case STRING:
+               final int[] ints = (int[]) page.columns[column];
+               for (int i = 0; i < count; i++) {
+                  ints[i] = ((int[]) source)[rows[i]];
+               }
+               break;
+            case LONG:
+               final long[] longs = (long[]) page.columns[column];
+               for (int i = 0; i < count; i++) {
+                  longs[i] = ((long[]) source)[rows[i]];
+               }
+               break;
+            case DOUBLE:
+               final double[] doubles = (double[]) page.columns[column];
+               for (int i = 0; i < count; i++) {
+                  doubles[i] = ((double[]) source)[rows[i]];
+               }
+               break;
+            case OBJECT:
+            default:
+               final Object[] objects = new Object[page.capacity];
+               for (int i = 0; i < count; i++) {
+                  objects[i] = ((Object[]) source)[rows[i]];
+               }
+               page.columns[column] = objects;
+               page.types[column] = ColumnType.OBJECT;
+         }
+         final long[] bitmap = page.nulls[column];
+         for (int i = 0; i < count; i++) {
+            if (this.isNull(column, rows[i])) {
+               bitmap[i >>> WORD_SHIFT] |= 1L << i;
+            }
+         }
+      }
+      for (int i = 0; i < count; i++) {
+         page.metadata[i] = this.metadata[rows[i]];
+      }
+      page.tupleCount = count;
+      return page;
+   }
+
+   /**
+    * Creates a new columnar page for the given extended schema, which starts with the attributes of the
+    * schema of this page. The new page contains the same rows as this page and shares their values and
+    * metadata, whereas the values of the additional attributes are initially null. Therefore, this page must
+    * not be modified afterwards.
+    *
+    * @param extended
+    *           extended schema
+    * @return columnar page with additional columns
+    */
+   public ColumnarPage extend(final Schema extended) {
+      if (extended.getSize() < this.types.length) {
+         throw new IllegalArgumentException("Schema " + extended + " does not extend page schema "
+               + this.schema + ".");
+      }
+      final ColumnarPage page = new ColumnarPage(extended, this.capacity, this.dictionary, this);
+      for (int column = this.types.length; column < page.types.length; column++) {
+         Arrays.fill(page.nulls[column], -1L);
+      }
+      return page;
+   }
+
+   @Override
+   public final DataTuple[] getTuples() {
+      if (this.tuples == null) {
+         final DataTuple[] result = new DataTuple[this.tupleCount];
+         for (int row = 0; row < this.tupleCount; row++) {
+            result[row] = this.getTuple(row);
+         }
+         this.tuples = result;
+      }
+      return this.tuples;
+   }
+
+   @Override
+   public final boolean isFull() {
+      return this.tupleCount == this.capacity;
+   }
+
+   @Override
+   public final int size() {
+      return this.tupleCount;
+   }
+
+   @Override
+   public final boolean isEmpty() {
+      return this.tupleCount == 0;
+   }
+
+   @Override
+   public void clear() {
+      for (int column = 0; column < this.types.length; column++) {
+         Arrays.fill(this.nulls[column], 0L);
+         if (this.types[column] == ColumnType.OBJECT) {
+            Arrays.fill((Object[]) this.columns[column], null);
+         }
+      }
+      Arrays.fill(this.metadata, null);
+      this.tuples = null;
+      this.tupleCount = 0;
+   }
+
+   @Override
+   public String toString() {
+      return ColumnarPage.class.getSimpleName() + "[" + this.size() + "]";
+   }
+
+   /**
+    * View of the leading values of one row of this page.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private final class Row extends AbstractList<Object> {
+
+      /** Row index. */
+      private final int row;
+      /** Number of values. */
+      private final int width;
+
+      /**
+       * Constructs a new view of the given row.
+       *
+       * @param row
+       *           row index
+       * @param width
+       *           number of values
+       */
+      private Row(final int row, final int width) {
+         this.row = row;
+         this.width = width;
+      }
+
+      @Override
+      public Object get(final int index) {
+         if (index < 0 || index >= this.width) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + this.width);
+         }
+         return ColumnarPage.this.getValue(index, this.row);
+      }
+
+      @Override
+      public int size() {
+         return this.width;
+      }
+   }
+}
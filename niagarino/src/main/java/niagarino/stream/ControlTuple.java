@@ -30,7 +30,9 @@ public class ControlTuple extends AbstractTupleElement {
       /** End-of-segment control message. */
       ENDOFSEGMENT,
       /** Priority control message. */
-      PRIORITY;
+      PRIORITY,
+      /** Watermark control message. */
+      WATERMARK;
    };
 
    /** Type of this control message. */
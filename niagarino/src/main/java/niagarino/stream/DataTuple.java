@@ -13,8 +13,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import niagarino.util.TypeSystem;
+
 /**
- * Very simple representation of tuples.
+ * Very simple representation of tuples. If the values of a tuple are given as a {@link PrimitiveValueList},
+ * numeric values can be accessed through {@link #getLong(int)} and {@link #getDouble(int)} without boxing.
  *
  * @author Michael Grossniklaus &lt;michagro@cecs.pdx.edu&gt;
  * @version 1.0
@@ -68,6 +71,60 @@ public class DataTuple extends AbstractTupleElement {
       return this.getAttributeValue(this.schema.getProgressingAttribute());
    }
 
+   /**
+    * Returns the tuple value of the progressing attribute as a long. Date values are returned as
+    * milliseconds since the epoch.
+    *
+    * @return progressing attribute value
+    */
+   public long getProgressingLong() {
+      return this.getLong(this.schema.getProgressingAttribute());
+   }
+
+   /**
+    * Returns the tuple value of the attribute at the given position as a long. Date values are returned as
+    * milliseconds since the epoch.
+    *
+    * @param attributePosition
+    *           attribute position
+    * @return tuple value
+    */
+   public long getLong(final int attributePosition) {
+      if (this.values instanceof PrimitiveValueList) {
+         return ((PrimitiveValueList) this.values).getLong(attributePosition);
+      }
+      return TypeSystem.toLong(this.values.get(attributePosition));
+   }
+
+   /**
+    * Returns the tuple value of the attribute at the given position as a double. Date values are returned as
+    * milliseconds since the epoch.
+    *
+    * @param attributePosition
+    *           attribute position
+    * @return tuple value or {@link Double#NaN} if the value is neither numeric nor a date
+    */
+   public double getDouble(final int attributePosition) {
+      if (this.values instanceof PrimitiveValueList) {
+         return ((PrimitiveValueList) this.values).getDouble(attributePosition);
+      }
+      return TypeSystem.toDouble(this.values.get(attributePosition));
+   }
+
+   /**
+    * Checks whether the tuple value of the attribute at the given position is <code>null</code>.
+    *
+    * @param attributePosition
+    *           attribute position
+    * @return <code>true</code> if the tuple value is <code>null</code>, <code>false</code> otherwise
+    */
+   public boolean isNull(final int attributePosition) {
+      if (this.values instanceof PrimitiveValueList) {
+         return ((PrimitiveValueList) this.values).isNull(attributePosition);
+      }
+      return this.values.get(attributePosition) == null;
+   }
+
    /**
     * Returns the tuple value of the attribute at the given position.
     *
@@ -112,7 +169,11 @@ public class DataTuple extends AbstractTupleElement {
    public DataTuple clone() throws CloneNotSupportedException {
       final DataTuple clone = (DataTuple) super.clone();
       clone.schema = this.schema;
-      clone.values = new ArrayList<Object>(this.values);
+      if (this.values instanceof PrimitiveValueList) {
+         clone.values = new PrimitiveValueList((PrimitiveValueList) this.values);
+      } else {
+         clone.values = new ArrayList<Object>(this.values);
+      }
       return clone;
    }
 
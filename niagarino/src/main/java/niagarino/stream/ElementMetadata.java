@@ -28,6 +28,10 @@ public class ElementMetadata implements Cloneable {
    private Map<Class< ? >, Object> opData;
    /** Priority of the corresponding stream element. */
    private ElementPriority priority;
+   /** Indicates whether the segment numbers are shared with other element metadata records. */
+   private boolean shared;
+   /** Value of {@link System#nanoTime()} when the corresponding tuple left its source, zero if not set. */
+   private long sourceTime;
 
    /**
     * Creates a new empty element metadata record.
@@ -49,6 +53,7 @@ public class ElementMetadata implements Cloneable {
          throw new IllegalStateException("Tuple is already contained in segment " + id);
       }
       if (id % this.priority.getX() == this.priority.getY()) {
+         this.unshare();
          this.segmentIds.add(Long.valueOf(id));
       }
    }
@@ -57,7 +62,12 @@ public class ElementMetadata implements Cloneable {
     * Clears segment ids of tuple.
     */
    public void clearSegmentIds() {
-      this.segmentIds.clear();
+      if (this.shared) {
+         this.segmentIds = new ArrayList<Long>();
+         this.shared = false;
+      } else {
+         this.segmentIds.clear();
+      }
    }
 
    /**
@@ -92,15 +102,59 @@ public class ElementMetadata implements Cloneable {
       return this.priority;
    }
 
+   /**
+    * Sets the value of {@link System#nanoTime()} at which the corresponding tuple left its source operator.
+    *
+    * @param sourceTime
+    *           source time in nanoseconds
+    */
+   public void setSourceTime(final long sourceTime) {
+      this.sourceTime = sourceTime;
+   }
+
+   /**
+    * Returns the value of {@link System#nanoTime()} at which the corresponding tuple left its source
+    * operator. Source times are only recorded if metrics are collected.
+    *
+    * @return source time in nanoseconds or zero if the source time has not been recorded
+    */
+   public long getSourceTime() {
+      return this.sourceTime;
+   }
+
    @Override
    public ElementMetadata clone() throws CloneNotSupportedException {
       final ElementMetadata clone = (ElementMetadata) super.clone();
       clone.segmentIds = new ArrayList<Long>(this.segmentIds);
       clone.opData = new HashMap<Class< ? >, Object>(this.opData);
       clone.priority = new ElementPriority(this.priority.getX(), this.priority.getY());
+      clone.shared = false;
       return clone;
    }
 
+   /**
+    * Returns a copy of this element metadata record that shares its segment numbers and operator-specific
+    * metadata with this record. Both records copy the shared segment numbers before they modify them.
+    *
+    * @return shared element metadata
+    * @throws CloneNotSupportedException
+    *            if the element metadata cannot be copied
+    */
+   public ElementMetadata share() throws CloneNotSupportedException {
+      this.shared = true;
+      return (ElementMetadata) super.clone();
+   }
+
+   /**
+    * Copies the segment numbers of this element metadata record if they are shared with other records.
+    */
+   private void unshare() {
+      if (this.shared) {
+         this.segmentIds = new ArrayList<Long>(this.segmentIds);
+         this.shared = false;
+      }
+   }
+
    @Override
    public String toString() {
       final StringBuffer result = new StringBuffer();
@@ -0,0 +1,180 @@
+/*
+ * @(#)GroupTable.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table that assigns consecutive group numbers to keys that consist of a fixed number
+ * of long components. The keys of all groups are stored in one flat array and the hash table only stores
+ * group numbers, so that looking up a key does not allocate. Collisions are resolved by linear probing.
+ * Groups cannot be removed from the table.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class GroupTable {
+
+   /** Initial number of groups the table can hold. */
+   private static final int INITIAL_CAPACITY = 8;
+   /** Multiplier of the hash function, i.e., the golden ratio as a 64-bit fraction. */
+   private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+   /** Number of components of each key. */
+   private final int width;
+   /** Key components of all groups, the key of group {@code g} starts at index {@code g * width}. */
+   private long[] keys;
+   /** Hash codes of all groups. */
+   private int[] hashes;
+   /** Hash table slots that contain the group number plus one, or zero if the slot is empty. */
+   private int[] slots;
+   /** Number of groups in the table. */
+   private int size;
+
+   /**
+    * Creates a new empty group table for keys with the given number of components.
+    *
+    * @param width
+    *           number of key components
+    */
+   public GroupTable(final int width) {
+      this.width = width;
+      this.keys = new long[INITIAL_CAPACITY * width];
+      this.hashes = new int[INITIAL_CAPACITY];
+      this.slots = new int[INITIAL_CAPACITY * 2];
+      this.size = 0;
+   }
+
+   /**
+    * Returns the number of groups in this table.
+    *
+    * @return number of groups
+    */
+   public int size() {
+      return this.size;
+   }
+
+   /**
+    * Returns the given component of the key of the given group.
+    *
+    * @param group
+    *           group number
+    * @param component
+    *           key component
+    * @return value of the key component
+    */
+   public long getKey(final int group, final int component) {
+      return this.keys[group * this.width + component];
+   }
+
+   /**
+    * Returns the number of the group with the given key.
+    *
+    * @param key
+    *           key components
+    * @return group number or {@code -1} if there is no group with the given key
+    */
+   public int find(final long[] key) {
+      final int mask = this.slots.length - 1;
+      for (int slot = GroupTable.hash(key) & mask;; slot = slot + 1 & mask) {
+         final int group = this.slots[slot] - 1;
+         if (group < 0 || this.matches(group, key)) {
+            return group;
+         }
+      }
+   }
+
+   /**
+    * Returns the number of the group with the given key, adding a new group if necessary. New groups are
+    * numbered in the order in which they are added, starting from zero.
+    *
+    * @param key
+    *           key components
+    * @return group number
+    */
+   public int add(final long[] key) {
+      final int hash = GroupTable.hash(key);
+      final int mask = this.slots.length - 1;
+      int slot = hash & mask;
+      for (int group = this.slots[slot] - 1; group >= 0; group = this.slots[slot] - 1) {
+         if (this.matches(group, key)) {
+            return group;
+         }
+         slot = slot + 1 & mask;
+      }
+      final int group = this.size;
+      if (group == this.hashes.length) {
+         this.keys = Arrays.copyOf(this.keys, this.keys.length * 2);
+         this.hashes = Arrays.copyOf(this.hashes, this.hashes.length * 2);
+      }
+      System.arraycopy(key, 0, this.keys, group * this.width, this.width);
+      this.hashes[group] = hash;
+      this.size++;
+      if (this.size * 2 > this.slots.length) {
+         this.rehash(this.slots.length * 2);
+      } else {
+         this.slots[slot] = group + 1;
+      }
+      return group;
+   }
+
+   /**
+    * Checks whether the given group has the given key.
+    *
+    * @param group
+    *           group number
+    * @param key
+    *           key components
+    * @return <code>true</code> if the keys are equal, <code>false</code> otherwise
+    */
+   private boolean matches(final int group, final long[] key) {
+      final int offset = group * this.width;
+      for (int i = 0; i < this.width; i++) {
+         if (this.keys[offset + i] != key[i]) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Rebuilds the hash table with the given number of slots.
+    *
+    * @param capacity
+    *           number of slots, which has to be a power of two
+    */
+   private void rehash(final int capacity) {
+      this.slots = new int[capacity];
+      final int mask = capacity - 1;
+      for (int group = 0; group < this.size; group++) {
+         int slot = this.hashes[group] & mask;
+         while (this.slots[slot] != 0) {
+            slot = slot + 1 & mask;
+         }
+         this.slots[slot] = group + 1;
+      }
+   }
+
+   /**
+    * Computes the hash code of the given key.
+    *
+    * @param key
+    *           key components
+    * @return hash code
+    */
+   private static int hash(final long[] key) {
+      long hash = 0;
+      for (final long component : key) {
+         hash = (hash + component) * MULTIPLIER;
+      }
+      // the high bits are the best mixed ones
+      return (int) (hash >>> 32 ^ hash >>> 16);
+   }
+}
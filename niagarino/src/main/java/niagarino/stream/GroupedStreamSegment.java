@@ -11,24 +11,35 @@ package niagarino.stream;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import niagarino.operator.function.AggregationFunction;
-import niagarino.operator.function.Aggregator;
+import niagarino.operator.function.GroupAggregator;
+import niagarino.util.TypeSystem;
 
 /**
  * A stream segment that groups and aggregates the tuples that fall within its lower and upper boundary. The
  * grouped stream segment is mainly used by the ordered aggregate operator to compute its result tuples.
+ * <p>
+ * Groups are looked up in a {@link GroupTable} with primitive keys. Integer, long, and date values are used
+ * as key components directly and float and double values by their bits, while all other values are encoded
+ * by a dictionary of this segment. The aggregated values of all groups are computed by one
+ * {@link GroupAggregator} per aggregation function, to which numeric values are passed unboxed.
  *
  * @author Michael Grossniklaus &lt;michagro@cecs.pdx.edu&gt;
  * @version 1.0
  */
 public class GroupedStreamSegment extends AbstractStreamSegment {
 
-   /** Table mapping groups to incrementally computed aggregate values. */
-   private final Map<Group, Aggregator[]> groups;
+   /** Initial number of groups for which the aggregators have room. */
+   private static final int INITIAL_CAPACITY = 8;
+
+   /** Table mapping the keys of groups to group numbers. */
+   private final GroupTable groups;
    /** Schema of the tuples that inserted into this stream segment. */
    private final Schema inputSchema;
    /** Schema of the aggregated tuples that are produced by this grouped stream segment. */
@@ -39,6 +50,24 @@ public class GroupedStreamSegment extends AbstractStreamSegment {
    private final int[] aggregatedAttributes;
    /** Aggregate functions used by this grouped stream segment. */
    private final AggregationFunction[] functions;
+   /** Group aggregators that incrementally compute the aggregate values of all groups. */
+   private final GroupAggregator[] aggregators;
+   /** Flags that indicate which aggregated values are passed unboxed to the group aggregators. */
+   private final boolean[] numeric;
+   /** Column types of the grouping attributes, {@link ColumnType#OBJECT} for dictionary-encoded values. */
+   private final ColumnType[] keyTypes;
+   /** Key of the group that is currently looked up, reused to avoid allocation. */
+   private final long[] key;
+   /** Map from dictionary-encoded grouping values to their codes. */
+   private final Map<Object, Integer> codes;
+   /** Dictionary-encoded grouping values indexed by their codes. */
+   private final List<Object> encodedValues;
+   /** Number of groups for which the aggregators have room. */
+   private int capacity;
+   /** Number of merged segments that contributed to each group, only maintained for merged segments. */
+   private int[] references;
+   /** Groups to which no merged segment contributes anymore after subtracting segments. */
+   private final BitSet removed;
 
    /**
     * Creates a new grouped segment with the given input schema, which uses the given grouped attributes,
@@ -55,12 +84,36 @@ public class GroupedStreamSegment extends AbstractStreamSegment {
     */
    public GroupedStreamSegment(final Schema inputSchema, final int[] groupAttributes,
          final int[] aggregatedAttributes, final AggregationFunction... functions) {
-      this.groups = new HashMap<Group, Aggregator[]>();
+      this.groups = new GroupTable(groupAttributes.length);
       this.inputSchema = inputSchema;
       this.groupAttributes = groupAttributes;
       this.aggregatedAttributes = aggregatedAttributes;
       this.functions = functions;
       this.outputSchema = this.initSchema();
+      this.capacity = INITIAL_CAPACITY;
+      this.aggregators = new GroupAggregator[aggregatedAttributes.length];
+      this.numeric = new boolean[aggregatedAttributes.length];
+      for (int i = 0; i < aggregatedAttributes.length; i++) {
+         this.aggregators[i] = functions[i].createGroupAggregator();
+         this.aggregators[i].resize(this.capacity);
+         this.numeric[i] = this.aggregators[i].isNumeric()
+               && TypeSystem.isNumeric(inputSchema.getAttribute(aggregatedAttributes[i]).getType());
+      }
+      this.keyTypes = new ColumnType[groupAttributes.length];
+      for (int i = 0; i < groupAttributes.length; i++) {
+         final ColumnType type = inputSchema.getColumnType(groupAttributes[i]);
+         if (type == ColumnType.LONG || type == ColumnType.DOUBLE
+               || Integer.class.equals(inputSchema.getAttribute(groupAttributes[i]).getType())) {
+            this.keyTypes[i] = type;
+         } else {
+            this.keyTypes[i] = ColumnType.OBJECT;
+         }
+      }
+      this.key = new long[groupAttributes.length];
+      this.codes = new HashMap<Object, Integer>();
+      this.encodedValues = new ArrayList<Object>();
+      this.references = new int[this.capacity];
+      this.removed = new BitSet();
    }
 
    /**
@@ -68,29 +121,209 @@ public class GroupedStreamSegment extends AbstractStreamSegment {
     */
    @Override
    public void insertTuple(final DataTuple tuple) {
-      final Object[] groupValues = new Object[this.groupAttributes.length];
-      boolean nullGroup = false;
-      for (int i = 0; i < groupValues.length; i++) {
-         groupValues[i] = tuple.getAttributeValue(this.groupAttributes[i]);
-         nullGroup = nullGroup || groupValues[i] == null;
+      for (int i = 0; i < this.groupAttributes.length; i++) {
+         final int attribute = this.groupAttributes[i];
+         if (tuple.isNull(attribute)) {
+            return;
+         }
+         switch (this.keyTypes[i]) {
+            case INT:
+            case LONG:
+               this.key[i] = tuple.getLong(attribute);
+               break;
+            case DOUBLE:
+               this.key[i] = Double.doubleToLongBits(tuple.getDouble(attribute));
+               break;
+            default:
+               this.key[i] = this.encode(tuple.getAttributeValue(attribute));
+         }
+      }
+      final int group = this.addGroup();
+      for (int i = 0; i < this.aggregatedAttributes.length; i++) {
+         final int attribute = this.aggregatedAttributes[i];
+         if (!this.numeric[i]) {
+            this.aggregators[i].update(group, tuple.getAttributeValue(attribute));
+         } else if (!tuple.isNull(attribute)) {
+            this.aggregators[i].update(group, tuple.getDouble(attribute));
+         }
+      }
+      this.updateMinimalValue(tuple.getProgressingValue());
+      this.updateMaximalValue(tuple.getProgressingValue());
+   }
+
+   /**
+    * Inserts the tuple in the given row of the given columnar page into this stream segment without
+    * materializing it.
+    *
+    * @param page
+    *           columnar page
+    * @param row
+    *           row index
+    */
+   public void insertRow(final ColumnarPage page, final int row) {
+      for (int i = 0; i < this.groupAttributes.length; i++) {
+         final int attribute = this.groupAttributes[i];
+         if (page.isNull(attribute, row)) {
+            return;
+         }
+         switch (this.keyTypes[i]) {
+            case INT:
+            case LONG:
+               this.key[i] = page.getLong(attribute, row);
+               break;
+            case DOUBLE:
+               this.key[i] = Double.doubleToLongBits(page.getDouble(attribute, row));
+               break;
+            default:
+               this.key[i] = this.encode(page.getValue(attribute, row));
+         }
+      }
+      final int group = this.addGroup();
+      for (int i = 0; i < this.aggregatedAttributes.length; i++) {
+         final int attribute = this.aggregatedAttributes[i];
+         if (!this.numeric[i] || page.getColumnType(attribute) == ColumnType.OBJECT) {
+            this.aggregators[i].update(group, page.getValue(attribute, row));
+         } else if (!page.isNull(attribute, row)) {
+            this.aggregators[i].update(group, page.getDouble(attribute, row));
+         }
       }
-      if (!nullGroup) {
-         final Group group = new Group(groupValues);
-         Aggregator[] values = this.groups.get(group);
-         if (values == null) {
-            values = new Aggregator[this.aggregatedAttributes.length];
-            this.groups.put(group, values);
-         }
-         for (int i = 0; i < this.aggregatedAttributes.length; i++) {
-            Aggregator aggregate = values[i];
-            if (aggregate == null) {
-               aggregate = this.functions[i].get();
-               values[i] = aggregate;
+      final Object progressingValue = page.getValue(this.inputSchema.getProgressingAttribute(), row);
+      this.updateMinimalValue(progressingValue);
+      this.updateMaximalValue(progressingValue);
+   }
+
+   /**
+    * Merges the partial aggregates of the given grouped stream segment into this stream segment. Both
+    * segments have to use the same aggregation functions, whose aggregators have to be mergeable.
+    *
+    * @param segment
+    *           grouped stream segment
+    */
+   public void merge(final GroupedStreamSegment segment) {
+      for (int other = 0; other < segment.groups.size(); other++) {
+         if (segment.removed.get(other)) {
+            continue;
+         }
+         this.setKey(segment, other);
+         final int group = this.addGroup();
+         for (int i = 0; i < this.aggregators.length; i++) {
+            this.aggregators[i].merge(group, segment.aggregators[i], other);
+         }
+         this.references[group]++;
+         this.removed.clear(group);
+      }
+      this.updateMinimalValue(segment.getMinimalValue());
+      this.updateMaximalValue(segment.getMaximalValue());
+   }
+
+   /**
+    * Removes the partial aggregates of the given grouped stream segment, which has previously been merged
+    * into this stream segment. Groups to which no merged segment contributes anymore are removed. The
+    * aggregators of both segments have to be invertible.
+    *
+    * @param segment
+    *           grouped stream segment
+    */
+   public void subtract(final GroupedStreamSegment segment) {
+      for (int other = 0; other < segment.groups.size(); other++) {
+         if (segment.removed.get(other)) {
+            continue;
+         }
+         this.setKey(segment, other);
+         final int group = this.groups.find(this.key);
+         this.references[group]--;
+         if (this.references[group] == 0) {
+            this.removed.set(group);
+            for (final GroupAggregator aggregator : this.aggregators) {
+               aggregator.reset(group);
+            }
+         } else {
+            for (int i = 0; i < this.aggregators.length; i++) {
+               this.aggregators[i].subtract(group, segment.aggregators[i], other);
             }
-            aggregate.update(tuple.getAttributeValue(this.aggregatedAttributes[i]));
          }
-         this.updateMinimalValue(tuple.getProgressingValue());
-         this.updateMaximalValue(tuple.getProgressingValue());
+      }
+   }
+
+   /**
+    * Sets the current key to the key of the given group of the given grouped stream segment.
+    *
+    * @param segment
+    *           grouped stream segment with the same grouping attributes
+    * @param group
+    *           group number in the given segment
+    */
+   private void setKey(final GroupedStreamSegment segment, final int group) {
+      for (int i = 0; i < this.key.length; i++) {
+         if (this.keyTypes[i] == ColumnType.OBJECT) {
+            this.key[i] = this.encode(segment.getGroupValue(group, i));
+         } else {
+            this.key[i] = segment.groups.getKey(group, i);
+         }
+      }
+   }
+
+   /**
+    * Returns the number of the group with the current key, adding a new group if necessary.
+    *
+    * @return group number
+    */
+   private int addGroup() {
+      final int group = this.groups.add(this.key);
+      if (group == this.capacity) {
+         this.capacity *= 2;
+         for (final GroupAggregator aggregator : this.aggregators) {
+            aggregator.resize(this.capacity);
+         }
+         this.references = Arrays.copyOf(this.references, this.capacity);
+      }
+      return group;
+   }
+
+   /**
+    * Returns the code of the given grouping value, adding it to the dictionary of this segment if necessary.
+    *
+    * @param value
+    *           grouping value
+    * @return code of the value
+    */
+   private long encode(final Object value) {
+      final Integer code = this.codes.get(value);
+      if (code != null) {
+         return code.intValue();
+      }
+      this.codes.put(value, Integer.valueOf(this.encodedValues.size()));
+      this.encodedValues.add(value);
+      return this.encodedValues.size() - 1;
+   }
+
+   /**
+    * Returns the value of the given grouping attribute of the given group.
+    *
+    * @param group
+    *           group number
+    * @param component
+    *           index of the grouping attribute
+    * @return grouping value
+    */
+   private Object getGroupValue(final int group, final int component) {
+      final long value = this.groups.getKey(group, component);
+      final Class< ? > type = this.inputSchema.getAttribute(this.groupAttributes[component]).getType();
+      switch (this.keyTypes[component]) {
+         case INT:
+            return Integer.valueOf((int) value);
+         case LONG:
+            if (Date.class.equals(type)) {
+               return new Date(value);
+            }
+            return Long.valueOf(value);
+         case DOUBLE:
+            if (Float.class.equals(type)) {
+               return Float.valueOf((float) Double.longBitsToDouble(value));
+            }
+            return Double.valueOf(Double.longBitsToDouble(value));
+         default:
+            return this.encodedValues.get((int) value);
       }
    }
 
@@ -110,26 +343,23 @@ public class GroupedStreamSegment extends AbstractStreamSegment {
    @Override
    public List<DataTuple> reportTuples() {
       final List<DataTuple> result = new ArrayList<DataTuple>();
-      for (final Map.Entry<Group, Aggregator[]> entry : this.groups.entrySet()) {
+      for (int group = 0; group < this.groups.size(); group++) {
+         if (this.removed.get(group)) {
+            continue;
+         }
          // Construct output tuple
          final Object[] values = new Object[this.outputSchema.getSize()];
          // Set progressing attribute to the maximal value of progressing attribute in this stream segment.
          // The progressing attribute of the output schema is always initialized to 0.
          values[0] = this.getMaximalValue();
          // Add the values of the attributes that are used for grouping.
-         final Object[] groupValues = entry.getKey().getValues();
-         for (int i = 0; i < groupValues.length; i++) {
-            values[i + 1] = groupValues[i];
+         for (int i = 0; i < this.groupAttributes.length; i++) {
+            values[i + 1] = this.getGroupValue(group, i);
          }
          // Add the result values of the aggregation functions.
-         final Aggregator[] aggregatedValues = entry.getValue();
-         for (int i = 0; i < aggregatedValues.length; i++) {
-            final int offset = i + groupValues.length + 1;
-            values[offset] = null;
-            if (aggregatedValues[i] != null) {
-               // TODO Do we need a type conversion here?
-               values[offset] = aggregatedValues[i].getValue();
-            }
+         for (int i = 0; i < this.aggregators.length; i++) {
+            // TODO Do we need a type conversion here?
+            values[i + this.groupAttributes.length + 1] = this.aggregators[i].getValue(group);
          }
          // Construct data tuple and add it to the result.
          final DataTuple tuple = new DataTuple(this.outputSchema, Arrays.asList(values));
@@ -166,46 +396,4 @@ public class GroupedStreamSegment extends AbstractStreamSegment {
       }
       return new Schema(outputProgressingAttribute, outAttributes.toArray(new Attribute[0]));
    }
-
-   /**
-    * Private class to represent grouped values.
-    *
-    * @author Michael Grossniklaus &lt;michagro@cecs.pdx.edu&gt;
-    * @version 1.0
-    */
-   private final class Group {
-
-      /** Grouped values. */
-      private final Object[] values;
-
-      /**
-       * Create a new group for the given values.
-       *
-       * @param values
-       *           grouped values
-       */
-      private Group(final Object... values) {
-         this.values = values;
-      }
-
-      /**
-       * Returns the grouped values contained in this group.
-       *
-       * @return grouped values
-       */
-      public Object[] getValues() {
-         return this.values;
-      }
-
-      @Override
-      public int hashCode() {
-         return Arrays.hashCode(this.values);
-      }
-
-      @Override
-      public boolean equals(final Object obj) {
-         final Group group = (Group) obj;
-         return Arrays.equals(this.values, group.getValues());
-      }
-   }
 }
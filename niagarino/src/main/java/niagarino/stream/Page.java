@@ -49,6 +49,11 @@ public class Page implements PageElement {
       return this.tuples;
    }
 
+   @Override
+   public ElementMetadata getElementMetadata(final int row) {
+      return this.tuples[row].getElementMetadata();
+   }
+
    @Override
    public final boolean isFull() {
       return this.tupleCount == this.size;
@@ -32,6 +32,15 @@ public interface PageElement extends StreamElement {
     */
    DataTuple[] getTuples();
 
+   /**
+    * Returns the metadata of the tuple in the given row without materializing the tuple.
+    *
+    * @param row
+    *           row index, which has to be less than {@link #size()}
+    * @return element metadata
+    */
+   ElementMetadata getElementMetadata(int row);
+
    /**
     * Returns if this page is full.
     *
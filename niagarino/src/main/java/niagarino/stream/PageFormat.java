@@ -0,0 +1,63 @@
+/*
+ * @(#)PageFormat.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import niagarino.util.PropertiesReader;
+
+/**
+ * Enumeration of the available page formats.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public enum PageFormat {
+
+   /** Pages store an array of data tuples. */
+   ROW,
+
+   /** Pages store the tuple values column by column in primitive arrays. */
+   COLUMNAR;
+
+   /**
+    * Creates a new empty page of this format.
+    *
+    * @param schema
+    *           schema of the tuples in the page
+    * @param capacity
+    *           maximum number of tuples
+    * @param dictionary
+    *           dictionary that is used to encode strings
+    * @return page
+    */
+   public PageElement createPage(final Schema schema, final int capacity, final StringDictionary dictionary) {
+      switch (this) {
+         case COLUMNAR:
+            return new ColumnarPage(schema, capacity, dictionary);
+         case ROW:
+         default:
+            return new Page(capacity);
+      }
+   }
+
+   /**
+    * Returns the page format that is configured in the Niagarino properties. If no page format is
+    * configured, pages store an array of data tuples.
+    *
+    * @return configured page format
+    */
+   public static PageFormat getConfiguredFormat() {
+      final String format = PropertiesReader.getPropertiesReader().getProperties()
+            .getProperty(PropertiesReader.PAGING_FORMAT);
+      if (format == null) {
+         return ROW;
+      }
+      return PageFormat.valueOf(format.trim().toUpperCase());
+   }
+}
@@ -0,0 +1,262 @@
+/*
+ * @(#)PrimitiveValueList.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import java.util.AbstractList;
+import java.util.Date;
+import java.util.RandomAccess;
+
+import niagarino.util.TypeSystem;
+
+/**
+ * List of tuple values that keeps the values of integer, long, date, float, and double attributes in a
+ * primitive array. The column type of each value is chosen from the attribute types of the schema. Values
+ * are only converted to objects when they are accessed through {@link #get(int)}, and the converted object
+ * is kept for subsequent accesses. Operators that only need the numeric value of an attribute should use
+ * {@link #getLong(int)} or {@link #getDouble(int)}, which never allocate.
+ * <p>
+ * Caching the converted objects is a benign race if a tuple is shared by several threads, since every
+ * thread converts the same primitive value to an equal object.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class PrimitiveValueList extends AbstractList<Object> implements RandomAccess {
+
+   /** Schema of the tuple values. */
+   private final Schema schema;
+   /** Primitive values, doubles are stored as their raw long bits. */
+   private final long[] primitives;
+   /** Flags that indicate which values are stored in the primitive array. */
+   private final boolean[] unboxed;
+   /** Object values, either set explicitly or converted from the primitive value on first access. */
+   private final Object[] objects;
+
+   /**
+    * Creates a new list of values for the given schema, in which all values are initialized to
+    * <code>null</code>.
+    *
+    * @param schema
+    *           schema definition
+    */
+   public PrimitiveValueList(final Schema schema) {
+      this.schema = schema;
+      this.primitives = new long[schema.getSize()];
+      this.unboxed = new boolean[schema.getSize()];
+      this.objects = new Object[schema.getSize()];
+   }
+
+   /**
+    * Creates a new list of values that is a copy of the given list.
+    *
+    * @param list
+    *           list of values to copy
+    */
+   public PrimitiveValueList(final PrimitiveValueList list) {
+      this.schema = list.schema;
+      this.primitives = list.primitives.clone();
+      this.unboxed = list.unboxed.clone();
+      this.objects = list.objects.clone();
+   }
+
+   /**
+    * Returns the value at the given position as a long. Date values are returned as milliseconds since the
+    * epoch.
+    *
+    * @param position
+    *           attribute position
+    * @return long value
+    */
+   public long getLong(final int position) {
+      if (this.unboxed[position]) {
+         if (this.schema.getColumnType(position) == ColumnType.DOUBLE) {
+            return (long) Double.longBitsToDouble(this.primitives[position]);
+         }
+         return this.primitives[position];
+      }
+      return TypeSystem.toLong(this.objects[position]);
+   }
+
+   /**
+    * Returns the value at the given position as a double. Date values are returned as milliseconds since
+    * the epoch.
+    *
+    * @param position
+    *           attribute position
+    * @return double value or {@link Double#NaN} if the value is neither numeric nor a date
+    */
+   public double getDouble(final int position) {
+      if (this.unboxed[position]) {
+         if (this.schema.getColumnType(position) == ColumnType.DOUBLE) {
+            return Double.longBitsToDouble(this.primitives[position]);
+         }
+         return this.primitives[position];
+      }
+      return TypeSystem.toDouble(this.objects[position]);
+   }
+
+   /**
+    * Checks whether the value at the given position is <code>null</code> without converting it to an
+    * object.
+    *
+    * @param position
+    *           attribute position
+    * @return <code>true</code> if the value is <code>null</code>, <code>false</code> otherwise
+    */
+   public boolean isNull(final int position) {
+      return !this.unboxed[position] && this.objects[position] == null;
+   }
+
+   /**
+    * Sets the value at the given position of an integer, boolean, long, or date attribute. Boolean values
+    * are given as one or zero and date values as milliseconds since the epoch.
+    *
+    * @param position
+    *           attribute position
+    * @param value
+    *           long value
+    */
+   public void setLong(final int position, final long value) {
+      switch (this.schema.getColumnType(position)) {
+         case INT:
+         case LONG:
+            this.primitives[position] = value;
+            break;
+         case DOUBLE:
+            this.primitives[position] = Double.doubleToRawLongBits(value);
+            break;
+         default:
+            throw new IllegalArgumentException("Attribute " + position + " is not numeric.");
+      }
+      this.unboxed[position] = true;
+      this.objects[position] = null;
+   }
+
+   /**
+    * Sets the value at the given position of a float or double attribute.
+    *
+    * @param position
+    *           attribute position
+    * @param value
+    *           double value
+    */
+   public void setDouble(final int position, final double value) {
+      if (this.schema.getColumnType(position) != ColumnType.DOUBLE) {
+         throw new IllegalArgumentException("Attribute " + position + " is not a decimal attribute.");
+      }
+      this.primitives[position] = Double.doubleToRawLongBits(value);
+      this.unboxed[position] = true;
+      this.objects[position] = null;
+   }
+
+   /**
+    * Parses the given string and sets the value at the given position. Values of numeric attributes are
+    * parsed directly into the primitive array, all other values are converted by
+    * {@link TypeSystem#convertValue(Class, String)}.
+    *
+    * @param position
+    *           attribute position
+    * @param value
+    *           string value
+    */
+   public void parse(final int position, final String value) {
+      if ("".equals(value) || "NA".equals(value)) {
+         this.set(position, null);
+         return;
+      }
+      final Class< ? > type = this.schema.getAttribute(position).getType();
+      try {
+         if (Long.class.equals(type)) {
+            this.setLong(position, Long.parseLong(value));
+         } else if (Integer.class.equals(type)) {
+            this.setLong(position, Integer.parseInt(value));
+         } else if (Double.class.equals(type)) {
+            this.setDouble(position, Double.parseDouble(value));
+         } else if (Float.class.equals(type)) {
+            this.setDouble(position, Float.parseFloat(value));
+         } else {
+            this.set(position, TypeSystem.convertValue(type, value));
+         }
+      } catch (final NumberFormatException e) {
+         this.set(position, null);
+      }
+   }
+
+   @Override
+   public Object get(final int position) {
+      final Object object = this.objects[position];
+      if (object != null || !this.unboxed[position]) {
+         return object;
+      }
+      final long bits = this.primitives[position];
+      final Class< ? > type = this.schema.getAttribute(position).getType();
+      final Object result;
+      switch (this.schema.getColumnType(position)) {
+         case INT:
+            if (Boolean.class.equals(type)) {
+               result = Boolean.valueOf(bits != 0);
+            } else {
+               result = Integer.valueOf((int) bits);
+            }
+            break;
+         case LONG:
+            if (Date.class.equals(type)) {
+               result = new Date(bits);
+            } else {
+               result = Long.valueOf(bits);
+            }
+            break;
+         case DOUBLE:
+         default:
+            if (Float.class.equals(type)) {
+               result = Float.valueOf((float) Double.longBitsToDouble(bits));
+            } else {
+               result = Double.valueOf(Double.longBitsToDouble(bits));
+            }
+      }
+      this.objects[position] = result;
+      return result;
+   }
+
+   @Override
+   public Object set(final int position, final Object value) {
+      final Object previous = this.get(position);
+      this.objects[position] = value;
+      this.unboxed[position] = false;
+      if (value != null && this.schema.getAttribute(position).getType().isInstance(value)) {
+         switch (this.schema.getColumnType(position)) {
+            case INT:
+               if (value instanceof Boolean) {
+                  this.primitives[position] = ((Boolean) value).booleanValue() ? 1 : 0;
+               } else {
+                  this.primitives[position] = ((Integer) value).intValue();
+               }
+               this.unboxed[position] = true;
+               break;
+            case LONG:
+               this.primitives[position] = TypeSystem.toLong(value);
+               this.unboxed[position] = true;
+               break;
+            case DOUBLE:
+               this.primitives[position] = Double.doubleToRawLongBits(((Number) value).doubleValue());
+               this.unboxed[position] = true;
+               break;
+            default:
+               break;
+         }
+      }
+      return previous;
+   }
+
+   @Override
+   public int size() {
+      return this.objects.length;
+   }
+}
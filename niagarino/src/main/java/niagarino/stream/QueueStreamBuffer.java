@@ -0,0 +1,62 @@
+/*
+ * @(#)QueueStreamBuffer.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import niagarino.runtime.ManagedBlocking;
+
+/**
+ * Stream buffer that is backed by a lock-based {@link ArrayBlockingQueue}.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class QueueStreamBuffer implements StreamBuffer {
+
+   /** Queue of stream elements. */
+   private final BlockingQueue<StreamElement> queue;
+
+   /**
+    * Constructs a new queue stream buffer with the given capacity.
+    *
+    * @param capacity
+    *           maximum number of stream elements
+    */
+   public QueueStreamBuffer(final int capacity) {
+      this.queue = new ArrayBlockingQueue<>(capacity);
+   }
+
+   @Override
+   public void put(final StreamElement element) throws InterruptedException {
+      ManagedBlocking.put(this.queue, element);
+   }
+
+   @Override
+   public boolean offer(final StreamElement element) {
+      return this.queue.offer(element);
+   }
+
+   @Override
+   public StreamElement poll() {
+      return this.queue.poll();
+   }
+
+   @Override
+   public int size() {
+      return this.queue.size();
+   }
+
+   @Override
+   public void clear() {
+      this.queue.clear();
+   }
+}
@@ -0,0 +1,272 @@
+/*
+ * @(#)RingStreamBuffer.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free stream buffer for a single producer and a single consumer that is backed by a ring of stream
+ * elements.
+ * <p>
+ * The producer and the consumer each own an index into the ring. In order to avoid false sharing, both
+ * indexes are padded to reside on their own cache line, together with a cached copy of the other index. As a
+ * consequence, producer and consumer only read each other's index if the cached copy suggests that the ring
+ * is full or empty, respectively. The producer publishes every stream element with an ordered store, whereas
+ * the consumer publishes the slots it has freed in batches. If the ring is full, the producer spins briefly
+ * and then parks until the consumer has freed some slots.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public final class RingStreamBuffer implements StreamBuffer {
+
+   /** Maximum number of slots that the consumer frees before publishing its index. */
+   private static final int MAX_BATCH = 32;
+   /** Number of times a producer yields on a full ring before parking. */
+   private static final int SPINS = 64;
+
+   /** Ring of stream elements, the length of which is a power of two. */
+   private final StreamElement[] ring;
+   /** Mask to map an index to a slot of the ring. */
+   private final int mask;
+   /** Maximum number of stream elements. */
+   private final int capacity;
+   /** Number of slots that the consumer frees before publishing its index. */
+   private final int batch;
+   /** Index of the consumer. */
+   private final Index head;
+   /** Index of the producer. */
+   private final Index tail;
+   /** Blocker that is used by the producer to wait for free slots. */
+   private final ProducerBlocker blocker;
+   /** Producer thread that is parked on a full ring or <code>null</code> if there is none. */
+   private volatile Thread waiter;
+
+   /**
+    * Constructs a new ring stream buffer with the given capacity.
+    *
+    * @param capacity
+    *           maximum number of stream elements
+    */
+   public RingStreamBuffer(final int capacity) {
+      if (capacity < 1) {
+         throw new IllegalArgumentException("Capacity must be positive.");
+      }
+      final int length;
+      if (capacity == 1) {
+         length = 1;
+      } else {
+         length = Integer.highestOneBit(capacity - 1) << 1;
+      }
+      this.ring = new StreamElement[length];
+      this.mask = length - 1;
+      this.capacity = capacity;
+      this.batch = Math.max(1, Math.min(MAX_BATCH, capacity / 4));
+      this.head = new PaddedIndex();
+      this.tail = new PaddedIndex();
+      this.blocker = new ProducerBlocker();
+   }
+
+   @Override
+   public void put(final StreamElement element) throws InterruptedException {
+      if (!this.offer(element)) {
+         this.blocker.element = element;
+         ForkJoinPool.managedBlock(this.blocker);
+      }
+   }
+
+   @Override
+   public StreamElement poll() {
+      final Index consumer = this.head;
+      final long position = consumer.local;
+      if (position >= consumer.cached) {
+         consumer.cached = this.tail.published;
+         if (position >= consumer.cached) {
+            // the ring is empty, make sure that the producer sees all free slots
+            this.release(position);
+            return null;
+         }
+      }
+      final int slot = (int) position & this.mask;
+      final StreamElement element = this.ring[slot];
+      this.ring[slot] = null;
+      consumer.local = position + 1;
+      if (consumer.local - consumer.published >= this.batch) {
+         this.release(consumer.local);
+      }
+      return element;
+   }
+
+   @Override
+   public int size() {
+      return (int) (this.tail.published - this.head.published);
+   }
+
+   @Override
+   public void clear() {
+      final Index consumer = this.head;
+      final long end = this.tail.published;
+      for (long position = consumer.local; position < end; position++) {
+         this.ring[(int) position & this.mask] = null;
+      }
+      consumer.local = end;
+      consumer.cached = end;
+      this.release(end);
+   }
+
+   @Override
+   public boolean offer(final StreamElement element) {
+      final Index producer = this.tail;
+      final long position = producer.local;
+      if (position - producer.cached >= this.capacity) {
+         producer.cached = this.head.published;
+         if (position - producer.cached >= this.capacity) {
+            return false;
+         }
+      }
+      this.ring[(int) position & this.mask] = element;
+      producer.local = position + 1;
+      Index.PUBLISHED.lazySet(producer, producer.local);
+      return true;
+   }
+
+   /**
+    * Publishes the given consumer index and wakes up the producer if it is waiting for free slots. This
+    * method is only called by the consumer.
+    *
+    * @param position
+    *           consumer index
+    */
+   private void release(final long position) {
+      if (this.head.published != position) {
+         // the volatile store must precede reading the waiter, see ProducerBlocker
+         this.head.published = position;
+         final Thread thread = this.waiter;
+         if (thread != null) {
+            LockSupport.unpark(thread);
+         }
+      }
+   }
+
+   /**
+    * Padding that precedes an index.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static class IndexPadding {
+
+      /** Padding. */
+      private long p01;
+      /** Padding. */
+      private long p02;
+      /** Padding. */
+      private long p03;
+      /** Padding. */
+      private long p04;
+      /** Padding. */
+      private long p05;
+      /** Padding. */
+      private long p06;
+      /** Padding. */
+      private long p07;
+   }
+
+   /**
+    * Index of either the producer or the consumer.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static class Index extends IndexPadding {
+
+      /** Updater to publish an index with an ordered store. */
+      private static final AtomicLongFieldUpdater<Index> PUBLISHED = AtomicLongFieldUpdater
+            .newUpdater(Index.class, "published");
+
+      /** Index as seen by the other side. */
+      private volatile long published;
+      /** Index as seen by the owning side, which might not have been published yet. */
+      private long local;
+      /** Cached copy of the published index of the other side. */
+      private long cached;
+   }
+
+   /**
+    * Index that is followed by padding.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static final class PaddedIndex extends Index {
+
+      /** Padding. */
+      private long p11;
+      /** Padding. */
+      private long p12;
+      /** Padding. */
+      private long p13;
+      /** Padding. */
+      private long p14;
+      /** Padding. */
+      private long p15;
+      /** Padding. */
+      private long p16;
+      /** Padding. */
+      private long p17;
+   }
+
+   /**
+    * Blocker that lets the producer wait for free slots. If the producer runs on a worker of a
+    * {@link ForkJoinPool}, the pool can activate a spare worker while the producer is waiting.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private final class ProducerBlocker implements ForkJoinPool.ManagedBlocker {
+
+      /** Stream element that still has to be inserted or <code>null</code> if there is none. */
+      private StreamElement element;
+
+      @Override
+      public boolean isReleasable() {
+         if (this.element != null && RingStreamBuffer.this.offer(this.element)) {
+            this.element = null;
+         }
+         return this.element == null;
+      }
+
+      @Override
+      public boolean block() throws InterruptedException {
+         int spins = 0;
+         while (!this.isReleasable()) {
+            if (spins < SPINS) {
+               spins++;
+               Thread.yield();
+            } else {
+               // announce the waiter before checking the consumer index again, so that either this check
+               // sees the freed slots or the consumer sees the waiter
+               RingStreamBuffer.this.waiter = Thread.currentThread();
+               if (!this.isReleasable()) {
+                  LockSupport.park(this);
+               }
+               RingStreamBuffer.this.waiter = null;
+               if (Thread.interrupted()) {
+                  this.element = null;
+                  throw new InterruptedException();
+               }
+            }
+         }
+         return true;
+      }
+   }
+}
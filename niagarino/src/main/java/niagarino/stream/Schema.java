@@ -29,6 +29,8 @@ public class Schema {
    private final List<Attribute> attributes;
    /** A name-based map for attributes defined by this schema. */
    private final Map<String, Integer> attributeMapping;
+   /** Physical column types of all attributes defined by this schema. */
+   private final ColumnType[] columnTypes;
 
    /**
     * Creates a new schema that defines the given attributes and uses the attribute at the given position as
@@ -53,6 +55,10 @@ public class Schema {
       for (int i = 0; i < attributes.length; i++) {
          this.attributeMapping.put(attributes[i].getName(), i);
       }
+      this.columnTypes = new ColumnType[attributes.length];
+      for (int i = 0; i < attributes.length; i++) {
+         this.columnTypes[i] = ColumnType.forType(attributes[i].getType());
+      }
    }
 
    /**
@@ -107,6 +113,17 @@ public class Schema {
       }
    }
 
+   /**
+    * Returns the physical column type that is used to store values of the attribute at the given position.
+    *
+    * @param position
+    *           attribute position
+    * @return column type
+    */
+   public ColumnType getColumnType(final int position) {
+      return this.columnTypes[position];
+   }
+
    /**
     * Returns the size of this schema in terms of the number of defined attributes.
     *
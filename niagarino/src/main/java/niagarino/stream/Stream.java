@@ -9,12 +9,13 @@
  */
 package niagarino.stream;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import niagarino.runtime.OperatorSignal;
 import niagarino.util.PropertiesReader;
 
 /**
@@ -38,14 +39,36 @@ public class Stream {
       BACKWARD
    };
 
-   /** Map that maintains a queue of stream elements for each stream flow direction. */
-   private final Map<Flow, BlockingQueue<StreamElement>> stream;
+   /** Map that maintains a buffer of stream elements for each stream flow direction. */
+   private final Map<Flow, StreamBuffer> stream;
+   /**
+    * Map that maintains the signal of the consuming operator for each stream flow direction. Signals can be
+    * registered while the producer is already pushing stream elements, e.g., when a stream is attached to a
+    * running operator, therefore the map is concurrent.
+    */
+   private final Map<Flow, OperatorSignal> signals;
+   /** Stream flow directions that are no longer read by their consuming operator. */
+   private final Set<Flow> closed;
+   /** Maximum number of stream elements that are buffered in each stream flow direction. */
+   private final int capacity;
 
    /**
-    * Constructs a new stream.
+    * Constructs a new stream that uses the stream buffer type configured in the Niagarino properties.
     */
    public Stream() {
-      this.stream = new HashMap<Flow, BlockingQueue<StreamElement>>();
+      this(StreamBufferType.getConfiguredType());
+   }
+
+   /**
+    * Constructs a new stream that uses the given stream buffer type.
+    *
+    * @param bufferType
+    *           stream buffer type
+    */
+   public Stream(final StreamBufferType bufferType) {
+      this.stream = new HashMap<Flow, StreamBuffer>();
+      this.signals = new ConcurrentHashMap<Flow, OperatorSignal>();
+      this.closed = Collections.newSetFromMap(new ConcurrentHashMap<Flow, Boolean>());
       int streamSize = Integer.parseInt(PropertiesReader.getPropertiesReader().getProperties()
             .getProperty(PropertiesReader.STREAM_SIZE));
       final boolean isPaging = Boolean.parseBoolean(PropertiesReader.getPropertiesReader().getProperties()
@@ -55,27 +78,56 @@ public class Stream {
                .getProperty(PropertiesReader.PAGING_PAGESIZE));
          streamSize = streamSize / pageSize;
       }
-      this.stream.put(Flow.FORWARD, new ArrayBlockingQueue<StreamElement>(streamSize));
-      this.stream.put(Flow.BACKWARD, new ArrayBlockingQueue<StreamElement>(streamSize));
+      this.capacity = streamSize;
+      this.stream.put(Flow.FORWARD, bufferType.createBuffer(streamSize));
+      this.stream.put(Flow.BACKWARD, bufferType.createBuffer(streamSize));
+   }
+
+   /**
+    * Registers the signal of the operator that consumes the given stream flow direction of this stream. Once
+    * registered, the signal is raised every time a stream element is pushed with that flow direction.
+    *
+    * @param flow
+    *           stream flow direction
+    * @param signal
+    *           signal of the consuming operator
+    */
+   public void setSignal(final Flow flow, final OperatorSignal signal) {
+      this.signals.put(flow, signal);
    }
 
    /**
-    * Push the given stream element onto this stream with the given stream flow direction.
+    * Push the given stream element onto this stream with the given stream flow direction. If the buffer of
+    * the flow direction is full, the producer is blocked until the consumer has made room.
     *
     * @param flow
     *           stream flow direction
     * @param element
     *           stream element
+    * @return time in nanoseconds that the producer was blocked, zero if the stream element was pushed
+    *         without blocking
     */
-   public void pushElement(final Flow flow, final StreamElement element) {
+   public long pushElement(final Flow flow, final StreamElement element) {
+      long blocked = 0;
       try {
-         final BlockingQueue<StreamElement> queue = this.stream.get(flow);
-         if (queue != null) {
-            queue.put(element);
+         final StreamBuffer buffer = this.stream.get(flow);
+         if (buffer != null && !this.closed.contains(flow)) {
+            // the time is only taken if the producer has to wait, so that pushing stays cheap otherwise
+            if (!buffer.offer(element)) {
+               final long start = System.nanoTime();
+               buffer.put(element);
+               blocked = System.nanoTime() - start;
+            }
+            // wake up the consuming operator
+            final OperatorSignal signal = this.signals.get(flow);
+            if (signal != null) {
+               signal.signal();
+            }
          }
       } catch (final InterruptedException e) {
          e.printStackTrace();
       }
+      return blocked;
    }
 
    /**
@@ -86,9 +138,9 @@ public class Stream {
     * @return stream element or <code>null</code> if not stream element is available
     */
    public StreamElement pullElement(final Flow flow) {
-      final Queue<StreamElement> queue = this.stream.get(flow);
-      if (queue != null) {
-         final StreamElement element = queue.poll();
+      final StreamBuffer buffer = this.stream.get(flow);
+      if (buffer != null) {
+         final StreamElement element = buffer.poll();
          return element;
       }
       return null;
@@ -96,7 +148,7 @@ public class Stream {
 
    /**
     * Returns the size of this stream in terms of the number of stream elements. The size is defined as the
-    * sum of the sizes of the forward and backward queue of this stream.
+    * sum of the sizes of the forward and backward buffer of this stream.
     *
     * @return stream size
     */
@@ -107,15 +159,53 @@ public class Stream {
    }
 
    /**
-    * Clears the given direction of this {@link Stream}.
+    * Returns the number of stream elements that are currently buffered in the given flow direction of this
+    * stream. As producer and consumer run concurrently, the returned number is only an estimate.
+    *
+    * @param flow
+    *           stream flow direction
+    * @return number of buffered stream elements
+    */
+   public int getSize(final Flow flow) {
+      return this.stream.get(flow).size();
+   }
+
+   /**
+    * Returns the maximum number of stream elements that are buffered in each flow direction of this stream.
+    * A producer that pushes onto a flow direction that holds this many elements is blocked.
+    *
+    * @return capacity of each stream flow direction
+    */
+   public int getCapacity() {
+      return this.capacity;
+   }
+
+   /**
+    * Clears the given direction of this {@link Stream}. This method must only be called by the operator that
+    * consumes the given direction.
     *
     * @param flow
     *           the direction to clear
     */
    public synchronized void clearStream(final Flow flow) {
-      final Queue<StreamElement> queue = this.stream.get(flow);
-      if (queue != null) {
-         queue.clear();
+      final StreamBuffer buffer = this.stream.get(flow);
+      if (buffer != null) {
+         buffer.clear();
       }
    }
+
+   /**
+    * Closes the given direction of this {@link Stream}. Closing a direction indicates that its consuming
+    * operator has stopped and will not read any more stream elements. All pending stream elements are
+    * dropped and all stream elements that are pushed afterwards are discarded, so that the producing
+    * operator does not block on a stream that is never drained. This method must only be called by the
+    * operator that consumes the given direction.
+    *
+    * @param flow
+    *           the direction to close
+    */
+   public void close(final Flow flow) {
+      this.closed.add(flow);
+      this.clearStream(flow);
+   }
 }
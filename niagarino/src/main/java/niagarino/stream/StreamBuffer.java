@@ -0,0 +1,62 @@
+/*
+ * @(#)StreamBuffer.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+/**
+ * Interface describing the bounded buffer that holds the stream elements of one flow direction of a
+ * {@link Stream}. Every flow direction has exactly one producing and one consuming operator. Therefore,
+ * {@link #offer(StreamElement)} and {@link #put(StreamElement)} are only ever called by the producer,
+ * whereas {@link #poll()} and {@link #clear()} are only ever called by the consumer.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public interface StreamBuffer {
+
+   /**
+    * Inserts the given stream element into this buffer, waiting for space to become available if the buffer
+    * is full.
+    *
+    * @param element
+    *           stream element
+    * @throws InterruptedException
+    *            if interrupted while waiting
+    */
+   void put(StreamElement element) throws InterruptedException;
+
+   /**
+    * Inserts the given stream element into this buffer if there is space available, without waiting.
+    *
+    * @param element
+    *           stream element
+    * @return {@code true} if the stream element was inserted, {@code false} if the buffer is full
+    */
+   boolean offer(StreamElement element);
+
+   /**
+    * Retrieves and removes the next stream element of this buffer.
+    *
+    * @return stream element or <code>null</code> if this buffer is empty
+    */
+   StreamElement poll();
+
+   /**
+    * Returns the number of stream elements in this buffer. As producer and consumer run concurrently, the
+    * returned number is only an estimate.
+    *
+    * @return number of stream elements
+    */
+   int size();
+
+   /**
+    * Removes all stream elements from this buffer. This method must only be called by the consumer.
+    */
+   void clear();
+}
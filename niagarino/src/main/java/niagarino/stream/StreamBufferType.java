@@ -0,0 +1,59 @@
+/*
+ * @(#)StreamBufferType.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import niagarino.util.PropertiesReader;
+
+/**
+ * Enumeration of the available stream buffer implementations.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public enum StreamBufferType {
+
+   /** Stream elements are buffered in a lock-based blocking queue. */
+   QUEUE,
+
+   /** Stream elements are buffered in a lock-free single-producer/single-consumer ring. */
+   RING;
+
+   /**
+    * Creates a new stream buffer of this type with the given capacity.
+    *
+    * @param capacity
+    *           maximum number of stream elements
+    * @return stream buffer
+    */
+   public StreamBuffer createBuffer(final int capacity) {
+      switch (this) {
+         case RING:
+            return new RingStreamBuffer(capacity);
+         case QUEUE:
+         default:
+            return new QueueStreamBuffer(capacity);
+      }
+   }
+
+   /**
+    * Returns the stream buffer type that is configured in the Niagarino properties. If no stream buffer type
+    * is configured, stream elements are buffered in a blocking queue.
+    *
+    * @return configured stream buffer type
+    */
+   public static StreamBufferType getConfiguredType() {
+      final String type = PropertiesReader.getPropertiesReader().getProperties()
+            .getProperty(PropertiesReader.STREAM_BUFFER);
+      if (type == null) {
+         return QUEUE;
+      }
+      return StreamBufferType.valueOf(type.trim().toUpperCase());
+   }
+}
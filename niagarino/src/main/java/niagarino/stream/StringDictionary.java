@@ -0,0 +1,103 @@
+/*
+ * @(#)StringDictionary.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary that encodes strings as integer codes. A dictionary is shared by all columnar pages that are
+ * produced by the same operator, so that every distinct string is only stored once. Strings are encoded by
+ * the producing operator, but can be decoded concurrently by any operator that receives one of the pages.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class StringDictionary {
+
+   /** Initial number of strings the dictionary can hold. */
+   private static final int INITIAL_CAPACITY = 64;
+
+   /** Map from strings to codes. */
+   private final Map<String, Integer> codes;
+   /** Strings indexed by their codes. */
+   private volatile String[] strings;
+   /** Number of strings in the dictionary. */
+   private int size;
+
+   /**
+    * Constructs a new empty string dictionary.
+    */
+   public StringDictionary() {
+      this.codes = new ConcurrentHashMap<>();
+      this.strings = new String[INITIAL_CAPACITY];
+      this.size = 0;
+   }
+
+   /**
+    * Returns the code of the given string, adding it to this dictionary if necessary.
+    *
+    * @param string
+    *           string value
+    * @return code of the string
+    */
+   public int encode(final String string) {
+      final Integer code = this.codes.get(string);
+      if (code != null) {
+         return code.intValue();
+      }
+      return this.add(string);
+   }
+
+   /**
+    * Returns the string with the given code.
+    *
+    * @param code
+    *           code of the string
+    * @return string value
+    */
+   public String decode(final int code) {
+      return this.strings[code];
+   }
+
+   /**
+    * Returns the number of distinct strings in this dictionary.
+    *
+    * @return number of strings
+    */
+   public synchronized int size() {
+      return this.size;
+   }
+
+   /**
+    * Adds the given string to this dictionary unless it has been added concurrently.
+    *
+    * @param string
+    *           string value
+    * @return code of the string
+    */
+   private synchronized int add(final String string) {
+      final Integer code = this.codes.get(string);
+      if (code != null) {
+         return code.intValue();
+      }
+      String[] current = this.strings;
+      if (this.size == current.length) {
+         current = Arrays.copyOf(current, current.length * 2);
+      }
+      current[this.size] = string;
+      // publish the string before its code can be handed out
+      this.strings = current;
+      this.codes.put(string, Integer.valueOf(this.size));
+      this.size++;
+      return this.size - 1;
+   }
+}
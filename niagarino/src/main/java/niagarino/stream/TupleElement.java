@@ -32,4 +32,14 @@ public interface TupleElement extends StreamElement, Cloneable {
     *            if the tuple element cannot be cloned
     */
    TupleElement clone() throws CloneNotSupportedException;
+
+   /**
+    * Returns a copy of this tuple element that shares its values and its metadata with this tuple element.
+    * The shared metadata is only copied once it is modified through either of the two tuple elements.
+    *
+    * @return tuple element
+    * @throws CloneNotSupportedException
+    *            if the tuple element cannot be copied
+    */
+   TupleElement share() throws CloneNotSupportedException;
 }
@@ -0,0 +1,53 @@
+/*
+ * @(#)WatermarkControl.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+/**
+ * Control message that marks the progress of event time in a stream that is not ordered by its progressing
+ * attribute. A watermark states that no more tuples with a progressing value smaller than or equal to the
+ * watermark value are expected. Tuples that arrive nevertheless are late and may be dropped by downstream
+ * operators.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class WatermarkControl extends ControlTuple {
+
+   /** Progressing value up to which the stream is complete. */
+   private final long value;
+
+   /**
+    * Constructs a new watermark with the given progressing value.
+    *
+    * @param value
+    *           progressing value up to which the stream is complete
+    */
+   public WatermarkControl(final long value) {
+      super(ControlTuple.Type.WATERMARK);
+      this.value = value;
+   }
+
+   /**
+    * Returns the progressing value up to which the stream is complete.
+    *
+    * @return watermark value
+    */
+   public long getValue() {
+      return this.value;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override
+   public String toString() {
+      return "<" + this.getType().name() + " " + this.value + ">";
+   }
+}
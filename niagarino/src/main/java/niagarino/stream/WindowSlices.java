@@ -0,0 +1,291 @@
+/*
+ * @(#)WindowSlices.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import niagarino.operator.function.AggregationFunction;
+import niagarino.operator.function.InvertibleAggregator;
+import niagarino.operator.function.MergeableAggregator;
+
+/**
+ * Sequence of stream slices that aggregates each tuple only once, instead of once for every window to which
+ * it belongs. A slice contains all tuples that belong to the same range of windows, e.g., a pane of a
+ * sliding window. The result of a window is computed by combining the partial aggregates of all slices the
+ * window consists of.
+ * <p>
+ * Windows are reported in ascending order. If all aggregators are invertible, a running aggregate of the
+ * current window is maintained by merging the slices that enter the window and subtracting the slices that
+ * leave it. Otherwise, the slices of the current window are kept in two stacks: the front stack stores the
+ * aggregate of each of the older slices combined with all slices after it, the back aggregate combines all
+ * newer slices. Both ways, reporting a window only costs a constant number of merges per group.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class WindowSlices {
+
+   /** Schema of the tuples that are aggregated. */
+   private final Schema inputSchema;
+   /** Positions of grouping attributes. */
+   private final int[] groupAttributes;
+   /** Positions of aggregated attributes. */
+   private final int[] aggregatedAttributes;
+   /** Aggregation functions whose aggregators are mergeable. */
+   private final AggregationFunction[] functions;
+   /** Flag that indicates whether all aggregators are invertible. */
+   private final boolean invertible;
+   /** Slices that have not yet entered a reported window, in ascending order of their windows. */
+   private final Deque<Slice> pending;
+   /** Slices of the last reported window, in ascending order of their windows. */
+   private final Deque<Slice> current;
+   /** Suffix aggregates of the older slices of the last reported window, oldest slice on top. */
+   private final Deque<GroupedStreamSegment> front;
+   /** Running aggregate of the last reported window, or of its newer slices when using two stacks. */
+   private GroupedStreamSegment back;
+   /** Last reported window. */
+   private long lastWindow;
+
+   /**
+    * Creates a new sequence of slices that aggregate tuples of the given input schema using the given
+    * grouped attributes, aggregated attributes, and aggregation functions.
+    *
+    * @param inputSchema
+    *           input schema definition
+    * @param groupAttributes
+    *           grouping attributes
+    * @param aggregatedAttributes
+    *           aggregated attributes
+    * @param functions
+    *           aggregation functions, whose aggregators have to be mergeable
+    */
+   public WindowSlices(final Schema inputSchema, final int[] groupAttributes,
+         final int[] aggregatedAttributes, final AggregationFunction... functions) {
+      if (!WindowSlices.isSupported(functions)) {
+         throw new IllegalArgumentException("Aggregators of all aggregation functions have to be mergeable.");
+      }
+      this.inputSchema = inputSchema;
+      this.groupAttributes = groupAttributes;
+      this.aggregatedAttributes = aggregatedAttributes;
+      this.functions = functions;
+      boolean inverse = true;
+      for (final AggregationFunction function : functions) {
+         inverse &= function.get() instanceof InvertibleAggregator;
+      }
+      this.invertible = inverse;
+      this.pending = new ArrayDeque<Slice>();
+      this.current = new ArrayDeque<Slice>();
+      this.front = new ArrayDeque<GroupedStreamSegment>();
+      this.back = null;
+      this.lastWindow = Long.MIN_VALUE;
+   }
+
+   /**
+    * Checks whether the aggregators of all given aggregation functions are mergeable.
+    *
+    * @param functions
+    *           aggregation functions
+    * @return <code>true</code> if all aggregators can be merged, <code>false</code> otherwise
+    */
+   public static boolean isSupported(final AggregationFunction... functions) {
+      for (final AggregationFunction function : functions) {
+         if (!(function.get() instanceof MergeableAggregator)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Returns the slice into which a tuple with the given segment numbers has to be inserted. Slicing only
+    * applies to tuples whose segment numbers form an ascending range that starts after the last reported
+    * window and that does not precede the range of the newest slice. All other tuples have to be aggregated
+    * for each of their segments individually.
+    *
+    * @param segmentIds
+    *           segment numbers of a tuple
+    * @return slice or <code>null</code> if the tuple cannot be sliced
+    */
+   public GroupedStreamSegment getSlice(final List<Long> segmentIds) {
+      final int size = segmentIds.size();
+      if (size == 0) {
+         return null;
+      }
+      final long lo = segmentIds.get(0).longValue();
+      final long hi = segmentIds.get(size - 1).longValue();
+      if (hi - lo != size - 1 || lo <= this.lastWindow) {
+         return null;
+      }
+      for (int i = 1; i < size - 1; i++) {
+         if (segmentIds.get(i).longValue() != lo + i) {
+            return null;
+         }
+      }
+      Slice newest = this.pending.peekLast();
+      if (newest == null) {
+         newest = this.current.peekLast();
+      }
+      if (newest != null) {
+         if (newest.lo == lo && newest.hi == hi) {
+            return newest.segment;
+         }
+         if (lo < newest.lo || hi < newest.hi) {
+            return null;
+         }
+      }
+      final Slice slice = new Slice(lo, hi, this.createSegment());
+      this.pending.addLast(slice);
+      return slice.segment;
+   }
+
+   /**
+    * Returns the aggregate of the given window, which has to be greater than all previously reported windows.
+    * The returned segment must not be modified, except for its boundaries.
+    *
+    * @param window
+    *           window segment number
+    * @return aggregate of the window or <code>null</code> if no slice belongs to the window
+    */
+   public GroupedStreamSegment report(final long window) {
+      if (window <= this.lastWindow) {
+         return null;
+      }
+      this.lastWindow = window;
+      // add the slices that enter the window and remove the slices that have left it
+      while (!this.pending.isEmpty() && this.pending.peekFirst().lo <= window) {
+         this.add(this.pending.pollFirst());
+      }
+      while (!this.current.isEmpty() && this.current.peekFirst().hi < window) {
+         this.evict();
+      }
+      if (this.current.isEmpty()) {
+         return null;
+      }
+      if (this.invertible) {
+         return this.back;
+      }
+      final GroupedStreamSegment result = this.createSegment();
+      if (!this.front.isEmpty()) {
+         result.merge(this.front.peek());
+      }
+      if (this.back != null) {
+         result.merge(this.back);
+      }
+      return result;
+   }
+
+   /**
+    * Returns the smallest window that has not been reported yet and to which at least one slice belongs.
+    *
+    * @return window segment number or <code>null</code> if there are no more windows
+    */
+   public Long nextWindow() {
+      for (final Deque<Slice> slices : Arrays.asList(this.current, this.pending)) {
+         for (final Slice slice : slices) {
+            final long window = Math.max(this.lastWindow + 1, slice.lo);
+            if (window <= slice.hi) {
+               return Long.valueOf(window);
+            }
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Adds the given slice to the current window.
+    *
+    * @param slice
+    *           slice that enters the window
+    */
+   private void add(final Slice slice) {
+      this.current.addLast(slice);
+      if (this.back == null) {
+         this.back = this.createSegment();
+      }
+      this.back.merge(slice.segment);
+   }
+
+   /**
+    * Removes the oldest slice from the current window.
+    */
+   private void evict() {
+      if (this.invertible) {
+         this.back.subtract(this.current.pollFirst().segment);
+         if (this.current.isEmpty()) {
+            // start over to discard accumulated rounding errors
+            this.back = null;
+         }
+      } else {
+         if (this.front.isEmpty()) {
+            // move all slices to the front stack and compute their suffix aggregates
+            GroupedStreamSegment suffix = null;
+            final Iterator<Slice> slices = this.current.descendingIterator();
+            while (slices.hasNext()) {
+               final GroupedStreamSegment aggregate = this.createSegment();
+               aggregate.merge(slices.next().segment);
+               if (suffix != null) {
+                  aggregate.merge(suffix);
+               }
+               this.front.push(aggregate);
+               suffix = aggregate;
+            }
+            this.back = null;
+         }
+         this.front.pop();
+         this.current.pollFirst();
+      }
+   }
+
+   /**
+    * Creates a new empty grouped stream segment.
+    *
+    * @return grouped stream segment
+    */
+   private GroupedStreamSegment createSegment() {
+      return new GroupedStreamSegment(this.inputSchema, this.groupAttributes, this.aggregatedAttributes,
+            this.functions);
+   }
+
+   /**
+    * Partial aggregate of all tuples that belong to the same range of windows.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static final class Slice {
+
+      /** First window of the slice. */
+      private final long lo;
+      /** Last window of the slice. */
+      private final long hi;
+      /** Partial aggregate of the slice. */
+      private final GroupedStreamSegment segment;
+
+      /**
+       * Creates a new slice for the given range of windows.
+       *
+       * @param lo
+       *           first window
+       * @param hi
+       *           last window
+       * @param segment
+       *           partial aggregate
+       */
+      private Slice(final long lo, final long hi, final GroupedStreamSegment segment) {
+         this.lo = lo;
+         this.hi = hi;
+         this.segment = segment;
+      }
+   }
+}
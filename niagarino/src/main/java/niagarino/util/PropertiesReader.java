@@ -27,10 +27,36 @@ public final class PropertiesReader {
    public static final String PAGING_ENABLED = "niagarino.paging.enabled";
    /** Key to set the number of tuples in a page. */
    public static final String PAGING_PAGESIZE = "niagarino.paging.pagesize";
+   /** Key to set the format of pages. */
+   public static final String PAGING_FORMAT = "niagarino.paging.format";
    /** Key to set the number of elements in a stream. */
    public static final String STREAM_SIZE = "niagarino.stream.size";
+   /** Key to set the buffer implementation of streams. */
+   public static final String STREAM_BUFFER = "niagarino.stream.buffer";
    /** Key to set the output directory of the benchmark. */
    public static final String BENCHMARK_OUTPUT = "niagarino.benchmark.output";
+   /** Key to set the scheduling mode of operator threads. */
+   public static final String SCHEDULER_MODE = "niagarino.scheduler.mode";
+   /** Key to set the executor that assigns operators to threads. */
+   public static final String EXECUTOR_TYPE = "niagarino.executor";
+   /** Key to enable the aggregation of sliding windows in slices. */
+   public static final String AGGREGATE_SLICING = "niagarino.aggregate.slicing";
+   /** Key to set the maximum number of rounds over all streams of an operator in one work quantum. */
+   public static final String EXECUTOR_QUANTUM = "niagarino.executor.quantum";
+   /** Key to enable the collection of live operator and stream metrics. */
+   public static final String METRICS_ENABLED = "niagarino.metrics.enabled";
+   /** Key to enable the fusion of chains of cheap operators into the thread of the operator feeding them. */
+   public static final String FUSION_ENABLED = "niagarino.fusion.enabled";
+   /** Key to set the number of threads that read the input files of a scan operator concurrently. */
+   public static final String SCAN_READERS = "niagarino.scan.readers";
+   /** Key to set whether a parallel scan merges its input files in the order of the progressing attribute. */
+   public static final String SCAN_ORDERED = "niagarino.scan.ordered";
+   /** Key to set the maximum number of tuples that each reader thread of a parallel scan reads ahead. */
+   public static final String SCAN_READAHEAD = "niagarino.scan.readahead";
+   /** Key to set where segmented storages move closed segments that support spilling. */
+   public static final String STORAGE_SPILL = "niagarino.storage.spill";
+   /** Key to set the number of spilled segments whose decoded values are kept on the heap. */
+   public static final String STORAGE_CACHE = "niagarino.storage.cache";
 
    /** Store the instance of the PropertiesReader. */
    private static PropertiesReader instance;
@@ -113,6 +113,40 @@ public final class TypeSystem {
             + " " + value + ".");
    }
 
+   /**
+    * Converts the given numeric or date value to a long. Dates are converted to milliseconds since the epoch.
+    *
+    * @param value
+    *           numeric or date value
+    * @return long value
+    */
+   public static long toLong(final Object value) {
+      if (value instanceof Number) {
+         return ((Number) value).longValue();
+      } else if (value instanceof Date) {
+         return ((Date) value).getTime();
+      }
+      throw new IllegalArgumentException("Could not convert " + (value == null ? null : value.getClass())
+            + " to Long.");
+   }
+
+   /**
+    * Converts the given numeric or date value to a double. Dates are converted to milliseconds since the
+    * epoch.
+    *
+    * @param value
+    *           numeric or date value
+    * @return double value or {@link Double#NaN} if the value is neither numeric nor a date
+    */
+   public static double toDouble(final Object value) {
+      if (value instanceof Number) {
+         return ((Number) value).doubleValue();
+      } else if (value instanceof Date) {
+         return ((Date) value).getTime();
+      }
+      return Double.NaN;
+   }
+
    /**
     * Checks whether the given type is a numeric type.
     *
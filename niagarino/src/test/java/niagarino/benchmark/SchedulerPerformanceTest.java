@@ -0,0 +1,277 @@
+/*
+ * @(#)SchedulerPerformanceTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import niagarino.operator.AbstractOperator;
+import niagarino.operator.Derive;
+import niagarino.operator.Operator;
+import niagarino.operator.Selection;
+import niagarino.operator.SourceOperator;
+import niagarino.operator.TupleIterator;
+import niagarino.runtime.PhysicalQueryPlan;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.runtime.SchedulingMode;
+import niagarino.stream.Attribute;
+import niagarino.stream.ControlTuple;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+import niagarino.util.PropertiesReader;
+
+/**
+ * Performance tests that compare the end-to-end latency of the exponential back-off scheduler with the
+ * event-driven scheduler on the first part of the Linear Road query plan. Position reports are emitted in
+ * bursts with idle periods in between, which is the situation in which back-off penalizes latency the most.
+ * Operator fusion and paging are disabled, so that every stream between two operators is scheduled. In
+ * addition, the running time of the complete Linear Road benchmark can be measured for either mode.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class SchedulerPerformanceTest {
+
+   /** Schema of cardata file. */
+   private static final Schema CARDATA_SCHEMA = new Schema(1,
+         new Attribute("type", Integer.class),
+         new Attribute("time", Integer.class),
+         new Attribute("vid", Integer.class),
+         new Attribute("spd", Double.class),
+         new Attribute("xway", Integer.class),
+         new Attribute("lane", Integer.class),
+         new Attribute("dir", Integer.class),
+         new Attribute("seg", Integer.class),
+         new Attribute("pos", Integer.class),
+         new Attribute("qid", Integer.class),
+         new Attribute("s_init", Integer.class),
+         new Attribute("s_end", Integer.class),
+         new Attribute("dow", Integer.class),
+         new Attribute("tod", Integer.class),
+         new Attribute("day", Integer.class));
+
+   /** Number of bursts of position reports. */
+   private static final int BURSTS = 20;
+   /** Number of position reports per burst. */
+   private static final int BURST_SIZE = 100;
+   /** Idle time in milliseconds between two bursts. */
+   private static final long PAUSE = 300;
+
+   /**
+    * Measures the latency of the Linear Road source and type-0 pipeline using exponential back-off.
+    *
+    * @throws Exception
+    *            if query execution fails
+    */
+   @Test
+   public void testLatencyBackOff() throws Exception {
+      this.measureLatency(SchedulingMode.BACKOFF);
+   }
+
+   /**
+    * Measures the latency of the Linear Road source and type-0 pipeline using the event-driven scheduler.
+    *
+    * @throws Exception
+    *            if query execution fails
+    */
+   @Test
+   public void testLatencySignal() throws Exception {
+      this.measureLatency(SchedulingMode.SIGNAL);
+   }
+
+   /**
+    * Measures the running time of the complete Linear Road benchmark with the scheduling mode given by the
+    * system property {@code scheduler}. As the benchmark registers named storages, only one mode can be
+    * measured per run. The benchmark requires the Linear Road car data and is therefore run manually.
+    *
+    * @throws Exception
+    *            if an exception is thrown
+    */
+   @Ignore
+   @Test
+   public void testLinearRoad() throws Exception {
+      final Properties properties = PropertiesReader.getPropertiesReader().getProperties();
+      final String mode = System.getProperty("scheduler",
+            properties.getProperty(PropertiesReader.SCHEDULER_MODE));
+      properties.setProperty(PropertiesReader.SCHEDULER_MODE, mode);
+      final long start = System.nanoTime();
+      new LinearRoad("src/test/resources/benchmark/linearroad-v1.xml");
+      final long time = System.nanoTime() - start;
+      System.out.println("Linear Road (" + mode + "): " + (long) (time / 1E06) + " ms");
+   }
+
+   /**
+    * Executes the first part of the Linear Road query plan with the given scheduling mode and prints latency
+    * statistics.
+    *
+    * @param mode
+    *           scheduling mode
+    * @throws Exception
+    *            if query execution fails
+    */
+   private void measureLatency(final SchedulingMode mode) throws Exception {
+      final Properties properties = PropertiesReader.getPropertiesReader().getProperties();
+      final String oldMode = properties.getProperty(PropertiesReader.SCHEDULER_MODE);
+      final String oldPaging = properties.getProperty(PropertiesReader.PAGING_ENABLED);
+      // partially filled pages would dominate the latency, therefore paging is disabled
+      properties.setProperty(PropertiesReader.PAGING_ENABLED, "false");
+      properties.setProperty(PropertiesReader.SCHEDULER_MODE, mode.name());
+      try {
+         final Operator source = new SourceOperator("source-cardata", CARDATA_SCHEMA, new BurstIterator());
+         final Operator timestamp = new Derive("derive-timestamp", source.getOutputSchema(),
+               new LinearRoad.TimestampDerivation());
+         final Operator time2 = new Derive("derive-time2", timestamp.getOutputSchema(),
+               new LinearRoad.Time2Derivation());
+         final Operator type0 = new Selection("select-type-0", time2.getOutputSchema(),
+               new LinearRoad.Type0Predicate());
+         final Operator segid = new Derive("derive-segid", type0.getOutputSchema(),
+               new LinearRoad.SegmentIdDerivationFunction());
+         final Operator minute = new Derive("derive-minute", segid.getOutputSchema(),
+               new LinearRoad.MinuteDerivation());
+         final LatencySink sink = new LatencySink("sink", minute.getOutputSchema());
+
+         final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+         // fused operators would share the thread of the source and never be scheduled
+         plan.setFusionEnabled(false);
+         plan.addOperator(source, OperatorType.SOURCE);
+         plan.addOperator(timestamp);
+         plan.addOperator(time2);
+         plan.addOperator(type0);
+         plan.addOperator(segid);
+         plan.addOperator(minute);
+         plan.addOperator(sink, OperatorType.SINK);
+
+         plan.addStream(source, timestamp);
+         plan.addStream(timestamp, time2);
+         plan.addStream(time2, type0);
+         plan.addStream(type0, segid);
+         plan.addStream(segid, minute);
+         plan.addStream(minute, sink);
+
+         plan.execute();
+         sink.printLatencies(mode);
+      } finally {
+         properties.setProperty(PropertiesReader.PAGING_ENABLED, oldPaging);
+         if (oldMode != null) {
+            properties.setProperty(PropertiesReader.SCHEDULER_MODE, oldMode);
+         } else {
+            properties.remove(PropertiesReader.SCHEDULER_MODE);
+         }
+      }
+   }
+
+   /**
+    * Emits Linear Road position reports in bursts, pausing before every burst. Every tuple carries the time
+    * at which it was emitted as its source time.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static class BurstIterator implements TupleIterator {
+
+      /** Number of tuples emitted so far. */
+      private int counter = 0;
+
+      @Override
+      public boolean hasNext() {
+         return this.counter < BURSTS * BURST_SIZE;
+      }
+
+      @Override
+      public DataTuple next() throws NoSuchElementException {
+         if (!this.hasNext()) {
+            throw new NoSuchElementException();
+         }
+         if (this.counter % BURST_SIZE == 0) {
+            try {
+               Thread.sleep(PAUSE);
+            } catch (final InterruptedException e) {
+               throw new IllegalStateException(e);
+            }
+         }
+         final int time = this.counter / BURST_SIZE * 30;
+         final DataTuple tuple = new DataTuple(CARDATA_SCHEMA, Arrays.<Object> asList(0, time,
+               this.counter % BURST_SIZE, 55.0, 0, 1, 0, this.counter % 100, 5280 * (this.counter % 100), -1,
+               -1, -1, -1, -1, -1));
+         tuple.getElementMetadata().setSourceTime(System.nanoTime());
+         this.counter++;
+         return tuple;
+      }
+
+      @Override
+      public ControlTuple[] nextControls() {
+         return new ControlTuple[0];
+      }
+   }
+
+   /**
+    * Sink that records the latency of every tuple based on the source time of its metadata.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static class LatencySink extends AbstractOperator {
+
+      /** Recorded latencies in microseconds. */
+      private final List<Long> latencies;
+
+      /**
+       * Constructs a new latency sink.
+       *
+       * @param operatorId
+       *           name of operator
+       * @param inputSchema
+       *           input schema
+       */
+      LatencySink(final String operatorId, final Schema inputSchema) {
+         super(operatorId, Arrays.asList(inputSchema));
+         this.latencies = new ArrayList<>();
+      }
+
+      @Override
+      public Schema getOutputSchema() {
+         return this.getInputSchemas().get(0);
+      }
+
+      @Override
+      protected void processTuple(final int input, final DataTuple tuple) {
+         final long latency = System.nanoTime() - tuple.getElementMetadata().getSourceTime();
+         this.latencies.add(TimeUnit.NANOSECONDS.toMicros(latency));
+      }
+
+      /**
+       * Prints statistics of the recorded latencies.
+       *
+       * @param mode
+       *           scheduling mode used to execute the plan
+       */
+      void printLatencies(final SchedulingMode mode) {
+         final List<Long> sorted = new ArrayList<>(this.latencies);
+         Collections.sort(sorted);
+         long sum = 0;
+         for (final long latency : sorted) {
+            sum += latency;
+         }
+         System.out.println("Scheduling mode " + mode + ": " + sorted.size() + " tuples, mean "
+               + String.format("%.2f", (double) sum / sorted.size()) + " us, median "
+               + sorted.get(sorted.size() / 2) + " us, 99th percentile "
+               + sorted.get((int) (sorted.size() * 0.99)) + " us, max " + sorted.get(sorted.size() - 1)
+               + " us");
+      }
+   }
+}
@@ -0,0 +1,162 @@
+/*
+ * @(#)StreamBenchmark.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.benchmark;
+
+import java.util.Properties;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import niagarino.stream.ControlTuple;
+import niagarino.stream.Stream;
+import niagarino.stream.Stream.Flow;
+import niagarino.stream.StreamBufferType;
+import niagarino.stream.StreamElement;
+import niagarino.util.PropertiesReader;
+
+/**
+ * JMH benchmark that compares the transfer time of streams backed by a blocking queue with streams backed by
+ * a lock-free ring for different stream sizes. A producer thread pushes stream elements onto the forward flow
+ * of a stream, while the benchmark thread polls them, which is exactly the access pattern of two adjacent
+ * operators. Each invocation transfers a batch of stream elements, so that the producer is never blocked on
+ * a full stream when an iteration ends. The benchmark is run with the main method of this class or through
+ * the JMH runner on the test class path.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class StreamBenchmark {
+
+   /** Number of stream elements that are transferred in one invocation. */
+   private static final int BATCH_SIZE = 100000;
+
+   /** Stream size, i.e., the maximum number of stream elements per flow direction. */
+   @Param({ "16", "64", "256", "1000", "4096" })
+   private int streamSize;
+
+   /** Type of the stream buffer. */
+   @Param({ "QUEUE", "RING" })
+   private StreamBufferType bufferType;
+
+   /** Distinct stream elements that are transferred round-robin. */
+   private StreamElement[] elements;
+   /** Stream through which the stream elements are transferred. */
+   private Stream stream;
+   /** Batches that the producer thread may push. */
+   private Semaphore batches;
+   /** Producer thread. */
+   private Thread producer;
+
+   /**
+    * Runs this benchmark.
+    *
+    * @param args
+    *           command line arguments, which are ignored
+    * @throws RunnerException
+    *            if the benchmark fails
+    */
+   public static void main(final String[] args) throws RunnerException {
+      new Runner(new OptionsBuilder().include(StreamBenchmark.class.getSimpleName()).build()).run();
+   }
+
+   /**
+    * Creates the stream with the current parameters and starts the producer thread.
+    */
+   @Setup(Level.Trial)
+   public void setUp() {
+      this.elements = new StreamElement[1024];
+      for (int i = 0; i < this.elements.length; i++) {
+         this.elements[i] = new ControlTuple(ControlTuple.Type.PUNCTUATION);
+      }
+      final Properties properties = PropertiesReader.getPropertiesReader().getProperties();
+      final String oldSize = properties.getProperty(PropertiesReader.STREAM_SIZE);
+      final String oldPaging = properties.getProperty(PropertiesReader.PAGING_ENABLED);
+      // stream elements are not paged, so the stream size is the number of elements
+      properties.setProperty(PropertiesReader.PAGING_ENABLED, "false");
+      properties.setProperty(PropertiesReader.STREAM_SIZE, Integer.toString(this.streamSize));
+      try {
+         this.stream = new Stream(this.bufferType);
+      } finally {
+         properties.setProperty(PropertiesReader.STREAM_SIZE, oldSize);
+         properties.setProperty(PropertiesReader.PAGING_ENABLED, oldPaging);
+      }
+      this.batches = new Semaphore(0);
+      this.producer = new Thread(() -> {
+         try {
+            while (true) {
+               this.batches.acquire();
+               for (int i = 0; i < BATCH_SIZE; i++) {
+                  this.stream.pushElement(Flow.FORWARD, this.elements[i & (this.elements.length - 1)]);
+               }
+            }
+         } catch (final InterruptedException e) {
+            // benchmark has ended
+         }
+      });
+      this.producer.setDaemon(true);
+      this.producer.start();
+   }
+
+   /**
+    * Stops the producer thread.
+    *
+    * @throws InterruptedException
+    *            if interrupted while waiting for the producer thread
+    */
+   @TearDown(Level.Trial)
+   public void tearDown() throws InterruptedException {
+      this.producer.interrupt();
+      this.producer.join();
+   }
+
+   /**
+    * Transfers one batch of stream elements from the producer thread to the benchmark thread.
+    *
+    * @param blackhole
+    *           sink for the transferred stream elements
+    */
+   @Benchmark
+   @OperationsPerInvocation(BATCH_SIZE)
+   public void transfer(final Blackhole blackhole) {
+      this.batches.release();
+      for (int i = 0; i < BATCH_SIZE; i++) {
+         StreamElement element = this.stream.pullElement(Flow.FORWARD);
+         while (element == null) {
+            Thread.yield();
+            element = this.stream.pullElement(Flow.FORWARD);
+         }
+         blackhole.consume(element);
+      }
+   }
+}
@@ -0,0 +1,235 @@
+/*
+ * @(#)ColumnarFileTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.operator.ColumnarFileWrite;
+import niagarino.operator.FileIterator;
+import niagarino.operator.SourceOperator;
+import niagarino.operator.TupleListIterator;
+import niagarino.runtime.PhysicalQueryPlan;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.stream.Attribute;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+
+/**
+ * Test cases for writing and reading the binary columnar stream file format.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ColumnarFileTest {
+
+   /** Schema with attributes of all types. */
+   private static final Schema SCHEMA = new Schema(0,
+         new Attribute("time", Date.class),
+         new Attribute("id", Integer.class),
+         new Attribute("count", Long.class),
+         new Attribute("speed", Double.class),
+         new Attribute("ratio", Float.class),
+         new Attribute("flag", Boolean.class),
+         new Attribute("name", String.class),
+         new Attribute("amount", BigDecimal.class));
+
+   /** Schema with a long progressing attribute. */
+   private static final Schema LONG_SCHEMA = new Schema(0, new Attribute("time", Long.class),
+         new Attribute("value", Double.class));
+
+   /** Special double values. */
+   private static final double[] DOUBLES = new double[] { 0.0, -0.0, 1.5, Double.NaN,
+         Double.POSITIVE_INFINITY, 1e300, -7, Double.MIN_VALUE };
+
+   /** Special long values. */
+   private static final long[] LONGS = new long[] { 0, -1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 40 };
+
+   /**
+    * Tests that tuples with values of all types and <code>null</code> values are read back unchanged.
+    *
+    * @throws IOException
+    *            if the test file cannot be written or read
+    */
+   @Test
+   public void testRoundTrip() throws IOException {
+      final List<DataTuple> tuples = ColumnarFileTest.createTuples(1000);
+      final File file = File.createTempFile("niagarino", ColumnarFormat.EXTENSION);
+      try {
+         try (ColumnarFileWriter writer = new ColumnarFileWriter(SCHEMA, file.getPath(), 64)) {
+            for (final DataTuple tuple : tuples) {
+               writer.write(tuple);
+            }
+            Assert.assertEquals(tuples.size(), writer.getTupleCount());
+         }
+         final ColumnarFileIterator iterator = new ColumnarFileIterator(file.getPath());
+         Assert.assertEquals(SCHEMA.toString(), iterator.getSchema().toString());
+         Assert.assertEquals(tuples.size(), iterator.getTupleCount());
+         for (final DataTuple tuple : tuples) {
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertEquals(tuple.getValues(), iterator.next().getValues());
+         }
+         Assert.assertFalse(iterator.hasNext());
+      } finally {
+         file.delete();
+      }
+   }
+
+   /**
+    * Tests that seeking returns exactly the tuples within the given range of progressing values.
+    *
+    * @throws IOException
+    *            if the test file cannot be written or read
+    */
+   @Test
+   public void testSeek() throws IOException {
+      final File file = File.createTempFile("niagarino", ColumnarFormat.EXTENSION);
+      try {
+         try (ColumnarFileWriter writer = new ColumnarFileWriter(LONG_SCHEMA, file.getPath(), 100)) {
+            for (long time = 0; time < 10000; time++) {
+               writer.write(new DataTuple(LONG_SCHEMA, Arrays.<Object> asList(time, time * 0.5)));
+            }
+         }
+         try (ColumnarFileIterator iterator = new ColumnarFileIterator(LONG_SCHEMA, file.getPath(), 2550,
+               2750)) {
+            ColumnarFileTest.assertRange(iterator, 2550, 2750);
+            iterator.seek(9990.5, 20000.0);
+            ColumnarFileTest.assertRange(iterator, 9991, 9999);
+            iterator.seek(-10, -1);
+            Assert.assertFalse(iterator.hasNext());
+            iterator.seek(0, 0);
+            ColumnarFileTest.assertRange(iterator, 0, 0);
+         }
+      } finally {
+         file.delete();
+      }
+   }
+
+   /**
+    * Tests that the writer operator completes the file when its input ends.
+    *
+    * @throws Exception
+    *            if the query plan fails or the test file cannot be read
+    */
+   @Test
+   public void testWriteOperator() throws Exception {
+      final List<DataTuple> tuples = ColumnarFileTest.createTuples(500);
+      final File file = File.createTempFile("niagarino", ColumnarFormat.EXTENSION);
+      final List<Object> elements = new ArrayList<>();
+      for (final DataTuple tuple : tuples) {
+         elements.add(new ArrayList<>(tuple.getValues()));
+      }
+      try {
+         final SourceOperator source = new SourceOperator("source", SCHEMA, new TupleListIterator(SCHEMA,
+               elements.toArray()));
+         final ColumnarFileWrite sink = new ColumnarFileWrite("sink", SCHEMA, file.getPath());
+         final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+         plan.addOperator(source, OperatorType.SOURCE);
+         plan.addOperator(sink, OperatorType.SINK);
+         plan.addStream(source, sink);
+         plan.execute();
+         final ColumnarFileIterator iterator = new ColumnarFileIterator(SCHEMA, file.getPath());
+         for (final DataTuple tuple : tuples) {
+            Assert.assertEquals(tuple.getValues(), iterator.next().getValues());
+         }
+         Assert.assertFalse(iterator.hasNext());
+      } finally {
+         file.delete();
+      }
+   }
+
+   /**
+    * Tests that converting a CSV file yields the same tuples as parsing it.
+    *
+    * @throws IOException
+    *            if the test files cannot be written or read
+    */
+   @Test
+   public void testConvert() throws IOException {
+      final File source = File.createTempFile("niagarino", ".csv");
+      final File target = File.createTempFile("niagarino", ColumnarFormat.EXTENSION);
+      try {
+         try (PrintWriter out = new PrintWriter(source)) {
+            out.println("time,value");
+            for (int i = 0; i < 5000; i++) {
+               out.println(i + "," + (i % 3 == 0 ? "" : String.valueOf(i * 0.25)));
+            }
+         }
+         Assert.assertEquals(5000, ColumnarFileConverter.convert(LONG_SCHEMA, source.getPath(), ",", true,
+               target.getPath()));
+         final FileIterator expected = new FileIterator(LONG_SCHEMA, source.getPath());
+         final ColumnarFileIterator actual = new ColumnarFileIterator(LONG_SCHEMA, target.getPath());
+         while (expected.hasNext()) {
+            Assert.assertEquals(expected.next().getValues(), actual.next().getValues());
+         }
+         Assert.assertFalse(actual.hasNext());
+      } finally {
+         source.delete();
+         target.delete();
+      }
+   }
+
+   /**
+    * Checks that the given iterator returns the tuples with the progressing values of the given range.
+    *
+    * @param iterator
+    *           columnar file iterator
+    * @param from
+    *           first progressing value
+    * @param to
+    *           last progressing value
+    */
+   private static void assertRange(final ColumnarFileIterator iterator, final long from, final long to) {
+      for (long time = from; time <= to; time++) {
+         Assert.assertTrue(iterator.hasNext());
+         Assert.assertEquals(time, iterator.next().getProgressingLong());
+      }
+      Assert.assertFalse(iterator.hasNext());
+   }
+
+   /**
+    * Creates random tuples of the schema with values of all types. Some values are <code>null</code>, and
+    * some blocks contain integral double values only.
+    *
+    * @param count
+    *           number of tuples
+    * @return tuples
+    */
+   private static List<DataTuple> createTuples(final int count) {
+      final Random random = new Random(count);
+      final List<DataTuple> tuples = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+         final boolean integral = i / 64 % 2 == 0;
+         final List<Object> values = new ArrayList<>();
+         values.add(new Date(1296000000000L + i * 1000L));
+         values.add(random.nextInt(10) == 0 ? null : random.nextInt() >> random.nextInt(Integer.SIZE));
+         values.add(LONGS[random.nextInt(LONGS.length)] + random.nextInt(100));
+         values.add(integral ? Double.valueOf(random.nextInt(200) - 100) : DOUBLES[random.nextInt(
+               DOUBLES.length)]);
+         values.add(random.nextBoolean() ? null : Float.valueOf(random.nextFloat()));
+         values.add(random.nextInt(5) == 0 ? null : Boolean.valueOf(random.nextBoolean()));
+         final String suffix = i % 9 == 0 ? "über" : "";
+         values.add(random.nextInt(7) == 0 ? null : "name" + random.nextInt(20) + suffix);
+         values.add(random.nextInt(3) == 0 ? null : BigDecimal.valueOf(random.nextLong(), 3));
+         tuples.add(new DataTuple(SCHEMA, values));
+      }
+      return tuples;
+   }
+}
@@ -0,0 +1,182 @@
+/*
+ * @(#)BatchProcessingTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.operator.function.AggregationFunction;
+import niagarino.operator.function.BuiltInAggregationFunction;
+import niagarino.operator.function.ScalingFunction;
+import niagarino.operator.predicate.ComparisonPredicate;
+import niagarino.runtime.OperatorStatistics;
+import niagarino.runtime.PhysicalQueryPlan;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.stream.Attribute;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+import niagarino.util.PropertiesReader;
+
+/**
+ * Test cases that check that batch processing of pages produces the same results as processing tuples one by
+ * one.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class BatchProcessingTest {
+
+   /** Schema to use in tests. */
+   private static final Schema SCHEMA = new Schema(0, new Attribute("time", Long.class),
+         new Attribute("value", Double.class), new Attribute("type", Integer.class));
+
+   /** Number of tuples emitted by the source. */
+   private static final int TUPLE_COUNT = 5000;
+
+   /** Number of tuples that pass the limit operator. */
+   private static final int LIMIT = 2345;
+
+   /**
+    * Tests selection, derivation, limit, and aggregation with row and columnar pages.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testBatchProcessing() throws Exception {
+      final List<String> expected = this.executePlan("false", "row", false);
+      Assert.assertFalse(expected.isEmpty());
+      Assert.assertEquals(expected, this.executePlan("true", "row", false));
+      Assert.assertEquals(expected, this.executePlan("true", "columnar", false));
+   }
+
+   /**
+    * Tests that the limit operator passes the expected number of tuples with row and columnar pages.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testLimit() throws Exception {
+      for (final String format : new String[] { "row", "columnar" }) {
+         final List<String> result = this.executePlan("true", format, true);
+         Assert.assertEquals(LIMIT, result.size());
+      }
+   }
+
+   /**
+    * Executes a query plan with the given paging configuration and returns the sorted result tuples.
+    *
+    * @param paging
+    *           whether paging is enabled
+    * @param format
+    *           page format
+    * @param limitOnly
+    *           if {@code true}, only the limit operator is applied to the source tuples
+    * @return sorted result tuples
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   private List<String> executePlan(final String paging, final String format, final boolean limitOnly)
+         throws Exception {
+      final Properties properties = PropertiesReader.getPropertiesReader().getProperties();
+      final String oldPaging = properties.getProperty(PropertiesReader.PAGING_ENABLED);
+      final String oldFormat = properties.getProperty(PropertiesReader.PAGING_FORMAT);
+      properties.setProperty(PropertiesReader.PAGING_ENABLED, paging);
+      properties.setProperty(PropertiesReader.PAGING_FORMAT, format);
+      try {
+         final Object[] values = new Object[TUPLE_COUNT];
+         for (int i = 0; i < TUPLE_COUNT; i++) {
+            values[i] = Arrays.<Object> asList(Long.valueOf(i), Double.valueOf(i * 7919 % 1000),
+                  Integer.valueOf(i % 3));
+         }
+         final SourceOperator source = new SourceOperator("source", SCHEMA, new TupleListIterator(SCHEMA,
+               values));
+         final List<AbstractOperator> operators = new ArrayList<>();
+         if (limitOnly) {
+            operators.add(new Limit(SCHEMA, LIMIT));
+         } else {
+            final Selection selection = new Selection(SCHEMA, new ComparisonPredicate(1, "GT", 300));
+            final Derive derive = new Derive(selection.getOutputSchema(), new ScalingFunction(1, 2.0, "scaled"));
+            final Limit limit = new Limit(derive.getOutputSchema(), LIMIT);
+            final ValueWindow window = new ValueWindow(limit.getOutputSchema(), 100, 100);
+            final AggregationFunction[] sum = new AggregationFunction[] { BuiltInAggregationFunction.SUM };
+            final OrderedAggregate aggregate = new OrderedAggregate(window.getOutputSchema(), new int[] { 2 },
+                  new int[] { 3 }, sum);
+            operators.addAll(Arrays.asList(selection, derive, limit, window, aggregate));
+         }
+         final CollectSink sink = new CollectSink(operators.get(operators.size() - 1).getOutputSchema());
+
+         final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+         plan.setStatisticsEnabled(true);
+         plan.addOperator(source, OperatorType.SOURCE);
+         Operator previous = source;
+         for (final Operator operator : operators) {
+            plan.addOperator(operator);
+            plan.addStream(previous, operator);
+            previous = operator;
+         }
+         plan.addOperator(sink, OperatorType.SINK);
+         plan.addStream(previous, sink);
+         plan.execute();
+
+         // listeners have to account for every tuple, whether it was processed in a batch or not
+         for (final OperatorStatistics statistics : plan.getStatistics()) {
+            if (sink.getName().equals(statistics.getOperatorName())) {
+               Assert.assertEquals(sink.tuples.size(), statistics.getInputTuples());
+            }
+         }
+         Collections.sort(sink.tuples);
+         return sink.tuples;
+      } finally {
+         properties.setProperty(PropertiesReader.PAGING_ENABLED, oldPaging);
+         properties.setProperty(PropertiesReader.PAGING_FORMAT, oldFormat);
+      }
+   }
+
+   /**
+    * Sink that collects the string representation of all tuples.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static class CollectSink extends AbstractOperator {
+
+      /** Collected tuples. */
+      private final List<String> tuples;
+
+      /**
+       * Constructs a new collecting sink.
+       *
+       * @param inputSchema
+       *           input schema
+       */
+      CollectSink(final Schema inputSchema) {
+         super("sink", Arrays.asList(inputSchema));
+         this.tuples = new ArrayList<>();
+      }
+
+      @Override
+      public Schema getOutputSchema() {
+         return this.getInputSchemas().get(0);
+      }
+
+      @Override
+      protected void processTuple(final int input, final DataTuple tuple) {
+         this.tuples.add(tuple.toString());
+      }
+   }
+}
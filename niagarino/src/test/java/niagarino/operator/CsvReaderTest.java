@@ -0,0 +1,259 @@
+/*
+ * @(#)CsvReaderTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.stream.Attribute;
+import niagarino.stream.PrimitiveValueList;
+import niagarino.stream.Schema;
+
+/**
+ * Test cases for {@link CsvReader}, which has to parse every line in the same way as splitting the line and
+ * parsing the resulting strings with {@link PrimitiveValueList#parse(int, String)}.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class CsvReaderTest {
+
+   /** Schema with attributes of all types. */
+   private static final Schema SCHEMA = new Schema(0,
+         new Attribute("time", Date.class),
+         new Attribute("id", Integer.class),
+         new Attribute("count", Long.class),
+         new Attribute("speed", Double.class),
+         new Attribute("ratio", Float.class),
+         new Attribute("flag", Boolean.class),
+         new Attribute("name", String.class));
+
+   /** Field values in canonical and non-canonical forms. */
+   private static final String[][] FIELDS = new String[][] {
+         { "2011-01-25 00:00:20", "\"2011-01-25 00:00:00-08\"", "2011-12-31 23:59:59+05", "1296000000000", "",
+               "NA", "2011-01-00 12:00:00" },
+         { "0", "-17", "+42", "2147483647", "2147483648", "12a", "-", "" },
+         { "0", "-9223372036854775808", "9223372036854775807", "123456789012345678", "1e3", "NA" },
+         { "0", "-0.0", "3.14159", "1.", ".5", "1e-5", "6.02214076E23", "0.1234567890123456789", "1e400",
+               "NaN", " 7", "1.5d", "x", "" },
+         { "0.1", "-2.5e-3", "16777217", "3.4028235E38", "1.17549435E-38", "abc", "NA" },
+         { "true", "TRUE", "false", "yes", "" },
+         { "a", "\"quoted\"", "Konstanz", "über", "" } };
+
+   /**
+    * Tests that memory-mapped files with different line terminators are parsed like split lines, also when
+    * lines span several mapped regions.
+    *
+    * @throws IOException
+    *            if the test file cannot be written or read
+    */
+   @Test
+   public void testMappedFile() throws IOException {
+      final List<String> lines = CsvReaderTest.createLines(2000, ",");
+      final File file = CsvReaderTest.writeFile(lines, "\r\n");
+      try {
+         for (final int regionSize : new int[] { 7, 64, 1 << 20 }) {
+            try (CsvReader reader = new CsvReader(SCHEMA, file.getPath(), ",", regionSize)) {
+               CsvReaderTest.assertLines(lines, ",", reader);
+            }
+         }
+      } finally {
+         file.delete();
+      }
+   }
+
+   /**
+    * Tests that the lines of a file are read exactly once if the file is split into two byte ranges at any
+    * offset.
+    *
+    * @throws IOException
+    *            if the test file cannot be written or read
+    */
+   @Test
+   public void testRanges() throws IOException {
+      final List<String> lines = CsvReaderTest.createLines(20, ",");
+      final File file = CsvReaderTest.writeFile(lines, "\r\n");
+      try {
+         final String name = file.getPath();
+         for (long split = 0; split <= file.length(); split++) {
+            final List<PrimitiveValueList> values = new ArrayList<>();
+            try (CsvReader first = new CsvReader(SCHEMA, name, ",", 0, split, 8);
+                  CsvReader second = new CsvReader(SCHEMA, name, ",", split, file.length(), 8)) {
+               for (final CsvReader reader : new CsvReader[] { first, second }) {
+                  PrimitiveValueList next = reader.readValues();
+                  while (next != null) {
+                     values.add(next);
+                     next = reader.readValues();
+                  }
+               }
+            }
+            Assert.assertEquals(lines.size(), values.size());
+            for (int i = 0; i < lines.size(); i++) {
+               Assert.assertEquals(CsvReaderTest.parse(lines.get(i), ","), values.get(i));
+            }
+         }
+      } finally {
+         file.delete();
+      }
+   }
+
+   /**
+    * Tests that streams with different line terminators and separators are parsed like split lines, also
+    * when lines are larger than the buffer.
+    *
+    * @throws IOException
+    *            if the test input cannot be read
+    */
+   @Test
+   public void testStream() throws IOException {
+      for (final String separator : new String[] { ",", "\t", "::", "\\|", "\\s*;\\s*" }) {
+         final String literal = separator.replace("\\|", "|").replace("\\s*;\\s*", " ; ");
+         final List<String> lines = CsvReaderTest.createLines(500, literal);
+         for (final String terminator : new String[] { "\n", "\r", "\r\n" }) {
+            final StringBuilder text = new StringBuilder();
+            for (final String line : lines) {
+               text.append(line).append(terminator);
+            }
+            // the last line is not terminated
+            text.setLength(text.length() - terminator.length());
+            final byte[] bytes = text.toString().getBytes(Charset.defaultCharset());
+            try (CsvReader reader = new CsvReader(SCHEMA, new ByteArrayInputStream(bytes), separator, 4)) {
+               CsvReaderTest.assertLines(lines, separator, reader);
+            }
+         }
+      }
+   }
+
+   /**
+    * Tests that a header line is skipped and that empty inputs and lines are handled.
+    *
+    * @throws IOException
+    *            if the test input cannot be read
+    */
+   @Test
+   public void testSkipLine() throws IOException {
+      final byte[] bytes = "time,id\n\n1296000000000,1\n".getBytes(Charset.defaultCharset());
+      try (CsvReader reader = new CsvReader(SCHEMA, new ByteArrayInputStream(bytes), ",")) {
+         Assert.assertTrue(reader.skipLine());
+         final PrimitiveValueList empty = reader.readValues();
+         for (int i = 0; i < SCHEMA.getSize(); i++) {
+            Assert.assertNull(empty.get(i));
+         }
+         Assert.assertNotNull(reader.readValues());
+         Assert.assertNull(reader.readValues());
+         Assert.assertFalse(reader.skipLine());
+      }
+      try (CsvReader reader = new CsvReader(SCHEMA, new ByteArrayInputStream(new byte[0]), ",")) {
+         Assert.assertNull(reader.readValues());
+      }
+   }
+
+   /**
+    * Creates random lines that combine the test field values with the given separator. Some lines have
+    * missing or additional fields.
+    *
+    * @param count
+    *           number of lines
+    * @param separator
+    *           literal field separator
+    * @return lines
+    */
+   private static List<String> createLines(final int count, final String separator) {
+      final Random random = new Random(count);
+      final List<String> lines = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+         final int fieldCount = 1 + random.nextInt(FIELDS.length + 1);
+         final StringBuilder line = new StringBuilder();
+         for (int j = 0; j < fieldCount; j++) {
+            if (j > 0) {
+               line.append(separator);
+            }
+            final String[] values = FIELDS[j % FIELDS.length];
+            line.append(values[random.nextInt(values.length)]);
+         }
+         lines.add(line.toString());
+      }
+      return lines;
+   }
+
+   /**
+    * Writes the given lines to a temporary file.
+    *
+    * @param lines
+    *           lines
+    * @param terminator
+    *           line terminator
+    * @return temporary file
+    * @throws IOException
+    *            if the file cannot be written
+    */
+   private static File writeFile(final List<String> lines, final String terminator) throws IOException {
+      final File file = File.createTempFile("niagarino", ".csv");
+      final StringBuilder text = new StringBuilder();
+      for (final String line : lines) {
+         text.append(line).append(terminator);
+      }
+      Files.write(file.toPath(), text.toString().getBytes(Charset.defaultCharset()));
+      return file;
+   }
+
+   /**
+    * Checks that the given reader returns the values obtained by splitting and parsing the given lines.
+    *
+    * @param lines
+    *           expected lines
+    * @param separator
+    *           field separator
+    * @param reader
+    *           CSV reader
+    * @throws IOException
+    *            if reading fails
+    */
+   private static void assertLines(final List<String> lines, final String separator, final CsvReader reader)
+         throws IOException {
+      final BufferedReader expected = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(String
+            .join("\n", lines).getBytes(Charset.defaultCharset()))));
+      String line;
+      while ((line = expected.readLine()) != null) {
+         Assert.assertEquals(line, CsvReaderTest.parse(line, separator), reader.readValues());
+      }
+      Assert.assertNull(reader.readValues());
+   }
+
+   /**
+    * Parses the given line by splitting it and parsing the resulting strings.
+    *
+    * @param line
+    *           line
+    * @param separator
+    *           field separator
+    * @return tuple values
+    */
+   private static PrimitiveValueList parse(final String line, final String separator) {
+      final String[] strings = line.split(separator);
+      final PrimitiveValueList values = new PrimitiveValueList(SCHEMA);
+      for (int i = 0; i < Math.min(strings.length, SCHEMA.getSize()); i++) {
+         values.parse(i, strings[i]);
+      }
+      return values;
+   }
+}
@@ -0,0 +1,255 @@
+/*
+ * @(#)ExchangeTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.operator.function.AggregationFunction;
+import niagarino.operator.function.BuiltInAggregationFunction;
+import niagarino.runtime.PhysicalQueryPlan;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.stream.Attribute;
+import niagarino.stream.ControlTuple;
+import niagarino.stream.DataTuple;
+import niagarino.stream.PunctuationControl;
+import niagarino.stream.Schema;
+import niagarino.stream.Stream;
+import niagarino.stream.Stream.Flow;
+import niagarino.stream.WatermarkControl;
+
+/**
+ * Test cases for running replicas of an operator in parallel behind an exchange operator.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ExchangeTest {
+
+   /** Schema for testing purposes. */
+   private static final Schema SCHEMA = new Schema(0, new Attribute("time", Integer.class),
+         new Attribute("group", Integer.class), new Attribute("value", Integer.class));
+
+   /** File to which to write result stream. */
+   private static final String OUT_FILENAME = "outstream.csv";
+
+   /**
+    * Tests that aggregating windows with replicas of the aggregate that each see a partition of the groups
+    * produces the same results and punctuations as a single aggregate, in the order of the windows.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testPartitionedAggregate() throws Exception {
+      final List<Object> expectedControls = new ArrayList<>();
+      final List<DataTuple> expected = this.aggregate(1, expectedControls);
+      for (final int parallelism : new int[] { 2, 3 }) {
+         final List<Object> actualControls = new ArrayList<>();
+         final List<DataTuple> actual = this.aggregate(parallelism, actualControls);
+         Assert.assertFalse(expected.isEmpty());
+         Assert.assertEquals(expectedControls, actualControls);
+         Assert.assertEquals(ExchangeTest.sort(expected), ExchangeTest.sort(actual));
+         for (int i = 1; i < actual.size(); i++) {
+            Assert.assertTrue(actual.get(i - 1).getDouble(0) <= actual.get(i).getDouble(0));
+         }
+      }
+   }
+
+   /**
+    * Tests that tuples distributed round-robin over stateless replicas are merged back in order.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testRoundRobin() throws Exception {
+      final Object[] values = ExchangeTest.createValues(1000);
+      final SourceOperator source = new SourceOperator("source", SCHEMA, new TupleListIterator(SCHEMA,
+            values));
+      final Exchange exchange = new Exchange("exchange", SCHEMA);
+      final ExchangeMerge merge = new ExchangeMerge("merge", SCHEMA, 4);
+      final List<DataTuple> result = new ArrayList<>();
+      final Print sink = new Print("sink", SCHEMA, false, new PrintStream(new File(OUT_FILENAME))) {
+
+         @Override
+         protected void processTuple(final int input, final DataTuple tuple) {
+            result.add(tuple);
+         }
+      };
+
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.addOperator(source, OperatorType.SOURCE);
+      plan.addOperator(exchange);
+      plan.addOperator(merge);
+      plan.addOperator(sink, OperatorType.SINK);
+      plan.addStream(source, exchange);
+      for (int i = 0; i < 4; i++) {
+         final Derive replica = new Derive("replica-" + i, SCHEMA);
+         plan.addOperator(replica);
+         plan.addStream(exchange, replica);
+         plan.addStream(replica, merge);
+      }
+      plan.addStream(merge, sink);
+
+      plan.execute();
+      Assert.assertEquals(values.length, result.size());
+      for (int i = 0; i < values.length; i++) {
+         Assert.assertEquals(values[i], result.get(i).getValues());
+      }
+   }
+
+   /**
+    * Tests that control tuples are pushed once, even if the replicas emit different control tuples or emit
+    * them in a different order.
+    */
+   @Test
+   public void testUnequalControls() {
+      final List<String> controls = new ArrayList<>();
+      final ExchangeMerge merge = new ExchangeMerge("merge", SCHEMA, 3) {
+
+         @Override
+         protected void pushControl(final Flow flow, final ControlTuple message) {
+            if (message instanceof PunctuationControl) {
+               controls.add("window " + ((PunctuationControl) message).getSegmentId());
+            } else if (message instanceof WatermarkControl) {
+               controls.add("watermark " + ((WatermarkControl) message).getValue());
+            }
+         }
+      };
+      for (int i = 0; i < 3; i++) {
+         merge.addInputStream(new Stream());
+      }
+      merge.open();
+      final ControlTuple first = new PunctuationControl(PunctuationControl.Type.WINDOW, 0, 10, 0, 0);
+      final ControlTuple second = new PunctuationControl(PunctuationControl.Type.WINDOW, 0, 10, 1, 10);
+      // only the first replica emits the second punctuation
+      merge.processForwardControl(0, first);
+      merge.processForwardControl(0, second);
+      merge.processForwardControl(0, new WatermarkControl(10));
+      merge.processForwardControl(1, first);
+      merge.processForwardControl(1, new WatermarkControl(10));
+      // the third replica emits the watermark before the first punctuation
+      merge.processForwardControl(2, new WatermarkControl(10));
+      merge.processForwardControl(2, first);
+      merge.processForwardControl(2, new WatermarkControl(20));
+      for (int i = 0; i < 3; i++) {
+         merge.handleEoS(AbstractOperator.Socket.INPUT, i, new ControlTuple(ControlTuple.Type.EOS));
+      }
+      Assert.assertEquals(Arrays.asList("window 0", "window 1", "watermark 10", "watermark 20"),
+            controls);
+   }
+
+   /**
+    * Aggregates tumbling windows over a stream of random tuples with the given number of replicas of the
+    * aggregate and returns the result tuples.
+    *
+    * @param parallelism
+    *           number of replicas of the aggregate, or <code>1</code> for a single aggregate
+    * @param controls
+    *           list to which the types of all received control tuples are added
+    * @return result tuples
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   private List<DataTuple> aggregate(final int parallelism, final List<Object> controls) throws Exception {
+      final SourceOperator source = new SourceOperator("source", SCHEMA, new TupleListIterator(SCHEMA,
+            ExchangeTest.createValues(2000)));
+      final ValueWindow window = new ValueWindow(SCHEMA, 50, 50);
+      final AggregationFunction[] functions = new AggregationFunction[] { BuiltInAggregationFunction.SUM,
+            BuiltInAggregationFunction.COUNT };
+      final int[] groups = new int[] { 1 };
+      final int[] aggregated = new int[] { 2, 2 };
+      final List<DataTuple> result = new ArrayList<>();
+      final Schema outputSchema = new OrderedAggregate(window.getOutputSchema(), groups, aggregated, functions)
+            .getOutputSchema();
+      final Print sink = new Print("sink", outputSchema, false, new PrintStream(new File(OUT_FILENAME))) {
+
+         @Override
+         protected void processTuple(final int input, final DataTuple tuple) {
+            result.add(tuple);
+         }
+
+         @Override
+         protected void processForwardControl(final int input, final ControlTuple message) {
+            controls.add(message.getType());
+         }
+      };
+
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.addOperator(source, OperatorType.SOURCE);
+      plan.addOperator(window);
+      plan.addOperator(sink, OperatorType.SINK);
+      plan.addStream(source, window);
+      if (parallelism > 1) {
+         final Exchange exchange = new Exchange("exchange", window.getOutputSchema(), groups);
+         final ExchangeMerge merge = new ExchangeMerge("merge", outputSchema, parallelism);
+         plan.addOperator(exchange);
+         plan.addOperator(merge);
+         plan.addStream(window, exchange);
+         for (int i = 0; i < parallelism; i++) {
+            final OrderedAggregate aggr = new OrderedAggregate("aggr-" + i, window.getOutputSchema(), groups,
+                  aggregated, functions);
+            plan.addOperator(aggr);
+            plan.addStream(exchange, aggr);
+            plan.addStream(aggr, merge);
+         }
+         plan.addStream(merge, sink);
+      } else {
+         final OrderedAggregate aggr = new OrderedAggregate("aggr", window.getOutputSchema(), groups,
+               aggregated, functions);
+         plan.addOperator(aggr);
+         plan.addStream(window, aggr);
+         plan.addStream(aggr, sink);
+      }
+
+      plan.execute();
+      return result;
+   }
+
+   /**
+    * Creates the values of random tuples of the test schema.
+    *
+    * @param count
+    *           number of tuples
+    * @return values of the tuples
+    */
+   private static Object[] createValues(final int count) {
+      final Random random = new Random(count);
+      final Object[] values = new Object[count];
+      for (int i = 0; i < values.length; i++) {
+         values[i] = Arrays.<Object> asList(i, random.nextInt(17), random.nextInt(100));
+      }
+      return values;
+   }
+
+   /**
+    * Returns the values of the given tuples in a canonical order.
+    *
+    * @param tuples
+    *           data tuples
+    * @return sorted string representations of the tuple values
+    */
+   private static List<String> sort(final List<DataTuple> tuples) {
+      final List<String> values = new ArrayList<>();
+      for (final DataTuple tuple : tuples) {
+         values.add(tuple.getValues().toString());
+      }
+      values.sort(null);
+      return values;
+   }
+}
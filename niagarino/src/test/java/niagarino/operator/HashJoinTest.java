@@ -0,0 +1,356 @@
+/*
+ * @(#)HashJoinTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.runtime.PhysicalQueryPlan;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.stream.Attribute;
+import niagarino.stream.ControlTuple;
+import niagarino.stream.DataTuple;
+import niagarino.stream.ElementMetadata;
+import niagarino.stream.ElementPriority;
+import niagarino.stream.PunctuationControl;
+import niagarino.stream.Schema;
+import niagarino.stream.Stream;
+import niagarino.stream.Stream.Flow;
+
+/**
+ * Test cases for the windowed symmetric hash join.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class HashJoinTest {
+
+   /** File to which to write result stream. */
+   private static final String OUT_FILENAME = "outstream.csv";
+
+   /** Size of the windows. */
+   private static final long SIZE = 20;
+
+   /** Slide of the windows. */
+   private static final long SLIDE = 10;
+
+   /**
+    * Tests joining streams on integer attributes, which uses primitive hash indexes.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testIntegerJoin() throws Exception {
+      final Schema left = new Schema(0, new Attribute("time", Long.class),
+            new Attribute("key", Integer.class), new Attribute("left", Integer.class));
+      final Schema right = new Schema(0, new Attribute("time", Long.class),
+            new Attribute("id", Long.class), new Attribute("right", Integer.class));
+      this.assertJoin(left, right, false);
+   }
+
+   /**
+    * Tests joining streams on string attributes.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testStringJoin() throws Exception {
+      final Schema left = new Schema(0, new Attribute("time", Long.class),
+            new Attribute("key", String.class), new Attribute("left", Integer.class));
+      final Schema right = new Schema(0, new Attribute("time", Long.class),
+            new Attribute("id", String.class), new Attribute("right", Integer.class));
+      this.assertJoin(left, right, true);
+   }
+
+   /**
+    * Tests that joined tuples carry the later source time of both inputs and the priority of the tuple that
+    * arrived later.
+    */
+   @Test
+   public void testMetadata() {
+      final Schema schema = new Schema(0, new Attribute("time", Long.class),
+            new Attribute("key", Long.class));
+      final List<DataTuple> results = new ArrayList<>();
+      final HashJoin join = new HashJoin("join", schema, schema, 1, 1) {
+
+         @Override
+         protected void pushTuple(final DataTuple tuple) {
+            results.add(tuple);
+         }
+      };
+      final ElementMetadata early = new ElementMetadata();
+      early.addSegmentId(0);
+      early.setSourceTime(200);
+      early.setElementPriority(new ElementPriority(4, 1));
+      join.processTuple(0, new DataTuple(schema, Arrays.<Object> asList(1L, 7L), early));
+      final ElementMetadata late = new ElementMetadata();
+      late.addSegmentId(0);
+      late.setSourceTime(100);
+      late.setElementPriority(new ElementPriority(2, 0));
+      join.processTuple(1, new DataTuple(schema, Arrays.<Object> asList(2L, 7L), late));
+      Assert.assertEquals(1, results.size());
+      final ElementMetadata metadata = results.get(0).getElementMetadata();
+      Assert.assertEquals(Arrays.asList(0L), metadata.getSegmentIds());
+      Assert.assertEquals(200, metadata.getSourceTime());
+      Assert.assertEquals(2, metadata.getElementPriority().getX());
+      Assert.assertEquals(0, metadata.getElementPriority().getY());
+   }
+
+   /**
+    * Tests that tuples with equal integer keys are matched in the order in which they arrived.
+    */
+   @Test
+   public void testMatchOrder() {
+      final Schema schema = new Schema(0, new Attribute("time", Long.class),
+            new Attribute("key", Long.class));
+      final List<DataTuple> results = new ArrayList<>();
+      final HashJoin join = new HashJoin("join", schema, schema, 1, 1) {
+
+         @Override
+         protected void pushTuple(final DataTuple tuple) {
+            results.add(tuple);
+         }
+      };
+      for (long time = 0; time < 40; time++) {
+         final ElementMetadata metadata = new ElementMetadata();
+         metadata.addSegmentId(0);
+         join.processTuple(0, new DataTuple(schema, Arrays.<Object> asList(time, time % 4), metadata));
+      }
+      final ElementMetadata metadata = new ElementMetadata();
+      metadata.addSegmentId(0);
+      join.processTuple(1, new DataTuple(schema, Arrays.<Object> asList(40L, 3L), metadata));
+      Assert.assertEquals(10, results.size());
+      for (int i = 0; i < results.size(); i++) {
+         Assert.assertEquals(Long.valueOf(i * 4 + 3), results.get(i).getAttributeValue(0));
+      }
+   }
+
+   /**
+    * Tests that {@code INTERVAL} punctuations are forwarded once up to the smaller end of both inputs.
+    */
+   @Test
+   public void testIntervalPunctuations() {
+      final List<ControlTuple> controls = new ArrayList<>();
+      final HashJoin join = HashJoinTest.createJoin(controls);
+      final PunctuationControl.Type type = PunctuationControl.Type.INTERVAL;
+      join.processForwardControl(0, HashJoinTest.createPunctuation(type, 0, 100));
+      join.processForwardControl(1, HashJoinTest.createPunctuation(type, 0, 50));
+      join.processForwardControl(1, HashJoinTest.createPunctuation(type, 50, 100));
+      join.processForwardControl(0, HashJoinTest.createPunctuation(type, 100, 100));
+      join.processForwardControl(0, HashJoinTest.createPunctuation(type, 200, 100));
+      // the end of the second input is forwarded once the first input has ended
+      join.handleEoS(AbstractOperator.Socket.INPUT, 0, new ControlTuple(ControlTuple.Type.EOS));
+      final List<String> ranges = new ArrayList<>();
+      for (final ControlTuple control : controls) {
+         final PunctuationControl punctuation = (PunctuationControl) control;
+         Assert.assertEquals(PunctuationControl.Type.INTERVAL, punctuation.getPunctuationType());
+         ranges.add(punctuation.getSegmentStart() + "-" + punctuation.getSegmentEnd());
+      }
+      Assert.assertEquals(Arrays.asList("0-49", "50-99", "100-149"), ranges);
+   }
+
+   /**
+    * Tests that {@code WINDOW} punctuations of the remaining input are forwarded once the other input has
+    * ended.
+    */
+   @Test
+   public void testWindowPunctuationsAfterEoS() {
+      final List<ControlTuple> controls = new ArrayList<>();
+      final HashJoin join = HashJoinTest.createJoin(controls);
+      final PunctuationControl.Type type = PunctuationControl.Type.WINDOW;
+      join.processForwardControl(0, HashJoinTest.createPunctuation(type, 0, 10));
+      join.processForwardControl(1, HashJoinTest.createPunctuation(type, 0, 10));
+      join.processForwardControl(0, HashJoinTest.createPunctuation(type, 10, 10));
+      Assert.assertEquals(1, controls.size());
+      join.handleEoS(AbstractOperator.Socket.INPUT, 1, new ControlTuple(ControlTuple.Type.EOS));
+      join.processForwardControl(0, HashJoinTest.createPunctuation(type, 20, 10));
+      final List<Long> segments = new ArrayList<>();
+      for (final ControlTuple control : controls) {
+         segments.add(((PunctuationControl) control).getSegmentId());
+      }
+      Assert.assertEquals(Arrays.asList(0L, 1L, 2L), segments);
+   }
+
+   /**
+    * Joins two random streams of the given schemas and compares the result to a nested-loop join.
+    *
+    * @param left
+    *           schema of the first input
+    * @param right
+    *           schema of the second input
+    * @param strings
+    *           whether the join attributes are strings
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   private void assertJoin(final Schema left, final Schema right, final boolean strings) throws Exception {
+      final Object[] leftValues = HashJoinTest.createValues(1000, 0, strings);
+      final Object[] rightValues = HashJoinTest.createValues(700, 1, strings);
+      final List<String> expected = new ArrayList<>();
+      for (final Object leftValue : leftValues) {
+         for (final Object rightValue : rightValues) {
+            final List<?> l = (List<?>) leftValue;
+            final List<?> r = (List<?>) rightValue;
+            final List<Long> segments = HashJoinTest.getSegments((Long) l.get(0));
+            segments.retainAll(HashJoinTest.getSegments((Long) r.get(0)));
+            // integer keys of both inputs have different types
+            if (l.get(1) != null && l.get(1).toString().equals(String.valueOf(r.get(1)))
+                  && !segments.isEmpty()) {
+               expected.add(segments + " " + Arrays.asList(l.get(0), l.get(1), l.get(2), r.get(1), r.get(2)));
+            }
+         }
+      }
+      expected.sort(null);
+      Assert.assertFalse(expected.isEmpty());
+
+      final ValueWindow leftWindow = new ValueWindow("left-window", left, SIZE, SLIDE, 0);
+      final ValueWindow rightWindow = new ValueWindow("right-window", right, SIZE, SLIDE, 0);
+      final HashJoin join = new HashJoin("join", left, right, 1, 1);
+      final List<String> actual = new ArrayList<>();
+      final List<Long> punctuations = new ArrayList<>();
+      final Print sink = new Print("sink", join.getOutputSchema(), false, new PrintStream(new File(
+            OUT_FILENAME))) {
+
+         @Override
+         protected void processTuple(final int input, final DataTuple tuple) {
+            actual.add(tuple.getElementMetadata().getSegmentIds() + " " + tuple.getValues());
+         }
+
+         @Override
+         protected void processForwardControl(final int input, final ControlTuple message) {
+            if (message instanceof PunctuationControl) {
+               punctuations.add(((PunctuationControl) message).getSegmentId());
+            }
+         }
+      };
+
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      final SourceOperator leftSource = new SourceOperator("left", left, new TupleListIterator(left,
+            leftValues));
+      final SourceOperator rightSource = new SourceOperator("right", right, new TupleListIterator(right,
+            rightValues));
+      plan.addOperator(leftSource, OperatorType.SOURCE);
+      plan.addOperator(rightSource, OperatorType.SOURCE);
+      plan.addOperator(leftWindow);
+      plan.addOperator(rightWindow);
+      plan.addOperator(join);
+      plan.addOperator(sink, OperatorType.SINK);
+      plan.addStream(leftSource, leftWindow);
+      plan.addStream(rightSource, rightWindow);
+      plan.addStream(leftWindow, join);
+      plan.addStream(rightWindow, join);
+      plan.addStream(join, sink);
+
+      plan.execute();
+      actual.sort(null);
+      Assert.assertEquals(expected, actual);
+      // every window closed on both inputs is punctuated once
+      Assert.assertFalse(punctuations.isEmpty());
+      Assert.assertEquals(punctuations.size(), punctuations.stream().distinct().count());
+   }
+
+   /**
+    * Creates and opens a join of two schemas with a progressing and a key attribute that collects its
+    * punctuations in the given list.
+    *
+    * @param controls
+    *           list of forwarded punctuations
+    * @return join operator
+    */
+   private static HashJoin createJoin(final List<ControlTuple> controls) {
+      final Schema schema = new Schema(0, new Attribute("time", Long.class),
+            new Attribute("key", Long.class));
+      final HashJoin join = new HashJoin("join", schema, schema, 1, 1) {
+
+         @Override
+         protected void pushControl(final Flow flow, final ControlTuple message) {
+            if (message instanceof PunctuationControl) {
+               controls.add(message);
+            }
+         }
+      };
+      join.addInputStream(new Stream());
+      join.addInputStream(new Stream());
+      join.open();
+      return join;
+   }
+
+   /**
+    * Creates a punctuation of the given type for the range of the given size that starts at the given value.
+    * The segment number of the range is its start divided by its size.
+    *
+    * @param type
+    *           punctuation type
+    * @param start
+    *           start of the range
+    * @param size
+    *           size of the range
+    * @return punctuation
+    */
+   private static PunctuationControl createPunctuation(final PunctuationControl.Type type, final long start,
+         final long size) {
+      return new PunctuationControl(type, 0, size, start / size, start, size);
+   }
+
+   /**
+    * Returns the windows to which a tuple with the given time belongs.
+    *
+    * @param time
+    *           progressing value
+    * @return segment numbers
+    */
+   private static List<Long> getSegments(final long time) {
+      final List<Long> segments = new ArrayList<>();
+      for (long id = time / SLIDE; id <= (time + SIZE) / SLIDE - 1; id++) {
+         segments.add(id);
+      }
+      return segments;
+   }
+
+   /**
+    * Creates the values of ordered random tuples.
+    *
+    * @param count
+    *           number of tuples
+    * @param seed
+    *           seed of the random numbers
+    * @param strings
+    *           whether the join attributes are strings
+    * @return values of the tuples
+    */
+   private static Object[] createValues(final int count, final int seed, final boolean strings) {
+      final Random random = new Random(seed);
+      final Object[] values = new Object[count];
+      long time = 0;
+      for (int i = 0; i < values.length; i++) {
+         time += random.nextInt(3);
+         final int key = random.nextInt(25);
+         final Object value;
+         if (key == 0) {
+            value = null;
+         } else if (strings) {
+            value = "k" + key;
+         } else {
+            value = seed == 0 ? (Object) Integer.valueOf(key) : (Object) Long.valueOf(key);
+         }
+         values[i] = Arrays.<Object> asList(time, value, i);
+      }
+      return values;
+   }
+}
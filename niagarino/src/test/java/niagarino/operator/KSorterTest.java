@@ -0,0 +1,241 @@
+/*
+ * @(#)KSorterTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.runtime.PhysicalQueryPlan;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.stream.Attribute;
+import niagarino.stream.ControlTuple;
+import niagarino.stream.DataTuple;
+import niagarino.stream.PunctuationControl;
+import niagarino.stream.Schema;
+
+/**
+ * Test cases for sorting k-sorted streams.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class KSorterTest {
+
+   /** Schema for testing purposes. */
+   private static final Schema SCHEMA = new Schema(0, new Attribute("time", Long.class), new Attribute("id",
+         Integer.class));
+
+   /** File to which to write result stream. */
+   private static final String OUT_FILENAME = "outstream.csv";
+
+   /** Comparator that orders tuples by time and id. */
+   private static final Comparator<DataTuple> COMPARATOR = Comparator.comparingLong(
+         DataTuple::getProgressingLong).thenComparingInt(tuple -> (Integer) tuple.getAttributeValue(1));
+
+   /**
+    * Tests that a stream that is disordered within the slack is sorted completely and punctuated correctly
+    * for several bucket widths.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testSort() throws Exception {
+      final Object[] values = KSorterTest.createValues(5000, 20);
+      final List<DataTuple> expected = new ArrayList<>();
+      for (final Object value : values) {
+         @SuppressWarnings("unchecked")
+         final List<Object> list = (List<Object>) value;
+         expected.add(new DataTuple(SCHEMA, list));
+      }
+      expected.sort(COMPARATOR);
+      for (final long width : new long[] { 1, 3, 20, 100 }) {
+         final List<Object> output = this.sort(values, 20, width);
+         final List<DataTuple> actual = new ArrayList<>();
+         long punctuated = Long.MIN_VALUE;
+         for (final Object element : output) {
+            if (element instanceof DataTuple) {
+               final DataTuple tuple = (DataTuple) element;
+               Assert.assertTrue(tuple.getProgressingLong() > punctuated);
+               actual.add(tuple);
+            } else {
+               final long end = ((PunctuationControl) element).getSegmentEnd();
+               Assert.assertTrue(end > punctuated);
+               punctuated = end;
+            }
+         }
+         Assert.assertTrue(punctuated > 0);
+         Assert.assertEquals(expected.size(), actual.size());
+         for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i).getValues(), actual.get(i).getValues());
+         }
+      }
+   }
+
+   /**
+    * Tests that narrow buckets are punctuated at most once per slack-sized range and that the punctuated
+    * ranges are contiguous.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testPunctuationCount() throws Exception {
+      final long slack = 20;
+      final Object[] values = KSorterTest.createValues(5000, (int) slack);
+      long max = Long.MIN_VALUE;
+      for (final Object value : values) {
+         max = Math.max(max, (Long) ((List<?>) value).get(0));
+      }
+      int count = 0;
+      long end = Long.MIN_VALUE;
+      for (final Object element : this.sort(values, slack, 1)) {
+         if (element instanceof PunctuationControl) {
+            final PunctuationControl punctuation = (PunctuationControl) element;
+            Assert.assertTrue(punctuation.getSegmentEnd() - punctuation.getSegmentStart() + 1 >= slack);
+            if (count > 0) {
+               Assert.assertEquals(end + 1, punctuation.getSegmentStart());
+            }
+            end = punctuation.getSegmentEnd();
+            count++;
+         }
+      }
+      Assert.assertTrue(count > 0);
+      Assert.assertTrue(count <= max / slack + 1);
+   }
+
+   /**
+    * Tests that tuples that arrive later than the slack allows are dropped.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testLate() throws Exception {
+      final Object[] values = new Object[] { Arrays.<Object> asList(100L, 0), Arrays.<Object> asList(95L, 1),
+            Arrays.<Object> asList(120L, 2), Arrays.<Object> asList(105L, 3), Arrays.<Object> asList(109L, 4),
+            Arrays.<Object> asList(110L, 5), Arrays.<Object> asList(90L, 6) };
+      final List<Integer> ids = new ArrayList<>();
+      for (final Object element : this.sort(values, 10, 1)) {
+         if (element instanceof DataTuple) {
+            ids.add((Integer) ((DataTuple) element).getAttributeValue(1));
+         }
+      }
+      Assert.assertEquals(Arrays.asList(1, 0, 5, 2), ids);
+   }
+
+   /**
+    * Tests that a window without explicit start behind the sorter is not closed by punctuations that are
+    * sent before the first tuple reached it.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test(timeout = 10000)
+   public void testWindowWithoutStart() throws Exception {
+      // the first buckets that are released are empty as the first tuples only arrive later
+      final Object[] values = new Object[] { Arrays.<Object> asList(100L, 0), Arrays.<Object> asList(200L, 1),
+            Arrays.<Object> asList(205L, 2), Arrays.<Object> asList(300L, 3) };
+      final SourceOperator source = new SourceOperator("source", SCHEMA, new TupleListIterator(SCHEMA,
+            values));
+      final KSorter sorter = new KSorter("sorter", SCHEMA, COMPARATOR, 150, 1);
+      final ValueWindow window = new ValueWindow("window", SCHEMA, 50, 50);
+      final List<DataTuple> result = new ArrayList<>();
+      final Print sink = new Print("sink", SCHEMA, false, new PrintStream(new File(OUT_FILENAME))) {
+
+         @Override
+         protected void processTuple(final int input, final DataTuple tuple) {
+            result.add(tuple);
+         }
+      };
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.addOperator(source, OperatorType.SOURCE);
+      plan.addOperator(sorter);
+      plan.addOperator(window);
+      plan.addOperator(sink, OperatorType.SINK);
+      plan.addStream(source, sorter);
+      plan.addStream(sorter, window);
+      plan.addStream(window, sink);
+      plan.execute();
+      Assert.assertEquals(values.length, result.size());
+   }
+
+   /**
+    * Sorts the given tuples and returns the emitted tuples and punctuations in the order of their arrival.
+    *
+    * @param values
+    *           values of the input tuples
+    * @param slack
+    *           slack of the sorter
+    * @param width
+    *           bucket width of the sorter
+    * @return emitted tuples and punctuations
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   private List<Object> sort(final Object[] values, final long slack, final long width) throws Exception {
+      final SourceOperator source = new SourceOperator("source", SCHEMA, new TupleListIterator(SCHEMA,
+            values));
+      final KSorter sorter = new KSorter("sorter", SCHEMA, COMPARATOR, slack, width);
+      final List<Object> result = new ArrayList<>();
+      final Print sink = new Print("sink", SCHEMA, false, new PrintStream(new File(OUT_FILENAME))) {
+
+         @Override
+         protected void processTuple(final int input, final DataTuple tuple) {
+            result.add(tuple);
+         }
+
+         @Override
+         protected void processForwardControl(final int input, final ControlTuple message) {
+            if (message instanceof PunctuationControl) {
+               result.add(message);
+            }
+         }
+      };
+
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.addOperator(source, OperatorType.SOURCE);
+      plan.addOperator(sorter);
+      plan.addOperator(sink, OperatorType.SINK);
+      plan.addStream(source, sorter);
+      plan.addStream(sorter, sink);
+
+      plan.execute();
+      return result;
+   }
+
+   /**
+    * Creates the values of tuples whose times are disordered by at most the given slack.
+    *
+    * @param count
+    *           number of tuples
+    * @param slack
+    *           maximum disorder
+    * @return values of the tuples
+    */
+   private static Object[] createValues(final int count, final int slack) {
+      final Random random = new Random(count);
+      final Object[] values = new Object[count];
+      long max = 0;
+      for (int i = 0; i < values.length; i++) {
+         max += random.nextInt(3);
+         values[i] = Arrays.<Object> asList(max - random.nextInt(slack + 1), i);
+      }
+      return values;
+   }
+}
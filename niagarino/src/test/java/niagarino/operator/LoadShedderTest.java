@@ -0,0 +1,193 @@
+/*
+ * @(#)LoadShedderTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.operator.LoadShedder.Mode;
+import niagarino.runtime.OperatorMetrics;
+import niagarino.runtime.PhysicalQueryPlan;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.simulator.SequentialGenerationIterator;
+import niagarino.simulator.SequentialGenerationIterator.Sequence;
+import niagarino.stream.Attribute;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+
+/**
+ * Test cases for shedding load in front of slow operators.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class LoadShedderTest {
+
+   /** Schema for testing purposes. */
+   private static final Schema SCHEMA = new Schema(0, new Attribute("time", Long.class),
+         new Attribute("value", Double.class));
+
+   /** File to which to write result stream. */
+   private static final String OUT_FILENAME = "outstream.csv";
+
+   /** Number of tuples emitted by the source. */
+   private static final int TUPLE_COUNT = 20000;
+
+   /** Number of tuples in each segment of the window in segment mode. */
+   private static final int WINDOW_SIZE = 100;
+
+   /**
+    * Tests that tuples are dropped in front of a slow sink and that the drops are reported in the metrics.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testTupleShedding() throws Exception {
+      final List<DataTuple> result = new ArrayList<>();
+      final LoadShedder shedder = new LoadShedder("shedder", SCHEMA, Mode.TUPLE);
+      final Map<String, OperatorMetrics> metrics = this.execute(shedder, null,
+            this.createSink(result, 20000));
+      final long dropped = metrics.get("shedder").getDroppedTuples();
+      Assert.assertEquals(TUPLE_COUNT, metrics.get("shedder").getInputTuples());
+      Assert.assertTrue(dropped > 0);
+      Assert.assertEquals(TUPLE_COUNT, result.size() + dropped);
+      Assert.assertEquals(result.size(), metrics.get("shedder").getOutputTuples());
+      Assert.assertEquals(0, metrics.get("sink").getDroppedTuples());
+   }
+
+   /**
+    * Tests that tuples are dropped if the consumer of the load shedder is fusible, as it is not fused into
+    * the load shedder, whose output streams would otherwise never fill up.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testFusibleConsumer() throws Exception {
+      final List<DataTuple> result = new ArrayList<>();
+      final LoadShedder shedder = new LoadShedder("shedder", SCHEMA, Mode.TUPLE);
+      final Map<String, OperatorMetrics> metrics = this.execute(shedder, new NoOp(SCHEMA),
+            this.createSink(result, 20000));
+      final long dropped = metrics.get("shedder").getDroppedTuples();
+      Assert.assertTrue(dropped > 0);
+      Assert.assertEquals(TUPLE_COUNT, result.size() + dropped);
+   }
+
+   /**
+    * Tests that whole segments are shed by a downstream window, which reports the dropped tuples.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testSegmentShedding() throws Exception {
+      final List<DataTuple> result = new ArrayList<>();
+      final LoadShedder shedder = new LoadShedder("shedder", SCHEMA, Mode.SEGMENT);
+      final ValueWindow window = new ValueWindow("window", SCHEMA, WINDOW_SIZE, WINDOW_SIZE, 0);
+      final Map<String, OperatorMetrics> metrics = this.execute(shedder, window, this.createSink(result,
+            20000));
+      final long dropped = metrics.get("window").getDroppedTuples();
+      Assert.assertEquals(0, metrics.get("shedder").getDroppedTuples());
+      Assert.assertTrue(dropped > 0);
+      Assert.assertEquals(TUPLE_COUNT, result.size() + dropped);
+      // tuples are only dropped per segment, every segment that is not shed at all is complete
+      final Map<Long, Integer> sizes = new HashMap<>();
+      for (final DataTuple tuple : result) {
+         final Long id = tuple.getElementMetadata().getSegmentIds().get(0);
+         sizes.put(id, sizes.getOrDefault(id, 0) + 1);
+      }
+      Assert.assertTrue(sizes.size() < TUPLE_COUNT / WINDOW_SIZE);
+      int complete = 0;
+      for (final int size : sizes.values()) {
+         if (size == WINDOW_SIZE) {
+            complete++;
+         }
+      }
+      Assert.assertTrue(complete > sizes.size() / 2);
+   }
+
+   /**
+    * Executes a plan with operator fusion that sends the tuples of a source through the given load shedder
+    * and optional consumer to the given sink, and returns the metrics of all operators.
+    *
+    * @param shedder
+    *           load shedder
+    * @param consumer
+    *           operator behind the load shedder, e.g., a window, or {@code null}
+    * @param sink
+    *           sink operator
+    * @return metrics of all operators by name
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   private Map<String, OperatorMetrics> execute(final LoadShedder shedder, final Operator consumer,
+         final Print sink) throws Exception {
+      final SourceOperator source = new SourceOperator("source", SCHEMA, new SequentialGenerationIterator(
+            SCHEMA, Arrays.asList(new Sequence(0, TUPLE_COUNT, 1))));
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.setMetricsEnabled(true);
+      plan.setFusionEnabled(true);
+      plan.addOperator(source, OperatorType.SOURCE);
+      plan.addOperator(shedder);
+      plan.addOperator(sink, OperatorType.SINK);
+      plan.addStream(source, shedder);
+      if (consumer != null) {
+         plan.addOperator(consumer);
+         plan.addStream(shedder, consumer);
+         plan.addStream(consumer, sink);
+      } else {
+         plan.addStream(shedder, sink);
+      }
+      plan.execute();
+      final Map<String, OperatorMetrics> result = new HashMap<>();
+      for (final OperatorMetrics metrics : plan.getMetrics()) {
+         result.put(metrics.getOperatorName(), metrics);
+      }
+      return result;
+   }
+
+   /**
+    * Creates a sink that collects all tuples and spends the given time on each tuple.
+    *
+    * @param tuples
+    *           list to which all received tuples are added
+    * @param nanos
+    *           processing time of a tuple in nanoseconds
+    * @return sink operator
+    * @throws FileNotFoundException
+    *            if the output file cannot be created
+    */
+   private Print createSink(final List<DataTuple> tuples, final long nanos) throws FileNotFoundException {
+      return new Print("sink", SCHEMA, false, new PrintStream(new File(OUT_FILENAME))) {
+
+         @Override
+         protected void processTuple(final int input, final DataTuple tuple) {
+            tuples.add(tuple);
+            if (nanos > 0) {
+               final long end = System.nanoTime() + nanos;
+               while (System.nanoTime() < end) {
+                  LockSupport.parkNanos(nanos);
+               }
+            }
+         }
+      };
+   }
+}
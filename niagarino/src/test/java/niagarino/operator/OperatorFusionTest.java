@@ -0,0 +1,280 @@
+/*
+ * @(#)OperatorFusionTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.operator.function.AggregationFunction;
+import niagarino.operator.function.BuiltInAggregationFunction;
+import niagarino.operator.function.ScalingFunction;
+import niagarino.operator.predicate.LambdaPredicate;
+import niagarino.runtime.OperatorStatistics;
+import niagarino.runtime.PhysicalQueryPlan;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.stream.Attribute;
+import niagarino.stream.ControlTuple;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+
+/**
+ * Test cases for fusing chains of operators into one thread.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class OperatorFusionTest {
+
+   /** Schema for testing purposes. */
+   private static final Schema SCHEMA = new Schema(0, new Attribute("time", Integer.class),
+         new Attribute("group", Integer.class), new Attribute("value", Integer.class));
+
+   /** File to which to write result stream. */
+   private static final String OUT_FILENAME = "outstream.csv";
+
+   /** Predicate that drops every value that is a multiple of three. */
+   private static final IntFunction<Boolean> NOT_MULTIPLE_OF_THREE = value -> value % 3 != 0;
+
+   /**
+    * Tests that only fusible operators are fused, and only if they are the only consumer of their producer.
+    *
+    * @throws Exception
+    *            if the output file cannot be created
+    */
+   @Test
+   public void testFuse() throws Exception {
+      final SourceOperator source = new SourceOperator("source", SCHEMA, new TupleListIterator(SCHEMA,
+            OperatorFusionTest.createValues(10)));
+      final ValueWindow window = new ValueWindow(SCHEMA, 5, 5);
+      final Selection selection = new Selection(window.getOutputSchema(), new LambdaPredicate(
+            NOT_MULTIPLE_OF_THREE, 2));
+      final Derive derive = new Derive(selection.getOutputSchema(), new ScalingFunction(2, 2.0, "scaled"));
+      final Multiplex multiplex = new Multiplex(derive.getOutputSchema(), 2);
+      final NoOp noOp = new NoOp(derive.getOutputSchema());
+      final Print first = this.createSink("first", derive.getOutputSchema(), new ArrayList<>(), null);
+      final Print second = this.createSink("second", derive.getOutputSchema(), new ArrayList<>(), null);
+
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      final List<Operator> operators = Arrays.asList(source, window, selection, derive, multiplex, noOp,
+            first, second);
+      for (final Operator operator : operators) {
+         plan.addOperator(operator);
+      }
+      plan.addStream(source, window);
+      plan.addStream(window, selection);
+      plan.addStream(selection, derive);
+      plan.addStream(derive, multiplex);
+      plan.addStream(multiplex, noOp);
+      plan.addStream(multiplex, second);
+      plan.addStream(noOp, first);
+
+      Assert.assertEquals(Arrays.asList(source, window, multiplex, noOp, first, second), OperatorFusion
+            .fuse(operators));
+      Assert.assertFalse(window.isFused());
+      Assert.assertTrue(selection.isFused());
+      Assert.assertTrue(derive.isFused());
+      // the multiplex has two output streams
+      Assert.assertFalse(noOp.isFused());
+   }
+
+   /**
+    * Tests that a plan produces the same tuples and punctuations with and without fusion.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testWindowedAggregate() throws Exception {
+      final List<Object> expectedControls = new ArrayList<>();
+      final List<DataTuple> expected = this.aggregate(false, expectedControls);
+      final List<Object> actualControls = new ArrayList<>();
+      final List<DataTuple> actual = this.aggregate(true, actualControls);
+      Assert.assertFalse(expected.isEmpty());
+      Assert.assertFalse(expectedControls.isEmpty());
+      Assert.assertEquals(expectedControls, actualControls);
+      Assert.assertEquals(expected.size(), actual.size());
+      for (int i = 0; i < expected.size(); i++) {
+         Assert.assertEquals(expected.get(i).getValues(), actual.get(i).getValues());
+      }
+   }
+
+   /**
+    * Tests that a fused limit that ends the stream early terminates the plan.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testLimit() throws Exception {
+      final SourceOperator source = new SourceOperator("source", SCHEMA, new TupleListIterator(SCHEMA,
+            OperatorFusionTest.createValues(5000)));
+      final Limit limit = new Limit(SCHEMA, 100);
+      final Selection selection = new Selection(SCHEMA, new LambdaPredicate(NOT_MULTIPLE_OF_THREE, 0));
+      final List<DataTuple> result = new ArrayList<>();
+      final Print sink = this.createSink("sink", SCHEMA, result, null);
+
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.setFusionEnabled(true);
+      plan.addOperator(source, OperatorType.SOURCE);
+      plan.addOperator(limit);
+      plan.addOperator(selection);
+      plan.addOperator(sink, OperatorType.SINK);
+      plan.addStream(source, limit);
+      plan.addStream(limit, selection);
+      plan.addStream(selection, sink);
+
+      plan.execute();
+      Assert.assertEquals(66, result.size());
+   }
+
+   /**
+    * Tests that the thread of a fused pair of operators is only accounted to the operator into which the
+    * other one is fused.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testStatistics() throws Exception {
+      final SourceOperator source = new SourceOperator("source", SCHEMA, new TupleListIterator(SCHEMA,
+            OperatorFusionTest.createValues(5000)));
+      final Selection selection = new Selection("selection", SCHEMA, new LambdaPredicate(
+            NOT_MULTIPLE_OF_THREE, 2));
+      final List<DataTuple> result = new ArrayList<>();
+      final Print sink = this.createSink("sink", SCHEMA, result, null);
+
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.setFusionEnabled(true);
+      plan.setStatisticsEnabled(true);
+      plan.addOperator(source, OperatorType.SOURCE);
+      plan.addOperator(selection);
+      plan.addOperator(sink, OperatorType.SINK);
+      plan.addStream(source, selection);
+      plan.addStream(selection, sink);
+
+      plan.execute();
+      Assert.assertTrue(selection.isFused());
+      Assert.assertFalse(result.isEmpty());
+      for (final OperatorStatistics stats : plan.getStatistics()) {
+         if (selection.getName().equals(stats.getOperatorName())) {
+            Assert.assertEquals(0, stats.getQuanta());
+            Assert.assertEquals(0, stats.getThreadCpuTime());
+            Assert.assertEquals(0, stats.getThreadUserTime());
+            Assert.assertEquals(0, stats.getBlockedCount());
+            Assert.assertEquals(0, stats.getWaitedCount());
+            Assert.assertEquals(5000, stats.getInputTuples());
+         } else if (source.getName().equals(stats.getOperatorName())) {
+            Assert.assertTrue(stats.getQuanta() > 0);
+         }
+      }
+   }
+
+   /**
+    * Filters, derives and aggregates windows over a stream of random tuples and returns the result tuples.
+    *
+    * @param fusion
+    *           whether operators are fused
+    * @param controls
+    *           list to which the types of all received control tuples are added
+    * @return result tuples
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   private List<DataTuple> aggregate(final boolean fusion, final List<Object> controls) throws Exception {
+      final SourceOperator source = new SourceOperator("source", SCHEMA, new TupleListIterator(SCHEMA,
+            OperatorFusionTest.createValues(2000)));
+      final ValueWindow window = new ValueWindow(SCHEMA, 50, 25);
+      final Selection selection = new Selection(window.getOutputSchema(), new LambdaPredicate(
+            NOT_MULTIPLE_OF_THREE, 2));
+      final Derive derive = new Derive(selection.getOutputSchema(), new ScalingFunction(2, 2.0, "scaled"));
+      final OrderedAggregate aggr = new OrderedAggregate("aggr", derive.getOutputSchema(), new int[] { 1 },
+            new int[] { 3, 3 }, 0, 0, 0, new AggregationFunction[] { BuiltInAggregationFunction.SUM,
+                  BuiltInAggregationFunction.COUNT });
+      final List<DataTuple> result = new ArrayList<>();
+      final Print sink = this.createSink("sink", aggr.getOutputSchema(), result, controls);
+
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.setFusionEnabled(fusion);
+      plan.addOperator(source, OperatorType.SOURCE);
+      plan.addOperator(window);
+      plan.addOperator(selection);
+      plan.addOperator(derive);
+      plan.addOperator(aggr);
+      plan.addOperator(sink, OperatorType.SINK);
+      plan.addStream(source, window);
+      plan.addStream(window, selection);
+      plan.addStream(selection, derive);
+      plan.addStream(derive, aggr);
+      plan.addStream(aggr, sink);
+
+      plan.execute();
+      result.sort((first, second) -> first.getValues().subList(0, 2).toString().compareTo(
+            second.getValues().subList(0, 2).toString()));
+      return result;
+   }
+
+   /**
+    * Creates a sink that collects all tuples and the types of all control tuples it receives.
+    *
+    * @param operatorId
+    *           id of operator
+    * @param inputSchema
+    *           input schema
+    * @param tuples
+    *           list to which all received tuples are added
+    * @param controls
+    *           list to which the types of all received control tuples are added, or <code>null</code>
+    * @return sink operator
+    * @throws FileNotFoundException
+    *            if the output file cannot be created
+    */
+   private Print createSink(final String operatorId, final Schema inputSchema, final List<DataTuple> tuples,
+         final List<Object> controls) throws FileNotFoundException {
+      return new Print(operatorId, inputSchema, false, new PrintStream(new File(OUT_FILENAME))) {
+
+         @Override
+         protected void processTuple(final int input, final DataTuple tuple) {
+            tuples.add(tuple);
+         }
+
+         @Override
+         protected void processForwardControl(final int input, final ControlTuple message) {
+            if (controls != null) {
+               controls.add(message.getType());
+            }
+         }
+      };
+   }
+
+   /**
+    * Creates the values of random tuples of the test schema.
+    *
+    * @param count
+    *           number of tuples
+    * @return values of the tuples
+    */
+   private static Object[] createValues(final int count) {
+      final Random random = new Random(count);
+      final Object[] values = new Object[count];
+      for (int i = 0; i < values.length; i++) {
+         values[i] = Arrays.<Object> asList(i, random.nextInt(7), random.nextInt(100));
+      }
+      return values;
+   }
+}
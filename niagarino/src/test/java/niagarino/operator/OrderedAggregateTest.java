@@ -12,9 +12,12 @@ package niagarino.operator;
 import java.io.File;
 import java.io.PrintStream;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Properties;
 import java.util.Random;
 
 import org.junit.Assert;
@@ -29,6 +32,7 @@ import niagarino.stream.Attribute;
 import niagarino.stream.ControlTuple;
 import niagarino.stream.DataTuple;
 import niagarino.stream.Schema;
+import niagarino.util.PropertiesReader;
 
 /**
  * @author Florian 'Sammy' Junghanns &lt;florian.junghanns@uni-konstanz.de&gt;
@@ -107,6 +111,101 @@ public class OrderedAggregateTest {
       plan.execute();
    }
 
+   /**
+    * Tests that aggregating sliding windows in slices produces the same results as aggregating every window
+    * individually, both with invertible and with non-invertible aggregation functions.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testSlicing() throws Exception {
+      final AggregationFunction[] invertible = new AggregationFunction[] { BuiltInAggregationFunction.SUM,
+            BuiltInAggregationFunction.COUNT, BuiltInAggregationFunction.AVG };
+      final AggregationFunction[] all = new AggregationFunction[] { BuiltInAggregationFunction.SUM,
+            BuiltInAggregationFunction.MIN, BuiltInAggregationFunction.MAX, BuiltInAggregationFunction.AVG };
+      for (final AggregationFunction[] functions : Arrays.asList(invertible, all)) {
+         for (final long[] window : new long[][] { { 60, 10 }, { 70, 20 }, { 10, 10 } }) {
+            final List<DataTuple> expected = this.aggregate(false, window[0], window[1], functions);
+            final List<DataTuple> actual = this.aggregate(true, window[0], window[1], functions);
+            Assert.assertFalse(expected.isEmpty());
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+               final List<Object> expectedValues = expected.get(i).getValues();
+               final List<Object> actualValues = actual.get(i).getValues();
+               Assert.assertEquals(expectedValues.subList(0, 2), actualValues.subList(0, 2));
+               for (int j = 2; j < expectedValues.size(); j++) {
+                  Assert.assertEquals(((Number) expectedValues.get(j)).doubleValue(),
+                        ((Number) actualValues.get(j)).doubleValue(), 1e-9);
+               }
+            }
+         }
+      }
+   }
+
+   /**
+    * Aggregates a sliding window with the given size and slide over a stream of random tuples and returns the
+    * result tuples ordered by window and group.
+    *
+    * @param slicing
+    *           whether slicing is enabled
+    * @param size
+    *           window size
+    * @param slide
+    *           window slide
+    * @param functions
+    *           aggregation functions
+    * @return result tuples
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   private List<DataTuple> aggregate(final boolean slicing, final long size, final long slide,
+         final AggregationFunction... functions) throws Exception {
+      final Properties properties = PropertiesReader.getPropertiesReader().getProperties();
+      final String old = properties.getProperty(PropertiesReader.AGGREGATE_SLICING);
+      properties.setProperty(PropertiesReader.AGGREGATE_SLICING, Boolean.toString(slicing));
+      try {
+         final Random random = new Random(42);
+         final Object[] values = new Object[2000];
+         for (int i = 0; i < values.length; i++) {
+            values[i] = Arrays.<Object> asList(i, random.nextInt(5), random.nextInt(100));
+         }
+         final SourceOperator source = new SourceOperator("source", SCHEMA, new TupleListIterator(SCHEMA,
+               values));
+         final ValueWindow window = new ValueWindow(SCHEMA, size, slide);
+         final int[] aggregated = new int[functions.length];
+         Arrays.fill(aggregated, 2);
+         final OrderedAggregate aggr = new OrderedAggregate(window.getOutputSchema(), new int[] { 1 },
+               aggregated, 0, 0, 0, functions);
+         final List<DataTuple> result = new ArrayList<>();
+         final Print sink = new Print("sink", aggr.getOutputSchema(), false, new PrintStream(new File(
+               OUT_FILENAME))) {
+
+            @Override
+            protected void processTuple(final int input, final DataTuple tuple) {
+               result.add(tuple);
+            }
+         };
+
+         final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+         plan.addOperator(source, OperatorType.SOURCE);
+         plan.addOperator(window);
+         plan.addOperator(aggr);
+         plan.addOperator(sink, OperatorType.SINK);
+
+         plan.addStream(source, window);
+         plan.addStream(window, aggr);
+         plan.addStream(aggr, sink);
+
+         plan.execute();
+         result.sort((first, second) -> first.getValues().subList(0, 2).toString().compareTo(
+               second.getValues().subList(0, 2).toString()));
+         return result;
+      } finally {
+         properties.setProperty(PropertiesReader.AGGREGATE_SLICING, old);
+      }
+   }
+
    /**
     * An operator which checks the incoming tuples for certain conditions.
     *
@@ -0,0 +1,211 @@
+/*
+ * @(#)ScanTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.QueryException;
+import niagarino.runtime.PhysicalQueryPlan;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.stream.Attribute;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+
+/**
+ * Test cases for reading files sequentially and concurrently with {@link Scan}.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ScanTest {
+
+   /** Schema to use in tests. */
+   private static final Schema SCHEMA = new Schema(0, new Attribute("time", Long.class),
+         new Attribute("value", Double.class));
+
+   /** Number of files in the test directory. */
+   private static final int FILE_COUNT = 4;
+
+   /** Number of tuples in each file of the test directory. */
+   private static final int TUPLE_COUNT = 2500;
+
+   /**
+    * Tests that the overlapping files of a directory are merged in the order of the progressing attribute
+    * when they are read concurrently.
+    *
+    * @throws Exception
+    *            if the test files cannot be written or the query plan fails
+    */
+   @Test
+   public void testOrderedDirectory() throws Exception {
+      final File directory = ScanTest.createDirectory();
+      try {
+         Assert.assertEquals(FILE_COUNT * TUPLE_COUNT, ScanTest.scan(directory, 1, true).size());
+         final List<Long> times = ScanTest.scan(directory, FILE_COUNT, true);
+         Assert.assertEquals(FILE_COUNT * TUPLE_COUNT, times.size());
+         for (int i = 0; i < times.size(); i++) {
+            Assert.assertEquals(i, times.get(i).longValue());
+         }
+      } finally {
+         ScanTest.delete(directory);
+      }
+   }
+
+   /**
+    * Tests that all tuples of a directory are emitted when the files are read concurrently without order.
+    *
+    * @throws Exception
+    *            if the test files cannot be written or the query plan fails
+    */
+   @Test
+   public void testUnorderedDirectory() throws Exception {
+      final File directory = ScanTest.createDirectory();
+      try {
+         final List<Long> times = ScanTest.scan(directory, 3, false);
+         Collections.sort(times);
+         Assert.assertEquals(FILE_COUNT * TUPLE_COUNT, times.size());
+         for (int i = 0; i < times.size(); i++) {
+            Assert.assertEquals(i, times.get(i).longValue());
+         }
+      } finally {
+         ScanTest.delete(directory);
+      }
+   }
+
+   /**
+    * Tests that a single large file that is read in byte ranges yields the same tuples in the same order as
+    * reading it sequentially.
+    *
+    * @throws Exception
+    *            if the test file cannot be written or the query plan fails
+    */
+   @Test
+   public void testByteRanges() throws Exception {
+      final File file = File.createTempFile("niagarino", ".csv");
+      try {
+         try (PrintWriter out = new PrintWriter(file)) {
+            out.println("time,value");
+            for (int i = 0; i < 250000; i++) {
+               out.println(i + "," + i % 977 * 0.25);
+            }
+         }
+         final List<Long> expected = ScanTest.scan(file, 1, true);
+         Assert.assertEquals(250000, expected.size());
+         Assert.assertEquals(expected, ScanTest.scan(file, 3, true));
+      } finally {
+         file.delete();
+      }
+   }
+
+   /**
+    * Creates a directory with files whose progressing attribute values interleave.
+    *
+    * @return temporary directory
+    * @throws IOException
+    *            if the files cannot be written
+    */
+   private static File createDirectory() throws IOException {
+      final File directory = File.createTempFile("niagarino", "");
+      directory.delete();
+      directory.mkdir();
+      for (int file = 0; file < FILE_COUNT; file++) {
+         try (PrintWriter out = new PrintWriter(new File(directory, "part" + file + ".csv"))) {
+            out.println("time,value");
+            for (int i = 0; i < TUPLE_COUNT; i++) {
+               out.println(i * FILE_COUNT + file + "," + i);
+            }
+         }
+      }
+      return directory;
+   }
+
+   /**
+    * Deletes the given directory and all files in it.
+    *
+    * @param directory
+    *           directory
+    */
+   private static void delete(final File directory) {
+      for (final File file : directory.listFiles()) {
+         file.delete();
+      }
+      directory.delete();
+   }
+
+   /**
+    * Scans the given file or directory and returns the progressing attribute values of all tuples in the
+    * order in which they are emitted.
+    *
+    * @param file
+    *           file or directory
+    * @param readers
+    *           number of reader threads
+    * @param ordered
+    *           whether the tuples of concurrently read files are merged in order
+    * @return progressing attribute values
+    * @throws QueryException
+    *            if executing the query plan fails
+    */
+   private static List<Long> scan(final File file, final int readers, final boolean ordered)
+         throws QueryException {
+      final Scan scan = new Scan("scan", SCHEMA, file.getPath());
+      scan.setReaders(readers);
+      scan.setOrdered(ordered);
+      final CollectSink sink = new CollectSink(SCHEMA);
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.addOperator(scan, OperatorType.SOURCE);
+      plan.addOperator(sink, OperatorType.SINK);
+      plan.addStream(scan, sink);
+      plan.execute();
+      return sink.times;
+   }
+
+   /**
+    * Sink that collects the progressing attribute values of all tuples.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static class CollectSink extends AbstractOperator {
+
+      /** Collected progressing attribute values. */
+      private final List<Long> times;
+
+      /**
+       * Constructs a new collecting sink.
+       *
+       * @param inputSchema
+       *           input schema
+       */
+      CollectSink(final Schema inputSchema) {
+         super("sink", Arrays.asList(inputSchema));
+         this.times = new ArrayList<>();
+      }
+
+      @Override
+      public Schema getOutputSchema() {
+         return this.getInputSchemas().get(0);
+      }
+
+      @Override
+      protected void processTuple(final int input, final DataTuple tuple) {
+         this.times.add(tuple.getLong(0));
+      }
+   }
+}
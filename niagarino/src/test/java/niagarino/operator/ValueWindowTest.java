@@ -11,6 +11,7 @@ package niagarino.operator;
 
 import java.util.Arrays;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 import niagarino.QueryException;
@@ -20,6 +21,7 @@ import niagarino.runtime.PhysicalQueryPlan.OperatorType;
 import niagarino.simulator.SequentialGenerationIterator;
 import niagarino.simulator.SequentialGenerationIterator.Sequence;
 import niagarino.stream.Attribute;
+import niagarino.stream.DataTuple;
 import niagarino.stream.Schema;
 
 /**
@@ -35,6 +37,20 @@ public class ValueWindowTest {
 
    // TODO Add tests for segment ids
 
+   /**
+    * Test case for a tuple whose progressing value is <code>null</code>.
+    */
+   @Test
+   public void testNullProgressingValue() {
+      final ValueWindow window = new ValueWindow("window", SCHEMA, 15, 10);
+      try {
+         window.assignSegments(new DataTuple(SCHEMA, Arrays.<Object> asList((Object) null)));
+         Assert.fail("Tuple without progressing value should be rejected.");
+      } catch (final OperatorException e) {
+         Assert.assertTrue(e.getMessage().contains("null"));
+      }
+   }
+
    /**
     * Test case for emitted punctuations.
     *
@@ -0,0 +1,218 @@
+/*
+ * @(#)WatermarkTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.operator.function.AggregationFunction;
+import niagarino.operator.function.BuiltInAggregationFunction;
+import niagarino.runtime.PhysicalQueryPlan;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.stream.Attribute;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+
+/**
+ * Test cases for windows over out-of-order streams that are closed by watermarks.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class WatermarkTest {
+
+   /** Schema for testing purposes. */
+   private static final Schema SCHEMA = new Schema(0, new Attribute("time", Long.class),
+         new Attribute("group", Integer.class), new Attribute("value", Long.class));
+
+   /** File to which to write result stream. */
+   private static final String OUT_FILENAME = "outstream.csv";
+
+   /** Maximum disorder of the test stream. */
+   private static final int DISORDER = 30;
+
+   /**
+    * Tests that aggregating windows over a disordered stream closed by watermarks produces the same results
+    * as aggregating the sorted stream.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testAggregate() throws Exception {
+      final Object[] values = WatermarkTest.createValues(3000);
+      final List<String> expected = WatermarkTest.sort(this.aggregate(WatermarkTest.sorted(values), -1, 0,
+            false));
+      Assert.assertFalse(expected.isEmpty());
+      Assert.assertEquals(expected, WatermarkTest.sort(this.aggregate(values, DISORDER, 0, false)));
+      Assert.assertEquals(expected, WatermarkTest.sort(this.aggregate(values, DISORDER / 2, DISORDER / 2,
+            false)));
+   }
+
+   /**
+    * Tests that the top-k tuples of windows over a disordered stream closed by watermarks are the same as the
+    * ones of the sorted stream.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testTopK() throws Exception {
+      final Object[] values = WatermarkTest.createValues(3000);
+      final List<String> expected = WatermarkTest.sort(this.aggregate(WatermarkTest.sorted(values), -1, 0,
+            true));
+      Assert.assertFalse(expected.isEmpty());
+      Assert.assertEquals(expected, WatermarkTest.sort(this.aggregate(values, DISORDER, 0, true)));
+   }
+
+   /**
+    * Tests that tuples that are later than the watermark delay and the allowed lateness are dropped.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testLate() throws Exception {
+      final Object[] values = WatermarkTest.createValues(3000);
+      long expected = 0;
+      for (final DataTuple tuple : this.aggregate(values, DISORDER, 0, false)) {
+         expected += (Long) tuple.getAttributeValue(3);
+      }
+      long actual = 0;
+      for (final DataTuple tuple : this.aggregate(values, 0, 0, false)) {
+         actual += (Long) tuple.getAttributeValue(3);
+      }
+      Assert.assertTrue(actual > 0);
+      Assert.assertTrue(actual < expected);
+   }
+
+   /**
+    * Aggregates windows over the given tuples. If the given watermark delay is negative, the input has to be
+    * ordered.
+    *
+    * @param values
+    *           values of the input tuples
+    * @param delay
+    *           delay of the watermarks, or a negative value for an ordered window
+    * @param lateness
+    *           allowed lateness of the window
+    * @param topK
+    *           whether the top-k tuples of each window are reported instead of aggregates
+    * @return result tuples
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   private List<DataTuple> aggregate(final Object[] values, final long delay, final long lateness,
+         final boolean topK) throws Exception {
+      final SourceOperator source = new SourceOperator("source", SCHEMA, new TupleListIterator(SCHEMA,
+            values));
+      final ValueWindow window;
+      if (delay < 0) {
+         window = new ValueWindow("window", SCHEMA, 50, 25, 0);
+      } else {
+         window = new ValueWindow("window", SCHEMA, 50, 25, 0, lateness);
+      }
+      final Operator aggr;
+      if (topK) {
+         aggr = new TopK("aggr", SCHEMA, 3, 2);
+      } else {
+         aggr = new OrderedAggregate("aggr", SCHEMA, new int[] { 1 }, new int[] { 2, 2 },
+               new AggregationFunction[] { BuiltInAggregationFunction.SUM,
+                     BuiltInAggregationFunction.COUNT });
+      }
+      final List<DataTuple> result = new ArrayList<>();
+      final Print sink = new Print("sink", aggr.getOutputSchema(), false, new PrintStream(new File(
+            OUT_FILENAME))) {
+
+         @Override
+         protected void processTuple(final int input, final DataTuple tuple) {
+            result.add(tuple);
+         }
+      };
+
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.addOperator(source, OperatorType.SOURCE);
+      plan.addOperator(window);
+      plan.addOperator(aggr);
+      plan.addOperator(sink, OperatorType.SINK);
+      if (delay < 0) {
+         plan.addStream(source, window);
+      } else {
+         final WatermarkAssigner assigner = new WatermarkAssigner("watermarks", SCHEMA, delay, 5);
+         plan.addOperator(assigner);
+         plan.addStream(source, assigner);
+         plan.addStream(assigner, window);
+      }
+      plan.addStream(window, aggr);
+      plan.addStream(aggr, sink);
+
+      plan.execute();
+      return result;
+   }
+
+   /**
+    * Creates the values of tuples whose times are disordered by at most {@link #DISORDER} and whose values
+    * are unique.
+    *
+    * @param count
+    *           number of tuples
+    * @return values of the tuples
+    */
+   private static Object[] createValues(final int count) {
+      final Random random = new Random(count);
+      final Object[] values = new Object[count];
+      long max = DISORDER;
+      for (int i = 0; i < values.length; i++) {
+         max += random.nextInt(3);
+         // values are unique, so that the top-k tuples do not depend on the order of ties
+         values[i] = Arrays.<Object> asList(max - random.nextInt(DISORDER + 1), random.nextInt(5),
+               random.nextInt(1000) * (long) count + i);
+      }
+      return values;
+   }
+
+   /**
+    * Returns the given tuple values sorted by time.
+    *
+    * @param values
+    *           values of tuples
+    * @return sorted values
+    */
+   @SuppressWarnings("unchecked")
+   private static Object[] sorted(final Object[] values) {
+      final Object[] result = values.clone();
+      Arrays.sort(result, (first, second) -> Long.compare((Long) ((List<Object>) first).get(0),
+            (Long) ((List<Object>) second).get(0)));
+      return result;
+   }
+
+   /**
+    * Returns the values and segments of the given tuples in a canonical order.
+    *
+    * @param tuples
+    *           data tuples
+    * @return sorted string representations of the tuple values and segments
+    */
+   private static List<String> sort(final List<DataTuple> tuples) {
+      final List<String> values = new ArrayList<>();
+      for (final DataTuple tuple : tuples) {
+         values.add(tuple.getElementMetadata().getSegmentIds() + " " + tuple.getValues());
+      }
+      values.sort(null);
+      return values;
+   }
+}
@@ -0,0 +1,237 @@
+/*
+ * @(#)ExpressionTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.expression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.operator.Derive;
+import niagarino.operator.function.ExpressionFunction;
+import niagarino.operator.predicate.ExpressionPredicate;
+import niagarino.stream.Attribute;
+import niagarino.stream.ColumnarPage;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+import niagarino.stream.StringDictionary;
+
+/**
+ * Test cases for compiled expressions.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ExpressionTest {
+
+   /** Schema for testing purposes. */
+   private static final Schema SCHEMA = new Schema(0, new Attribute("time", Integer.class),
+         new Attribute("type", Integer.class), new Attribute("lane", Integer.class), new Attribute("spd",
+               Double.class), new Attribute("name", String.class), new Attribute("AVG(spd)", Double.class));
+
+   /** Values of the test tuples. */
+   private static final List<List<Object>> VALUES = Arrays.asList(
+         Arrays.<Object> asList(1, 2, 4, 55.5, "a", 40.0),
+         Arrays.<Object> asList(2, 2, 3, 60.0, "b", 41.5),
+         Arrays.<Object> asList(3, 0, 1, 12.25, "c", null),
+         Arrays.<Object> asList(4, 2, null, 70.0, "b", 39.0));
+
+   /**
+    * Tests that boolean expressions select the same tuples from data tuples and columnar pages.
+    */
+   @Test
+   public void testPredicate() {
+      this.assertSelects("type == 2 && lane != 4", 1);
+      this.assertSelects("type == 2 && !(lane == 4)", 1);
+      this.assertSelects("type != 2 || spd > 65", 2, 3);
+      this.assertSelects("lane * 2 + 1 >= 7 || time % 3 == 0", 0, 1, 2);
+      this.assertSelects("spd / 2 < time * 10", 2, 3);
+      this.assertSelects("name == 'b'", 1, 3);
+      this.assertSelects("name < 'b' || name > 'b'", 0, 2);
+      this.assertSelects("`AVG(spd)` <= 40", 0, 3);
+      this.assertSelects("-time < -2 && true", 2, 3);
+      this.assertSelects("1 + 2 * 3 == 7 && type == 0", 2);
+   }
+
+   /**
+    * Tests that boolean expressions with <code>null</code> operands follow three-valued logic.
+    */
+   @Test
+   public void testNull() {
+      this.assertSelects("!(lane > 5)", 0, 1, 2);
+      this.assertSelects("lane == 4 || type == 2", 0, 1, 3);
+      this.assertSelects("!(lane == 4 && type == 0)", 0, 1, 2, 3);
+      this.assertSelects("!(lane == 4 || type == 2)", 2);
+      this.assertSelects("!(lane == 4 || type == 0)", 1);
+      this.assertSelects("!!(lane < 4)", 1, 2);
+   }
+
+   /**
+    * Tests that dividing a long by zero is <code>null</code>, while dividing a double by zero follows IEEE
+    * 754.
+    */
+   @Test
+   public void testDivisionByZero() {
+      this.assertSelects("time / (type - 2) == -1 || !(time / (type - 2) == -1)", 2);
+      this.assertSelects("time % (type - 2) == 1 || !(time % (type - 2) == 1)", 2);
+      this.assertSelects("spd / (type - 2.0) < 0", 2);
+
+      final ExpressionFunction function = new ExpressionFunction("quotient", "time / (type - 2)");
+      function.setSchema(SCHEMA.getAttributes());
+      Assert.assertNull(function.derive(new ArrayList<>(VALUES.get(0)), null));
+      Assert.assertEquals(-1L, function.derive(new ArrayList<>(VALUES.get(2)), null));
+
+      final Expression undefined = ExpressionParser.parse("1 / 0", SCHEMA.getAttributes());
+      Assert.assertFalse(undefined instanceof Constant);
+      Assert.assertNull(undefined.evaluate(new ListRow(Collections.emptyList())));
+      Assert.assertEquals(Double.POSITIVE_INFINITY, ExpressionParser.parse("1 / 0.0", SCHEMA.getAttributes())
+            .evaluateDouble(null), 0.0);
+   }
+
+   /**
+    * Tests that every attribute of a nested expression is read once per row, also if the expression is
+    * <code>null</code>.
+    */
+   @Test
+   public void testSingleEvaluation() {
+      final Expression expression = ExpressionParser.parse("!(!(!(((lane + 1) * 2 - 1) / type > 3)))",
+            SCHEMA.getAttributes());
+      final Object[] expected = { Boolean.FALSE, Boolean.TRUE, null, null };
+      for (int i = 0; i < VALUES.size(); i++) {
+         final ListRow values = new ListRow(VALUES.get(i));
+         final int[] reads = new int[1];
+         final Row row = new Row() {
+
+            @Override
+            public boolean isNull(final int position) {
+               reads[0]++;
+               return values.isNull(position);
+            }
+
+            @Override
+            public long getLong(final int position) {
+               reads[0]++;
+               return values.getLong(position);
+            }
+
+            @Override
+            public double getDouble(final int position) {
+               reads[0]++;
+               return values.getDouble(position);
+            }
+
+            @Override
+            public Object getValue(final int position) {
+               reads[0]++;
+               return values.getValue(position);
+            }
+
+            @Override
+            public void setNull(final boolean isNull) {
+               values.setNull(isNull);
+            }
+
+            @Override
+            public boolean wasNull() {
+               return values.wasNull();
+            }
+         };
+         Assert.assertEquals(expected[i], expression.evaluate(row));
+         // a null check and a read for each of the two attributes
+         Assert.assertTrue("Row " + i + " read " + reads[0] + " times.", reads[0] <= 4);
+      }
+   }
+
+   /**
+    * Tests that derived attributes have the type of the expression and that <code>null</code> values are
+    * propagated by arithmetic.
+    */
+   @Test
+   public void testDerive() {
+      final Derive derive = new Derive(SCHEMA, new ExpressionFunction("next", "lane + 1"),
+            new ExpressionFunction("ratio", "spd / type"), new ExpressionFunction("fast", "spd >= 60.0"),
+            new ExpressionFunction("copy", "name"), new ExpressionFunction("twice", "next * 2"));
+      final Schema schema = derive.getOutputSchema();
+      Assert.assertEquals(Long.class, schema.getAttribute("next").getType());
+      Assert.assertEquals(Double.class, schema.getAttribute("ratio").getType());
+      Assert.assertEquals(Boolean.class, schema.getAttribute("fast").getType());
+      Assert.assertEquals(String.class, schema.getAttribute("copy").getType());
+
+      final ExpressionFunction function = new ExpressionFunction("twice", "(lane + 1) * 2");
+      function.setSchema(SCHEMA.getAttributes());
+      Assert.assertEquals(10L, function.derive(new ArrayList<>(VALUES.get(0)), null));
+      Assert.assertNull(function.derive(new ArrayList<>(VALUES.get(3)), null));
+   }
+
+   /**
+    * Tests that constant sub-expressions are folded and that malformed or ill-typed expressions are
+    * rejected.
+    */
+   @Test
+   public void testParse() {
+      final Expression constant = ExpressionParser.parse("(1 + 2) * 3.0 - -1", SCHEMA.getAttributes());
+      Assert.assertTrue(constant instanceof Constant);
+      Assert.assertEquals(10.0, constant.evaluateDouble(null), 0.0);
+      Assert.assertEquals("((type == 2) && (lane != 4))", ExpressionParser.parse("type==2&&lane!=4",
+            SCHEMA.getAttributes()).toString());
+      for (final String invalid : new String[] { "type ==", "type = 2", "(type == 2", "speed > 2",
+            "name + 1", "type && lane", "name < 2", "'open", "type == 2)" }) {
+         try {
+            ExpressionParser.parse(invalid, SCHEMA.getAttributes());
+            Assert.fail("Expression '" + invalid + "' should be rejected.");
+         } catch (final IllegalArgumentException e) {
+            // expected
+         }
+      }
+      try {
+         new ExpressionPredicate(SCHEMA, "type + 2");
+         Assert.fail("Non-boolean expression should be rejected.");
+      } catch (final IllegalArgumentException e) {
+         // expected
+      }
+   }
+
+   /**
+    * Asserts that the given expression selects the test tuples with the given indexes, both when evaluated
+    * on data tuples and on a columnar page.
+    *
+    * @param expression
+    *           boolean expression
+    * @param expected
+    *           indexes of the selected tuples
+    */
+   private void assertSelects(final String expression, final int... expected) {
+      final ExpressionPredicate predicate = new ExpressionPredicate(SCHEMA, expression);
+      final ColumnarPage page = new ColumnarPage(SCHEMA, VALUES.size(), new StringDictionary());
+      final List<Integer> tuples = new ArrayList<>();
+      for (int i = 0; i < VALUES.size(); i++) {
+         final DataTuple tuple = new DataTuple(SCHEMA, VALUES.get(i));
+         page.put(tuple);
+         if (predicate.evaluate(tuple)) {
+            tuples.add(i);
+         }
+      }
+      final int[] selection = new int[page.size()];
+      final int count = predicate.evaluate(page, selection);
+      final List<Integer> rows = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+         rows.add(selection[i]);
+      }
+      final List<Integer> indexes = new ArrayList<>();
+      for (final int index : expected) {
+         indexes.add(index);
+      }
+      Assert.assertEquals(expression, indexes, tuples);
+      Assert.assertEquals(expression, indexes, rows);
+   }
+}
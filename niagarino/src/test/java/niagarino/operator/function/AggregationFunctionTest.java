@@ -10,6 +10,9 @@
 package niagarino.operator.function;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -118,6 +121,139 @@ public class AggregationFunctionTest {
       assertEquals(MAXIMUM, max, DELTA);
    }
 
+   /**
+    * Test case to check if primitive updates yield the same aggregates as updates with boxed values.
+    */
+   @Test
+   public void testPrimitiveUpdate() {
+      final AggregationFunction[] functions = new AggregationFunction[] { BuiltInAggregationFunction.SUM,
+            BuiltInAggregationFunction.AVG, BuiltInAggregationFunction.COUNT, BuiltInAggregationFunction.MIN,
+            BuiltInAggregationFunction.MAX, new ReversalRateAggregationFunction() };
+      for (final AggregationFunction function : functions) {
+         final Aggregator boxed = function.get();
+         final Aggregator primitive = function.get();
+         for (final Double value : VALUES) {
+            boxed.update(value);
+            if (value != null) {
+               primitive.update(value.doubleValue());
+            }
+         }
+         assertEquals(function.getName(), boxed.getValue(), primitive.getValue());
+      }
+   }
+
+   /**
+    * Test case to check that aggregators of user-defined functions receive the original value objects by
+    * default and that the default unboxed updates box and delegate.
+    */
+   @Test
+   public void testObjectUpdate() {
+      final AggregationFunction function = new AbstractAggregationFunction("LAST", Object.class) {
+
+         @Override
+         public Aggregator get() {
+            return new Aggregator() {
+
+               /** Last value. */
+               private Object last;
+
+               @Override
+               public Object getValue() {
+                  return this.last;
+               }
+
+               @Override
+               public boolean update(final Object value) {
+                  this.last = value;
+                  return true;
+               }
+            };
+         }
+      };
+      final GroupAggregator group = function.createGroupAggregator();
+      assertFalse(group.isNumeric());
+      group.resize(1);
+      final Integer value = Integer.valueOf(42);
+      group.update(0, value);
+      assertSame(value, group.getValue(0));
+
+      final Aggregator aggregator = function.get();
+      aggregator.update(42L);
+      assertEquals(Long.valueOf(42), aggregator.getValue());
+      aggregator.update(4.2);
+      assertEquals(Double.valueOf(4.2), aggregator.getValue());
+      assertTrue(new ReversalRateAggregationFunction().createGroupAggregator().isNumeric());
+   }
+
+   /**
+    * Test case to check if retracting values from invertible aggregates yields the aggregate of the
+    * remaining values.
+    */
+   @Test
+   public void testRetract() {
+      final int split = NUM_VALUES / 2;
+      final AggregationFunction[] functions = new AggregationFunction[] { BuiltInAggregationFunction.SUM,
+            BuiltInAggregationFunction.AVG, BuiltInAggregationFunction.COUNT };
+      for (final AggregationFunction function : functions) {
+         final InvertibleAggregator agg = (InvertibleAggregator) function.get();
+         final Aggregator tail = function.get();
+         for (int i = 0; i < NUM_VALUES; i++) {
+            agg.update(VALUES.get(i));
+            if (i >= split) {
+               tail.update(VALUES.get(i));
+            }
+         }
+         for (int i = 0; i < split; i++) {
+            agg.retract(VALUES.get(i));
+         }
+         final double expected = ((Number) tail.getValue()).doubleValue();
+         assertEquals(function.getName(), expected, ((Number) agg.getValue()).doubleValue(),
+               Math.abs(expected) * 1e-9);
+         for (int i = split; i < NUM_VALUES; i++) {
+            agg.retract(VALUES.get(i));
+         }
+         assertEquals(function.getName(), function.get().getValue(), agg.getValue());
+      }
+   }
+
+   /**
+    * Test case to check if merging the reversal rates of consecutive parts of a series yields the reversal
+    * rate of the whole series.
+    */
+   @Test
+   public void testReversalRateMerge() {
+      final AggregationFunction function = new ReversalRateAggregationFunction();
+      final Aggregator whole = function.get();
+      for (final Double value : VALUES) {
+         whole.update(value);
+      }
+      for (final int parts : new int[] { 2, 3, 7, 1000 }) {
+         final MergeableAggregator merged = (MergeableAggregator) function.get();
+         final int size = NUM_VALUES / parts;
+         for (int i = 0; i < NUM_VALUES; i += size) {
+            final Aggregator part = function.get();
+            for (int j = i; j < Math.min(i + size, NUM_VALUES); j++) {
+               part.update(VALUES.get(j));
+            }
+            merged.merge(part);
+         }
+         assertEquals(((Number) whole.getValue()).doubleValue(), ((Number) merged.getValue())
+               .doubleValue(), DELTA);
+      }
+      // parts that hold a single value
+      final MergeableAggregator merged = (MergeableAggregator) function.get();
+      for (final double value : new double[] { 1, 3, 2, 2, 5, 4 }) {
+         final Aggregator part = function.get();
+         part.update(value);
+         merged.merge(part);
+      }
+      final Aggregator single = function.get();
+      for (final double value : new double[] { 1, 3, 2, 2, 5, 4 }) {
+         single.update(value);
+      }
+      assertEquals(single.getValue(), merged.getValue());
+   }
+
    /**
     * Initializes the list of values to aggregate.
     */
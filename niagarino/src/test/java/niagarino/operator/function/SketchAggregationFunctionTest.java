@@ -0,0 +1,175 @@
+/*
+ * @(#)SketchAggregationFunctionTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.operator.function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import niagarino.operator.function.AggregationFunction.Type;
+import niagarino.stream.Attribute;
+
+/**
+ * Test cases for the approximate aggregation functions that are based on sketches.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class SketchAggregationFunctionTest {
+
+   /** Number of values that will be aggregated by the test cases. */
+   private static final int NUM_VALUES = 200000;
+
+   /** Number of partial aggregates that are merged by the test cases. */
+   private static final int NUM_PARTS = 8;
+
+   /**
+    * Test case to check if the distinct count is estimated within its error bound, also when partial
+    * aggregates are merged.
+    */
+   @Test
+   public void testCountDistinct() {
+      final AggregationFunction function = BuiltInAggregationFunction.forType(Type.COUNT_DISTINCT);
+      for (final int distinct : new int[] { 1, 100, 5000, 50000 }) {
+         final Random random = new Random(distinct);
+         final List<Object> values = new ArrayList<>();
+         for (int i = 0; i < NUM_VALUES; i++) {
+            values.add(i < distinct ? Integer.valueOf(i) : Integer.valueOf(random.nextInt(distinct)));
+         }
+         final Aggregator boxed = function.get();
+         final Aggregator primitive = function.get();
+         for (final Object value : values) {
+            boxed.update(value);
+            primitive.update(((Integer) value).longValue());
+         }
+         boxed.update(null);
+         final long estimate = ((Long) boxed.getValue()).longValue();
+         assertEquals(distinct, estimate, distinct * 0.05);
+         assertEquals(boxed.getValue(), primitive.getValue());
+         assertEquals(boxed.getValue(), this.merge(function, values).getValue());
+      }
+      // strings
+      final Aggregator agg = function.get();
+      for (int i = 0; i < NUM_VALUES; i++) {
+         agg.update("vehicle-" + (i % 30000));
+      }
+      assertEquals(30000, ((Long) agg.getValue()).longValue(), 30000 * 0.05);
+      // longs that are not exactly representable as doubles
+      final Aggregator large = function.get();
+      final Aggregator largePrimitive = function.get();
+      for (long i = 0; i < 50000; i++) {
+         large.update(Long.valueOf((1L << 60) + i));
+         largePrimitive.update((1L << 60) + i);
+      }
+      assertEquals(50000, ((Long) large.getValue()).longValue(), 50000 * 0.05);
+      assertEquals(large.getValue(), largePrimitive.getValue());
+      assertEquals(Long.valueOf(0), function.get().getValue());
+   }
+
+   /**
+    * Test case to check if the median and percentiles are estimated within their rank error bound, also when
+    * partial aggregates are merged.
+    */
+   @Test
+   public void testQuantile() {
+      final List<Object> values = new ArrayList<>();
+      for (int i = 0; i < NUM_VALUES; i++) {
+         values.add(Double.valueOf(i));
+      }
+      Collections.shuffle(values, new Random(NUM_VALUES));
+      final double error = NUM_VALUES * 0.02;
+      for (final double quantile : new double[] { 0.0, 0.05, 0.5, 0.95, 0.99, 1.0 }) {
+         final AggregationFunction function = quantile == 0.5 ? BuiltInAggregationFunction.MEDIAN
+               : BuiltInAggregationFunction.percentile(quantile);
+         final Aggregator agg = function.get();
+         for (final Object value : values) {
+            agg.update(value);
+         }
+         final double exact = quantile * (NUM_VALUES - 1);
+         assertEquals(exact, ((Double) agg.getValue()).doubleValue(), error);
+         assertEquals(exact, ((Double) this.merge(function, values).getValue()).doubleValue(), error);
+      }
+      // exact for small inputs
+      final Aggregator agg = BuiltInAggregationFunction.MEDIAN.get();
+      assertNull(agg.getValue());
+      for (final int value : new int[] { 5, 1, 4, 2, 3 }) {
+         agg.update(value);
+      }
+      assertEquals(Double.valueOf(3), agg.getValue());
+      assertEquals("PERCENTILE95(spd)", BuiltInAggregationFunction.forType(Type.PERCENTILE)
+            .getAggregatedAttribute(new Attribute("spd", Double.class)).getName());
+      assertEquals("PERCENTILE99.9", BuiltInAggregationFunction.percentile(0.999).getName());
+   }
+
+   /**
+    * Test case to check if the most frequent values are found, also when partial aggregates are merged.
+    */
+   @Test
+   public void testHeavyHitters() {
+      final Random random = new Random(NUM_VALUES);
+      final List<Object> values = new ArrayList<>();
+      for (int i = 0; i < NUM_VALUES; i++) {
+         if (i % 2 == 0) {
+            // five frequent values with clearly decreasing frequencies
+            final int rank = (int) (Math.pow(random.nextDouble(), 2.5) * 5);
+            values.add("frequent-" + rank);
+         } else {
+            values.add("rare-" + random.nextInt(NUM_VALUES));
+         }
+      }
+      final List<Object> expected = Arrays.<Object> asList("frequent-0", "frequent-1", "frequent-2");
+      final AggregationFunction function = BuiltInAggregationFunction.heavyHitters(3);
+      final Aggregator agg = function.get();
+      for (final Object value : values) {
+         agg.update(value);
+      }
+      assertEquals(expected, agg.getValue());
+      assertEquals(expected, this.merge(function, values).getValue());
+      final Aggregator all = BuiltInAggregationFunction.forType(Type.HEAVY_HITTERS).get();
+      for (final Object value : values) {
+         all.update(value);
+      }
+      final List< ? > result = (List< ? >) all.getValue();
+      assertEquals(HeavyHittersAggregationFunction.DEFAULT_K, result.size());
+      assertTrue(result.subList(0, 5).containsAll(Arrays.asList("frequent-0", "frequent-1", "frequent-2",
+            "frequent-3", "frequent-4")));
+      assertEquals(Collections.emptyList(), function.get().getValue());
+   }
+
+   /**
+    * Aggregates consecutive parts of the given values separately and merges the partial aggregates.
+    *
+    * @param function
+    *           aggregation function
+    * @param values
+    *           values to aggregate
+    * @return merged aggregator
+    */
+   private Aggregator merge(final AggregationFunction function, final List<Object> values) {
+      final MergeableAggregator result = (MergeableAggregator) function.get();
+      final int size = values.size() / NUM_PARTS;
+      for (int i = 0; i < values.size(); i += size) {
+         final Aggregator part = function.get();
+         for (final Object value : values.subList(i, Math.min(i + size, values.size()))) {
+            part.update(value);
+         }
+         result.merge(part);
+      }
+      return result;
+   }
+}
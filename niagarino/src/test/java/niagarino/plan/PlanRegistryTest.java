@@ -0,0 +1,329 @@
+/*
+ * @(#)PlanRegistryTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.plan;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.QueryException;
+import niagarino.operator.Operator;
+import niagarino.operator.Print;
+import niagarino.operator.SourceOperator;
+import niagarino.operator.ValueWindow;
+import niagarino.runtime.PhysicalQueryPlan;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.simulator.SequentialGenerationIterator;
+import niagarino.simulator.SequentialGenerationIterator.Sequence;
+import niagarino.stream.Attribute;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+
+/**
+ * Test cases for sharing common prefixes of query plans.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class PlanRegistryTest {
+
+   /** Schema for testing purposes. */
+   private static final Schema SCHEMA = new Schema(0, new Attribute("time", Long.class),
+         new Attribute("value", Double.class));
+
+   /** File to which to write result stream. */
+   private static final String OUT_FILENAME = "outstream.csv";
+
+   /** Number of tuples emitted by the source of finite plans. */
+   private static final int TUPLE_COUNT = 20000;
+
+   /** Number of tuples emitted by the source of plans that are detached while they are running. */
+   private static final int LONG_TUPLE_COUNT = 100000000;
+
+   /** Maximum time in milliseconds to wait for a running plan. */
+   private static final long TIMEOUT = 10000;
+
+   /** Paths of the XML query plan description files that share a common prefix. */
+   private static final String[] XML_FILE_PATHS = { "src/test/resources/plan/xml-plan-shared-1.xml",
+         "src/test/resources/plan/xml-plan-shared-2.xml" };
+
+   /** Files to which the XML query plans write their result streams. */
+   private static final String[] XML_OUT_FILENAMES = { "outstream-shared-1.csv", "outstream-shared-2.csv" };
+
+   /**
+    * Tests that plans with the same prefix share its operators and all receive its entire output.
+    *
+    * @throws Exception
+    *            if executing the query plans fails
+    */
+   @Test
+   public void testSharedPrefix() throws Exception {
+      final PlanRegistry registry = new PlanRegistry();
+      final AtomicInteger sources = new AtomicInteger();
+      final AtomicInteger[] counts = new AtomicInteger[3];
+      final PhysicalQueryPlan[] plans = new PhysicalQueryPlan[counts.length];
+      for (int i = 0; i < plans.length; i++) {
+         counts[i] = new AtomicInteger();
+         // the third plan uses a different window
+         plans[i] = this.attach(registry, "plan" + i, i < 2 ? 100 : 50, TUPLE_COUNT, sources, counts[i]);
+      }
+      Assert.assertEquals(1, sources.get());
+      Assert.assertEquals(3, registry.getSharedOperatorCount());
+      registry.start();
+      final Thread[] threads = new Thread[plans.length];
+      for (int i = 0; i < plans.length; i++) {
+         threads[i] = this.execute(plans[i]);
+      }
+      for (int i = 0; i < plans.length; i++) {
+         threads[i].join(TIMEOUT);
+         Assert.assertFalse(threads[i].isAlive());
+         Assert.assertEquals(TUPLE_COUNT, counts[i].get());
+      }
+   }
+
+   /**
+    * Tests that XML query plans with the same prefix share its operators and produce the same output as when
+    * they are executed on their own.
+    *
+    * @throws Exception
+    *            if reading or executing the query plans fails
+    */
+   @Test
+   public void testSharedXMLPrefix() throws Exception {
+      final long[] expected = new long[XML_FILE_PATHS.length];
+      for (int i = 0; i < XML_FILE_PATHS.length; i++) {
+         final XMLReader reader = new XMLReader(XML_FILE_PATHS[i]);
+         reader.read();
+         reader.createPlan().execute();
+         expected[i] = this.countLines(XML_OUT_FILENAMES[i]);
+         Assert.assertTrue(expected[i] > 0);
+      }
+      final PlanRegistry registry = new PlanRegistry();
+      final PhysicalQueryPlan[] plans = new PhysicalQueryPlan[XML_FILE_PATHS.length];
+      for (int i = 0; i < XML_FILE_PATHS.length; i++) {
+         final XMLReader reader = new XMLReader(XML_FILE_PATHS[i]);
+         reader.read();
+         plans[i] = registry.attach("plan" + i, reader);
+      }
+      // scan, selection and window are shared, the aggregate of the second plan is shared by itself
+      Assert.assertEquals(4, registry.getSharedOperatorCount());
+      Assert.assertNull(plans[0].getOperator("first-scan"));
+      Assert.assertNull(plans[0].getOperator("first-window"));
+      Assert.assertNotNull(plans[0].getOperator("first-print"));
+      Assert.assertNull(plans[1].getOperator("second-scan"));
+      Assert.assertNull(plans[1].getOperator("second-avgsv"));
+      Assert.assertNotNull(plans[1].getOperator("second-print"));
+      registry.start();
+      final Thread[] threads = new Thread[plans.length];
+      for (int i = 0; i < plans.length; i++) {
+         threads[i] = this.execute(plans[i]);
+      }
+      for (int i = 0; i < plans.length; i++) {
+         threads[i].join(TIMEOUT);
+         Assert.assertFalse(threads[i].isAlive());
+         Assert.assertEquals(expected[i], this.countLines(XML_OUT_FILENAMES[i]));
+      }
+   }
+
+   /**
+    * Tests that a plan can be attached to and detached from a running prefix and that the shared operators
+    * stop once no plan reads from them.
+    *
+    * @throws Exception
+    *            if executing the query plans fails
+    */
+   @Test
+   public void testAttachDetach() throws Exception {
+      final PlanRegistry registry = new PlanRegistry();
+      final AtomicInteger sources = new AtomicInteger();
+      final AtomicInteger first = new AtomicInteger();
+      final Operator source = registry.share(null, "source", () -> this.createSource(LONG_TUPLE_COUNT,
+            sources));
+      final PhysicalQueryPlan plan = this.attach(registry, "first", 100, LONG_TUPLE_COUNT, sources, first);
+      registry.start();
+      final Thread thread = this.execute(plan);
+      this.await(first, 1);
+      // attach a second plan to the running prefix
+      final AtomicInteger second = new AtomicInteger();
+      final Thread attached = this.execute(this.attach(registry, "second", 100, LONG_TUPLE_COUNT, sources,
+            second));
+      this.await(second, 1);
+      Assert.assertEquals(1, sources.get());
+      Assert.assertEquals(2, registry.getSharedOperatorCount());
+      registry.detach("second");
+      attached.join(TIMEOUT);
+      Assert.assertFalse(attached.isAlive());
+      Assert.assertTrue(thread.isAlive());
+      registry.detach("first");
+      thread.join(TIMEOUT);
+      Assert.assertFalse(thread.isAlive());
+      Assert.assertEquals(0, registry.getSharedOperatorCount());
+      Assert.assertTrue(second.get() < first.get());
+      Assert.assertTrue(first.get() < LONG_TUPLE_COUNT);
+      // the source is stopped as no plan reads from it anymore
+      final long end = System.currentTimeMillis() + TIMEOUT;
+      while (source.isRunning() && System.currentTimeMillis() < end) {
+         Thread.sleep(10);
+      }
+      Assert.assertFalse(source.isRunning());
+      try {
+         registry.detach("first");
+         Assert.fail("Plan is still attached.");
+      } catch (final IllegalArgumentException e) {
+         // expected
+      }
+   }
+
+   /**
+    * Tests that plans attached to a running prefix receive its output, both if they read from a running
+    * shared operator and if they add a shared operator that reads from a running one.
+    *
+    * @throws Exception
+    *            if executing the query plans fails
+    */
+   @Test
+   public void testAttachWhileRunning() throws Exception {
+      final PlanRegistry registry = new PlanRegistry();
+      final AtomicInteger sources = new AtomicInteger();
+      final AtomicInteger first = new AtomicInteger();
+      final Thread thread = this.execute(this.attach(registry, "first", 100, LONG_TUPLE_COUNT, sources,
+            first));
+      registry.start();
+      this.await(first, 1);
+      for (int i = 0; i < 10; i++) {
+         final AtomicInteger count = new AtomicInteger();
+         // even plans share the running window, odd plans attach a new window to the running source
+         final int size = i % 2 == 0 ? 100 : 50 + i;
+         final Thread attached = this.execute(this.attach(registry, "plan" + i, size, LONG_TUPLE_COUNT,
+               sources, count));
+         this.await(count, 1);
+         registry.detach("plan" + i);
+         attached.join(TIMEOUT);
+         Assert.assertFalse(attached.isAlive());
+      }
+      Assert.assertEquals(1, sources.get());
+      Assert.assertEquals(2, registry.getSharedOperatorCount());
+      registry.detach("first");
+      thread.join(TIMEOUT);
+      Assert.assertFalse(thread.isAlive());
+   }
+
+   /**
+    * Attaches a plan that sends the tuples of the shared source through a shared window of the given size to
+    * a sink that counts them.
+    *
+    * @param registry
+    *           plan registry
+    * @param planId
+    *           id of the plan
+    * @param size
+    *           size of the window
+    * @param tupleCount
+    *           number of tuples emitted by the source
+    * @param sources
+    *           counter of the created sources
+    * @param count
+    *           counter of the tuples received by the sink
+    * @return the operators of the plan that are not shared
+    * @throws FileNotFoundException
+    *            if the output file cannot be created
+    */
+   private PhysicalQueryPlan attach(final PlanRegistry registry, final String planId, final int size,
+         final int tupleCount, final AtomicInteger sources, final AtomicInteger count)
+         throws FileNotFoundException {
+      final Operator source = registry.share(null, "source", () -> this.createSource(tupleCount, sources));
+      final Operator window = registry.share(source, "window" + size,
+            () -> new ValueWindow(planId + "-window", SCHEMA, size, size, 0));
+      final Print sink = new Print(planId + "-sink", SCHEMA, false, new PrintStream(new File(OUT_FILENAME))) {
+
+         @Override
+         protected void processTuple(final int input, final DataTuple tuple) {
+            count.incrementAndGet();
+         }
+      };
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.addOperator(sink, OperatorType.SOURCE, OperatorType.SINK);
+      registry.connect(planId, window, sink);
+      return plan;
+   }
+
+   /**
+    * Creates a source that emits the given number of tuples and counts how many sources have been created.
+    *
+    * @param tupleCount
+    *           number of tuples
+    * @param sources
+    *           counter of the created sources
+    * @return source operator
+    */
+   private Operator createSource(final int tupleCount, final AtomicInteger sources) {
+      sources.incrementAndGet();
+      return new SourceOperator("source", SCHEMA, new SequentialGenerationIterator(SCHEMA,
+            Arrays.asList(new Sequence(0, tupleCount, 1))));
+   }
+
+   /**
+    * Executes the given plan in a new thread.
+    *
+    * @param plan
+    *           physical query plan
+    * @return thread executing the plan
+    */
+   private Thread execute(final PhysicalQueryPlan plan) {
+      final Thread thread = new Thread(() -> {
+         try {
+            plan.execute();
+         } catch (final QueryException e) {
+            throw new RuntimeException(e);
+         }
+      });
+      thread.start();
+      return thread;
+   }
+
+   /**
+    * Counts the lines of the given file.
+    *
+    * @param filename
+    *           name of the file
+    * @return number of lines
+    * @throws IOException
+    *            if the file cannot be read
+    */
+   private long countLines(final String filename) throws IOException {
+      return Files.readAllLines(Paths.get(filename)).size();
+   }
+
+   /**
+    * Waits until the given counter has reached the given value.
+    *
+    * @param counter
+    *           counter
+    * @param value
+    *           value to wait for
+    * @throws InterruptedException
+    *            if the thread is interrupted while waiting
+    */
+   private void await(final AtomicInteger counter, final int value) throws InterruptedException {
+      final long end = System.currentTimeMillis() + TIMEOUT;
+      while (counter.get() < value && System.currentTimeMillis() < end) {
+         Thread.sleep(10);
+      }
+      Assert.assertTrue(counter.get() >= value);
+   }
+}
@@ -15,9 +15,13 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 import niagarino.QueryException;
+import niagarino.operator.Exchange;
+import niagarino.operator.ExchangeMerge;
+import niagarino.operator.OrderedAggregate;
 import niagarino.runtime.PhysicalQueryPlan;
 
 /**
@@ -31,6 +35,16 @@ public class SchemaTest {
    /** Path of the XML query plan description file. */
    private static final String XML_FILE_PATH = "src/test/resources/plan/xml-plan-generic.xml";
 
+   /** Path of the XML query plan description file that runs an operator in parallel. */
+   private static final String XML_PARALLEL_FILE_PATH = "src/test/resources/plan/xml-plan-parallel.xml";
+
+   /** Path of the XML query plan description file whose sink is to run in parallel. */
+   private static final String XML_PARALLEL_SINK_FILE_PATH =
+         "src/test/resources/plan/xml-plan-parallel-sink.xml";
+
+   /** Path of the XML query plan description file that uses expressions. */
+   private static final String XML_EXPRESSION_FILE_PATH = "src/test/resources/plan/xml-plan-expression.xml";
+
    /**
     * Tests the JAXB schema definition and parsing.
     *
@@ -65,4 +79,64 @@ public class SchemaTest {
       final PhysicalQueryPlan plan = reader.createPlan();
       plan.execute();
    }
+
+   /**
+    * Tests the creation of a query plan, in which an operator runs in replicas behind an exchange.
+    *
+    * @throws QueryException
+    *            if executing the query plan fails
+    * @throws JAXBException
+    *            if something is wrong with the JAXB schema definition or the example file
+    * @throws ClassNotFoundException
+    *            if for an operator there is a class specified which doesn't exist
+    */
+   @Test
+   public void testXMLReaderParallel() throws QueryException, JAXBException, ClassNotFoundException {
+      final XMLReader reader = new XMLReader(SchemaTest.XML_PARALLEL_FILE_PATH);
+      reader.read();
+      final PhysicalQueryPlan plan = reader.createPlan();
+      Assert.assertTrue(plan.getOperator("avgsv-exchange") instanceof Exchange);
+      Assert.assertTrue(plan.getOperator("avgsv-0") instanceof OrderedAggregate);
+      Assert.assertTrue(plan.getOperator("avgsv-1") instanceof OrderedAggregate);
+      Assert.assertTrue(plan.getOperator("avgsv-merge") instanceof ExchangeMerge);
+      Assert.assertNull(plan.getOperator("avgsv"));
+      plan.execute();
+   }
+
+   /**
+    * Tests that a plan description, in which a sink is to run in parallel, is rejected.
+    *
+    * @throws JAXBException
+    *            if something is wrong with the JAXB schema definition or the example file
+    * @throws ClassNotFoundException
+    *            if for an operator there is a class specified which doesn't exist
+    */
+   @Test
+   public void testXMLReaderParallelSink() throws JAXBException, ClassNotFoundException {
+      final XMLReader reader = new XMLReader(SchemaTest.XML_PARALLEL_SINK_FILE_PATH);
+      try {
+         reader.read();
+         Assert.fail("Sink should not run in parallel.");
+      } catch (final QueryException e) {
+         Assert.assertTrue(e.getMessage().contains("lav-print"));
+      }
+   }
+
+   /**
+    * Tests the creation of a query plan with selections and derivations that are given as expressions.
+    *
+    * @throws QueryException
+    *            if executing the query plan fails
+    * @throws JAXBException
+    *            if something is wrong with the JAXB schema definition or the example file
+    * @throws ClassNotFoundException
+    *            if for an operator there is a class specified which doesn't exist
+    */
+   @Test
+   public void testXMLReaderExpression() throws QueryException, JAXBException, ClassNotFoundException {
+      final XMLReader reader = new XMLReader(SchemaTest.XML_EXPRESSION_FILE_PATH);
+      reader.read();
+      final PhysicalQueryPlan plan = reader.createPlan();
+      plan.execute();
+   }
 }
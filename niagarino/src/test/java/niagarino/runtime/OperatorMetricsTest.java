@@ -0,0 +1,133 @@
+/*
+ * @(#)OperatorMetricsTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.QueryException;
+import niagarino.operator.NoOp;
+import niagarino.operator.Print;
+import niagarino.operator.SourceOperator;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.simulator.SequentialGenerationIterator;
+import niagarino.simulator.SequentialGenerationIterator.Sequence;
+import niagarino.stream.Attribute;
+import niagarino.stream.Schema;
+
+/**
+ * Unit tests for the latency histogram and the live metrics of operators and streams.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class OperatorMetricsTest {
+
+   /** Schema to use in tests. */
+   private static final Schema SCHEMA = new Schema(0, new Attribute("progValue", Long.class),
+         new Attribute("value", Double.class));
+
+   /** Number of tuples emitted by the source. */
+   private static final int TUPLE_COUNT = 10000;
+
+   /**
+    * Tests that every latency falls into a bucket whose upper bound is at most 25% larger than the latency.
+    */
+   @Test
+   public void testBuckets() {
+      final Random random = new Random(42);
+      for (int i = 0; i < 10000; i++) {
+         final long latency = random.nextLong() >>> 1 + random.nextInt(Long.SIZE - 1);
+         final int bucket = LatencyHistogram.bucket(latency);
+         final long upperBound = LatencyHistogram.upperBound(bucket);
+         Assert.assertTrue(latency <= upperBound);
+         Assert.assertTrue(upperBound - latency <= latency / 4);
+         if (bucket > 0) {
+            Assert.assertTrue(latency > LatencyHistogram.upperBound(bucket - 1));
+         }
+      }
+      final int last = LatencyHistogram.bucket(Long.MAX_VALUE);
+      Assert.assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(last));
+   }
+
+   /**
+    * Tests the count, mean, and percentiles of a latency histogram.
+    */
+   @Test
+   public void testHistogram() {
+      final LatencyHistogram histogram = new LatencyHistogram();
+      Assert.assertEquals(0, histogram.getPercentile(0.5));
+      for (int i = 1; i <= 1000; i++) {
+         histogram.record(i * 1000L);
+      }
+      Assert.assertEquals(1000, histogram.getCount());
+      Assert.assertEquals(500500.0, histogram.getMean(), 0.0);
+      final long median = histogram.getPercentile(0.5);
+      Assert.assertTrue(median >= 500000 && median <= 625000);
+      final long tail = histogram.getPercentile(0.99);
+      Assert.assertTrue(tail >= 990000 && tail <= 1237500);
+   }
+
+   /**
+    * Tests that executing a plan with metrics enabled counts all tuples, records the end-to-end latency of
+    * every tuple at the sink, and unregisters all management beans afterwards.
+    *
+    * @throws QueryException
+    *            if executing the query plan fails
+    * @throws JMException
+    *            if querying the platform MBean server fails
+    */
+   @Test
+   public void testPlanMetrics() throws QueryException, JMException {
+      final SequentialGenerationIterator it = new SequentialGenerationIterator(SCHEMA,
+            Arrays.asList(new Sequence(0, TUPLE_COUNT, 1)));
+      final SourceOperator source = new SourceOperator("source", SCHEMA, it);
+      final NoOp noop = new NoOp(SCHEMA);
+      final Print print = new Print("print", SCHEMA, false, new PrintStream(new ByteArrayOutputStream()));
+
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.setMetricsEnabled(true);
+      plan.addOperator(source, OperatorType.SOURCE);
+      plan.addOperator(noop);
+      plan.addOperator(print, OperatorType.SINK);
+      plan.addStream(source, noop);
+      plan.addStream(noop, print);
+      plan.execute();
+
+      Assert.assertEquals(3, plan.getMetrics().size());
+      for (final OperatorMetrics metrics : plan.getMetrics()) {
+         if (metrics.getOperatorName().equals("source")) {
+            Assert.assertEquals(TUPLE_COUNT, metrics.getOutputTuples());
+            Assert.assertEquals(0, metrics.getLatencyCount());
+         } else if (metrics.getOperatorName().equals("print")) {
+            Assert.assertEquals(TUPLE_COUNT, metrics.getInputTuples());
+            Assert.assertEquals(TUPLE_COUNT, metrics.getLatencyCount());
+            Assert.assertTrue(metrics.getTailLatency() >= metrics.getMedianLatency());
+         } else {
+            Assert.assertEquals(TUPLE_COUNT, metrics.getInputTuples());
+            Assert.assertEquals(TUPLE_COUNT, metrics.getOutputTuples());
+            Assert.assertTrue(metrics.getInputRate() > 0);
+         }
+      }
+      Assert.assertEquals(2, plan.getStreamMetrics().size());
+      Assert.assertEquals("source->NoOp", plan.getStreamMetrics().get(0).getStreamName());
+      Assert.assertTrue(ManagementFactory.getPlatformMBeanServer()
+            .queryNames(new ObjectName("niagarino:*"), null).isEmpty());
+   }
+}
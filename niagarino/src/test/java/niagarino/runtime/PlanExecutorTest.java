@@ -0,0 +1,262 @@
+/*
+ * @(#)PlanExecutorTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.runtime;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.QueryException;
+import niagarino.operator.AbstractOperator;
+import niagarino.operator.Multiplex;
+import niagarino.operator.OrderedAggregate;
+import niagarino.operator.ProgressingMerge;
+import niagarino.operator.SourceOperator;
+import niagarino.operator.ValueWindow;
+import niagarino.operator.function.AggregationFunction;
+import niagarino.operator.function.BuiltInAggregationFunction;
+import niagarino.runtime.PhysicalQueryPlan.OperatorType;
+import niagarino.simulator.SequentialGenerationIterator;
+import niagarino.simulator.SequentialGenerationIterator.Sequence;
+import niagarino.stream.Attribute;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+import niagarino.stream.StreamBufferType;
+import niagarino.util.PropertiesReader;
+
+/**
+ * Unit tests for the different {@link PlanExecutor} implementations.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class PlanExecutorTest {
+
+   /** Schema to use in tests. */
+   private static final Schema SCHEMA = new Schema(0, new Attribute("progValue", Long.class),
+         new Attribute("value", Double.class));
+
+   /** Number of tuples emitted by the source. */
+   private static final int TUPLE_COUNT = 20000;
+
+   /** Number of tuples emitted by the source of plans that are terminated while they are running. */
+   private static final int LONG_TUPLE_COUNT = 100000000;
+
+   /** Maximum time in milliseconds to wait for a terminated plan. */
+   private static final long TIMEOUT = 10000;
+
+   /**
+    * Tests executing a plan with one thread per operator.
+    *
+    * @throws QueryException
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testThreadExecutor() throws QueryException {
+      this.executePlan(new ThreadExecutor());
+   }
+
+   /**
+    * Tests executing a plan in work quanta on a work-stealing pool with fewer workers than operators.
+    *
+    * @throws QueryException
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testWorkStealingExecutor() throws QueryException {
+      final PhysicalQueryPlan plan = this.executePlan(new WorkStealingExecutor(2, 16));
+      for (final OperatorStatistics stats : plan.getStatistics()) {
+         Assert.assertTrue(stats.getQuanta() > 0);
+      }
+   }
+
+   /**
+    * Tests executing a plan in work quanta on virtual threads, or platform threads if they are unsupported.
+    *
+    * @throws QueryException
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testVirtualThreadExecutor() throws QueryException {
+      this.executePlan(new VirtualThreadExecutor(16));
+   }
+
+   /**
+    * Tests terminating a running plan whose streams are backed by lock-free rings with a thread per operator.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testTerminateThreadExecutor() throws Exception {
+      this.terminatePlan(new ThreadExecutor());
+   }
+
+   /**
+    * Tests terminating a running plan whose streams are backed by lock-free rings on a work-stealing pool.
+    *
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   @Test
+   public void testTerminateWorkStealingExecutor() throws Exception {
+      this.terminatePlan(new WorkStealingExecutor(2, 16));
+   }
+
+   /**
+    * Terminates a plan, in which a fast source is blocked on the full stream of a slow sink, and checks that
+    * all operators stop. The streams are backed by rings, which only the consuming operator may clear.
+    *
+    * @param executor
+    *           plan executor
+    * @throws Exception
+    *            if executing the query plan fails
+    */
+   private void terminatePlan(final PlanExecutor executor) throws Exception {
+      final Properties properties = PropertiesReader.getPropertiesReader().getProperties();
+      final String oldBuffer = properties.getProperty(PropertiesReader.STREAM_BUFFER);
+      properties.setProperty(PropertiesReader.STREAM_BUFFER, StreamBufferType.RING.name());
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      try {
+         final SourceOperator source = new SourceOperator("source", SCHEMA, new SequentialGenerationIterator(
+               SCHEMA, Arrays.asList(new Sequence(0, LONG_TUPLE_COUNT, 1))));
+         final AbstractOperator sink = new AbstractOperator("sink", Arrays.asList(SCHEMA)) {
+
+            @Override
+            public Schema getOutputSchema() {
+               return this.getInputSchemas().get(0);
+            }
+
+            @Override
+            protected void processTuple(final int input, final DataTuple tuple) {
+               try {
+                  Thread.sleep(1);
+               } catch (final InterruptedException e) {
+                  Thread.currentThread().interrupt();
+               }
+            }
+         };
+         plan.setExecutor(executor);
+         // the sink has to run separately, so that the source blocks on the stream between them
+         plan.setFusionEnabled(false);
+         plan.addOperator(source, OperatorType.SOURCE);
+         plan.addOperator(sink, OperatorType.SINK);
+         plan.addStream(source, sink);
+      } finally {
+         if (oldBuffer == null) {
+            properties.remove(PropertiesReader.STREAM_BUFFER);
+         } else {
+            properties.setProperty(PropertiesReader.STREAM_BUFFER, oldBuffer);
+         }
+      }
+      final Thread thread = new Thread(() -> {
+         try {
+            plan.execute();
+         } catch (final QueryException e) {
+            throw new RuntimeException(e);
+         }
+      });
+      thread.start();
+      // give the source time to fill the stream
+      Thread.sleep(200);
+      plan.terminate();
+      thread.join(TIMEOUT);
+      Assert.assertFalse(thread.isAlive());
+   }
+
+   /**
+    * Executes a plan that counts all tuples twice with the given executor and checks the result.
+    *
+    * @param executor
+    *           plan executor
+    * @return executed plan
+    * @throws QueryException
+    *            if executing the query plan fails
+    */
+   private PhysicalQueryPlan executePlan(final PlanExecutor executor) throws QueryException {
+      final SequentialGenerationIterator it = new SequentialGenerationIterator(SCHEMA,
+            Arrays.asList(new Sequence(0, TUPLE_COUNT, 1)));
+      final SourceOperator source = new SourceOperator("source", SCHEMA, it);
+      final Multiplex multiplex = new Multiplex(SCHEMA, 2);
+      final ValueWindow window1 = new ValueWindow("window1", SCHEMA, 100, 100);
+      final ValueWindow window2 = new ValueWindow("window2", SCHEMA, 100, 100);
+      final AggregationFunction[] count = new AggregationFunction[] { BuiltInAggregationFunction.COUNT };
+      final OrderedAggregate aggr1 = new OrderedAggregate("aggr1", window1.getOutputSchema(), new int[0],
+            new int[] { 1 }, count);
+      final OrderedAggregate aggr2 = new OrderedAggregate("aggr2", window2.getOutputSchema(), new int[0],
+            new int[] { 1 }, count);
+      final ProgressingMerge merge = new ProgressingMerge("merge", aggr1.getOutputSchema(),
+            aggr2.getOutputSchema());
+      final CountSink sink = new CountSink(merge.getOutputSchema());
+
+      final PhysicalQueryPlan plan = new PhysicalQueryPlan();
+      plan.setExecutor(executor);
+      plan.setStatisticsEnabled(true);
+      plan.addOperator(source, OperatorType.SOURCE);
+      plan.addOperator(multiplex);
+      plan.addOperator(window1);
+      plan.addOperator(window2);
+      plan.addOperator(aggr1);
+      plan.addOperator(aggr2);
+      plan.addOperator(merge);
+      plan.addOperator(sink, OperatorType.SINK);
+
+      plan.addStream(source, multiplex);
+      plan.addStream(multiplex, window1);
+      plan.addStream(multiplex, window2);
+      plan.addStream(window1, aggr1);
+      plan.addStream(window2, aggr2);
+      plan.addStream(aggr1, merge);
+      plan.addStream(aggr2, merge);
+      plan.addStream(merge, sink);
+
+      plan.execute();
+      Assert.assertEquals(2 * TUPLE_COUNT, sink.count);
+      return plan;
+   }
+
+   /**
+    * Sink that sums up all counts reported by the aggregates.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static class CountSink extends AbstractOperator {
+
+      /** Sum of all reported counts. */
+      private long count;
+
+      /**
+       * Constructs a new count sink.
+       *
+       * @param inputSchema
+       *           input schema
+       */
+      CountSink(final Schema inputSchema) {
+         super("sink", Arrays.asList(inputSchema));
+         this.count = 0;
+      }
+
+      @Override
+      public Schema getOutputSchema() {
+         return this.getInputSchemas().get(0);
+      }
+
+      @Override
+      protected void processTuple(final int input, final DataTuple tuple) {
+         // the merge joins the counts of both aggregates into one tuple
+         for (int i = 1; i < tuple.getSchema().getSize(); i++) {
+            this.count += (Long) tuple.getAttributeValue(i);
+         }
+      }
+   }
+}
@@ -0,0 +1,177 @@
+/*
+ * @(#)ConcurrentIntMapStorageTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.operator.SegmentedStorageWrite;
+import niagarino.stream.Attribute;
+import niagarino.stream.DataTuple;
+import niagarino.stream.PunctuationControl;
+import niagarino.stream.Schema;
+
+/**
+ * Tests the ConcurrentIntMapStorage and waiting for segments of a SegmentedStorage.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ConcurrentIntMapStorageTest {
+
+   /** The minimum key to use for the storage tests. */
+   private static final int MIN = -100000;
+   /** The maximum key to use for the storage tests. */
+   private static final int MAX = 100000;
+   /** Number of concurrent writers. */
+   private static final int WRITERS = 4;
+
+   /** Schema for testing purposes. */
+   private static final Schema SCHEMA = new Schema(0, new Attribute("time", Integer.class),
+         new Attribute("key", Integer.class));
+
+   /** Update function that counts the tuples per key. */
+   private static final Functions COUNT = new Functions();
+
+   /**
+    * Tests whether values inserted in random order, including <code>null</code> values, can be retrieved and
+    * overwritten.
+    */
+   @Test
+   public void testInsertRead() {
+      final MapStorage<String> storage = new ConcurrentIntMapStorage<>(16);
+      final List<Integer> numbers = new ArrayList<>();
+      for (int i = MIN; i < MAX; i++) {
+         numbers.add(i);
+      }
+      Collections.shuffle(numbers);
+      final StorageWriter<String> writer = storage.getWriter();
+      for (final Integer number : numbers) {
+         writer.put(number.intValue(), number % 7 == 0 ? null : Integer.toString(number + 10));
+      }
+      writer.put(Integer.valueOf(MAX), "last");
+      final StorageReader<String> reader = storage.getReader();
+      for (int i = MIN; i < MAX; i++) {
+         Assert.assertEquals(i % 7 == 0 ? null : Integer.toString(i + 10), reader.get(i));
+      }
+      Assert.assertEquals("last", reader.get(Integer.valueOf(MAX)));
+      Assert.assertNull(reader.get(MAX + 1));
+      writer.put(MIN, "first");
+      Assert.assertEquals("first", reader.get(MIN));
+   }
+
+   /**
+    * Tests whether concurrent updates of the same keys are not lost.
+    *
+    * @throws InterruptedException
+    *            if interrupted while waiting for the writers
+    */
+   @Test
+   public void testConcurrentUpdate() throws InterruptedException {
+      final MapStorage<Integer> storage = new ConcurrentIntMapStorage<>();
+      final Thread[] threads = new Thread[WRITERS];
+      for (int i = 0; i < threads.length; i++) {
+         threads[i] = new Thread(() -> {
+            for (int key = 0; key < 10000; key++) {
+               storage.update(key % 1000, null, COUNT);
+            }
+         });
+         threads[i].start();
+      }
+      for (final Thread thread : threads) {
+         thread.join();
+      }
+      for (int key = 0; key < 1000; key++) {
+         Assert.assertEquals(Integer.valueOf(10 * WRITERS), storage.getReader().get(key));
+      }
+   }
+
+   /**
+    * Tests whether a reader that waits for a segment is woken when all writers have closed the segment, and
+    * whether a reader that waits for a segment that is never closed is released at the end of the stream.
+    *
+    * @throws Exception
+    *            if the reader fails
+    */
+   @Test
+   public void testAwaitSegment() throws Exception {
+      final String name = "concurrent-storage-test";
+      final SegmentedStorage<Integer> storage = new SegmentedStorage<>(name,
+            new ConcurrentIntMapStorage.ConcurrentIntMapStorageFactory<Integer>(), 10);
+      try {
+         final List<SegmentedStorageWrite<Integer>> writers = new ArrayList<>();
+         for (int i = 0; i < 2; i++) {
+            writers.add(new SegmentedStorageWrite<>("write-" + i, SCHEMA, name, COUNT, COUNT));
+         }
+         final Object[] segment = new Object[] { 1 };
+         for (int i = 0; i < 10; i++) {
+            storage.processTuple(new DataTuple(SCHEMA, Arrays.<Object> asList(1, i % 3)), segment, COUNT);
+         }
+         final List<Object> results = Collections.synchronizedList(new ArrayList<>());
+         final Thread reader = new Thread(() -> {
+            results.add(storage.awaitSegmentReader(1).get(0));
+            results.add(storage.awaitSegmentReader(2));
+         });
+         reader.start();
+         storage.closeSegment(1);
+         Thread.sleep(50);
+         Assert.assertTrue(results.isEmpty());
+         storage.closeSegment(1);
+         for (int i = 0; i < writers.size(); i++) {
+            Assert.assertFalse(storage.isClosed());
+            storage.setEOS();
+         }
+         reader.join(10000);
+         Assert.assertEquals(Arrays.asList(4, null), results);
+         Assert.assertNull(storage.awaitSegmentReader(3));
+      } finally {
+         SegmentedStorage.removeInstanceByName(name);
+      }
+   }
+
+   /**
+    * Segmentation and update functions that count the tuples per key.
+    *
+    * @author agent &lt;agent@local&gt;
+    * @version 1.0
+    */
+   private static class Functions implements SegmentationKeyFunction, StorageUpdateFunction<Integer> {
+
+      @Override
+      public int getTupleNumericKey(final DataTuple tuple) {
+         return (Integer) tuple.getAttributeValue(1);
+      }
+
+      @Override
+      public Object getTupleKey(final DataTuple tuple) {
+         return tuple.getAttributeValue(1);
+      }
+
+      @Override
+      public Integer getUpdatedValue(final Integer oldValue, final DataTuple tuple) {
+         return oldValue == null ? 1 : oldValue + 1;
+      }
+
+      @Override
+      public Object[] getSegmentKeys(final DataTuple tuple) {
+         return new Object[] { tuple.getAttributeValue(0) };
+      }
+
+      @Override
+      public Object[] getSegmentKeys(final PunctuationControl punctuation) {
+         return new Object[] { (int) punctuation.getSegmentEnd() };
+      }
+   }
+}
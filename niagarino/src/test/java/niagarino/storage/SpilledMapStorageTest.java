@@ -0,0 +1,214 @@
+/*
+ * @(#)SpilledMapStorageTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.storage;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import niagarino.stream.Attribute;
+import niagarino.stream.DataTuple;
+import niagarino.stream.Schema;
+
+/**
+ * Tests moving closed segments out of the heap.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class SpilledMapStorageTest {
+
+   /** Number of keys of the test storages. */
+   private static final int SIZE = 10000;
+
+   /** Codec for long values. */
+   private static final ValueCodec<Long> CODEC = new ValueCodec<Long>() {
+
+      @Override
+      public int getWidth() {
+         return Long.BYTES;
+      }
+
+      @Override
+      public void encode(final Long value, final ByteBuffer buffer, final int offset) {
+         buffer.putLong(offset, value);
+      }
+
+      @Override
+      public Long decode(final ByteBuffer buffer, final int offset) {
+         return buffer.getLong(offset);
+      }
+   };
+
+   /**
+    * Tests whether all values of a segment spilled to a direct buffer or to a memory-mapped file can be read.
+    */
+   @Test
+   public void testSpill() {
+      final File directory = new File(System.getProperty("java.io.tmpdir"));
+      for (final SpillingMapStorageFactory<Long> factory : Arrays.asList(new SpillingMapStorageFactory<>(
+            SIZE, CODEC, null, 2), new SpillingMapStorageFactory<>(SIZE, CODEC, directory, 2))) {
+         final MapStorage<Long> storage = this.fill(factory, 0);
+         final MapStorage<Long> spilled = factory.close(storage);
+         Assert.assertTrue(spilled instanceof SpilledMapStorage);
+         Assert.assertEquals(SIZE, spilled.size());
+         this.check(spilled, 0);
+         Assert.assertNull(spilled.getReader().get(SIZE * 3));
+         Assert.assertNull(spilled.getReader().get("key"));
+         try {
+            spilled.getWriter().put(1, Long.valueOf(1));
+            Assert.fail("Spilled storage should be read-only.");
+         } catch (final UnsupportedOperationException e) {
+            // expected
+         }
+      }
+   }
+
+   /**
+    * Tests whether segments are evicted from the cache of decoded values and can still be read afterwards.
+    */
+   @Test
+   public void testCache() {
+      final SpillingMapStorageFactory<Long> factory = new SpillingMapStorageFactory<>(SIZE, CODEC, null, 2);
+      final SpilledMapStorage<Long>[] segments = this.spill(factory, 3);
+      this.check(segments[0], 0);
+      this.check(segments[1], 1);
+      Assert.assertNotNull(segments[0].getDecoded());
+      Assert.assertNotNull(segments[1].getDecoded());
+      // both cached segments have been read, so the hand clears them and evicts the first one
+      this.check(segments[2], 2);
+      Assert.assertNull(segments[0].getDecoded());
+      Assert.assertNotNull(segments[1].getDecoded());
+      Assert.assertNotNull(segments[2].getDecoded());
+      // only the third segment has been read since, so the second one is evicted
+      this.check(segments[0], 0);
+      Assert.assertNotNull(segments[0].getDecoded());
+      Assert.assertNull(segments[1].getDecoded());
+      Assert.assertNotNull(segments[2].getDecoded());
+      this.check(segments[1], 1);
+      factory.release(segments[1]);
+      Assert.assertNull(segments[1].getDecoded());
+   }
+
+   /**
+    * Tests whether segments can be read without a cache, in which case no decoded values are kept.
+    */
+   @Test
+   public void testWithoutCache() {
+      final SpillingMapStorageFactory<Long> factory = new SpillingMapStorageFactory<>(SIZE, CODEC, null, 0);
+      final SpilledMapStorage<Long>[] segments = this.spill(factory, 2);
+      this.check(segments[0], 0);
+      this.check(segments[1], 1);
+      Assert.assertNull(segments[0].getDecoded());
+      Assert.assertNull(segments[1].getDecoded());
+   }
+
+   /**
+    * Tests whether a segmented storage reads closed segments from spilled storages.
+    */
+   @Test
+   public void testSegmentedStorage() {
+      final String name = "spilled-storage-test";
+      final Schema schema = new Schema(0, new Attribute("time", Integer.class), new Attribute("key",
+            Integer.class));
+      final StorageUpdateFunction<Long> sum = new StorageUpdateFunction<Long>() {
+
+         @Override
+         public int getTupleNumericKey(final DataTuple tuple) {
+            return (Integer) tuple.getAttributeValue(1);
+         }
+
+         @Override
+         public Object getTupleKey(final DataTuple tuple) {
+            return tuple.getAttributeValue(1);
+         }
+
+         @Override
+         public Long getUpdatedValue(final Long oldValue, final DataTuple tuple) {
+            return (oldValue == null ? 0 : oldValue) + (Integer) tuple.getAttributeValue(0);
+         }
+      };
+      final SegmentedStorage<Long> storage = new SegmentedStorage<>(name, new SpillingMapStorageFactory<>(
+            -1, CODEC, null, 1), 1);
+      try {
+         for (int time = 0; time < 100; time++) {
+            storage.processTuple(new DataTuple(schema, Arrays.<Object> asList(time, time % 10)),
+                  new Object[] { time / 50 }, sum);
+         }
+         storage.closeSegment(0);
+         Assert.assertEquals(Long.valueOf(0 + 10 + 20 + 30 + 40), storage.getSegmentReader(0).get(0));
+         storage.closeSegment(1);
+         Assert.assertEquals(Long.valueOf(59 + 69 + 79 + 89 + 99), storage.getSegmentReader(1).get(9));
+         try {
+            storage.getSegmentReader(0);
+            Assert.fail("Segment should have been removed from the history.");
+         } catch (final IllegalArgumentException e) {
+            // expected
+         }
+      } finally {
+         SegmentedStorage.removeInstanceByName(name);
+      }
+   }
+
+   /**
+    * Creates and spills the given number of segments.
+    *
+    * @param factory
+    *           storage factory
+    * @param count
+    *           number of segments
+    * @return spilled segments
+    */
+   @SuppressWarnings("unchecked")
+   private SpilledMapStorage<Long>[] spill(final SpillingMapStorageFactory<Long> factory, final int count) {
+      final SpilledMapStorage<Long>[] segments = (SpilledMapStorage<Long>[]) new SpilledMapStorage<?>[count];
+      for (int i = 0; i < count; i++) {
+         segments[i] = (SpilledMapStorage<Long>) factory.close(this.fill(factory, i));
+      }
+      return segments;
+   }
+
+   /**
+    * Creates a storage and fills it with values derived from the given segment number. Every seventh value is
+    * <code>null</code>.
+    *
+    * @param factory
+    *           storage factory
+    * @param segment
+    *           segment number
+    * @return filled storage
+    */
+   private MapStorage<Long> fill(final SpillingMapStorageFactory<Long> factory, final int segment) {
+      final MapStorage<Long> storage = factory.getStorageInstance();
+      for (int i = -SIZE / 2; i < SIZE / 2; i++) {
+         storage.getWriter().put(i * 3, i % 7 == 0 ? null : (long) i * segment);
+      }
+      return storage;
+   }
+
+   /**
+    * Checks that the given storage contains the values derived from the given segment number.
+    *
+    * @param storage
+    *           storage to check
+    * @param segment
+    *           segment number
+    */
+   private void check(final MapStorage<Long> storage, final int segment) {
+      final StorageReader<Long> reader = storage.getReader();
+      for (int i = -SIZE / 2; i < SIZE / 2; i++) {
+         Assert.assertEquals(i % 7 == 0 ? null : Long.valueOf((long) i * segment), reader.get(i * 3));
+         Assert.assertNull(reader.get(i * 3 + 1));
+      }
+   }
+}
@@ -0,0 +1,150 @@
+/*
+ * @(#)ColumnarPageTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Test;
+
+/**
+ * Test cases for the columnar page.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ColumnarPageTest {
+
+   /** Schema that covers all column types. */
+   private static final Schema SCHEMA = new Schema(1,
+         new Attribute("id", Integer.class),
+         new Attribute("time", Date.class),
+         new Attribute("count", Long.class),
+         new Attribute("speed", Double.class),
+         new Attribute("name", String.class),
+         new Attribute("flag", Boolean.class),
+         new Attribute("ratio", Float.class));
+
+   /**
+    * Creates a data tuple with the given values.
+    *
+    * @param values
+    *           attribute values
+    * @return data tuple
+    */
+   private static DataTuple tuple(final Object... values) {
+      return new DataTuple(SCHEMA, Arrays.asList(values));
+   }
+
+   /**
+    * Test case that checks that tuples are stored in primitive columns and materialized unchanged.
+    */
+   @Test
+   public void testRoundTrip() {
+      final StringDictionary dictionary = new StringDictionary();
+      final ColumnarPage page = new ColumnarPage(SCHEMA, 3, dictionary);
+      final DataTuple[] tuples = {
+            ColumnarPageTest.tuple(1, new Date(1000L), 10L, 1.5, "a", true, 0.5f),
+            ColumnarPageTest.tuple(2, new Date(2000L), null, 2.5, "b", false, null),
+            ColumnarPageTest.tuple(null, new Date(3000L), 30L, null, "a", null, 1.5f) };
+      for (final DataTuple tuple : tuples) {
+         assertFalse(page.isFull());
+         page.put(tuple);
+      }
+      assertTrue(page.isFull());
+      assertEquals(3, page.size());
+      assertEquals(ColumnType.INT, page.getColumnType(0));
+      assertEquals(ColumnType.LONG, page.getColumnType(1));
+      assertEquals(ColumnType.LONG, page.getColumnType(2));
+      assertEquals(ColumnType.DOUBLE, page.getColumnType(3));
+      assertEquals(ColumnType.STRING, page.getColumnType(4));
+      assertEquals(ColumnType.INT, page.getColumnType(5));
+      assertEquals(ColumnType.DOUBLE, page.getColumnType(6));
+      assertEquals(1000L, page.getLongColumn(1)[0]);
+      assertEquals(3000L, page.getLong(1, 2));
+      assertEquals(2.5, page.getDoubleColumn(3)[1], 0.0);
+      assertTrue(page.isNull(0, 2));
+      assertTrue(page.isNull(2, 1));
+      assertFalse(page.isNull(2, 2));
+      // strings share dictionary codes
+      assertEquals(page.getIntColumn(4)[0], page.getIntColumn(4)[2]);
+      assertEquals(2, dictionary.size());
+      final DataTuple[] result = page.getTuples();
+      assertEquals(tuples.length, result.length);
+      for (int i = 0; i < tuples.length; i++) {
+         assertEquals(tuples[i].getValues(), result[i].getValues());
+         assertSame(tuples[i].getElementMetadata(), result[i].getElementMetadata());
+      }
+      page.clear();
+      assertTrue(page.isEmpty());
+      assertEquals(0, page.getTuples().length);
+      page.put(tuples[0]);
+      assertFalse(page.isNull(0, 0));
+      assertEquals(tuples[0].getValues(), page.getTuple(0).getValues());
+   }
+
+   /**
+    * Test case that checks that a column falls back to objects if a value does not match the schema.
+    */
+   @Test
+   public void testPromotion() {
+      final ColumnarPage page = new ColumnarPage(SCHEMA, 130, new StringDictionary());
+      for (int i = 0; i < 129; i++) {
+         page.put(ColumnarPageTest.tuple(i, new Date(i), (long) i, (double) i, "s" + i, i % 2 == 0, null));
+      }
+      // integer value in a long column
+      page.put(ColumnarPageTest.tuple(129, new Date(129L), 129, 129.0, "s129", false, null));
+      assertEquals(ColumnType.OBJECT, page.getColumnType(2));
+      assertEquals(ColumnType.INT, page.getColumnType(0));
+      for (int i = 0; i < 130; i++) {
+         assertEquals(i, page.getLong(2, i));
+         assertTrue(page.isNull(6, i));
+      }
+      assertEquals(Long.valueOf(128L), page.getValue(2, 128));
+      assertEquals(Integer.valueOf(129), page.getValue(2, 129));
+      assertNull(page.getValue(6, 129));
+      assertArrayEquals(new long[] { -1L, -1L, 3L }, page.getNulls(6));
+   }
+
+   /**
+    * Test case that checks that setting a value, including <code>null</code>, invalidates the materialized
+    * tuples.
+    */
+   @Test
+   public void testSetValue() {
+      final ColumnarPage page = new ColumnarPage(SCHEMA, 1, new StringDictionary());
+      page.put(ColumnarPageTest.tuple(1, new Date(1000L), 10L, 1.5, "a", true, 0.5f));
+      assertEquals(Long.valueOf(10L), page.getTuples()[0].getAttributeValue(2));
+      page.setValue(2, 0, 20L);
+      assertEquals(Long.valueOf(20L), page.getTuples()[0].getAttributeValue(2));
+      page.setValue(2, 0, null);
+      assertTrue(page.isNull(2, 0));
+      assertNull(page.getTuples()[0].getAttributeValue(2));
+      assertNull(page.getTuple(0).getAttributeValue(2));
+   }
+
+   /**
+    * Test case that checks schema compatibility.
+    */
+   @Test
+   public void testCompatibility() {
+      final ColumnarPage page = new ColumnarPage(SCHEMA, 1, new StringDictionary());
+      assertTrue(page.isCompatible(SCHEMA));
+      assertTrue(page.isCompatible(new Schema(0, SCHEMA.getAttributes().toArray(new Attribute[0]))));
+      assertFalse(page.isCompatible(new Schema(0, new Attribute("id", Integer.class))));
+   }
+}
@@ -0,0 +1,68 @@
+/*
+ * @(#)ElementMetadataTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Test cases for sharing tuples and their metadata between streams.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class ElementMetadataTest {
+
+   /**
+    * Test case that checks that shared segment numbers are copied on the first modification.
+    *
+    * @throws CloneNotSupportedException
+    *            if the metadata cannot be shared
+    */
+   @Test
+   public void testCopyOnWrite() throws CloneNotSupportedException {
+      final ElementMetadata metadata = new ElementMetadata();
+      metadata.addSegmentId(1);
+      final ElementMetadata first = metadata.share();
+      final ElementMetadata second = metadata.share();
+      first.addSegmentId(2);
+      second.clearSegmentIds();
+      assertEquals(Arrays.asList(1L), metadata.getSegmentIds());
+      assertEquals(Arrays.asList(1L, 2L), first.getSegmentIds());
+      assertTrue(second.getSegmentIds().isEmpty());
+      metadata.addSegmentId(3);
+      assertEquals(Arrays.asList(1L, 3L), metadata.getSegmentIds());
+      assertEquals(Arrays.asList(1L, 2L), first.getSegmentIds());
+   }
+
+   /**
+    * Test case that checks that a shared tuple shares its values, but not its metadata record.
+    *
+    * @throws CloneNotSupportedException
+    *            if the tuple cannot be shared
+    */
+   @Test
+   public void testShareTuple() throws CloneNotSupportedException {
+      final Schema schema = new Schema(0, new Attribute("time", Long.class));
+      final DataTuple tuple = new DataTuple(schema, Arrays.<Object> asList(1L));
+      final DataTuple copy = (DataTuple) tuple.share();
+      assertSame(tuple.getSchema(), copy.getSchema());
+      assertSame(tuple.getProgressingValue(), copy.getProgressingValue());
+      assertNotSame(tuple.getElementMetadata(), copy.getElementMetadata());
+      copy.getElementMetadata().addSegmentId(5);
+      assertTrue(tuple.getElementMetadata().getSegmentIds().isEmpty());
+   }
+}
@@ -0,0 +1,182 @@
+/*
+ * @(#)GroupedStreamSegmentTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import niagarino.operator.function.AggregationFunction;
+import niagarino.operator.function.BuiltInAggregationFunction;
+import niagarino.operator.function.ReversalRateAggregationFunction;
+
+/**
+ * Test cases for the group table and the grouping of tuples by grouped stream segments.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class GroupedStreamSegmentTest {
+
+   /** Schema with grouping attributes of all column types. */
+   private static final Schema SCHEMA = new Schema(0,
+         new Attribute("time", Date.class),
+         new Attribute("id", Integer.class),
+         new Attribute("name", String.class),
+         new Attribute("flag", Boolean.class),
+         new Attribute("ratio", Float.class),
+         new Attribute("speed", Double.class));
+
+   /** Aggregation functions applied to the speed attribute. */
+   private static final AggregationFunction[] FUNCTIONS = new AggregationFunction[] {
+         BuiltInAggregationFunction.SUM, BuiltInAggregationFunction.AVG, BuiltInAggregationFunction.COUNT,
+         BuiltInAggregationFunction.MIN, BuiltInAggregationFunction.MAX,
+         new ReversalRateAggregationFunction() };
+
+   /**
+    * Test case that checks that the group table numbers groups consecutively when it grows.
+    */
+   @Test
+   public void testGroupTable() {
+      final GroupTable table = new GroupTable(2);
+      final long[] key = new long[2];
+      for (int round = 0; round < 2; round++) {
+         for (int i = 0; i < 1000; i++) {
+            key[0] = i % 10;
+            key[1] = i / 10;
+            assertEquals(i, table.add(key));
+         }
+      }
+      assertEquals(1000, table.size());
+      key[0] = 3;
+      key[1] = 42;
+      assertEquals(423, table.find(key));
+      assertEquals(42L, table.getKey(423, 1));
+      key[1] = 100;
+      assertEquals(-1, table.find(key));
+   }
+
+   /**
+    * Test case that checks that tuples and columnar pages are grouped by all kinds of values.
+    */
+   @Test
+   public void testGroupTypes() {
+      final int[] groupAttributes = new int[] { 1, 2, 3, 4 };
+      final int[] aggregatedAttributes = new int[] { 5, 5, 5, 5, 5, 5 };
+      final GroupedStreamSegment tuples = new GroupedStreamSegment(SCHEMA, groupAttributes,
+            aggregatedAttributes, FUNCTIONS);
+      final GroupedStreamSegment rows = new GroupedStreamSegment(SCHEMA, groupAttributes,
+            aggregatedAttributes, FUNCTIONS);
+      final ColumnarPage page = new ColumnarPage(SCHEMA, 64, new StringDictionary());
+      for (final DataTuple tuple : GroupedStreamSegmentTest.createTuples(60)) {
+         tuples.insertTuple(tuple);
+         page.put(tuple);
+      }
+      for (int row = 0; row < page.size(); row++) {
+         rows.insertRow(page, row);
+      }
+      final List<DataTuple> result = tuples.reportTuples();
+      // the tuple with the null grouping value is ignored
+      assertEquals(12, result.size());
+      assertEquals(Arrays.<Object> asList(new Date(58), 1, "b", Boolean.FALSE, 0.5f, 125.0, 25.0, 5L, 1.0,
+            49.0, 0.0), result.get(1).getValues());
+      assertEquals(GroupedStreamSegmentTest.toValues(result), GroupedStreamSegmentTest.toValues(rows
+            .reportTuples()));
+   }
+
+   /**
+    * Test case that checks that subtracting a merged segment removes the groups to which only that segment
+    * contributed.
+    */
+   @Test
+   public void testMergeSubtract() {
+      final int[] groupAttributes = new int[] { 2, 4 };
+      final int[] aggregatedAttributes = new int[] { 5, 5 };
+      final AggregationFunction[] functions = new AggregationFunction[] { BuiltInAggregationFunction.SUM,
+            BuiltInAggregationFunction.COUNT };
+      final GroupedStreamSegment first = new GroupedStreamSegment(SCHEMA, groupAttributes,
+            aggregatedAttributes, functions);
+      final GroupedStreamSegment second = new GroupedStreamSegment(SCHEMA, groupAttributes,
+            aggregatedAttributes, functions);
+      final GroupedStreamSegment expected = new GroupedStreamSegment(SCHEMA, groupAttributes,
+            aggregatedAttributes, functions);
+      for (final DataTuple tuple : GroupedStreamSegmentTest.createTuples(40)) {
+         if (tuple.getLong(0) < 20) {
+            first.insertTuple(tuple);
+         } else if (!"c".equals(tuple.getAttributeValue(2))) {
+            second.insertTuple(tuple);
+            expected.insertTuple(tuple);
+         }
+      }
+      final GroupedStreamSegment window = new GroupedStreamSegment(SCHEMA, groupAttributes,
+            aggregatedAttributes, functions);
+      window.merge(first);
+      window.merge(second);
+      assertEquals(12, window.reportTuples().size());
+      window.subtract(first);
+      window.subtract(second);
+      assertEquals(0, window.reportTuples().size());
+      window.merge(second);
+      window.merge(first);
+      window.subtract(first);
+      assertEquals(new HashSet<List<Object>>(GroupedStreamSegmentTest.toValues(expected.reportTuples())),
+            new HashSet<List<Object>>(GroupedStreamSegmentTest.toValues(window.reportTuples())));
+   }
+
+   /**
+    * Creates the given number of tuples that fall into twelve groups on the attributes id, name, flag, and
+    * ratio. The name of the last tuple is <code>null</code>.
+    *
+    * @param count
+    *           number of tuples
+    * @return tuples
+    */
+   private static List<DataTuple> createTuples(final int count) {
+      final List<DataTuple> tuples = new ArrayList<DataTuple>();
+      for (int i = 0; i < count; i++) {
+         final String name;
+         if (i == count - 1) {
+            name = null;
+         } else {
+            name = String.valueOf((char) ('a' + i % 3));
+         }
+         final PrimitiveValueList values = new PrimitiveValueList(SCHEMA);
+         values.set(0, new Date(i));
+         values.setLong(1, i % 4);
+         values.set(2, name);
+         values.set(3, Boolean.valueOf(i % 2 == 0));
+         values.setDouble(4, 0.5 * (i % 4));
+         values.setDouble(5, i);
+         tuples.add(new DataTuple(SCHEMA, values));
+      }
+      return tuples;
+   }
+
+   /**
+    * Returns the values of the given tuples.
+    *
+    * @param tuples
+    *           data tuples
+    * @return tuple values
+    */
+   private static List<List<Object>> toValues(final List<DataTuple> tuples) {
+      final List<List<Object>> values = new ArrayList<List<Object>>();
+      for (final DataTuple tuple : tuples) {
+         values.add(new ArrayList<Object>(tuple.getValues()));
+      }
+      return values;
+   }
+}
@@ -0,0 +1,97 @@
+/*
+ * @(#)PrimitiveValueListTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Test;
+
+/**
+ * Test cases for the primitive value list and the unboxed attribute access of data tuples.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class PrimitiveValueListTest {
+
+   /** Schema that covers all column types. */
+   private static final Schema SCHEMA = new Schema(1,
+         new Attribute("id", Integer.class),
+         new Attribute("time", Date.class),
+         new Attribute("count", Long.class),
+         new Attribute("speed", Double.class),
+         new Attribute("name", String.class),
+         new Attribute("flag", Boolean.class),
+         new Attribute("ratio", Float.class));
+
+   /**
+    * Test case that checks that parsed values are equal to the values of a boxed tuple.
+    */
+   @Test
+   public void testParse() {
+      final PrimitiveValueList values = new PrimitiveValueList(SCHEMA);
+      final String[] strings = { "7", "1445500000000", "NA", "2.5", "abc", "true", "0.5" };
+      for (int i = 0; i < strings.length; i++) {
+         values.parse(i, strings[i]);
+      }
+      assertEquals(Arrays.<Object> asList(7, new Date(1445500000000L), null, 2.5, "abc", true, 0.5f), values);
+      final DataTuple tuple = new DataTuple(SCHEMA, values);
+      assertEquals(1445500000000L, tuple.getProgressingLong());
+      assertEquals(7L, tuple.getLong(0));
+      assertEquals(2L, tuple.getLong(3));
+      assertEquals(2.5, tuple.getDouble(3), 0.0);
+      assertEquals(1L, tuple.getLong(5));
+      assertTrue(Double.isNaN(tuple.getDouble(2)));
+      // converted objects are kept
+      assertSame(tuple.getProgressingValue(), tuple.getProgressingValue());
+   }
+
+   /**
+    * Test case that checks that values that do not match the schema are kept as objects.
+    *
+    * @throws CloneNotSupportedException
+    *            if the tuple cannot be cloned
+    */
+   @Test
+   public void testSet() throws CloneNotSupportedException {
+      final PrimitiveValueList values = new PrimitiveValueList(SCHEMA);
+      values.setLong(1, 1000L);
+      assertEquals(new Date(1000L), values.set(1, new Date(2000L)));
+      assertEquals(2000L, values.getLong(1));
+      values.set(2, Integer.valueOf(3));
+      assertEquals(Integer.valueOf(3), values.get(2));
+      assertEquals(3L, values.getLong(2));
+      values.set(2, null);
+      assertNull(values.get(2));
+      values.setDouble(6, 1.5);
+      assertEquals(Float.valueOf(1.5f), values.get(6));
+      final DataTuple tuple = new DataTuple(SCHEMA, values);
+      assertEquals(values, tuple.clone().getValues());
+   }
+
+   /**
+    * Test case that checks the unboxed attribute access of tuples with boxed values.
+    */
+   @Test
+   public void testBoxedTuple() {
+      final DataTuple tuple = new DataTuple(SCHEMA, Arrays.<Object> asList(7, new Date(1000L), 3L, 2.5, "abc",
+            true, null));
+      assertEquals(1000L, tuple.getProgressingLong());
+      assertEquals(3.0, tuple.getDouble(2), 0.0);
+      assertEquals(2L, tuple.getLong(3));
+      assertTrue(Double.isNaN(tuple.getDouble(4)));
+   }
+}
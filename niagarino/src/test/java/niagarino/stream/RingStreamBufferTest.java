@@ -0,0 +1,130 @@
+/*
+ * @(#)RingStreamBufferTest.java   1.0   Oct 18, 2026
+ *
+ * Copyright (c) 2011-2012 Portland State University.
+ * Copyright (c) 2013-2015 University of Konstanz.
+ *
+ * This software is the proprietary information of the above-mentioned institutions.
+ * Use is subject to license terms. Please refer to the included copyright notice.
+ */
+package niagarino.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ * Test cases for the lock-free ring stream buffer.
+ *
+ * @author agent &lt;agent@local&gt;
+ * @version 1.0
+ */
+public class RingStreamBufferTest {
+
+   /** Number of stream elements that are transferred between two threads. */
+   private static final int ELEMENT_COUNT = 1000000;
+
+   /**
+    * Creates the given number of distinct stream elements.
+    *
+    * @param count
+    *           number of stream elements
+    * @return stream elements
+    */
+   private static StreamElement[] createElements(final int count) {
+      final StreamElement[] elements = new StreamElement[count];
+      for (int i = 0; i < count; i++) {
+         elements[i] = new ControlTuple(ControlTuple.Type.PUNCTUATION);
+      }
+      return elements;
+   }
+
+   /**
+    * Test case that fills and drains a ring whose capacity is not a power of two.
+    *
+    * @throws Exception
+    *            if the test fails
+    */
+   @Test
+   public void testFillAndDrain() throws Exception {
+      final StreamBuffer buffer = new RingStreamBuffer(5);
+      final StreamElement[] elements = RingStreamBufferTest.createElements(5);
+      for (int round = 0; round < 3; round++) {
+         assertNull(buffer.poll());
+         for (final StreamElement element : elements) {
+            buffer.put(element);
+         }
+         assertEquals(elements.length, buffer.size());
+         for (final StreamElement element : elements) {
+            assertSame(element, buffer.poll());
+         }
+         assertNull(buffer.poll());
+         assertEquals(0, buffer.size());
+      }
+   }
+
+   /**
+    * Test case that clears a partially drained ring.
+    *
+    * @throws Exception
+    *            if the test fails
+    */
+   @Test
+   public void testClear() throws Exception {
+      final StreamBuffer buffer = new RingStreamBuffer(8);
+      final StreamElement[] elements = RingStreamBufferTest.createElements(8);
+      for (final StreamElement element : elements) {
+         buffer.put(element);
+      }
+      assertSame(elements[0], buffer.poll());
+      buffer.clear();
+      assertNull(buffer.poll());
+      assertEquals(0, buffer.size());
+      // the ring has to accept its full capacity again
+      for (final StreamElement element : elements) {
+         buffer.put(element);
+      }
+      assertSame(elements[0], buffer.poll());
+   }
+
+   /**
+    * Test case that transfers stream elements from a producer to a consumer thread through a ring that is
+    * much smaller than the number of elements, so that the producer is frequently blocked.
+    *
+    * @throws Exception
+    *            if the test fails
+    */
+   @Test
+   public void testProducerConsumer() throws Exception {
+      for (final int capacity : new int[] { 1, 3, 64 }) {
+         final StreamBuffer buffer = new RingStreamBuffer(capacity);
+         final StreamElement[] elements = RingStreamBufferTest.createElements(capacity + 7);
+         final AtomicReference<Throwable> error = new AtomicReference<>();
+         final Thread producer = new Thread(() -> {
+            try {
+               for (int i = 0; i < ELEMENT_COUNT; i++) {
+                  buffer.put(elements[i % elements.length]);
+               }
+            } catch (final Throwable throwable) {
+               error.set(throwable);
+            }
+         });
+         producer.start();
+         for (int i = 0; i < ELEMENT_COUNT; i++) {
+            StreamElement element = buffer.poll();
+            while (element == null) {
+               Thread.yield();
+               element = buffer.poll();
+            }
+            assertSame(elements[i % elements.length], element);
+         }
+         producer.join();
+         assertNull(error.get());
+         assertNull(buffer.poll());
+      }
+   }
+}